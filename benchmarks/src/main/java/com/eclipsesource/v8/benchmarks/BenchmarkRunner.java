@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * Runs the benchmarks with the options of the JMH command line, writing the
+ * results as JSON to <code>jmh-result.json</code> and enabling the GC
+ * profiler, which also reports the allocation rate per operation. The
+ * result file and format can be changed with <code>-rff</code> and
+ * <code>-rf</code>.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar [JMH options] [benchmark regexp]
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT = "jmh-result.json";
+
+    public static void main(final String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            builder.result(DEFAULT_RESULT);
+        }
+        if (!hasProfiler(commandLine, GCProfiler.class)) {
+            builder.addProfiler(GCProfiler.class);
+        }
+        new Runner(builder.build()).run();
+    }
+
+    private static boolean hasProfiler(final CommandLineOptions commandLine, final Class<?> profiler) {
+        for (ProfilerConfig config : commandLine.getProfilers()) {
+            if (config.getKlass().equals(profiler.getName()) || config.getKlass().equals("gc")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.eclipsesource.v8.V8Array;
+import com.eclipsesource.v8.V8Function;
+
+/**
+ * Measures calls of a JavaScript function from Java, by number of arguments.
+ */
+public class FunctionCallBenchmark extends V8Benchmark {
+
+    @Param({ "0", "1", "4", "16" })
+    public int        argumentCount;
+
+    private V8Function function;
+    private V8Array    parameters;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        function = (V8Function) context.executeScript("(function() { return arguments.length; });");
+        parameters = new V8Array(context);
+        for (int i = 0; i < argumentCount; i++) {
+            parameters.push(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parameters.close();
+        function.close();
+    }
+
+    @Benchmark
+    public Object call() {
+        return function.call(null, parameters);
+    }
+
+    @Benchmark
+    public Object callWithNewParameters() {
+        V8Array newParameters = new V8Array(context);
+        try {
+            for (int i = 0; i < argumentCount; i++) {
+                newParameters.push(i);
+            }
+            return function.call(null, newParameters);
+        } finally {
+            newParameters.close();
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.eclipsesource.v8.JavaCallback;
+import com.eclipsesource.v8.JavaVoidCallback;
+import com.eclipsesource.v8.V8Array;
+import com.eclipsesource.v8.V8Function;
+import com.eclipsesource.v8.V8Object;
+
+/**
+ * Measures calls from JavaScript into Java, for methods registered through
+ * reflection and for JavaCallbacks. Each invocation runs a loop of calls in
+ * JavaScript, so the score is the time of a single call.
+ */
+public class JavaCallbackBenchmark extends V8Benchmark {
+
+    static final int CALLS = 1000;
+
+    private V8Function reflectiveAdd;
+    private V8Function reflectiveVoid;
+    private V8Function callbackAdd;
+    private V8Function callbackVoid;
+    private V8Array    noParameters;
+
+    public int add(final int a, final int b) {
+        return a + b;
+    }
+
+    public void noop() {
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context.registerJavaMethod(this, "add", "reflectiveAdd", new Class<?>[] { Integer.TYPE, Integer.TYPE });
+        context.registerJavaMethod(this, "noop", "reflectiveVoid", new Class<?>[0]);
+        context.registerJavaMethod(new JavaCallback() {
+
+            @Override
+            public Object invoke(final V8Object receiver, final V8Array parameters) {
+                return parameters.getInteger(0) + parameters.getInteger(1);
+            }
+        }, "callbackAdd");
+        context.registerJavaMethod(new JavaVoidCallback() {
+
+            @Override
+            public void invoke(final V8Object receiver, final V8Array parameters) {
+            }
+        }, "callbackVoid");
+        reflectiveAdd = loop("reflectiveAdd(i, 1)");
+        reflectiveVoid = loop("reflectiveVoid()");
+        callbackAdd = loop("callbackAdd(i, 1)");
+        callbackVoid = loop("callbackVoid()");
+        noParameters = new V8Array(context);
+    }
+
+    private V8Function loop(final String call) {
+        return (V8Function) context.executeScript("(function() { var r = 0; for (var i = 0; i < " + CALLS + "; i++) { r = " + call + "; } return r; });");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        noParameters.close();
+        reflectiveAdd.close();
+        reflectiveVoid.close();
+        callbackAdd.close();
+        callbackVoid.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public Object reflectiveMethod() {
+        return reflectiveAdd.call(null, noParameters);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public Object reflectiveVoidMethod() {
+        return reflectiveVoid.call(null, noParameters);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public Object javaCallback() {
+        return callbackAdd.call(null, noParameters);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public Object javaVoidCallback() {
+        return callbackVoid.call(null, noParameters);
+    }
+
+}
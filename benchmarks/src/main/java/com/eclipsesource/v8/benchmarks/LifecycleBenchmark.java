@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.eclipsesource.v8.V8Context;
+import com.eclipsesource.v8.V8Isolate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation and release of isolates and contexts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LifecycleBenchmark extends V8Benchmark {
+
+    @Benchmark
+    public boolean createIsolate() {
+        V8Isolate newIsolate = V8Isolate.create();
+        try {
+            return newIsolate.isReleased();
+        } finally {
+            newIsolate.close();
+        }
+    }
+
+    @Benchmark
+    public boolean createIsolateAndContext() {
+        V8Isolate newIsolate = V8Isolate.create();
+        try {
+            V8Context newContext = newIsolate.createContext();
+            return newContext.isReleased();
+        } finally {
+            newIsolate.close();
+        }
+    }
+
+    @Benchmark
+    public boolean createContext() {
+        V8Context newContext = isolate.createContext();
+        try {
+            return newContext.isReleased();
+        } finally {
+            newContext.close();
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.eclipsesource.v8.V8Locker;
+
+import java.util.concurrent.SynchronousQueue;
+
+/**
+ * Measures the V8Locker, both when it is released and acquired again by
+ * the same thread, and when it is handed to another thread and back.
+ */
+public class LockerBenchmark extends V8Benchmark {
+
+    private V8Locker                  locker;
+    private Thread                    helper;
+    private SynchronousQueue<Boolean> toHelper;
+    private SynchronousQueue<Boolean> fromHelper;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        locker = isolate.getLocker();
+        toHelper = new SynchronousQueue<Boolean>();
+        fromHelper = new SynchronousQueue<Boolean>();
+        helper = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    while (toHelper.take()) {
+                        locker.acquire();
+                        context.executeIntegerScript("1;");
+                        locker.release();
+                        fromHelper.put(Boolean.TRUE);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "V8 locker benchmark");
+        helper.setDaemon(true);
+        helper.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        toHelper.put(Boolean.FALSE);
+        helper.join();
+    }
+
+    @Benchmark
+    public int reacquire() {
+        locker.release();
+        locker.acquire();
+        return context.executeIntegerScript("1;");
+    }
+
+    @Benchmark
+    public int handoff() throws InterruptedException {
+        locker.release();
+        toHelper.put(Boolean.TRUE);
+        fromHelper.take();
+        locker.acquire();
+        return context.executeIntegerScript("1;");
+    }
+
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.eclipsesource.v8.V8Object;
+import com.eclipsesource.v8.utils.V8ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the conversions of V8ObjectUtils between JavaScript objects and
+ * Java maps, for object graphs of several sizes. A graph of size n is an
+ * object with n entries, each holding a small object and an array.
+ */
+public class ObjectUtilsBenchmark extends V8Benchmark {
+
+    @Param({ "1", "10", "100", "1000" })
+    public int                  size;
+
+    private Map<String, Object> map;
+    private V8Object            object;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        map = new HashMap<String, Object>();
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> entry = new HashMap<String, Object>();
+            entry.put("name", "entry" + i);
+            entry.put("value", i);
+            entry.put("ratio", i / 2d);
+            entry.put("enabled", (i % 2) == 0);
+            List<Object> values = new ArrayList<Object>();
+            for (int j = 0; j < 4; j++) {
+                values.add(j);
+            }
+            entry.put("values", values);
+            map.put("key" + i, entry);
+        }
+        object = V8ObjectUtils.toV8Object(context, map);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        object.close();
+    }
+
+    @Benchmark
+    public Map<String, ? super Object> toMap() {
+        return V8ObjectUtils.toMap(object);
+    }
+
+    @Benchmark
+    public boolean toV8Object() {
+        V8Object result = V8ObjectUtils.toV8Object(context, map);
+        try {
+            return result.isUndefined();
+        } finally {
+            result.close();
+        }
+    }
+
+}
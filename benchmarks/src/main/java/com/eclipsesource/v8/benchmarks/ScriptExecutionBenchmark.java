@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import com.eclipsesource.v8.V8Array;
+import com.eclipsesource.v8.V8Object;
+
+/**
+ * Measures script execution, including the conversion of the result for
+ * every result type.
+ */
+public class ScriptExecutionBenchmark extends V8Benchmark {
+
+    @Benchmark
+    public void executeVoidScript() {
+        context.executeVoidScript("1 + 1;");
+    }
+
+    @Benchmark
+    public int executeIntegerScript() {
+        return context.executeIntegerScript("1 + 1;");
+    }
+
+    @Benchmark
+    public double executeDoubleScript() {
+        return context.executeDoubleScript("1.5 + 1;");
+    }
+
+    @Benchmark
+    public boolean executeBooleanScript() {
+        return context.executeBooleanScript("1 < 2;");
+    }
+
+    @Benchmark
+    public String executeStringScript() {
+        return context.executeStringScript("'hello' + ' world';");
+    }
+
+    @Benchmark
+    public Object executeScript() {
+        return context.executeScript("1 + 1;");
+    }
+
+    @Benchmark
+    public int executeObjectScript() {
+        V8Object result = context.executeObjectScript("({a: 1, b: 2});");
+        try {
+            return result.getInteger("a");
+        } finally {
+            result.close();
+        }
+    }
+
+    @Benchmark
+    public int executeArrayScript() {
+        V8Array result = context.executeArrayScript("[1, 2, 3];");
+        try {
+            return result.length();
+        } finally {
+            result.close();
+        }
+    }
+
+}
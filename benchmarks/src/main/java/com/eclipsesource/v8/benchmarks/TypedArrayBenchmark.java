@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.eclipsesource.v8.V8API;
+import com.eclipsesource.v8.V8Array;
+import com.eclipsesource.v8.V8ArrayBuffer;
+import com.eclipsesource.v8.V8Function;
+import com.eclipsesource.v8.V8TypedArray;
+import com.eclipsesource.v8.utils.V8ObjectUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Measures the transfer of typed arrays between Java and JavaScript, by
+ * number of 32 bit integers.
+ */
+public class TypedArrayBenchmark extends V8Benchmark {
+
+    @Param({ "16", "1024", "65536" })
+    public int           length;
+
+    private ByteBuffer   buffer;
+    private V8Function   sum;
+    private V8TypedArray jsArray;
+    private int[]        result;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        buffer = ByteBuffer.allocateDirect(length * 4).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < length; i++) {
+            buffer.putInt(i);
+        }
+        sum = (V8Function) context.executeScript("(function(a) { var r = 0; for (var i = 0; i < a.length; i++) { r += a[i]; } return r; });");
+        jsArray = (V8TypedArray) context.executeScript("var a = new Int32Array(" + length + "); for (var i = 0; i < a.length; i++) { a[i] = i; } a;");
+        result = new int[length];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jsArray.close();
+        sum.close();
+    }
+
+    @Benchmark
+    public Object javaToJavaScript() {
+        V8ArrayBuffer arrayBuffer = new V8ArrayBuffer(context, buffer);
+        V8TypedArray typedArray = new V8TypedArray(context, arrayBuffer, V8API.INT_32_ARRAY, 0, length);
+        V8Array parameters = new V8Array(context).push(typedArray);
+        try {
+            return sum.call(null, parameters);
+        } finally {
+            parameters.close();
+            typedArray.close();
+            arrayBuffer.close();
+        }
+    }
+
+    @Benchmark
+    public Object javaScriptToJava() {
+        return V8ObjectUtils.getTypedArray(jsArray, V8API.INT_32_ARRAY, result);
+    }
+
+}
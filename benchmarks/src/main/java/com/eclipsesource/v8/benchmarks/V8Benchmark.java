@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.benchmarks;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eclipsesource.v8.V8Context;
+import com.eclipsesource.v8.V8Isolate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class of the benchmarks, which creates an isolate and a context for
+ * every benchmark thread. V8 objects can only be used on the thread holding
+ * the locker of their isolate, so all states are thread scoped, and are set
+ * up on the thread running the benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class V8Benchmark {
+
+    protected V8Isolate isolate;
+    protected V8Context context;
+
+    @Setup(Level.Trial)
+    public void setupIsolate() {
+        isolate = V8Isolate.create();
+        context = isolate.createContext();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownIsolate() {
+        isolate.close();
+    }
+
+}
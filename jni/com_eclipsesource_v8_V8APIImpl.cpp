@@ -14,16 +14,28 @@
 #include <v8.h>
 #include <string.h>
 #include <v8-debug.h>
+#include <v8-profiler.h>
 #include <map>
+#include <string>
+#include <vector>
+#include <algorithm>
 #include <cstdlib>
+#include <cstdio>
+#include <chrono>
 #include "com_eclipsesource_v8_V8APIImpl.h"
 
+#ifdef __linux__
+  #include <unistd.h>
+#endif
+
 #ifdef NODE_COMPATIBLE
   #include <deps/uv/include/uv.h>
   #include <node.h>
 #endif
 
 #define TAG "J2V8_V8APIImpl"
+// Isolate data slot holding the V8Runtime of an isolate
+#define V8_RUNTIME_ISOLATE_SLOT 1
 
 #pragma comment(lib, "userenv.lib")
 #pragma comment(lib, "IPHLPAPI.lib")
@@ -38,8 +50,36 @@ class MethodDescriptor {
 public:
   jlong methodID;
   jlong v8ContextPtr;
+  Persistent<External> handle;
+};
+
+class ProxyDescriptor {
+public:
+  jlong proxyID;
+  jlong v8ContextPtr;
+  Persistent<Object> handle;
+};
+
+class BindingDescriptor;
+
+class BindingMethod {
+public:
+  BindingDescriptor* binding;
+  jint index;
+  jboolean voidMethod;
+};
+
+class BindingDescriptor {
+public:
+  jobject binding;
+  int size;
+  BindingMethod* methods;
+  Persistent<String>* names;
+  Persistent<FunctionTemplate>* templates;
 };
 
+class V8Context;
+
 class WeakReferenceDescriptor {
 public:
   jlong v8ContextPtr;
@@ -52,6 +92,16 @@ public:
   Locker* locker;
   jobject v8;
   jthrowable pendingException;
+  std::vector<jlong> collectedWeakReferences;
+  std::vector<jlong> collectedMethodDescriptors;
+  std::vector<jlong> collectedProxyDescriptors;
+  std::vector<V8Context*> contexts;
+  std::vector<BindingDescriptor*> releasedBindings;
+  jint codeEvents;
+  jint enumeratedCodeEvents;
+  FILE* perfMap;
+  std::map<uintptr_t, std::string> codeNames;
+  std::chrono::steady_clock::time_point gcStart;
 
 #ifdef NODE_COMPATIBLE
   node::Environment* nodeEnvironment;
@@ -69,9 +119,16 @@ public:
   jobject exLsnr;
   Persistent<Context> context;
   Persistent<Object>* globalObject;
+  Persistent<ObjectTemplate> proxyTemplate;
+  char* callbackArguments;
+  jint callbackArgumentSlots;
+  jint callbackArgumentTop;
 
   V8Context(jlong runtimePtr) {
     v8RuntimePtr = runtimePtr;
+    callbackArguments = NULL;
+    callbackArgumentSlots = 0;
+    callbackArgumentTop = 0;
   }
 
   V8Runtime* getRuntime() {
@@ -93,6 +150,9 @@ jclass v8ArrayCls = NULL;
 jclass v8TypedArrayCls = NULL;
 jclass v8ArrayBufferCls = NULL;
 jclass v8FunctionCls = NULL;
+jclass v8JavaProxyCls = NULL;
+jclass v8BindingCls = NULL;
+jclass v8HeapSnapshotWriterCls = NULL;
 jclass undefinedV8ObjectCls = NULL;
 jclass undefinedV8ArrayCls = NULL;
 jclass v8ResultsUndefinedCls = NULL;
@@ -102,6 +162,7 @@ jclass v8ScriptExecutionExceptionListenerCls = NULL;
 jclass v8RuntimeExceptionCls = NULL;
 jclass throwableCls = NULL;
 jclass stringCls = NULL;
+jclass objectCls = NULL;
 jclass integerCls = NULL;
 jclass doubleCls = NULL;
 jclass booleanCls = NULL;
@@ -113,8 +174,11 @@ jmethodID v8ArrayBufferInitMethodID = NULL;
 jmethodID v8ArrayGetHandleMethodID = NULL;
 jmethodID v8CallVoidMethodID = NULL;
 jmethodID v8ObjectReleaseMethodID = NULL;
-jmethodID v8DisposeMethodID = NULL;
-jmethodID v8WeakReferenceReleased = NULL;
+jmethodID v8WeakReferencesReleased = NULL;
+jmethodID v8MethodDescriptorsReleased = NULL;
+jmethodID v8ProxyDescriptorsReleased = NULL;
+jmethodID v8CodeEventMethodID = NULL;
+jmethodID v8GarbageCollectedMethodID = NULL;
 jmethodID v8ArrayReleaseMethodID = NULL;
 jmethodID v8ObjectIsUndefinedMethodID = NULL;
 jmethodID v8ObjectGetHandleMethodID = NULL;
@@ -134,6 +198,17 @@ jmethodID booleanInitMethodID = NULL;
 jmethodID v8FunctionInitMethodID = NULL;
 jmethodID v8ObjectInitMethodID = NULL;
 jmethodID v8RuntimeExceptionInitMethodID = NULL;
+jmethodID v8GetProxyPropertyMethodID = NULL;
+jmethodID v8GetProxyElementMethodID = NULL;
+jmethodID v8SetProxyPropertyMethodID = NULL;
+jmethodID v8SetProxyElementMethodID = NULL;
+jmethodID v8QueryProxyPropertyMethodID = NULL;
+jmethodID v8QueryProxyElementMethodID = NULL;
+jmethodID v8GetProxyKeysMethodID = NULL;
+jmethodID v8GetProxySizeMethodID = NULL;
+jobject proxyNotFound = NULL;
+jmethodID v8BindingInvokeMethodID = NULL;
+jmethodID v8HeapSnapshotWriteChunkMethodID = NULL;
 
 void throwParseException(JNIEnv *env, Isolate* isolate, TryCatch* tryCatch);
 void throwExecutionException(JNIEnv *env, Isolate* isolate, TryCatch* tryCatch, jlong v8ContextPtr);
@@ -142,6 +217,7 @@ void throwV8RuntimeException(JNIEnv *env,  String::Value *message);
 void throwResultUndefinedException(JNIEnv *env, const char *message);
 Isolate* getIsolate(JNIEnv *env, jlong handle);
 int getType(Handle<Value> v8Value);
+jstring createJavaString(JNIEnv *env, Isolate *isolate, Local<String> string);
 jobject getResult(JNIEnv *env, jobject &v8Ctx, jlong v8ContextPtr, Handle<Value> &result, jint expectedType);
 
 #define SETUP(env, v8ContextPtr, errorReturnResult) getIsolate(env, v8ContextPtr);\
@@ -199,18 +275,83 @@ JNIEXPORT jstring JNICALL Java_com_eclipsesource_v8_V8API__1getConstructorName
 (JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle) {
   Isolate* isolate = SETUP(env, v8ContextPtr, 0);
   Handle<Object> object = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
-  String::Value unicodeString(object->GetConstructorName());
-  return env->NewString(*unicodeString, unicodeString.length());
+  return createJavaString(env, isolate, object->GetConstructorName());
 }
 
+// Strings up to this length are converted through a buffer on the stack
+#define STRING_STACK_BUFFER_SIZE 256
+
 Local<String> createV8String(JNIEnv *env, Isolate *isolate, jstring &string) {
+  jsize length = env->GetStringLength(string);
+  // Only ASCII strings have as many bytes in modified UTF-8 as characters. They
+  // are copied once, as one-byte strings, instead of as UTF-16.
+  if (env->GetStringUTFLength(string) == length) {
+    char stackBuffer[STRING_STACK_BUFFER_SIZE];
+    char* buffer = length < STRING_STACK_BUFFER_SIZE ? stackBuffer : new char[length + 1];
+    env->GetStringUTFRegion(string, 0, length, buffer);
+    Local<String> result = String::NewFromOneByte(isolate, reinterpret_cast<const uint8_t*>(buffer), String::NewStringType::kNormalString, length);
+    if (buffer != stackBuffer) {
+      delete[] buffer;
+    }
+    return result;
+  }
   const uint16_t* unicodeString = env->GetStringChars(string, NULL);
-  int length = env->GetStringLength(string);
   Local<String> result = String::NewFromTwoByte(isolate, unicodeString, String::NewStringType::kNormalString, length);
   env->ReleaseStringChars(string, unicodeString);
   return result;
 }
 
+jstring createJavaString(JNIEnv *env, Isolate *isolate, Local<String> string) {
+  if (!string->IsOneByte()) {
+    String::Value unicodeString(string);
+    return env->NewString(*unicodeString, unicodeString.length());
+  }
+  // One-byte strings are written out directly. ASCII is valid modified UTF-8,
+  // so the JVM can create the string without a UTF-16 copy.
+  int length = string->Length();
+  uint8_t stackBuffer[STRING_STACK_BUFFER_SIZE];
+  uint8_t* buffer = length < STRING_STACK_BUFFER_SIZE ? stackBuffer : new uint8_t[length + 1];
+  string->WriteOneByte(buffer, 0, length);
+  buffer[length] = 0;
+  bool ascii = true;
+  for (int i = 0; i < length; i++) {
+    if (buffer[i] == 0 || buffer[i] >= 0x80) {
+      ascii = false;
+      break;
+    }
+  }
+  jstring result;
+  if (ascii) {
+    result = env->NewStringUTF(reinterpret_cast<const char*>(buffer));
+  } else {
+    jchar* latin1 = new jchar[length];
+    for (int i = 0; i < length; i++) {
+      latin1[i] = buffer[i];
+    }
+    result = env->NewString(latin1, length);
+    delete[] latin1;
+  }
+  if (buffer != stackBuffer) {
+    delete[] buffer;
+  }
+  return result;
+}
+
+Local<String> createV8StringFromUTF8(JNIEnv *env, Isolate *isolate, jobject buffer, jint offset, jint length) {
+  const char* utf8 = static_cast<const char*>(env->GetDirectBufferAddress(buffer)) + offset;
+  return String::NewFromUtf8(isolate, utf8, String::NewStringType::kNormalString, length);
+}
+
+// Writes the UTF-8 bytes of the string only if they fit, and returns their length
+jint writeUTF8(JNIEnv *env, Local<String> string, jobject buffer, jint offset, jint capacity) {
+  int length = string->Utf8Length();
+  if (length <= capacity) {
+    char* utf8 = static_cast<char*>(env->GetDirectBufferAddress(buffer)) + offset;
+    string->WriteUtf8(utf8, capacity, NULL, String::NO_NULL_TERMINATION);
+  }
+  return length;
+}
+
 Handle<Value> getValueWithKey(JNIEnv* env, Isolate* isolate, jlong &objectHandle, jstring &key) {
   Handle<Object> object = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
   Local<String> v8Key = createV8String(env, isolate, key);
@@ -219,11 +360,69 @@ Handle<Value> getValueWithKey(JNIEnv* env, Isolate* isolate, jlong &objectHandle
 
 void addValueWithKey(JNIEnv* env, Isolate* isolate, jlong &objectHandle, jstring &key, Handle<Value> value) {
   Handle<Object> object = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
-  const uint16_t* unicodeString_key = env->GetStringChars(key, NULL);
-  int length = env->GetStringLength(key);
-  Local<String> v8Key = String::NewFromTwoByte(isolate, unicodeString_key, String::NewStringType::kNormalString, length);
+  Local<String> v8Key = createV8String(env, isolate, key);
+  object->Set(v8Key, value);
+}
+
+Handle<Value> getValueWithKeyHandle(Isolate* isolate, jlong &objectHandle, jlong &keyHandle) {
+  Handle<Object> object = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
+  Local<String> v8Key = Local<String>::New(isolate, *reinterpret_cast<Persistent<String>*>(keyHandle));
+  return object->Get(v8Key);
+}
+
+void addValueWithKeyHandle(Isolate* isolate, jlong &objectHandle, jlong &keyHandle, Handle<Value> value) {
+  Handle<Object> object = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
+  Local<String> v8Key = Local<String>::New(isolate, *reinterpret_cast<Persistent<String>*>(keyHandle));
   object->Set(v8Key, value);
-  env->ReleaseStringChars(key, unicodeString_key);
+}
+
+Handle<Value> getValueAtPath(JNIEnv* env, Isolate* isolate, Handle<Value> value, jstring &path) {
+  const uint16_t* unicodePath = env->GetStringChars(path, NULL);
+  int length = env->GetStringLength(path);
+  int start = 0;
+  for (int i = 0; i <= length; i++) {
+    if ((i < length) && (unicodePath[i] != '.')) {
+      continue;
+    }
+    if (value.IsEmpty() || !value->IsObject()) {
+      value = Undefined(isolate);
+      break;
+    }
+    Local<String> segment = String::NewFromTwoByte(isolate, unicodePath + start, String::NewStringType::kInternalizedString, i - start);
+    value = Handle<Object>::Cast(value)->Get(segment);
+    start = i + 1;
+  }
+  env->ReleaseStringChars(path, unicodePath);
+  return value;
+}
+
+Handle<Value> getValueAtPath(JNIEnv* env, Isolate* isolate, jlong &objectHandle, jstring &path) {
+  Handle<Value> object = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
+  return getValueAtPath(env, isolate, object, path);
+}
+
+void setValueAtPath(JNIEnv* env, Isolate* isolate, Handle<Object> object, jstring &path, Handle<Value> value) {
+  const uint16_t* unicodePath = env->GetStringChars(path, NULL);
+  int length = env->GetStringLength(path);
+  int start = 0;
+  for (int i = 0; i <= length; i++) {
+    if ((i < length) && (unicodePath[i] != '.')) {
+      continue;
+    }
+    Local<String> segment = String::NewFromTwoByte(isolate, unicodePath + start, String::NewStringType::kInternalizedString, i - start);
+    if (i == length) {
+      object->Set(segment, value);
+      break;
+    }
+    Handle<Value> next = object->Get(segment);
+    if (next.IsEmpty() || !next->IsObject()) {
+      next = Object::New(isolate);
+      object->Set(segment, next);
+    }
+    object = Handle<Object>::Cast(next);
+    start = i + 1;
+  }
+  env->ReleaseStringChars(path, unicodePath);
 }
 
 void getJNIEnv(JNIEnv*& env) {
@@ -282,9 +481,13 @@ JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM *vm, void *reserved) {
     v8TypedArrayCls = (jclass)env->NewGlobalRef((env)->FindClass("com/eclipsesource/v8/V8TypedArray"));
     v8ArrayBufferCls = (jclass)env->NewGlobalRef((env)->FindClass("com/eclipsesource/v8/V8ArrayBuffer"));
     v8FunctionCls = (jclass)env->NewGlobalRef((env)->FindClass("com/eclipsesource/v8/V8Function"));
+    v8JavaProxyCls = (jclass)env->NewGlobalRef((env)->FindClass("com/eclipsesource/v8/V8JavaProxy"));
+    v8BindingCls = (jclass)env->NewGlobalRef((env)->FindClass("com/eclipsesource/v8/V8Binding"));
+    v8HeapSnapshotWriterCls = (jclass)env->NewGlobalRef((env)->FindClass("com/eclipsesource/v8/V8HeapSnapshotWriter"));
     undefinedV8ObjectCls = (jclass)env->NewGlobalRef((env)->FindClass("com/eclipsesource/v8/V8Object$Undefined"));
     undefinedV8ArrayCls = (jclass)env->NewGlobalRef((env)->FindClass("com/eclipsesource/v8/V8Array$Undefined"));
     stringCls = (jclass)env->NewGlobalRef((env)->FindClass("java/lang/String"));
+    objectCls = (jclass)env->NewGlobalRef((env)->FindClass("java/lang/Object"));
     integerCls = (jclass)env->NewGlobalRef((env)->FindClass("java/lang/Integer"));
     doubleCls = (jclass)env->NewGlobalRef((env)->FindClass("java/lang/Double"));
     booleanCls = (jclass)env->NewGlobalRef((env)->FindClass("java/lang/Boolean"));
@@ -301,7 +504,7 @@ JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM *vm, void *reserved) {
 	v8TypedArrayInitMethodID = env->GetMethodID(v8TypedArrayCls, "<init>", "(Lcom/eclipsesource/v8/V8Context;)V");
     v8ArrayBufferInitMethodID = env->GetMethodID(v8ArrayBufferCls, "<init>", "(Lcom/eclipsesource/v8/V8Context;Ljava/nio/ByteBuffer;)V");
     v8ArrayGetHandleMethodID = env->GetMethodID(v8ArrayCls, "getHandle", "()J");
-    v8CallVoidMethodID = (env)->GetMethodID(v8ContextCls, "callVoidJavaMethod", "(JLcom/eclipsesource/v8/V8Object;Lcom/eclipsesource/v8/V8Array;)V");
+    v8CallVoidMethodID = (env)->GetMethodID(v8ContextCls, "callVoidJavaMethod", "(JLcom/eclipsesource/v8/V8Object;Lcom/eclipsesource/v8/V8Array;II)V");
     v8ObjectReleaseMethodID = env->GetMethodID(v8ObjectCls, "release", "()V");
     v8ArrayReleaseMethodID = env->GetMethodID(v8ArrayCls, "release", "()V");
     v8ObjectIsUndefinedMethodID = env->GetMethodID(v8ObjectCls, "isUndefined", "()Z");
@@ -310,9 +513,12 @@ JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM *vm, void *reserved) {
     integerIntValueMethodID = env->GetMethodID(integerCls, "intValue", "()I");
     booleanBoolValueMethodID = env->GetMethodID(booleanCls, "booleanValue", "()Z");
     doubleDoubleValueMethodID = env->GetMethodID(doubleCls, "doubleValue", "()D");
-    v8CallObjectJavaMethodMethodID = (env)->GetMethodID(v8ContextCls, "callObjectJavaMethod", "(JLcom/eclipsesource/v8/V8Object;Lcom/eclipsesource/v8/V8Array;)Ljava/lang/Object;");
-    v8DisposeMethodID = (env)->GetMethodID(v8ContextCls, "disposeMethodID", "(J)V");
-    v8WeakReferenceReleased = (env)->GetMethodID(v8ContextCls, "weakReferenceReleased", "(J)V");
+    v8CallObjectJavaMethodMethodID = (env)->GetMethodID(v8ContextCls, "callObjectJavaMethod", "(JLcom/eclipsesource/v8/V8Object;Lcom/eclipsesource/v8/V8Array;II)Ljava/lang/Object;");
+    v8WeakReferencesReleased = (env)->GetMethodID(v8Cls, "weakReferencesReleased", "([J)V");
+    v8MethodDescriptorsReleased = (env)->GetMethodID(v8Cls, "methodDescriptorsReleased", "([J)V");
+    v8ProxyDescriptorsReleased = (env)->GetMethodID(v8Cls, "proxyDescriptorsReleased", "([J)V");
+    v8CodeEventMethodID = (env)->GetMethodID(v8Cls, "codeEvent", "(IJJJLjava/lang/String;)V");
+    v8GarbageCollectedMethodID = (env)->GetMethodID(v8Cls, "garbageCollected", "(IJ)V");
     v8ScriptCompilationInitMethodID = env->GetMethodID(v8ScriptCompilationCls, "<init>", "(Ljava/lang/String;ILjava/lang/String;Ljava/lang/String;II)V");
     v8ScriptExecutionExceptionInitMethodID = env->GetMethodID(v8ScriptExecutionExceptionCls, "<init>", "(Ljava/lang/String;ILjava/lang/String;Ljava/lang/String;IILjava/lang/String;Ljava/lang/Throwable;)V");
     v8ContextSetExceptionMethodID = env->GetMethodID(v8ContextCls, "setException", "(Ljava/lang/Throwable;)V");
@@ -324,6 +530,17 @@ JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM *vm, void *reserved) {
     booleanInitMethodID = env->GetMethodID(booleanCls, "<init>", "(Z)V");
     v8FunctionInitMethodID = env->GetMethodID(v8FunctionCls, "<init>", "(Lcom/eclipsesource/v8/V8Context;)V");
     v8ObjectInitMethodID = env->GetMethodID(v8ObjectCls, "<init>", "(Lcom/eclipsesource/v8/V8Context;)V");
+    v8GetProxyPropertyMethodID = env->GetMethodID(v8ContextCls, "getProxyProperty", "(JLjava/lang/String;)Ljava/lang/Object;");
+    v8GetProxyElementMethodID = env->GetMethodID(v8ContextCls, "getProxyElement", "(JI)Ljava/lang/Object;");
+    v8SetProxyPropertyMethodID = env->GetMethodID(v8ContextCls, "setProxyProperty", "(JLjava/lang/String;Ljava/lang/Object;)Z");
+    v8SetProxyElementMethodID = env->GetMethodID(v8ContextCls, "setProxyElement", "(JILjava/lang/Object;)Z");
+    v8QueryProxyPropertyMethodID = env->GetMethodID(v8ContextCls, "queryProxyProperty", "(JLjava/lang/String;)I");
+    v8QueryProxyElementMethodID = env->GetMethodID(v8ContextCls, "queryProxyElement", "(JI)I");
+    v8GetProxyKeysMethodID = env->GetMethodID(v8ContextCls, "getProxyKeys", "(J)[Ljava/lang/String;");
+    v8GetProxySizeMethodID = env->GetMethodID(v8ContextCls, "getProxySize", "(J)I");
+    v8BindingInvokeMethodID = env->GetMethodID(v8BindingCls, "invoke", "(Lcom/eclipsesource/v8/V8Context;ILcom/eclipsesource/v8/V8Object;Lcom/eclipsesource/v8/V8Array;II)Ljava/lang/Object;");
+    v8HeapSnapshotWriteChunkMethodID = env->GetMethodID(v8HeapSnapshotWriterCls, "writeChunk", "(I)Z");
+    proxyNotFound = env->NewGlobalRef(env->GetStaticObjectField(v8JavaProxyCls, env->GetStaticFieldID(v8JavaProxyCls, "NOT_FOUND", "Ljava/lang/Object;")));
 
     return JNI_VERSION_1_6;
 }
@@ -476,6 +693,68 @@ JNIEXPORT jboolean JNICALL Java_com_eclipsesource_v8_V8API__1isNodeCompatible
  #endif
 }
 
+void reportCollected(JNIEnv* env, V8Runtime* runtime, std::vector<jlong>& collected, jmethodID methodID) {
+  if (collected.empty()) {
+    return;
+  }
+  jsize size = static_cast<jsize>(collected.size());
+  jlongArray entries = env->NewLongArray(size);
+  env->SetLongArrayRegion(entries, 0, size, collected.data());
+  collected.clear();
+  env->CallVoidMethod(runtime->v8, methodID, entries);
+  // The collection may run within a native call, which must not return with a pending exception
+  if (env->ExceptionCheck()) {
+    env->ExceptionClear();
+  }
+  env->DeleteLocalRef(entries);
+}
+
+void collectedHandlesEpilogue(Isolate* isolate, GCType, GCCallbackFlags) {
+  V8Runtime* runtime = static_cast<V8Runtime*>(isolate->GetData(V8_RUNTIME_ISOLATE_SLOT));
+  if (runtime == NULL) {
+    return;
+  }
+  JNIEnv * env;
+  getJNIEnv(env);
+  reportCollected(env, runtime, runtime->collectedWeakReferences, v8WeakReferencesReleased);
+  reportCollected(env, runtime, runtime->collectedMethodDescriptors, v8MethodDescriptorsReleased);
+  reportCollected(env, runtime, runtime->collectedProxyDescriptors, v8ProxyDescriptorsReleased);
+}
+
+void garbageCollectionEventPrologue(Isolate* isolate, GCType, GCCallbackFlags) {
+  V8Runtime* runtime = static_cast<V8Runtime*>(isolate->GetData(V8_RUNTIME_ISOLATE_SLOT));
+  if (runtime != NULL) {
+    runtime->gcStart = std::chrono::steady_clock::now();
+  }
+}
+
+void garbageCollectionEventEpilogue(Isolate* isolate, GCType type, GCCallbackFlags) {
+  V8Runtime* runtime = static_cast<V8Runtime*>(isolate->GetData(V8_RUNTIME_ISOLATE_SLOT));
+  if (runtime == NULL) {
+    return;
+  }
+  std::chrono::nanoseconds pauseTime = std::chrono::steady_clock::now() - runtime->gcStart;
+  JNIEnv * env;
+  getJNIEnv(env);
+  env->CallVoidMethod(runtime->v8, v8GarbageCollectedMethodID, static_cast<jint>(type), static_cast<jlong>(pauseTime.count()));
+  // The collection may run within a native call, which must not return with a pending exception
+  if (env->ExceptionCheck()) {
+    env->ExceptionClear();
+  }
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1setGarbageCollectionEvents
+  (JNIEnv *env, jclass, jlong v8RuntimePtr, jboolean enabled) {
+  Isolate* isolate = reinterpret_cast<V8Runtime*>(v8RuntimePtr)->isolate;
+  if (enabled) {
+    isolate->AddGCPrologueCallback(garbageCollectionEventPrologue);
+    isolate->AddGCEpilogueCallback(garbageCollectionEventEpilogue);
+  } else {
+    isolate->RemoveGCPrologueCallback(garbageCollectionEventPrologue);
+    isolate->RemoveGCEpilogueCallback(garbageCollectionEventEpilogue);
+  }
+}
+
 JNIEXPORT jlong JNICALL Java_com_eclipsesource_v8_V8API__1createIsolate
  (JNIEnv *env, jobject, jobject v8) {
   V8Runtime* runtime = new V8Runtime();
@@ -486,6 +765,11 @@ JNIEXPORT jlong JNICALL Java_com_eclipsesource_v8_V8API__1createIsolate
   v8::Isolate::Scope isolate_scope(runtime->isolate);
   runtime->v8 = env->NewGlobalRef(v8);
   runtime->pendingException = NULL;
+  runtime->codeEvents = 0;
+  runtime->enumeratedCodeEvents = 0;
+  runtime->perfMap = NULL;
+  runtime->isolate->SetData(V8_RUNTIME_ISOLATE_SLOT, runtime);
+  runtime->isolate->AddGCEpilogueCallback(collectedHandlesEpilogue);
 
   delete(runtime->locker);
   return reinterpret_cast<jlong>(runtime);
@@ -517,6 +801,7 @@ JNIEXPORT jlong JNICALL Java_com_eclipsesource_v8_V8API__1createContext
     v8Context->globalObject = new Persistent<Object>;
     v8Context->globalObject->Reset(runtime->isolate, context->Global()->GetPrototype()->ToObject(runtime->isolate));
   }
+  runtime->contexts.push_back(v8Context);
 
   return reinterpret_cast<jlong>(v8Context);
 }
@@ -576,6 +861,18 @@ JNIEXPORT jlong JNICALL Java_com_eclipsesource_v8_V8API__1initNewV8Object
   return reinterpret_cast<jlong>(container);
 }
 
+JNIEXPORT jlong JNICALL Java_com_eclipsesource_v8_V8API__1initNewV8PropertyKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jstring key) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+  const uint16_t* unicodeString = env->GetStringChars(key, NULL);
+  int length = env->GetStringLength(key);
+  Local<String> v8Key = String::NewFromTwoByte(isolate, unicodeString, String::NewStringType::kInternalizedString, length);
+  env->ReleaseStringChars(key, unicodeString);
+  Persistent<String>* container = new Persistent<String>;
+  container->Reset(runtime->isolate, v8Key);
+  return reinterpret_cast<jlong>(container);
+}
+
 JNIEXPORT jlong JNICALL Java_com_eclipsesource_v8_V8API__1getGlobalObject
   (JNIEnv *env, jobject, jlong v8ContextPtr) {
   Isolate* isolate = SETUP(env, v8ContextPtr, 0);
@@ -728,6 +1025,34 @@ JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1release
   delete(reinterpret_cast<Persistent<Object>*>(objectHandle));
 }
 
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1releasePropertyKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong keyHandle) {
+  if (v8ContextPtr == 0) {
+    return;
+  }
+  Isolate* isolate = getIsolate(env, v8ContextPtr);
+  Locker locker(isolate);
+  HandleScope handle_scope(isolate);
+  reinterpret_cast<Persistent<String>*>(keyHandle)->Reset();
+  delete(reinterpret_cast<Persistent<String>*>(keyHandle));
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1releaseAll
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlongArray objectHandles, jint count) {
+  if (v8ContextPtr == 0) {
+    return;
+  }
+  Isolate* isolate = getIsolate(env, v8ContextPtr);
+  Locker locker(isolate);
+  HandleScope handle_scope(isolate);
+  jlong* handles = env->GetLongArrayElements(objectHandles, NULL);
+  for (int i = 0; i < count; i++) {
+    reinterpret_cast<Persistent<Object>*>(handles[i])->Reset();
+    delete(reinterpret_cast<Persistent<Object>*>(handles[i]));
+  }
+  env->ReleaseLongArrayElements(objectHandles, handles, JNI_ABORT);
+}
+
 JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1terminateExecution
   (JNIEnv *env, jclass, jlong v8RuntimePtr) {
 	if (v8RuntimePtr == 0) {
@@ -739,12 +1064,488 @@ JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1terminateExecution
 	return;
 }
 
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1startCpuProfiling
+  (JNIEnv *env, jclass, jlong v8RuntimePtr, jstring title, jint samplingInterval) {
+  Isolate* isolate = reinterpret_cast<V8Runtime*>(v8RuntimePtr)->isolate;
+  Isolate::Scope isolateScope(isolate);
+  HandleScope handle_scope(isolate);
+  CpuProfiler* profiler = isolate->GetCpuProfiler();
+  profiler->SetSamplingInterval(samplingInterval);
+  profiler->StartProfiling(createV8String(env, isolate, title), true);
+}
+
+// The values of every profile node passed to V8CpuProfile
+#define CPU_PROFILE_NODE_FIELDS 6
+#define CPU_PROFILE_NODE_STRINGS 3
+
+JNIEXPORT jobjectArray JNICALL Java_com_eclipsesource_v8_V8API__1stopCpuProfiling
+  (JNIEnv *env, jclass, jlong v8RuntimePtr, jstring title) {
+  Isolate* isolate = reinterpret_cast<V8Runtime*>(v8RuntimePtr)->isolate;
+  Isolate::Scope isolateScope(isolate);
+  HandleScope handle_scope(isolate);
+  CpuProfile* profile = isolate->GetCpuProfiler()->StopProfiling(createV8String(env, isolate, title));
+  if (profile == NULL) {
+    return NULL;
+  }
+  // Flatten the call tree in pre-order, so Java can rebuild it from the child counts
+  std::vector<const CpuProfileNode*> nodes;
+  std::vector<const CpuProfileNode*> pending;
+  pending.push_back(profile->GetTopDownRoot());
+  int hitLineCount = 0;
+  while (!pending.empty()) {
+    const CpuProfileNode* node = pending.back();
+    pending.pop_back();
+    nodes.push_back(node);
+    hitLineCount += node->GetHitLineCount();
+    for (int i = node->GetChildrenCount() - 1; i >= 0; i--) {
+      pending.push_back(node->GetChild(i));
+    }
+  }
+  int nodeCount = static_cast<int>(nodes.size());
+  jint* values = new jint[nodeCount * CPU_PROFILE_NODE_FIELDS];
+  jint* lineTicks = new jint[nodeCount + hitLineCount * 2];
+  jobjectArray strings = env->NewObjectArray(nodeCount * CPU_PROFILE_NODE_STRINGS, stringCls, NULL);
+  int lineTickIndex = 0;
+  for (int i = 0; i < nodeCount; i++) {
+    const CpuProfileNode* node = nodes[i];
+    jint* nodeValues = values + i * CPU_PROFILE_NODE_FIELDS;
+    nodeValues[0] = node->GetNodeId();
+    nodeValues[1] = node->GetChildrenCount();
+    nodeValues[2] = node->GetHitCount();
+    nodeValues[3] = node->GetLineNumber();
+    nodeValues[4] = node->GetColumnNumber();
+    nodeValues[5] = node->GetScriptId();
+    jstring functionName = createJavaString(env, isolate, node->GetFunctionName());
+    jstring url = createJavaString(env, isolate, node->GetScriptResourceName());
+    const char* reason = node->GetBailoutReason();
+    jstring bailoutReason = env->NewStringUTF(reason == NULL ? "" : reason);
+    env->SetObjectArrayElement(strings, i * CPU_PROFILE_NODE_STRINGS, functionName);
+    env->SetObjectArrayElement(strings, i * CPU_PROFILE_NODE_STRINGS + 1, url);
+    env->SetObjectArrayElement(strings, i * CPU_PROFILE_NODE_STRINGS + 2, bailoutReason);
+    env->DeleteLocalRef(functionName);
+    env->DeleteLocalRef(url);
+    env->DeleteLocalRef(bailoutReason);
+    unsigned int lineCount = node->GetHitLineCount();
+    int countIndex = lineTickIndex++;
+    lineTicks[countIndex] = 0;
+    if (lineCount > 0) {
+      CpuProfileNode::LineTick* entries = new CpuProfileNode::LineTick[lineCount];
+      if (node->GetLineTicks(entries, lineCount)) {
+        lineTicks[countIndex] = lineCount;
+        for (unsigned int j = 0; j < lineCount; j++) {
+          lineTicks[lineTickIndex++] = entries[j].line;
+          lineTicks[lineTickIndex++] = entries[j].hit_count;
+        }
+      }
+      delete[] entries;
+    }
+  }
+  int sampleCount = profile->GetSamplesCount();
+  jint* samples = new jint[sampleCount];
+  jlong* times = new jlong[sampleCount + 2];
+  times[0] = profile->GetStartTime();
+  times[1] = profile->GetEndTime();
+  for (int i = 0; i < sampleCount; i++) {
+    samples[i] = profile->GetSample(i)->GetNodeId();
+    times[i + 2] = profile->GetSampleTimestamp(i);
+  }
+  profile->Delete();
+
+  jintArray valuesArray = env->NewIntArray(nodeCount * CPU_PROFILE_NODE_FIELDS);
+  env->SetIntArrayRegion(valuesArray, 0, nodeCount * CPU_PROFILE_NODE_FIELDS, values);
+  jintArray lineTicksArray = env->NewIntArray(lineTickIndex);
+  env->SetIntArrayRegion(lineTicksArray, 0, lineTickIndex, lineTicks);
+  jintArray samplesArray = env->NewIntArray(sampleCount);
+  env->SetIntArrayRegion(samplesArray, 0, sampleCount, samples);
+  jlongArray timesArray = env->NewLongArray(sampleCount + 2);
+  env->SetLongArrayRegion(timesArray, 0, sampleCount + 2, times);
+  delete[] values;
+  delete[] lineTicks;
+  delete[] samples;
+  delete[] times;
+
+  jobjectArray result = env->NewObjectArray(5, objectCls, NULL);
+  env->SetObjectArrayElement(result, 0, valuesArray);
+  env->SetObjectArrayElement(result, 1, strings);
+  env->SetObjectArrayElement(result, 2, lineTicksArray);
+  env->SetObjectArrayElement(result, 3, samplesArray);
+  env->SetObjectArrayElement(result, 4, timesArray);
+  env->DeleteLocalRef(valuesArray);
+  env->DeleteLocalRef(strings);
+  env->DeleteLocalRef(lineTicksArray);
+  env->DeleteLocalRef(samplesArray);
+  env->DeleteLocalRef(timesArray);
+  return result;
+}
+
+JNIEXPORT jboolean JNICALL Java_com_eclipsesource_v8_V8API__1startSamplingHeapProfiler
+  (JNIEnv *env, jclass, jlong v8RuntimePtr, jlong sampleInterval, jint stackDepth) {
+  Isolate* isolate = reinterpret_cast<V8Runtime*>(v8RuntimePtr)->isolate;
+  Isolate::Scope isolateScope(isolate);
+  return isolate->GetHeapProfiler()->StartSamplingHeapProfiler(static_cast<uint64_t>(sampleInterval), stackDepth);
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1stopSamplingHeapProfiler
+  (JNIEnv *env, jclass, jlong v8RuntimePtr) {
+  Isolate* isolate = reinterpret_cast<V8Runtime*>(v8RuntimePtr)->isolate;
+  Isolate::Scope isolateScope(isolate);
+  isolate->GetHeapProfiler()->StopSamplingHeapProfiler();
+}
+
+// The values of every allocation profile node passed to V8AllocationProfile
+#define ALLOCATION_PROFILE_NODE_FIELDS 5
+#define ALLOCATION_PROFILE_NODE_STRINGS 2
+
+JNIEXPORT jobjectArray JNICALL Java_com_eclipsesource_v8_V8API__1getAllocationProfile
+  (JNIEnv *env, jclass, jlong v8RuntimePtr) {
+  Isolate* isolate = reinterpret_cast<V8Runtime*>(v8RuntimePtr)->isolate;
+  Isolate::Scope isolateScope(isolate);
+  HandleScope handle_scope(isolate);
+  AllocationProfile* profile = isolate->GetHeapProfiler()->GetAllocationProfile();
+  if (profile == NULL) {
+    return NULL;
+  }
+  // Flatten the allocation tree in pre-order, like the CPU profiles
+  std::vector<AllocationProfile::Node*> nodes;
+  std::vector<AllocationProfile::Node*> pending;
+  pending.push_back(profile->GetRootNode());
+  int allocationCount = 0;
+  while (!pending.empty()) {
+    AllocationProfile::Node* node = pending.back();
+    pending.pop_back();
+    nodes.push_back(node);
+    allocationCount += static_cast<int>(node->allocations.size());
+    for (int i = static_cast<int>(node->children.size()) - 1; i >= 0; i--) {
+      pending.push_back(node->children[i]);
+    }
+  }
+  int nodeCount = static_cast<int>(nodes.size());
+  jint* values = new jint[nodeCount * ALLOCATION_PROFILE_NODE_FIELDS];
+  jlong* allocations = new jlong[allocationCount * 2];
+  jobjectArray strings = env->NewObjectArray(nodeCount * ALLOCATION_PROFILE_NODE_STRINGS, stringCls, NULL);
+  int allocationIndex = 0;
+  for (int i = 0; i < nodeCount; i++) {
+    AllocationProfile::Node* node = nodes[i];
+    jint* nodeValues = values + i * ALLOCATION_PROFILE_NODE_FIELDS;
+    nodeValues[0] = static_cast<jint>(node->children.size());
+    nodeValues[1] = node->script_id;
+    nodeValues[2] = node->line_number;
+    nodeValues[3] = node->column_number;
+    nodeValues[4] = static_cast<jint>(node->allocations.size());
+    jstring name = createJavaString(env, isolate, node->name);
+    jstring scriptName = createJavaString(env, isolate, node->script_name);
+    env->SetObjectArrayElement(strings, i * ALLOCATION_PROFILE_NODE_STRINGS, name);
+    env->SetObjectArrayElement(strings, i * ALLOCATION_PROFILE_NODE_STRINGS + 1, scriptName);
+    env->DeleteLocalRef(name);
+    env->DeleteLocalRef(scriptName);
+    for (size_t j = 0; j < node->allocations.size(); j++) {
+      allocations[allocationIndex++] = static_cast<jlong>(node->allocations[j].size);
+      allocations[allocationIndex++] = static_cast<jlong>(node->allocations[j].count);
+    }
+  }
+  delete profile;
+
+  jintArray valuesArray = env->NewIntArray(nodeCount * ALLOCATION_PROFILE_NODE_FIELDS);
+  env->SetIntArrayRegion(valuesArray, 0, nodeCount * ALLOCATION_PROFILE_NODE_FIELDS, values);
+  jlongArray allocationsArray = env->NewLongArray(allocationCount * 2);
+  env->SetLongArrayRegion(allocationsArray, 0, allocationCount * 2, allocations);
+  delete[] values;
+  delete[] allocations;
+
+  jobjectArray result = env->NewObjectArray(3, objectCls, NULL);
+  env->SetObjectArrayElement(result, 0, valuesArray);
+  env->SetObjectArrayElement(result, 1, strings);
+  env->SetObjectArrayElement(result, 2, allocationsArray);
+  env->DeleteLocalRef(valuesArray);
+  env->DeleteLocalRef(strings);
+  env->DeleteLocalRef(allocationsArray);
+  return result;
+}
+
+// Decodes a code name without the V8 heap, which cannot be used while code is moved
+jstring createJavaStringFromUtf8(JNIEnv* env, const char* utf8, size_t length) {
+  std::vector<jchar> chars;
+  chars.reserve(length);
+  size_t i = 0;
+  while (i < length) {
+    unsigned char c = static_cast<unsigned char>(utf8[i]);
+    uint32_t codePoint;
+    int size;
+    if (c < 0x80) {
+      codePoint = c;
+      size = 1;
+    } else if ((c & 0xE0) == 0xC0) {
+      codePoint = c & 0x1F;
+      size = 2;
+    } else if ((c & 0xF0) == 0xE0) {
+      codePoint = c & 0x0F;
+      size = 3;
+    } else {
+      codePoint = c & 0x07;
+      size = 4;
+    }
+    if (i + size > length) {
+      break;
+    }
+    for (int j = 1; j < size; j++) {
+      codePoint = (codePoint << 6) | (static_cast<unsigned char>(utf8[i + j]) & 0x3F);
+    }
+    if (codePoint >= 0x10000) {
+      codePoint -= 0x10000;
+      chars.push_back(static_cast<jchar>(0xD800 + (codePoint >> 10)));
+      chars.push_back(static_cast<jchar>(0xDC00 + (codePoint & 0x3FF)));
+    } else {
+      chars.push_back(static_cast<jchar>(codePoint));
+    }
+    i += size;
+  }
+  return env->NewString(chars.data(), static_cast<jsize>(chars.size()));
+}
+
+// Writes the code events in the /tmp/perf-<pid>.map format read by perf and async-profiler
+void writePerfMapEntry(V8Runtime* runtime, const JitCodeEvent* event) {
+  uintptr_t start = reinterpret_cast<uintptr_t>(event->code_start);
+  if (event->type == JitCodeEvent::CODE_ADDED) {
+    std::string name(event->name.str, event->name.len);
+    runtime->codeNames[start] = name;
+    fprintf(runtime->perfMap, "%lx %lx %s\n", static_cast<unsigned long>(start),
+      static_cast<unsigned long>(event->code_len), name.c_str());
+  } else if (event->type == JitCodeEvent::CODE_MOVED) {
+    std::map<uintptr_t, std::string>::iterator entry = runtime->codeNames.find(start);
+    if (entry == runtime->codeNames.end()) {
+      return;
+    }
+    uintptr_t newStart = reinterpret_cast<uintptr_t>(event->new_code_start);
+    std::string name = entry->second;
+    runtime->codeNames.erase(entry);
+    runtime->codeNames[newStart] = name;
+    // Perf uses the latest entry of an address, so the old one does not need to be removed
+    fprintf(runtime->perfMap, "%lx %lx %s\n", static_cast<unsigned long>(newStart),
+      static_cast<unsigned long>(event->code_len), name.c_str());
+  } else {
+    runtime->codeNames.erase(start);
+  }
+}
+
+void reportCodeEvent(V8Runtime* runtime, const JitCodeEvent* event) {
+  JNIEnv * env;
+  getJNIEnv(env);
+  jint type = com_eclipsesource_v8_V8API_CODE_REMOVED;
+  jlong newStart = 0;
+  jstring name = NULL;
+  if (event->type == JitCodeEvent::CODE_ADDED) {
+    type = com_eclipsesource_v8_V8API_CODE_ADDED;
+    name = createJavaStringFromUtf8(env, event->name.str, event->name.len);
+  } else if (event->type == JitCodeEvent::CODE_MOVED) {
+    type = com_eclipsesource_v8_V8API_CODE_MOVED;
+    newStart = reinterpret_cast<jlong>(event->new_code_start);
+  }
+  env->CallVoidMethod(runtime->v8, v8CodeEventMethodID, type, reinterpret_cast<jlong>(event->code_start),
+    static_cast<jlong>(event->code_len), newStart, name);
+  if (env->ExceptionCheck()) {
+    env->ExceptionClear();
+  }
+  if (name != NULL) {
+    env->DeleteLocalRef(name);
+  }
+}
+
+void codeEventHandler(const JitCodeEvent* event) {
+  if ((event->type != JitCodeEvent::CODE_ADDED) && (event->type != JitCodeEvent::CODE_MOVED)
+    && (event->type != JitCodeEvent::CODE_REMOVED)) {
+    return;
+  }
+  Isolate* isolate = Isolate::GetCurrent();
+  if (isolate == NULL) {
+    return;
+  }
+  V8Runtime* runtime = static_cast<V8Runtime*>(isolate->GetData(V8_RUNTIME_ISOLATE_SLOT));
+  if (runtime == NULL) {
+    return;
+  }
+  // The existing code is only reported to the outputs which were just enabled
+  jint outputs = runtime->enumeratedCodeEvents != 0 ? runtime->enumeratedCodeEvents : runtime->codeEvents;
+  if (((outputs & com_eclipsesource_v8_V8API_CODE_EVENTS_PERF_MAP) != 0) && (runtime->perfMap != NULL)) {
+    writePerfMapEntry(runtime, event);
+  }
+  if ((outputs & com_eclipsesource_v8_V8API_CODE_EVENTS_LISTENER) != 0) {
+    reportCodeEvent(runtime, event);
+  }
+}
+
+JNIEXPORT jboolean JNICALL Java_com_eclipsesource_v8_V8API__1setCodeEventOutputs
+  (JNIEnv *env, jclass, jlong v8RuntimePtr, jint outputs) {
+  V8Runtime* runtime = reinterpret_cast<V8Runtime*>(v8RuntimePtr);
+  Isolate* isolate = runtime->isolate;
+  Isolate::Scope isolateScope(isolate);
+  HandleScope handle_scope(isolate);
+  if (((outputs & com_eclipsesource_v8_V8API_CODE_EVENTS_PERF_MAP) != 0) && (runtime->perfMap == NULL)) {
+#ifdef __linux__
+    char path[64];
+    snprintf(path, sizeof(path), "/tmp/perf-%d.map", static_cast<int>(getpid()));
+    runtime->perfMap = fopen(path, "a");
+    if (runtime->perfMap == NULL) {
+      return false;
+    }
+    // Complete lines are appended with single writes, so the isolates of a process can share the file
+    setvbuf(runtime->perfMap, NULL, _IOLBF, 0);
+#else
+    (env)->ThrowNew(unsupportedOperationExceptionCls, "Perf maps are only supported on Linux.");
+    return false;
+#endif
+  }
+  jint enabled = outputs & ~runtime->codeEvents;
+  runtime->codeEvents = outputs;
+  if (outputs == 0) {
+    isolate->SetJitCodeEventHandler(kJitCodeEventDefault, NULL);
+  } else if (enabled != 0) {
+    runtime->enumeratedCodeEvents = enabled;
+    isolate->SetJitCodeEventHandler(kJitCodeEventEnumExisting, codeEventHandler);
+    runtime->enumeratedCodeEvents = 0;
+  }
+  if (((outputs & com_eclipsesource_v8_V8API_CODE_EVENTS_PERF_MAP) == 0) && (runtime->perfMap != NULL)) {
+    fclose(runtime->perfMap);
+    runtime->perfMap = NULL;
+    runtime->codeNames.clear();
+  }
+  return true;
+}
+
+// Copies the chunks of a serialized heap snapshot into a direct buffer, and
+// hands them to a V8HeapSnapshotWriter which writes them to its channel
+class HeapSnapshotStream : public OutputStream {
+public:
+  HeapSnapshotStream(JNIEnv* env, jobject writer, jobject buffer) {
+    this->env = env;
+    this->writer = writer;
+    this->data = static_cast<char*>(env->GetDirectBufferAddress(buffer));
+    this->capacity = static_cast<int>(env->GetDirectBufferCapacity(buffer));
+  }
+
+  virtual int GetChunkSize() {
+    return capacity;
+  }
+
+  virtual void EndOfStream() {
+  }
+
+  virtual WriteResult WriteAsciiChunk(char* chunk, int size) {
+    for (int offset = 0; offset < size; offset += capacity) {
+      int length = size - offset < capacity ? size - offset : capacity;
+      memcpy(data, chunk + offset, length);
+      jboolean written = env->CallBooleanMethod(writer, v8HeapSnapshotWriteChunkMethodID, length);
+      if (env->ExceptionCheck() || !written) {
+        return kAbort;
+      }
+    }
+    return kContinue;
+  }
+
+private:
+  JNIEnv* env;
+  jobject writer;
+  char* data;
+  int capacity;
+};
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1takeHeapSnapshot
+  (JNIEnv *env, jclass, jlong v8RuntimePtr, jobject writer, jobject buffer) {
+  Isolate* isolate = reinterpret_cast<V8Runtime*>(v8RuntimePtr)->isolate;
+  Isolate::Scope isolateScope(isolate);
+  HandleScope handle_scope(isolate);
+  HeapProfiler* profiler = isolate->GetHeapProfiler();
+  const HeapSnapshot* snapshot = profiler->TakeHeapSnapshot();
+  HeapSnapshotStream stream(env, writer, buffer);
+  snapshot->Serialize(&stream, HeapSnapshot::kJSON);
+  const_cast<HeapSnapshot*>(snapshot)->Delete();
+}
+
+// The group of a heap node in a summary, named like in the Chrome developer tools
+std::string getHeapNodeGroup(const HeapGraphNode* node) {
+  switch (node->GetType()) {
+    case HeapGraphNode::kObject:
+    case HeapGraphNode::kNative: {
+      String::Utf8Value name(node->GetName());
+      return std::string(*name, name.length());
+    }
+    case HeapGraphNode::kArray:
+      return "(array)";
+    case HeapGraphNode::kString:
+      return "(string)";
+    case HeapGraphNode::kCode:
+      return "(compiled code)";
+    case HeapGraphNode::kClosure:
+      return "(closure)";
+    case HeapGraphNode::kRegExp:
+      return "(regexp)";
+    case HeapGraphNode::kHeapNumber:
+      return "(number)";
+    case HeapGraphNode::kConsString:
+      return "(concatenated string)";
+    case HeapGraphNode::kSlicedString:
+      return "(sliced string)";
+    default:
+      return "(system)";
+  }
+}
+
+JNIEXPORT jobjectArray JNICALL Java_com_eclipsesource_v8_V8API__1takeHeapSnapshotSummary
+  (JNIEnv *env, jclass, jlong v8RuntimePtr) {
+  Isolate* isolate = reinterpret_cast<V8Runtime*>(v8RuntimePtr)->isolate;
+  Isolate::Scope isolateScope(isolate);
+  HandleScope handle_scope(isolate);
+  const HeapSnapshot* snapshot = isolate->GetHeapProfiler()->TakeHeapSnapshot();
+  // Count and shallow size of every group
+  std::map<std::string, std::pair<jlong, jlong> > groups;
+  int nodeCount = snapshot->GetNodesCount();
+  for (int i = 0; i < nodeCount; i++) {
+    const HeapGraphNode* node = snapshot->GetNode(i);
+    if (node->GetType() == HeapGraphNode::kSynthetic || node->GetType() == HeapGraphNode::kHidden) {
+      continue;
+    }
+    std::pair<jlong, jlong>& group = groups[getHeapNodeGroup(node)];
+    group.first++;
+    group.second += static_cast<jlong>(node->GetShallowSize());
+  }
+  const_cast<HeapSnapshot*>(snapshot)->Delete();
+
+  int groupCount = static_cast<int>(groups.size());
+  jobjectArray names = env->NewObjectArray(groupCount, stringCls, NULL);
+  jlong* values = new jlong[groupCount * 2];
+  int index = 0;
+  for (std::map<std::string, std::pair<jlong, jlong> >::iterator it = groups.begin(); it != groups.end(); ++it, index++) {
+    Local<String> name = String::NewFromUtf8(isolate, it->first.c_str(), String::NewStringType::kNormalString, static_cast<int>(it->first.length()));
+    jstring javaName = createJavaString(env, isolate, name);
+    env->SetObjectArrayElement(names, index, javaName);
+    env->DeleteLocalRef(javaName);
+    values[index * 2] = it->second.first;
+    values[index * 2 + 1] = it->second.second;
+  }
+  jlongArray valuesArray = env->NewLongArray(groupCount * 2);
+  env->SetLongArrayRegion(valuesArray, 0, groupCount * 2, values);
+  delete[] values;
+
+  jobjectArray result = env->NewObjectArray(2, objectCls, NULL);
+  env->SetObjectArrayElement(result, 0, names);
+  env->SetObjectArrayElement(result, 1, valuesArray);
+  env->DeleteLocalRef(names);
+  env->DeleteLocalRef(valuesArray);
+  return result;
+}
+
 JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1releaseIsolate
 (JNIEnv *env, jclass, jlong v8RuntimePtr) {
   if (v8RuntimePtr == 0) {
     return;
   }
+  reinterpret_cast<V8Runtime*>(v8RuntimePtr)->isolate->RemoveGCEpilogueCallback(collectedHandlesEpilogue);
   reinterpret_cast<V8Runtime*>(v8RuntimePtr)->isolate->Dispose();
+  // Functions of released bindings may be referenced until the isolate is disposed
+  std::vector<BindingDescriptor*>& releasedBindings = reinterpret_cast<V8Runtime*>(v8RuntimePtr)->releasedBindings;
+  for (size_t i = 0; i < releasedBindings.size(); i++) {
+    delete[](releasedBindings[i]->methods);
+    delete(releasedBindings[i]);
+  }
   env->DeleteGlobalRef(reinterpret_cast<V8Runtime*>(v8RuntimePtr)->v8);
   delete(reinterpret_cast<V8Runtime*>(v8RuntimePtr));
 }
@@ -755,8 +1556,16 @@ JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1releaseContext
     return;
   }
 
-  env->DeleteGlobalRef(reinterpret_cast<V8Context*>(v8ContextPtr)->v8Ctx);
-  delete(reinterpret_cast<V8Context*>(v8ContextPtr));
+  V8Context* v8Context = reinterpret_cast<V8Context*>(v8ContextPtr);
+  std::vector<V8Context*>& contexts = v8Context->getRuntime()->contexts;
+  contexts.erase(std::remove(contexts.begin(), contexts.end(), v8Context), contexts.end());
+  if (!v8Context->proxyTemplate.IsEmpty()) {
+    Isolate* isolate = v8Context->getRuntime()->isolate;
+    Locker locker(isolate);
+    v8Context->proxyTemplate.Reset();
+  }
+  env->DeleteGlobalRef(v8Context->v8Ctx);
+  delete(v8Context);
 }
 
 JNIEXPORT jboolean JNICALL Java_com_eclipsesource_v8_V8API__1contains
@@ -775,8 +1584,7 @@ JNIEXPORT jobjectArray JNICALL Java_com_eclipsesource_v8_V8API__1getKeys
   int size = properties->Length();
   jobjectArray keys = (env)->NewObjectArray(size, stringCls, NULL);
   for (int i = 0; i < size; i++) {
-    String::Value unicodeString(properties->Get(i)->ToString(isolate));
-    jobject key = (env)->NewString(*unicodeString, unicodeString.length());
+    jobject key = createJavaString(env, isolate, properties->Get(i)->ToString(isolate));
     (env)->SetObjectArrayElement(keys, i, key);
     (env)->DeleteLocalRef(key);
   }
@@ -872,9 +1680,7 @@ JNIEXPORT jstring JNICALL Java_com_eclipsesource_v8_V8API__1executeStringScript
   if (!runScript(isolate, env, &script, &tryCatch, result, v8ContextPtr))
     return NULL;
   ASSERT_IS_STRING(result);
-  String::Value unicodeString(result->ToString(isolate));
-
-  return env->NewString(*unicodeString, unicodeString.length());
+  return createJavaString(env, isolate, result->ToString(isolate));
 }
 
 JNIEXPORT jint JNICALL Java_com_eclipsesource_v8_V8API__1executeIntegerScript
@@ -1010,9 +1816,7 @@ JNIEXPORT jstring JNICALL Java_com_eclipsesource_v8_V8API__1executeStringFunctio
   if (!invokeFunction(env, isolate, v8ContextPtr, objectHandle, jfunctionName, parameterHandle, result))
     return NULL;
   ASSERT_IS_STRING(result);
-  String::Value unicodeString(result->ToString(isolate));
-
-  return env->NewString(*unicodeString, unicodeString.length());
+  return createJavaString(env, isolate, result->ToString(isolate));
 }
 
 JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1executeVoidFunction
@@ -1022,36 +1826,158 @@ JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1executeVoidFunction
   invokeFunction(env, isolate, v8ContextPtr, objectHandle, jfunctionName, parameterHandle, result);
 }
 
-JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addUndefined
-(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring key) {
-  Isolate* isolate = SETUP(env, v8ContextPtr, );
-  addValueWithKey(env, isolate, objectHandle, key, Undefined(isolate));
+#define FRAME_SLOT_SIZE 16
+#define FRAME_TAG_OFFSET 0
+#define FRAME_REFERENCE_OFFSET 4
+#define FRAME_VALUE_OFFSET 8
+#define FRAME_STACK_ARGS 16
+
+Handle<Value> getFrameArgument(JNIEnv *env, Isolate* isolate, const char* slot, jobjectArray &references) {
+  jint tag = *reinterpret_cast<const jint*>(slot + FRAME_TAG_OFFSET);
+  jint referenceIndex = *reinterpret_cast<const jint*>(slot + FRAME_REFERENCE_OFFSET);
+  const char* value = slot + FRAME_VALUE_OFFSET;
+  switch (tag) {
+    case com_eclipsesource_v8_V8API_INTEGER:
+      return Int32::New(isolate, (jint) *reinterpret_cast<const jlong*>(value));
+    case com_eclipsesource_v8_V8API_DOUBLE:
+      return Number::New(isolate, *reinterpret_cast<const jdouble*>(value));
+    case com_eclipsesource_v8_V8API_BOOLEAN:
+      return Boolean::New(isolate, *reinterpret_cast<const jlong*>(value) != 0);
+    case com_eclipsesource_v8_V8API_STRING: {
+      jstring string = (jstring) env->GetObjectArrayElement(references, referenceIndex);
+      Local<String> result = createV8String(env, isolate, string);
+      env->DeleteLocalRef(string);
+      return result;
+    }
+    case com_eclipsesource_v8_V8API_V8_OBJECT:
+      return Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(*reinterpret_cast<const jlong*>(value)));
+    case com_eclipsesource_v8_V8API_UNDEFINED:
+      return Undefined(isolate);
+  }
+  return Null(isolate);
 }
 
-JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addNull
-(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring key) {
-  Isolate* isolate = SETUP(env, v8ContextPtr, );
-  addValueWithKey(env, isolate, objectHandle, key, Null(isolate));
+bool invokeFunctionWithFrame(JNIEnv *env, Isolate* isolate, jlong &v8ContextPtr, Handle<Object> &receiver, Handle<Value> &function, jobject &frame, jint length, jobjectArray &references, Handle<Value> &result) {
+  Handle<Value> stackArgs[FRAME_STACK_ARGS];
+  Handle<Value>* args = length > FRAME_STACK_ARGS ? new Handle<Value>[length] : stackArgs;
+  const char* slots = static_cast<const char*>(env->GetDirectBufferAddress(frame));
+  for (int i = 0; i < length; i++) {
+    args[i] = getFrameArgument(env, isolate, slots + (i * FRAME_SLOT_SIZE), references);
+  }
+  Handle<Function> func = Handle<Function>::Cast(function);
+  TryCatch tryCatch(isolate);
+  result = func->Call(receiver, length, args);
+  if (args != stackArgs) {
+    delete[] args;
+  }
+  if (tryCatch.HasCaught()) {
+    throwExecutionException(env, isolate, &tryCatch, v8ContextPtr);
+    return false;
+  }
+  return true;
 }
 
-JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1add__JJLjava_lang_String_2I
-(JNIEnv * env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring key, jint value) {
-  Isolate* isolate = SETUP(env, v8ContextPtr, );
-  addValueWithKey(env, isolate, objectHandle, key, Int32::New(isolate, value));
+JNIEXPORT jobject JNICALL Java_com_eclipsesource_v8_V8API__1executeFunctionWithFrame
+(JNIEnv *env, jobject, jlong v8ContextPtr, jint expectedType, jlong objectHandle, jstring jfunctionName, jobject frame, jint length, jobjectArray references) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, NULL);
+  Local<String> functionName = createV8String(env, isolate, jfunctionName);
+  Handle<Object> parentObject = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
+  Handle<Value> function = parentObject->Get(functionName);
+  Handle<Value> result;
+  if (!invokeFunctionWithFrame(env, isolate, v8ContextPtr, parentObject, function, frame, length, references, result))
+    return NULL;
+  return getResult(env, v8Context->v8Ctx, v8ContextPtr, result, expectedType);
 }
 
-JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1add__JJLjava_lang_String_2D
-(JNIEnv * env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring key, jdouble value) {
-  Isolate* isolate = SETUP(env, v8ContextPtr, );
-  addValueWithKey(env, isolate, objectHandle, key, Number::New(isolate, value));
+JNIEXPORT jobject JNICALL Java_com_eclipsesource_v8_V8API__1callFunctionWithFrame
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong receiverHandle, jlong functionHandle, jobject frame, jint length, jobjectArray references) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, NULL);
+  Handle<Value> function = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(functionHandle));
+  Handle<Object> receiver = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(receiverHandle));
+  Handle<Value> result;
+  if (!invokeFunctionWithFrame(env, isolate, v8ContextPtr, receiver, function, frame, length, references, result))
+    return NULL;
+  return getResult(env, v8Context->v8Ctx, v8ContextPtr, result, com_eclipsesource_v8_V8API_UNKNOWN);
 }
 
-JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1add__JJLjava_lang_String_2Ljava_lang_String_2
-(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring key, jstring value) {
-  Isolate* isolate = SETUP(env, v8ContextPtr, );
-  Handle<Value> v8Value = createV8String(env, isolate, value);
-  addValueWithKey(env, isolate, objectHandle, key, v8Value);
-}
+// Packs the types and primitive values of the arguments of a callback into the slots of
+// the context, so Java can read them without calling back into native code. Nested
+// callbacks use the slots after the ones of their caller. Returns the first slot, or -1
+// if the arguments do not fit.
+jint packCallbackArguments(V8Context* v8Context, const FunctionCallbackInfo<Value>& args) {
+  int size = args.Length();
+  jint offset = v8Context->callbackArgumentTop;
+  if (v8Context->callbackArguments == NULL || offset + size > v8Context->callbackArgumentSlots) {
+    return -1;
+  }
+  for (int i = 0; i < size; i++) {
+    char* slot = v8Context->callbackArguments + ((offset + i) * FRAME_SLOT_SIZE);
+    jint type = getType(args[i]);
+    *reinterpret_cast<jint*>(slot + FRAME_TAG_OFFSET) = type;
+    if (type == com_eclipsesource_v8_V8API_INTEGER) {
+      *reinterpret_cast<jlong*>(slot + FRAME_VALUE_OFFSET) = args[i]->Int32Value();
+    }
+    else if (type == com_eclipsesource_v8_V8API_DOUBLE) {
+      *reinterpret_cast<jdouble*>(slot + FRAME_VALUE_OFFSET) = args[i]->NumberValue();
+    }
+    else if (type == com_eclipsesource_v8_V8API_BOOLEAN) {
+      *reinterpret_cast<jlong*>(slot + FRAME_VALUE_OFFSET) = args[i]->BooleanValue() ? 1 : 0;
+    }
+  }
+  v8Context->callbackArgumentTop = offset + size;
+  return offset;
+}
+
+void unpackCallbackArguments(V8Context* v8Context, jint offset) {
+  if (offset >= 0) {
+    v8Context->callbackArgumentTop = offset;
+  }
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1setCallbackArguments
+(JNIEnv *env, jobject, jlong v8ContextPtr, jobject slots, jint slotCount) {
+  V8Context* v8Context = reinterpret_cast<V8Context*>(v8ContextPtr);
+  v8Context->callbackArguments = static_cast<char*>(env->GetDirectBufferAddress(slots));
+  v8Context->callbackArgumentSlots = slotCount;
+  v8Context->callbackArgumentTop = 0;
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addUndefined
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring key) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  addValueWithKey(env, isolate, objectHandle, key, Undefined(isolate));
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addNull
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring key) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  addValueWithKey(env, isolate, objectHandle, key, Null(isolate));
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1add__JJLjava_lang_String_2I
+(JNIEnv * env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring key, jint value) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  addValueWithKey(env, isolate, objectHandle, key, Int32::New(isolate, value));
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1add__JJLjava_lang_String_2D
+(JNIEnv * env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring key, jdouble value) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  addValueWithKey(env, isolate, objectHandle, key, Number::New(isolate, value));
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1add__JJLjava_lang_String_2Ljava_lang_String_2
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring key, jstring value) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  Handle<Value> v8Value = createV8String(env, isolate, value);
+  addValueWithKey(env, isolate, objectHandle, key, v8Value);
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addUTF8
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring key, jobject value, jint offset, jint length) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  addValueWithKey(env, isolate, objectHandle, key, createV8StringFromUTF8(env, isolate, value, offset, length));
+}
 
 JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1add__JJLjava_lang_String_2Z
 (JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring key, jboolean value) {
@@ -1094,9 +2020,15 @@ JNIEXPORT jstring JNICALL Java_com_eclipsesource_v8_V8API__1getString
   Isolate* isolate = SETUP(env, v8ContextPtr, 0);
   Handle<Value> v8Value = getValueWithKey(env, isolate, objectHandle, key);
   ASSERT_IS_STRING(v8Value);
-  String::Value unicode(v8Value->ToString(isolate));
+  return createJavaString(env, isolate, v8Value->ToString(isolate));
+}
 
-  return env->NewString(*unicode, unicode.length());
+JNIEXPORT jint JNICALL Java_com_eclipsesource_v8_V8API__1getUTF8
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring key, jobject buffer, jint offset, jint capacity) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+  Handle<Value> v8Value = getValueWithKey(env, isolate, objectHandle, key);
+  ASSERT_IS_STRING(v8Value);
+  return writeUTF8(env, v8Value->ToString(isolate), buffer, offset, capacity);
 }
 
 JNIEXPORT jboolean JNICALL Java_com_eclipsesource_v8_V8API__1getBoolean
@@ -1118,6 +2050,249 @@ JNIEXPORT jint JNICALL Java_com_eclipsesource_v8_V8API__1getType__JJLjava_lang_S
   return type;
 }
 
+JNIEXPORT jboolean JNICALL Java_com_eclipsesource_v8_V8API__1containsByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jlong keyHandle) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, false);
+  Handle<Object> object = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
+  Local<String> v8Key = Local<String>::New(isolate, *reinterpret_cast<Persistent<String>*>(keyHandle));
+  return object->Has(v8Key);
+}
+
+JNIEXPORT jint JNICALL Java_com_eclipsesource_v8_V8API__1getTypeByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jlong keyHandle) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+  Handle<Value> v8Value = getValueWithKeyHandle(isolate, objectHandle, keyHandle);
+  int type = getType(v8Value);
+  if (type < 0) {
+    throwResultUndefinedException(env, "");
+  }
+  return type;
+}
+
+JNIEXPORT jobject JNICALL Java_com_eclipsesource_v8_V8API__1getByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jint expectedType, jlong objectHandle, jlong keyHandle) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, NULL);
+  Handle<Value> result = getValueWithKeyHandle(isolate, objectHandle, keyHandle);
+  return getResult(env, v8Context->v8Ctx, v8ContextPtr, result, expectedType);
+}
+
+JNIEXPORT jint JNICALL Java_com_eclipsesource_v8_V8API__1getIntegerByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jlong keyHandle) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+  Handle<Value> v8Value = getValueWithKeyHandle(isolate, objectHandle, keyHandle);
+  ASSERT_IS_NUMBER(v8Value);
+  return v8Value->Int32Value();
+}
+
+JNIEXPORT jboolean JNICALL Java_com_eclipsesource_v8_V8API__1getBooleanByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jlong keyHandle) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, false);
+  Handle<Value> v8Value = getValueWithKeyHandle(isolate, objectHandle, keyHandle);
+  ASSERT_IS_BOOLEAN(v8Value);
+  return v8Value->BooleanValue();
+}
+
+JNIEXPORT jdouble JNICALL Java_com_eclipsesource_v8_V8API__1getDoubleByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jlong keyHandle) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+  Handle<Value> v8Value = getValueWithKeyHandle(isolate, objectHandle, keyHandle);
+  ASSERT_IS_NUMBER(v8Value);
+  return v8Value->NumberValue();
+}
+
+JNIEXPORT jstring JNICALL Java_com_eclipsesource_v8_V8API__1getStringByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jlong keyHandle) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+  Handle<Value> v8Value = getValueWithKeyHandle(isolate, objectHandle, keyHandle);
+  ASSERT_IS_STRING(v8Value);
+  return createJavaString(env, isolate, v8Value->ToString(isolate));
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addIntegerByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jlong keyHandle, jint value) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  addValueWithKeyHandle(isolate, objectHandle, keyHandle, Int32::New(isolate, value));
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addBooleanByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jlong keyHandle, jboolean value) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  addValueWithKeyHandle(isolate, objectHandle, keyHandle, Boolean::New(isolate, value));
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addDoubleByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jlong keyHandle, jdouble value) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  addValueWithKeyHandle(isolate, objectHandle, keyHandle, Number::New(isolate, value));
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addStringByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jlong keyHandle, jstring value) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  Handle<Value> v8Value = createV8String(env, isolate, value);
+  addValueWithKeyHandle(isolate, objectHandle, keyHandle, v8Value);
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addObjectByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jlong keyHandle, jlong valueHandle) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  Handle<Value> value = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(valueHandle));
+  addValueWithKeyHandle(isolate, objectHandle, keyHandle, value);
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addUndefinedByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jlong keyHandle) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  addValueWithKeyHandle(isolate, objectHandle, keyHandle, Undefined(isolate));
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addNullByKey
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jlong keyHandle) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  addValueWithKeyHandle(isolate, objectHandle, keyHandle, Null(isolate));
+}
+
+JNIEXPORT jobject JNICALL Java_com_eclipsesource_v8_V8API__1getPath
+(JNIEnv *env, jobject, jlong v8ContextPtr, jint expectedType, jlong objectHandle, jstring path) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, NULL);
+  Handle<Value> result = getValueAtPath(env, isolate, objectHandle, path);
+  return getResult(env, v8Context->v8Ctx, v8ContextPtr, result, expectedType);
+}
+
+JNIEXPORT jobject JNICALL Java_com_eclipsesource_v8_V8API__1getPathByKeys
+(JNIEnv *env, jobject, jlong v8ContextPtr, jint expectedType, jlong objectHandle, jlongArray keyHandles) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, NULL);
+  Handle<Value> result = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
+  int length = env->GetArrayLength(keyHandles);
+  jlong* keys = env->GetLongArrayElements(keyHandles, NULL);
+  for (int i = 0; i < length; i++) {
+    if (result.IsEmpty() || !result->IsObject()) {
+      result = Undefined(isolate);
+      break;
+    }
+    Local<String> v8Key = Local<String>::New(isolate, *reinterpret_cast<Persistent<String>*>(keys[i]));
+    result = Handle<Object>::Cast(result)->Get(v8Key);
+  }
+  env->ReleaseLongArrayElements(keyHandles, keys, JNI_ABORT);
+  return getResult(env, v8Context->v8Ctx, v8ContextPtr, result, expectedType);
+}
+
+JNIEXPORT jint JNICALL Java_com_eclipsesource_v8_V8API__1getTypeAtPath
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring path) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+  Handle<Value> v8Value = getValueAtPath(env, isolate, objectHandle, path);
+  int type = getType(v8Value);
+  if (type < 0) {
+    throwResultUndefinedException(env, "");
+  }
+  return type;
+}
+
+JNIEXPORT jint JNICALL Java_com_eclipsesource_v8_V8API__1getIntegerAtPath
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring path) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+  Handle<Value> v8Value = getValueAtPath(env, isolate, objectHandle, path);
+  ASSERT_IS_NUMBER(v8Value);
+  return v8Value->Int32Value();
+}
+
+JNIEXPORT jboolean JNICALL Java_com_eclipsesource_v8_V8API__1getBooleanAtPath
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring path) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, false);
+  Handle<Value> v8Value = getValueAtPath(env, isolate, objectHandle, path);
+  ASSERT_IS_BOOLEAN(v8Value);
+  return v8Value->BooleanValue();
+}
+
+JNIEXPORT jdouble JNICALL Java_com_eclipsesource_v8_V8API__1getDoubleAtPath
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring path) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+  Handle<Value> v8Value = getValueAtPath(env, isolate, objectHandle, path);
+  ASSERT_IS_NUMBER(v8Value);
+  return v8Value->NumberValue();
+}
+
+JNIEXPORT jstring JNICALL Java_com_eclipsesource_v8_V8API__1getStringAtPath
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jstring path) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+  Handle<Value> v8Value = getValueAtPath(env, isolate, objectHandle, path);
+  ASSERT_IS_STRING(v8Value);
+  return createJavaString(env, isolate, v8Value->ToString(isolate));
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1extract
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jobjectArray paths, jintArray types, jdoubleArray numbers, jobjectArray strings) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  Handle<Value> object = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
+  int length = env->GetArrayLength(paths);
+  jint* typeFill = new jint[length];
+  jdouble* numberFill = new jdouble[length];
+  for (int i = 0; i < length; i++) {
+    jstring path = (jstring) env->GetObjectArrayElement(paths, i);
+    Handle<Value> v8Value = getValueAtPath(env, isolate, object, path);
+    env->DeleteLocalRef(path);
+    int type = getType(v8Value);
+    typeFill[i] = type < 0 ? com_eclipsesource_v8_V8API_UNDEFINED : type;
+    numberFill[i] = 0;
+    jstring string = NULL;
+    if (type == com_eclipsesource_v8_V8API_INTEGER || type == com_eclipsesource_v8_V8API_DOUBLE) {
+      numberFill[i] = v8Value->NumberValue();
+    } else if (type == com_eclipsesource_v8_V8API_BOOLEAN) {
+      numberFill[i] = v8Value->BooleanValue() ? 1 : 0;
+    } else if (type == com_eclipsesource_v8_V8API_STRING) {
+      string = createJavaString(env, isolate, v8Value->ToString(isolate));
+    }
+    env->SetObjectArrayElement(strings, i, string);
+    if (string != NULL) {
+      env->DeleteLocalRef(string);
+    }
+  }
+  env->SetIntArrayRegion(types, 0, length, typeFill);
+  env->SetDoubleArrayRegion(numbers, 0, length, numberFill);
+  delete[] typeFill;
+  delete[] numberFill;
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addAll
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle, jobjectArray paths, jintArray types, jdoubleArray numbers, jobjectArray strings) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  Handle<Object> object = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
+  int length = env->GetArrayLength(paths);
+  jint* typeValues = env->GetIntArrayElements(types, NULL);
+  jdouble* numberValues = env->GetDoubleArrayElements(numbers, NULL);
+  for (int i = 0; i < length; i++) {
+    Handle<Value> value;
+    switch (typeValues[i]) {
+      case com_eclipsesource_v8_V8API_INTEGER:
+        value = Int32::New(isolate, (jint) numberValues[i]);
+        break;
+      case com_eclipsesource_v8_V8API_DOUBLE:
+        value = Number::New(isolate, numberValues[i]);
+        break;
+      case com_eclipsesource_v8_V8API_BOOLEAN:
+        value = Boolean::New(isolate, numberValues[i] != 0);
+        break;
+      case com_eclipsesource_v8_V8API_STRING: {
+        jstring string = (jstring) env->GetObjectArrayElement(strings, i);
+        value = createV8String(env, isolate, string);
+        env->DeleteLocalRef(string);
+        break;
+      }
+      case com_eclipsesource_v8_V8API_NULL:
+        value = Null(isolate);
+        break;
+      default:
+        value = Undefined(isolate);
+        break;
+    }
+    jstring path = (jstring) env->GetObjectArrayElement(paths, i);
+    setValueAtPath(env, isolate, object, path, value);
+    env->DeleteLocalRef(path);
+  }
+  env->ReleaseIntArrayElements(types, typeValues, JNI_ABORT);
+  env->ReleaseDoubleArrayElements(numbers, numberValues, JNI_ABORT);
+}
+
 bool isNumber(int type) {
   return type == com_eclipsesource_v8_V8API_DOUBLE || type == com_eclipsesource_v8_V8API_INTEGER;
 }
@@ -1259,8 +2434,7 @@ int fillStringArray(JNIEnv *env, Isolate* isolate, Handle<Object> &array, int st
   for (int i = start; i < start + length; i++) {
     Handle<Value> v8Value = array->Get(i);
     ASSERT_IS_STRING(v8Value);
-    String::Value unicodeString(v8Value->ToString(isolate));
-    jstring string = env->NewString(*unicodeString, unicodeString.length());
+    jstring string = createJavaString(env, isolate, v8Value->ToString(isolate));
     env->SetObjectArrayElement(result, i - start, string);
     (env)->DeleteLocalRef(string);
   }
@@ -1385,9 +2559,16 @@ JNIEXPORT jstring JNICALL Java_com_eclipsesource_v8_V8API__1arrayGetString
   Handle<Object> array = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(arrayHandle));
   Handle<Value> v8Value = array->Get(index);
   ASSERT_IS_STRING(v8Value);
-  String::Value unicodeString(v8Value->ToString(isolate));
+  return createJavaString(env, isolate, v8Value->ToString(isolate));
+}
 
-  return env->NewString(*unicodeString, unicodeString.length());
+JNIEXPORT jint JNICALL Java_com_eclipsesource_v8_V8API__1arrayGetUTF8
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong arrayHandle, jint index, jobject buffer, jint offset, jint capacity) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+  Handle<Object> array = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(arrayHandle));
+  Handle<Value> v8Value = array->Get(index);
+  ASSERT_IS_STRING(v8Value);
+  return writeUTF8(env, v8Value->ToString(isolate), buffer, offset, capacity);
 }
 
 JNIEXPORT jobject JNICALL Java_com_eclipsesource_v8_V8API__1arrayGet
@@ -1487,6 +2668,20 @@ JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addArrayStringItem
   array->Set(index, v8Value);
 }
 
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addArrayUTF8Item
+(JNIEnv *env, jobject, jlong v8ContextPtr, jlong arrayHandle, jobject value, jint offset, jint length) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  Handle<Object> array = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(arrayHandle));
+  if ( array->IsTypedArray() ) {
+     Local<String> string = String::NewFromUtf8(isolate, "Cannot push to a Typed Array.");
+     v8::String::Value strValue(string);
+     throwV8RuntimeException(env, &strValue);
+     return;
+  }
+  int index = Array::Cast(*array)->Length();
+  array->Set(index, createV8StringFromUTF8(env, isolate, value, offset, length));
+}
+
 JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1addArrayObjectItem
 (JNIEnv *env, jobject, jlong v8ContextPtr, jlong arrayHandle, jlong valueHandle) {
   Isolate* isolate = SETUP(env, v8ContextPtr, );
@@ -1593,6 +2788,20 @@ jobject createParameterArray(JNIEnv* env, jlong v8ContextPtr, jobject v8, int si
   return result;
 }
 
+void throwJavaException(JNIEnv* env, Isolate* isolate, jlong v8ContextPtr) {
+  V8Runtime* runtime = reinterpret_cast<V8Context*>(v8ContextPtr)->getRuntime();
+  runtime->pendingException = env->ExceptionOccurred();
+  env->ExceptionClear();
+  jstring exceptionMessage = (jstring)env->CallObjectMethod(runtime->pendingException, throwableGetMessageMethodID);
+  if (exceptionMessage != NULL) {
+    Local<String> v8String = createV8String(env, isolate, exceptionMessage);
+    isolate->ThrowException(v8String);
+  }
+  else {
+    isolate->ThrowException(String::NewFromUtf8(isolate, "Unhandled Java Exception"));
+  }
+}
+
 void voidCallback(const FunctionCallbackInfo<Value>& args) {
   int size = args.Length();
   Local<External> data = Local<External>::Cast(args.Data());
@@ -1606,19 +2815,12 @@ void voidCallback(const FunctionCallbackInfo<Value>& args) {
   jobject parameters = createParameterArray(env, md->v8ContextPtr, v8Ctx, size, args);
   Handle<Value> receiver = args.This();
   jobject jreceiver = getResult(env, v8Ctx, md->v8ContextPtr, receiver, com_eclipsesource_v8_V8API_UNKNOWN);
-  env->CallVoidMethod(v8Ctx, v8CallVoidMethodID, md->methodID, jreceiver, parameters);
+  V8Context* v8Context = reinterpret_cast<V8Context*>(md->v8ContextPtr);
+  jint argumentOffset = packCallbackArguments(v8Context, args);
+  env->CallVoidMethod(v8Ctx, v8CallVoidMethodID, md->methodID, jreceiver, parameters, argumentOffset, size);
+  unpackCallbackArguments(v8Context, argumentOffset);
   if (env->ExceptionCheck()) {
-    Isolate* isolate = getIsolate(env, md->v8ContextPtr);
-    reinterpret_cast<V8Context*>(md->v8ContextPtr)->getRuntime()->pendingException = env->ExceptionOccurred();
-    env->ExceptionClear();
-    jstring exceptionMessage = (jstring)env->CallObjectMethod(reinterpret_cast<V8Context*>(md->v8ContextPtr)->getRuntime()->pendingException, throwableGetMessageMethodID);
-    if (exceptionMessage != NULL) {
-      Local<String> v8String = createV8String(env, isolate, exceptionMessage);
-      isolate->ThrowException(v8String);
-    }
-    else {
-      isolate->ThrowException(String::NewFromUtf8(isolate, "Unhandled Java Exception"));
-    }
+    throwJavaException(env, isolate, md->v8ContextPtr);
   }
   env->CallVoidMethod(parameters, v8ArrayReleaseMethodID);
   env->CallVoidMethod(jreceiver, v8ObjectReleaseMethodID);
@@ -1664,90 +2866,89 @@ double getDouble(JNIEnv* env, jobject &object) {
   return env->CallDoubleMethod(object, doubleDoubleValueMethodID);
 }
 
-void objectCallback(const FunctionCallbackInfo<Value>& args) {
-  int size = args.Length();
-  Local<External> data = Local<External>::Cast(args.Data());
-  void *methodDescriptorPtr = data->Value();
-  MethodDescriptor* md = static_cast<MethodDescriptor*>(methodDescriptorPtr);
-  jobject v8Ctx = reinterpret_cast<V8Context*>(md->v8ContextPtr)->v8Ctx;
-  Isolate* isolate = reinterpret_cast<V8Context*>(md->v8ContextPtr)->getRuntime()->isolate;
-  Isolate::Scope isolateScope(isolate);
-  JNIEnv * env;
-  getJNIEnv(env);
-  jobject parameters = createParameterArray(env, md->v8ContextPtr, v8Ctx, size, args);
-  Handle<Value> receiver = args.This();
-  jobject jreceiver = getResult(env, v8Ctx, md->v8ContextPtr, receiver, com_eclipsesource_v8_V8API_UNKNOWN);
-  jobject resultObject = env->CallObjectMethod(v8Ctx, v8CallObjectJavaMethodMethodID, md->methodID, jreceiver, parameters);
-  if (env->ExceptionCheck()) {
-    resultObject = NULL;
-    Isolate* isolate = getIsolate(env, md->v8ContextPtr);
-    reinterpret_cast<V8Context*>(md->v8ContextPtr)->getRuntime()->pendingException = env->ExceptionOccurred();
-    env->ExceptionClear();
-    jstring exceptionMessage = (jstring)env->CallObjectMethod(reinterpret_cast<V8Context*>(md->v8ContextPtr)->getRuntime()->pendingException, throwableGetMessageMethodID);
-    if (exceptionMessage != NULL) {
-      Local<String> v8String = createV8String(env, isolate, exceptionMessage);
-      isolate->ThrowException(v8String);
-    }
-    else {
-      isolate->ThrowException(String::NewFromUtf8(isolate, "Unhandled Java Exception"));
-    }
-  }
-  else if (resultObject == NULL) {
-    args.GetReturnValue().SetNull();
+void setReturnValue(JNIEnv* env, Isolate* isolate, jobject &resultObject, ReturnValue<Value> returnValue) {
+  if (resultObject == NULL) {
+    returnValue.SetNull();
   }
   else {
     int returnType = getReturnType(env, resultObject);
     if (returnType == com_eclipsesource_v8_V8API_INTEGER) {
-      args.GetReturnValue().Set(getInteger(env, resultObject));
+      returnValue.Set(getInteger(env, resultObject));
     }
     else if (returnType == com_eclipsesource_v8_V8API_BOOLEAN) {
-      args.GetReturnValue().Set(getBoolean(env, resultObject));
+      returnValue.Set(getBoolean(env, resultObject));
     }
     else if (returnType == com_eclipsesource_v8_V8API_DOUBLE) {
-      args.GetReturnValue().Set(getDouble(env, resultObject));
+      returnValue.Set(getDouble(env, resultObject));
     }
     else if (returnType == com_eclipsesource_v8_V8API_STRING) {
       jstring stringResult = (jstring)resultObject;
-      Local<String> result = createV8String(env, reinterpret_cast<V8Context*>(md->v8ContextPtr)->getRuntime()->isolate, stringResult);
-      args.GetReturnValue().Set(result);
+      Local<String> result = createV8String(env, isolate, stringResult);
+      returnValue.Set(result);
     }
     else if (returnType == com_eclipsesource_v8_V8API_V8_ARRAY) {
       if (isUndefined(env, resultObject)) {
-        args.GetReturnValue().SetUndefined();
+        returnValue.SetUndefined();
       }
       else {
         jlong resultHandle = getHandle(env, resultObject);
         Handle<Object> result = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(resultHandle));
         releaseArray(env, resultObject);
-        args.GetReturnValue().Set(result);
+        returnValue.Set(result);
       }
     }
     else if (returnType == com_eclipsesource_v8_V8API_V8_OBJECT) {
       if (isUndefined(env, resultObject)) {
-        args.GetReturnValue().SetUndefined();
+        returnValue.SetUndefined();
       }
       else {
         jlong resultHandle = getHandle(env, resultObject);
         Handle<Object> result = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(resultHandle));
         release(env, resultObject);
-        args.GetReturnValue().Set(result);
+        returnValue.Set(result);
       }
     }
     else if (returnType == com_eclipsesource_v8_V8API_V8_ARRAY_BUFFER) {
       if (isUndefined(env, resultObject)) {
-        args.GetReturnValue().SetUndefined();
+        returnValue.SetUndefined();
       }
       else {
         jlong resultHandle = getHandle(env, resultObject);
         Handle<Object> result = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(resultHandle));
         release(env, resultObject);
-        args.GetReturnValue().Set(result);
+        returnValue.Set(result);
       }
     }
     else {
-      args.GetReturnValue().SetUndefined();
+      returnValue.SetUndefined();
     }
   }
+}
+
+void objectCallback(const FunctionCallbackInfo<Value>& args) {
+  int size = args.Length();
+  Local<External> data = Local<External>::Cast(args.Data());
+  void *methodDescriptorPtr = data->Value();
+  MethodDescriptor* md = static_cast<MethodDescriptor*>(methodDescriptorPtr);
+  jobject v8Ctx = reinterpret_cast<V8Context*>(md->v8ContextPtr)->v8Ctx;
+  Isolate* isolate = reinterpret_cast<V8Context*>(md->v8ContextPtr)->getRuntime()->isolate;
+  Isolate::Scope isolateScope(isolate);
+  JNIEnv * env;
+  getJNIEnv(env);
+  jobject parameters = createParameterArray(env, md->v8ContextPtr, v8Ctx, size, args);
+  Handle<Value> receiver = args.This();
+  jobject jreceiver = getResult(env, v8Ctx, md->v8ContextPtr, receiver, com_eclipsesource_v8_V8API_UNKNOWN);
+  V8Context* v8Context = reinterpret_cast<V8Context*>(md->v8ContextPtr);
+  jint argumentOffset = packCallbackArguments(v8Context, args);
+  jobject resultObject = env->CallObjectMethod(v8Ctx, v8CallObjectJavaMethodMethodID, md->methodID, jreceiver, parameters, argumentOffset, size);
+  unpackCallbackArguments(v8Context, argumentOffset);
+  if (env->ExceptionCheck()) {
+    resultObject = NULL;
+    throwJavaException(env, isolate, md->v8ContextPtr);
+  }
+  else {
+    setReturnValue(env, isolate, resultObject, args.GetReturnValue());
+  }
   if (resultObject != NULL) {
     env->DeleteLocalRef(resultObject);
   }
@@ -1757,37 +2958,360 @@ void objectCallback(const FunctionCallbackInfo<Value>& args) {
   env->DeleteLocalRef(parameters);
 }
 
-JNIEXPORT jlongArray JNICALL Java_com_eclipsesource_v8_V8API__1initNewV8Function
-(JNIEnv *env, jobject, jlong v8ContextPtr) {
-  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+ProxyDescriptor* getProxyDescriptor(Local<Object> holder) {
+  return static_cast<ProxyDescriptor*>(holder->GetAlignedPointerFromInternalField(0));
+}
+
+void proxyNamedGetter(Local<Name> property, const PropertyCallbackInfo<Value>& info) {
+  ProxyDescriptor* pd = getProxyDescriptor(info.Holder());
+  Isolate* isolate = info.GetIsolate();
+  JNIEnv * env;
+  getJNIEnv(env);
+  String::Value unicodeName(property);
+  jstring name = env->NewString(*unicodeName, unicodeName.length());
+  jobject resultObject = env->CallObjectMethod(reinterpret_cast<V8Context*>(pd->v8ContextPtr)->v8Ctx, v8GetProxyPropertyMethodID, pd->proxyID, name);
+  if (env->ExceptionCheck()) {
+    resultObject = NULL;
+    throwJavaException(env, isolate, pd->v8ContextPtr);
+  }
+  else if (!env->IsSameObject(resultObject, proxyNotFound)) {
+    setReturnValue(env, isolate, resultObject, info.GetReturnValue());
+  }
+  if (resultObject != NULL) {
+    env->DeleteLocalRef(resultObject);
+  }
+  env->DeleteLocalRef(name);
+}
+
+void proxyIndexedGetter(uint32_t index, const PropertyCallbackInfo<Value>& info) {
+  ProxyDescriptor* pd = getProxyDescriptor(info.Holder());
+  Isolate* isolate = info.GetIsolate();
+  JNIEnv * env;
+  getJNIEnv(env);
+  jobject resultObject = env->CallObjectMethod(reinterpret_cast<V8Context*>(pd->v8ContextPtr)->v8Ctx, v8GetProxyElementMethodID, pd->proxyID, index);
+  if (env->ExceptionCheck()) {
+    resultObject = NULL;
+    throwJavaException(env, isolate, pd->v8ContextPtr);
+  }
+  else if (!env->IsSameObject(resultObject, proxyNotFound)) {
+    setReturnValue(env, isolate, resultObject, info.GetReturnValue());
+  }
+  if (resultObject != NULL) {
+    env->DeleteLocalRef(resultObject);
+  }
+}
+
+void proxyNamedSetter(Local<Name> property, Local<Value> value, const PropertyCallbackInfo<Value>& info) {
+  ProxyDescriptor* pd = getProxyDescriptor(info.Holder());
+  Isolate* isolate = info.GetIsolate();
+  jobject v8Ctx = reinterpret_cast<V8Context*>(pd->v8ContextPtr)->v8Ctx;
+  JNIEnv * env;
+  getJNIEnv(env);
+  String::Value unicodeName(property);
+  jstring name = env->NewString(*unicodeName, unicodeName.length());
+  Handle<Value> v8Value = value;
+  jobject jvalue = getResult(env, v8Ctx, pd->v8ContextPtr, v8Value, com_eclipsesource_v8_V8API_UNKNOWN);
+  jboolean intercepted = env->CallBooleanMethod(v8Ctx, v8SetProxyPropertyMethodID, pd->proxyID, name, jvalue);
+  if (env->ExceptionCheck()) {
+    throwJavaException(env, isolate, pd->v8ContextPtr);
+  }
+  else if (intercepted) {
+    info.GetReturnValue().Set(value);
+  }
+  if (jvalue != NULL) {
+    env->DeleteLocalRef(jvalue);
+  }
+  env->DeleteLocalRef(name);
+}
+
+void proxyIndexedSetter(uint32_t index, Local<Value> value, const PropertyCallbackInfo<Value>& info) {
+  ProxyDescriptor* pd = getProxyDescriptor(info.Holder());
+  Isolate* isolate = info.GetIsolate();
+  jobject v8Ctx = reinterpret_cast<V8Context*>(pd->v8ContextPtr)->v8Ctx;
+  JNIEnv * env;
+  getJNIEnv(env);
+  Handle<Value> v8Value = value;
+  jobject jvalue = getResult(env, v8Ctx, pd->v8ContextPtr, v8Value, com_eclipsesource_v8_V8API_UNKNOWN);
+  jboolean intercepted = env->CallBooleanMethod(v8Ctx, v8SetProxyElementMethodID, pd->proxyID, index, jvalue);
+  if (env->ExceptionCheck()) {
+    throwJavaException(env, isolate, pd->v8ContextPtr);
+  }
+  else if (intercepted) {
+    info.GetReturnValue().Set(value);
+  }
+  if (jvalue != NULL) {
+    env->DeleteLocalRef(jvalue);
+  }
+}
+
+void proxyNamedQuery(Local<Name> property, const PropertyCallbackInfo<Integer>& info) {
+  ProxyDescriptor* pd = getProxyDescriptor(info.Holder());
+  JNIEnv * env;
+  getJNIEnv(env);
+  String::Value unicodeName(property);
+  jstring name = env->NewString(*unicodeName, unicodeName.length());
+  jint attributes = env->CallIntMethod(reinterpret_cast<V8Context*>(pd->v8ContextPtr)->v8Ctx, v8QueryProxyPropertyMethodID, pd->proxyID, name);
+  if (env->ExceptionCheck()) {
+    throwJavaException(env, info.GetIsolate(), pd->v8ContextPtr);
+  }
+  else if (attributes >= 0) {
+    info.GetReturnValue().Set(attributes);
+  }
+  env->DeleteLocalRef(name);
+}
+
+void proxyIndexedQuery(uint32_t index, const PropertyCallbackInfo<Integer>& info) {
+  ProxyDescriptor* pd = getProxyDescriptor(info.Holder());
+  JNIEnv * env;
+  getJNIEnv(env);
+  jint attributes = env->CallIntMethod(reinterpret_cast<V8Context*>(pd->v8ContextPtr)->v8Ctx, v8QueryProxyElementMethodID, pd->proxyID, index);
+  if (env->ExceptionCheck()) {
+    throwJavaException(env, info.GetIsolate(), pd->v8ContextPtr);
+  }
+  else if (attributes >= 0) {
+    info.GetReturnValue().Set(attributes);
+  }
+}
+
+void proxyNamedEnumerator(const PropertyCallbackInfo<Array>& info) {
+  ProxyDescriptor* pd = getProxyDescriptor(info.Holder());
+  Isolate* isolate = info.GetIsolate();
+  JNIEnv * env;
+  getJNIEnv(env);
+  jobjectArray keys = (jobjectArray)env->CallObjectMethod(reinterpret_cast<V8Context*>(pd->v8ContextPtr)->v8Ctx, v8GetProxyKeysMethodID, pd->proxyID);
+  if (env->ExceptionCheck()) {
+    throwJavaException(env, isolate, pd->v8ContextPtr);
+    return;
+  }
+  int size = env->GetArrayLength(keys);
+  Local<Array> result = Array::New(isolate, size);
+  for (int i = 0; i < size; i++) {
+    jstring key = (jstring)env->GetObjectArrayElement(keys, i);
+    result->Set(i, createV8String(env, isolate, key));
+    env->DeleteLocalRef(key);
+  }
+  env->DeleteLocalRef(keys);
+  info.GetReturnValue().Set(result);
+}
+
+void proxyIndexedEnumerator(const PropertyCallbackInfo<Array>& info) {
+  ProxyDescriptor* pd = getProxyDescriptor(info.Holder());
+  Isolate* isolate = info.GetIsolate();
+  JNIEnv * env;
+  getJNIEnv(env);
+  jint size = env->CallIntMethod(reinterpret_cast<V8Context*>(pd->v8ContextPtr)->v8Ctx, v8GetProxySizeMethodID, pd->proxyID);
+  if (env->ExceptionCheck()) {
+    throwJavaException(env, isolate, pd->v8ContextPtr);
+    return;
+  }
+  Local<Array> result = Array::New(isolate, size);
+  for (int i = 0; i < size; i++) {
+    result->Set(i, Integer::New(isolate, i));
+  }
+  info.GetReturnValue().Set(result);
+}
+
+// The descriptor lives as long as the function data which references it. When
+// the functions are collected, the descriptor is freed, and the Java registry
+// entry is removed in one batch after the GC.
+MethodDescriptor* createMethodDescriptor(Isolate* isolate, jlong v8ContextPtr) {
   MethodDescriptor* md = new MethodDescriptor();
-  Local<External> ext = External::New(isolate, md);
-  Persistent<External> pext(isolate, ext);
-  isolate->IdleNotification(1000);
-  pext.SetWeak(md, [](v8::WeakCallbackInfo<MethodDescriptor> const& data) {
+  md->methodID = reinterpret_cast<jlong>(md);
+  md->v8ContextPtr = v8ContextPtr;
+  md->handle.Reset(isolate, External::New(isolate, md));
+  md->handle.SetWeak(md, [](v8::WeakCallbackInfo<MethodDescriptor> const& data) {
     MethodDescriptor* md = data.GetParameter();
-    jobject v8Ctx = reinterpret_cast<V8Context*>(md->v8ContextPtr)->v8Ctx;
-    JNIEnv * env;
-    getJNIEnv(env);
-    env->CallVoidMethod(v8Ctx, v8DisposeMethodID, md->methodID);
+    V8Runtime* runtime = static_cast<V8Runtime*>(data.GetIsolate()->GetData(V8_RUNTIME_ISOLATE_SLOT));
+    md->handle.Reset();
+    runtime->collectedMethodDescriptors.push_back(md->v8ContextPtr);
+    runtime->collectedMethodDescriptors.push_back(md->methodID);
     delete(md);
   }, WeakCallbackType::kParameter);
+  return md;
+}
+
+JNIEXPORT jlongArray JNICALL Java_com_eclipsesource_v8_V8API__1initNewV8Function
+(JNIEnv *env, jobject, jlong v8ContextPtr) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+  isolate->IdleNotification(1000);
+  MethodDescriptor* md = createMethodDescriptor(isolate, v8ContextPtr);
+  Local<External> ext = Local<External>::New(isolate, md->handle);
 
   Local<Function> function = Function::New(isolate, objectCallback, ext);
-  md->v8ContextPtr = v8ContextPtr;
   Persistent<Object>* container = new Persistent<Object>;
   container->Reset(runtime->isolate, function);
-  md->methodID = reinterpret_cast<jlong>(md);
 
   // Position 0 is the pointer to the container, position 1 is the pointer to the descriptor
   jlongArray result = env->NewLongArray(2);
-  jlong * fill = new jlong[2];
+  jlong fill[2];
   fill[0] = reinterpret_cast<jlong>(container);
   fill[1] = md->methodID;
   (env)->SetLongArrayRegion(result, 0, 2, fill);
   return result;
 }
 
+JNIEXPORT jlongArray JNICALL Java_com_eclipsesource_v8_V8API__1initNewV8JavaProxy
+(JNIEnv *env, jobject, jlong v8ContextPtr) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, 0);
+  if (v8Context->proxyTemplate.IsEmpty()) {
+    // The template is created once per context and shared by all proxies,
+    // the proxy descriptor is stored in the internal field of each instance.
+    Local<ObjectTemplate> proxyTemplate = ObjectTemplate::New(isolate);
+    proxyTemplate->SetInternalFieldCount(1);
+    proxyTemplate->SetHandler(NamedPropertyHandlerConfiguration(proxyNamedGetter, proxyNamedSetter, proxyNamedQuery,
+      0, proxyNamedEnumerator, Local<Value>(), PropertyHandlerFlags::kOnlyInterceptStrings));
+    proxyTemplate->SetHandler(IndexedPropertyHandlerConfiguration(proxyIndexedGetter, proxyIndexedSetter, proxyIndexedQuery,
+      0, proxyIndexedEnumerator));
+    v8Context->proxyTemplate.Reset(isolate, proxyTemplate);
+  }
+  Local<ObjectTemplate> proxyTemplate = Local<ObjectTemplate>::New(isolate, v8Context->proxyTemplate);
+  Local<Object> proxy = proxyTemplate->NewInstance();
+  ProxyDescriptor* pd = new ProxyDescriptor();
+  pd->v8ContextPtr = v8ContextPtr;
+  pd->proxyID = reinterpret_cast<jlong>(pd);
+  proxy->SetAlignedPointerInInternalField(0, pd);
+  pd->handle.Reset(isolate, proxy);
+  // Java must not be called during the GC, the registry entry is removed
+  // in one batch after the GC, the same as for function descriptors
+  pd->handle.SetWeak(pd, [](v8::WeakCallbackInfo<ProxyDescriptor> const& data) {
+    ProxyDescriptor* pd = data.GetParameter();
+    V8Runtime* runtime = static_cast<V8Runtime*>(data.GetIsolate()->GetData(V8_RUNTIME_ISOLATE_SLOT));
+    pd->handle.Reset();
+    runtime->collectedProxyDescriptors.push_back(pd->v8ContextPtr);
+    runtime->collectedProxyDescriptors.push_back(pd->proxyID);
+    delete(pd);
+  }, WeakCallbackType::kParameter);
+
+  Persistent<Object>* container = new Persistent<Object>;
+  container->Reset(isolate, proxy);
+
+  // Position 0 is the pointer to the container, position 1 is the pointer to the descriptor
+  jlongArray result = env->NewLongArray(2);
+  jlong fill[2];
+  fill[0] = reinterpret_cast<jlong>(container);
+  fill[1] = pd->proxyID;
+  (env)->SetLongArrayRegion(result, 0, 2, fill);
+  return result;
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1releaseProxyDescriptor
+  (JNIEnv *, jobject, jlong, jlong proxyDescriptorPtr) {
+  ProxyDescriptor* pd = reinterpret_cast<ProxyDescriptor*>(proxyDescriptorPtr);
+  pd->handle.Reset();
+  delete(pd);
+}
+
+// Bindings are shared by all contexts of an isolate, so the calling context is looked up
+// among the contexts created by J2V8. Contexts created by others, such as those of the
+// vm module of Node.js, are not found.
+V8Context* findCallingContext(Isolate* isolate) {
+  V8Runtime* runtime = static_cast<V8Runtime*>(isolate->GetData(V8_RUNTIME_ISOLATE_SLOT));
+  Local<Context> current = isolate->GetCurrentContext();
+  for (size_t i = 0; i < runtime->contexts.size(); i++) {
+    if (runtime->contexts[i]->context == current) {
+      return runtime->contexts[i];
+    }
+  }
+  return NULL;
+}
+
+void bindingCallback(const FunctionCallbackInfo<Value>& args) {
+  BindingMethod* bm = static_cast<BindingMethod*>(Local<External>::Cast(args.Data())->Value());
+  Isolate* isolate = args.GetIsolate();
+  if (bm->binding->binding == NULL) {
+    isolate->ThrowException(Exception::Error(String::NewFromUtf8(isolate, "Binding has been released")));
+    return;
+  }
+  V8Context* v8Context = findCallingContext(isolate);
+  if (v8Context == NULL) {
+    isolate->ThrowException(Exception::Error(String::NewFromUtf8(isolate, "Binding called from a context not created by J2V8")));
+    return;
+  }
+  jlong v8ContextPtr = reinterpret_cast<jlong>(v8Context);
+  jobject v8Ctx = v8Context->v8Ctx;
+  JNIEnv * env;
+  getJNIEnv(env);
+  jobject parameters = createParameterArray(env, v8ContextPtr, v8Ctx, args.Length(), args);
+  Handle<Value> receiver = args.This();
+  jobject jreceiver = getResult(env, v8Ctx, v8ContextPtr, receiver, com_eclipsesource_v8_V8API_UNKNOWN);
+  jint argumentOffset = packCallbackArguments(v8Context, args);
+  jobject resultObject = env->CallObjectMethod(bm->binding->binding, v8BindingInvokeMethodID, v8Ctx, bm->index, jreceiver, parameters, argumentOffset, args.Length());
+  unpackCallbackArguments(v8Context, argumentOffset);
+  if (env->ExceptionCheck()) {
+    resultObject = NULL;
+    throwJavaException(env, isolate, v8ContextPtr);
+  }
+  else if (!bm->voidMethod) {
+    setReturnValue(env, isolate, resultObject, args.GetReturnValue());
+  }
+  if (resultObject != NULL) {
+    env->DeleteLocalRef(resultObject);
+  }
+  env->CallVoidMethod(parameters, v8ArrayReleaseMethodID);
+  env->CallVoidMethod(jreceiver, v8ObjectReleaseMethodID);
+  env->DeleteLocalRef(jreceiver);
+  env->DeleteLocalRef(parameters);
+}
+
+JNIEXPORT jlong JNICALL Java_com_eclipsesource_v8_V8API__1createBinding
+  (JNIEnv *env, jclass, jlong v8RuntimePtr, jobject binding, jobjectArray names, jbooleanArray voidMethods) {
+  Isolate* isolate = reinterpret_cast<V8Runtime*>(v8RuntimePtr)->isolate;
+  Isolate::Scope isolateScope(isolate);
+  HandleScope handle_scope(isolate);
+  int size = env->GetArrayLength(names);
+  jboolean* voidMethodValues = env->GetBooleanArrayElements(voidMethods, NULL);
+  BindingDescriptor* bd = new BindingDescriptor();
+  bd->binding = env->NewGlobalRef(binding);
+  bd->size = size;
+  bd->methods = new BindingMethod[size];
+  bd->names = new Persistent<String>[size];
+  bd->templates = new Persistent<FunctionTemplate>[size];
+  for (int i = 0; i < size; i++) {
+    bd->methods[i].binding = bd;
+    bd->methods[i].index = i;
+    bd->methods[i].voidMethod = voidMethodValues[i];
+    jstring name = (jstring)env->GetObjectArrayElement(names, i);
+    const uint16_t* unicodeName = env->GetStringChars(name, NULL);
+    bd->names[i].Reset(isolate, String::NewFromTwoByte(isolate, unicodeName, String::NewStringType::kInternalizedString, env->GetStringLength(name)));
+    env->ReleaseStringChars(name, unicodeName);
+    bd->templates[i].Reset(isolate, FunctionTemplate::New(isolate, bindingCallback, External::New(isolate, &bd->methods[i])));
+    env->DeleteLocalRef(name);
+  }
+  env->ReleaseBooleanArrayElements(voidMethods, voidMethodValues, JNI_ABORT);
+  return reinterpret_cast<jlong>(bd);
+}
+
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1installBinding
+  (JNIEnv *env, jobject, jlong v8ContextPtr, jlong bindingPtr, jlong objectHandle) {
+  Isolate* isolate = SETUP(env, v8ContextPtr, );
+  BindingDescriptor* bd = reinterpret_cast<BindingDescriptor*>(bindingPtr);
+  Handle<Object> object = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
+  for (int i = 0; i < bd->size; i++) {
+    Local<FunctionTemplate> functionTemplate = Local<FunctionTemplate>::New(isolate, bd->templates[i]);
+    object->Set(Local<String>::New(isolate, bd->names[i]), functionTemplate->GetFunction());
+  }
+}
+
+// Installed functions keep pointing to the methods of the descriptor, so only the
+// templates and the Java binding are released. The descriptor stays behind as a
+// tombstone, calls throw a JavaScript error, and it is freed with the isolate.
+JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1releaseBinding
+  (JNIEnv *env, jclass, jlong v8RuntimePtr, jlong bindingPtr) {
+  V8Runtime* runtime = reinterpret_cast<V8Runtime*>(v8RuntimePtr);
+  BindingDescriptor* bd = reinterpret_cast<BindingDescriptor*>(bindingPtr);
+  for (int i = 0; i < bd->size; i++) {
+    bd->names[i].Reset();
+    bd->templates[i].Reset();
+  }
+  env->DeleteGlobalRef(bd->binding);
+  bd->binding = NULL;
+  delete[](bd->names);
+  delete[](bd->templates);
+  bd->names = NULL;
+  bd->templates = NULL;
+  runtime->releasedBindings.push_back(bd);
+}
+
 JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1setWeak
   (JNIEnv * env, jobject, jlong v8ContextPtr, jlong objectHandle) {
     Isolate* isolate = SETUP(env, v8ContextPtr, );
@@ -1796,10 +3320,13 @@ JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1setWeak
     wrd->objectHandle = objectHandle;
     reinterpret_cast<Persistent<Object>*>(objectHandle)->SetWeak(wrd, [](v8::WeakCallbackInfo<WeakReferenceDescriptor> const& data) {
       WeakReferenceDescriptor* wrd = data.GetParameter();
-      JNIEnv * env;
-      getJNIEnv(env);
-      jobject v8Ctx = reinterpret_cast<V8Context*>(wrd->v8ContextPtr)->v8Ctx;
-      env->CallVoidMethod(v8Ctx, v8WeakReferenceReleased, wrd->objectHandle);
+      V8Runtime* runtime = static_cast<V8Runtime*>(data.GetIsolate()->GetData(V8_RUNTIME_ISOLATE_SLOT));
+      Persistent<Object>* handle = reinterpret_cast<Persistent<Object>*>(wrd->objectHandle);
+      handle->Reset();
+      delete(handle);
+      // Java is notified of all the collected references at once, after the GC
+      runtime->collectedWeakReferences.push_back(wrd->v8ContextPtr);
+      runtime->collectedWeakReferences.push_back(wrd->objectHandle);
       delete(wrd);
     }, WeakCallbackType::kFinalizer);
 }
@@ -1807,7 +3334,7 @@ JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1setWeak
 JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1clearWeak
   (JNIEnv * env, jobject, jlong v8ContextPtr, jlong objectHandle) {
     Isolate* isolate = SETUP(env, v8ContextPtr, );
-    reinterpret_cast<Persistent<Object>*>(objectHandle)->ClearWeak();
+    delete(reinterpret_cast<Persistent<Object>*>(objectHandle)->ClearWeak<WeakReferenceDescriptor>());
 }
 
 JNIEXPORT jboolean JNICALL Java_com_eclipsesource_v8_V8API__1isWeak
@@ -1826,20 +3353,8 @@ JNIEXPORT jlong JNICALL Java_com_eclipsesource_v8_V8API__1registerJavaMethod
   Handle<Object> object = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
   Local<String> v8FunctionName = createV8String(env, isolate, functionName);
   isolate->IdleNotification(1000);
-  MethodDescriptor* md= new MethodDescriptor();
-  Local<External> ext =  External::New(isolate, md);
-  Persistent<External> pext(isolate, ext);
-  pext.SetWeak(md, [](v8::WeakCallbackInfo<MethodDescriptor> const& data) {
-    MethodDescriptor* md = data.GetParameter();
-    jobject v8Ctx = reinterpret_cast<V8Context*>(md->v8ContextPtr)->v8Ctx;
-    JNIEnv * env;
-    getJNIEnv(env);
-    env->CallVoidMethod(v8Ctx, v8DisposeMethodID, md->methodID);
-    delete(md);
-  }, WeakCallbackType::kParameter);
-
-  md->methodID = reinterpret_cast<jlong>(md);
-  md->v8ContextPtr = v8ContextPtr;
+  MethodDescriptor* md = createMethodDescriptor(isolate, v8ContextPtr);
+  Local<External> ext = Local<External>::New(isolate, md->handle);
   object->Set(v8FunctionName, Function::New(isolate, callback, ext));
   return md->methodID;
 }
@@ -1847,6 +3362,7 @@ JNIEXPORT jlong JNICALL Java_com_eclipsesource_v8_V8API__1registerJavaMethod
 JNIEXPORT void JNICALL Java_com_eclipsesource_v8_V8API__1releaseMethodDescriptor
   (JNIEnv *, jobject, jlong, jlong methodDescriptorPtr) {
   MethodDescriptor* md = reinterpret_cast<MethodDescriptor*>(methodDescriptorPtr);
+  md->handle.Reset();
   delete(md);
 }
 
@@ -1876,9 +3392,7 @@ JNIEXPORT jstring JNICALL Java_com_eclipsesource_v8_V8API__1toString
 (JNIEnv *env, jobject, jlong v8ContextPtr, jlong objectHandle) {
   Isolate* isolate = SETUP(env, v8ContextPtr, 0);
   Handle<Object> object = Local<Object>::New(isolate, *reinterpret_cast<Persistent<Object>*>(objectHandle));
-  String::Value unicodeString(object->ToString(isolate));
-
-  return env->NewString(*unicodeString, unicodeString.length());
+  return createJavaString(env, isolate, object->ToString(isolate));
 }
 
 JNIEXPORT jboolean JNICALL Java_com_eclipsesource_v8_V8API__1strictEquals
@@ -2045,9 +3559,7 @@ jobject getResult(JNIEnv *env, jobject &v8Ctx, jlong v8ContextPtr, Handle<Value>
   else if (result->IsString()) {
     v8::Isolate* isolate = reinterpret_cast<V8Context*>(v8ContextPtr)->getRuntime()->isolate;
 
-    String::Value unicodeString(result->ToString(isolate));
-
-    return env->NewString(*unicodeString, unicodeString.length());
+    return createJavaString(env, isolate, result->ToString(isolate));
   }
   else if (result->IsFunction()) {
     jobject objectResult = env->NewObject(v8FunctionCls, v8FunctionInitMethodID, v8Ctx);
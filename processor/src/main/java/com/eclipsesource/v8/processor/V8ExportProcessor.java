@@ -0,0 +1,422 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a <code>&lt;Class&gt;_V8Bindings</code> class for every class with
+ * methods annotated with <code>com.eclipsesource.v8.V8Export</code>.
+ *
+ * The generated class creates one JavaCallback (or JavaVoidCallback) per
+ * exported method. Each callback reads its arguments with the typed getters
+ * of V8Array and calls the method directly, so no reflection is involved and
+ * the call can be inlined by the JIT. The callbacks can be registered on a
+ * V8Object with <code>register(object, target)</code>, or added to a V8Binding
+ * with <code>addTo(builder, target)</code>.
+ */
+@SupportedAnnotationTypes(V8ExportProcessor.V8_EXPORT)
+public class V8ExportProcessor extends AbstractProcessor {
+
+    static final String V8_EXPORT = "com.eclipsesource.v8.V8Export";
+    static final String SUFFIX    = "_V8Bindings";
+
+    private static final String V8_PACKAGE = "com.eclipsesource.v8.";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(V8_EXPORT);
+        if (annotation == null) {
+            return false;
+        }
+        Map<TypeElement, List<ExecutableElement>> methodsByType = new LinkedHashMap<TypeElement, List<ExecutableElement>>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            if (element.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            TypeElement type = (TypeElement) element.getEnclosingElement();
+            List<ExecutableElement> methods = methodsByType.get(type);
+            if (methods == null) {
+                methods = new ArrayList<ExecutableElement>();
+                methodsByType.put(type, methods);
+            }
+            methods.add((ExecutableElement) element);
+        }
+        for (Map.Entry<TypeElement, List<ExecutableElement>> entry : methodsByType.entrySet()) {
+            generate(entry.getKey(), entry.getValue());
+        }
+        return true;
+    }
+
+    private void generate(final TypeElement type, final List<ExecutableElement> methods) {
+        List<Export> exports = new ArrayList<Export>();
+        boolean valid = true;
+        for (ExecutableElement method : methods) {
+            Export export = createExport(method);
+            if (export == null) {
+                valid = false;
+            } else {
+                exports.add(export);
+            }
+        }
+        if (!valid) {
+            return;
+        }
+        String packageName = getPackageName(type);
+        String className = getGeneratedName(type);
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (PrintWriter writer = new PrintWriter(file.openWriter())) {
+                write(writer, packageName, className, getTypeName(type), exports);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write " + qualifiedName + ": " + e.getMessage(), type);
+        }
+    }
+
+    private Export createExport(final ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return error(method, "Exported methods must not be private");
+        }
+        if (method.isVarArgs()) {
+            return error(method, "Exported methods must not have variable arguments");
+        }
+        AnnotationMirror annotation = getAnnotation(method);
+        String jsName = (String) getAnnotationValue(annotation, "value", "");
+        boolean includeReceiver = (Boolean) getAnnotationValue(annotation, "includeReceiver", false);
+        Export export = new Export();
+        export.method = method;
+        export.jsName = jsName.isEmpty() ? method.getSimpleName().toString() : jsName;
+        export.isStatic = modifiers.contains(Modifier.STATIC);
+        export.includeReceiver = includeReceiver;
+        export.throwsChecked = !method.getThrownTypes().isEmpty();
+        List<? extends VariableElement> parameters = method.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            TypeMirror parameterType = parameters.get(i).asType();
+            if ((i == 0) && includeReceiver) {
+                if (!isDeclared(parameterType, V8_PACKAGE + "V8Object")) {
+                    return error(method, "The first parameter must be a V8Object when the receiver is included");
+                }
+                export.arguments.add(null);
+                continue;
+            }
+            String argument = getArgument(parameterType, export.includeReceiver ? i - 1 : i);
+            if (argument == null) {
+                return error(parameters.get(i), "Unsupported parameter type: " + parameterType);
+            }
+            export.arguments.add(argument);
+            export.argumentTypes.add(parameterType.toString());
+            export.releasable.add(isReleasable(parameterType));
+        }
+        TypeMirror returnType = method.getReturnType();
+        export.voidMethod = returnType.getKind() == TypeKind.VOID;
+        if (!export.voidMethod) {
+            export.returnConversion = getReturnConversion(returnType);
+            if (export.returnConversion == null) {
+                return error(method, "Unsupported return type: " + returnType);
+            }
+        }
+        return export;
+    }
+
+    private String getArgument(final TypeMirror type, final int index) {
+        switch (type.getKind()) {
+            case INT:
+                return "parameters.getInteger(" + index + ")";
+            case DOUBLE:
+                return "parameters.getDouble(" + index + ")";
+            case LONG:
+                return "(long) parameters.getDouble(" + index + ")";
+            case FLOAT:
+                return "(float) parameters.getDouble(" + index + ")";
+            case BOOLEAN:
+                return "parameters.getBoolean(" + index + ")";
+            case DECLARED:
+                break;
+            default:
+                return null;
+        }
+        String missing = "isMissing(parameters, " + index + ") ? null : ";
+        if (isDeclared(type, "java.lang.Integer")) {
+            return missing + "parameters.getInteger(" + index + ")";
+        } else if (isDeclared(type, "java.lang.Double")) {
+            return missing + "parameters.getDouble(" + index + ")";
+        } else if (isDeclared(type, "java.lang.Boolean")) {
+            return missing + "parameters.getBoolean(" + index + ")";
+        } else if (isDeclared(type, "java.lang.String")) {
+            return missing + "parameters.getString(" + index + ")";
+        } else if (isDeclared(type, "java.lang.Object")) {
+            return "parameters.get(" + index + ")";
+        } else if (isDeclared(type, V8_PACKAGE + "V8Value")) {
+            return "toV8Value(parameters.get(" + index + "))";
+        } else if (isDeclared(type, V8_PACKAGE + "V8Object")) {
+            return "parameters.getObject(" + index + ")";
+        } else if (isDeclared(type, V8_PACKAGE + "V8Array")) {
+            return "parameters.getArray(" + index + ")";
+        } else if (isDeclared(type, V8_PACKAGE + "V8Function")) {
+            return "(" + V8_PACKAGE + "V8Function) parameters.getObject(" + index + ")";
+        }
+        return null;
+    }
+
+    private boolean isReleasable(final TypeMirror type) {
+        return isDeclared(type, "java.lang.Object") || isDeclared(type, V8_PACKAGE + "V8Value")
+                || isDeclared(type, V8_PACKAGE + "V8Object") || isDeclared(type, V8_PACKAGE + "V8Array")
+                || isDeclared(type, V8_PACKAGE + "V8Function");
+    }
+
+    private String getReturnConversion(final TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+            case DOUBLE:
+            case BOOLEAN:
+                return "%s";
+            case LONG:
+            case FLOAT:
+                return "(double) %s";
+            case DECLARED:
+                break;
+            default:
+                return null;
+        }
+        if (isDeclared(type, "java.lang.Integer") || isDeclared(type, "java.lang.Double")
+                || isDeclared(type, "java.lang.Boolean") || isDeclared(type, "java.lang.String")
+                || isDeclared(type, "java.lang.Object")) {
+            return "%s";
+        }
+        TypeElement v8Value = processingEnv.getElementUtils().getTypeElement(V8_PACKAGE + "V8Value");
+        if ((v8Value != null) && processingEnv.getTypeUtils().isAssignable(type, v8Value.asType())) {
+            return "%s";
+        }
+        return null;
+    }
+
+    private void write(final PrintWriter writer, final String packageName, final String className, final String typeName, final List<Export> exports) {
+        if (!packageName.isEmpty()) {
+            writer.println("package " + packageName + ";");
+            writer.println();
+        }
+        writer.println("/**");
+        writer.println(" * Callbacks for the methods of {@link " + typeName + "} annotated with");
+        writer.println(" * {@link " + V8_EXPORT + "}. Generated by " + V8ExportProcessor.class.getName() + ", do not edit.");
+        writer.println(" */");
+        writer.println("public final class " + className + " {");
+        writer.println();
+        writer.println("    private " + className + "() {");
+        writer.println("    }");
+        writer.println();
+        writer.println("    /**");
+        writer.println("     * Registers the exported methods as functions of a V8Object.");
+        writer.println("     *");
+        writer.println("     * @param object The object on which to register the functions.");
+        writer.println("     * @param target The instance on which the methods are called.");
+        writer.println("     *");
+        writer.println("     * @return The object.");
+        writer.println("     */");
+        writer.println("    public static <T extends " + V8_PACKAGE + "V8Object> T register(final T object, final " + typeName + " target) {");
+        for (int i = 0; i < exports.size(); i++) {
+            writer.println("        object.registerJavaMethod(export" + i + "(target), \"" + escape(exports.get(i).jsName) + "\");");
+        }
+        writer.println("        return object;");
+        writer.println("    }");
+        writer.println();
+        writer.println("    /**");
+        writer.println("     * Adds the exported methods to a V8Binding.");
+        writer.println("     *");
+        writer.println("     * @param builder The builder of the binding.");
+        writer.println("     * @param target The instance on which the methods are called.");
+        writer.println("     *");
+        writer.println("     * @return The builder.");
+        writer.println("     */");
+        writer.println("    public static " + V8_PACKAGE + "V8Binding.Builder addTo(final " + V8_PACKAGE + "V8Binding.Builder builder, final " + typeName + " target) {");
+        for (int i = 0; i < exports.size(); i++) {
+            writer.println("        builder.add(\"" + escape(exports.get(i).jsName) + "\", export" + i + "(target));");
+        }
+        writer.println("        return builder;");
+        writer.println("    }");
+        for (int i = 0; i < exports.size(); i++) {
+            writer.println();
+            writeCallback(writer, i, typeName, exports.get(i));
+        }
+        writer.println();
+        writer.println("    private static boolean isMissing(final " + V8_PACKAGE + "V8Array parameters, final int index) {");
+        writer.println("        if (index >= parameters.length()) {");
+        writer.println("            return true;");
+        writer.println("        }");
+        writer.println("        int type = parameters.getType(index);");
+        writer.println("        return (type == " + V8_PACKAGE + "V8API.NULL) || (type == " + V8_PACKAGE + "V8API.UNDEFINED);");
+        writer.println("    }");
+        writer.println();
+        writer.println("    private static " + V8_PACKAGE + "V8Value toV8Value(final Object value) {");
+        writer.println("        if ((value == null) || (value instanceof " + V8_PACKAGE + "V8Value)) {");
+        writer.println("            return (" + V8_PACKAGE + "V8Value) value;");
+        writer.println("        }");
+        writer.println("        throw new IllegalArgumentException(\"argument type mismatch\");");
+        writer.println("    }");
+        writer.println();
+        writer.println("    private static void release(final Object value) {");
+        writer.println("        if (value instanceof " + V8_PACKAGE + "Releasable) {");
+        writer.println("            ((" + V8_PACKAGE + "Releasable) value).release();");
+        writer.println("        }");
+        writer.println("    }");
+        writer.println();
+        writer.println("}");
+    }
+
+    private void writeCallback(final PrintWriter writer, final int index, final String typeName, final Export export) {
+        String callbackType = V8_PACKAGE + (export.voidMethod ? "JavaVoidCallback" : "JavaCallback");
+        writer.println("    private static " + callbackType + " export" + index + "(final " + typeName + " target) {");
+        writer.println("        return (receiver, parameters) -> {");
+        List<String> argumentNames = new ArrayList<String>();
+        List<String> releasable = new ArrayList<String>();
+        int argument = 0;
+        for (String value : export.arguments) {
+            if (value == null) {
+                argumentNames.add("receiver");
+                continue;
+            }
+            String name = "arg" + argument;
+            writer.println("            " + export.argumentTypes.get(argument) + " " + name + " = " + value + ";");
+            argumentNames.add(name);
+            if (export.releasable.get(argument)) {
+                releasable.add(name);
+            }
+            argument++;
+        }
+        String receiver = export.isStatic ? typeName : "target";
+        String call = receiver + "." + export.method.getSimpleName() + "(" + String.join(", ", argumentNames) + ")";
+        String statement = export.voidMethod ? call + ";" : "return " + String.format(export.returnConversion, call) + ";";
+        boolean wrap = !releasable.isEmpty() || export.throwsChecked;
+        String indent = wrap ? "                " : "            ";
+        if (wrap) {
+            writer.println("            try {");
+        }
+        writer.println(indent + statement);
+        if (export.throwsChecked) {
+            writer.println("            } catch (RuntimeException | Error e) {");
+            writer.println("                throw e;");
+            writer.println("            } catch (Exception e) {");
+            writer.println("                throw new RuntimeException(e);");
+        }
+        if (!releasable.isEmpty()) {
+            writer.println("            } finally {");
+            for (String name : releasable) {
+                writer.println("                release(" + name + ");");
+            }
+        }
+        if (wrap) {
+            writer.println("            }");
+        }
+        writer.println("        };");
+        writer.println("    }");
+    }
+
+    private boolean isDeclared(final TypeMirror type, final String qualifiedName) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        return erasure.toString().equals(qualifiedName);
+    }
+
+    private AnnotationMirror getAnnotation(final Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(V8_EXPORT)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static Object getAnnotationValue(final AnnotationMirror annotation, final String name, final Object defaultValue) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return defaultValue;
+    }
+
+    private String getPackageName(final TypeElement type) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+    }
+
+    private String getTypeName(final TypeElement type) {
+        return processingEnv.getTypeUtils().erasure(type.asType()).toString();
+    }
+
+    static String getGeneratedName(final TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while ((enclosing != null) && (enclosing.getKind() != ElementKind.PACKAGE)) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append(SUFFIX).toString();
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private Export error(final Element element, final String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        return null;
+    }
+
+    private static final class Export {
+
+        ExecutableElement     method;
+        String                jsName;
+        boolean               isStatic;
+        boolean               includeReceiver;
+        boolean               voidMethod;
+        boolean               throwsChecked;
+        String                returnConversion;
+        final List<String>    arguments     = new ArrayList<String>();
+        final List<String>    argumentTypes = new ArrayList<String>();
+        final List<Boolean>   releasable    = new ArrayList<Boolean>();
+
+    }
+
+}
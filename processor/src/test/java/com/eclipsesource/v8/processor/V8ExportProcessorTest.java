@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class V8ExportProcessorTest {
+
+    private static final String[] STUBS = {
+            "package com.eclipsesource.v8; public @interface V8Export { String value() default \"\"; boolean includeReceiver() default false; }",
+            "package com.eclipsesource.v8; public class V8Value {}",
+            "package com.eclipsesource.v8; public class V8Object extends V8Value {}",
+            "package com.eclipsesource.v8; public class V8Array extends V8Object {}",
+            "package com.eclipsesource.v8; public class V8Function extends V8Object {}",
+            "package com.eclipsesource.v8; public interface Releasable { void release(); }",
+            "package com.eclipsesource.v8; public interface JavaCallback { Object invoke(V8Object receiver, V8Array parameters); }",
+            "package com.eclipsesource.v8; public interface JavaVoidCallback { void invoke(V8Object receiver, V8Array parameters); }",
+            "package com.eclipsesource.v8; public class V8Binding { public static class Builder {} }"
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+    private File                                output;
+
+    @Before
+    public void setup() throws IOException {
+        diagnostics = new DiagnosticCollector<JavaFileObject>();
+        output = folder.newFolder();
+    }
+
+    private boolean compile(final String source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<JavaFileObject> sources = new ArrayList<JavaFileObject>();
+        for (String stub : STUBS) {
+            sources.add(new Source(stub));
+        }
+        sources.add(new Source(source));
+        List<String> options = Arrays.asList("-proc:only", "-s", output.getAbsolutePath());
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, sources);
+        task.setProcessors(Collections.singletonList(new V8ExportProcessor()));
+        return task.call();
+    }
+
+    private String getGenerated(final String path) throws IOException {
+        return new String(Files.readAllBytes(new File(output, path).toPath()), StandardCharsets.UTF_8);
+    }
+
+    private String getErrors() {
+        StringBuilder result = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                result.append(diagnostic.getMessage(null)).append('\n');
+            }
+        }
+        return result.toString();
+    }
+
+    @Test
+    public void testGeneratesBindingsClass() throws IOException {
+        boolean compiled = compile("package demo; import com.eclipsesource.v8.*; public class Host { @V8Export public int add(int a, int b) { return a + b; } }");
+
+        assertTrue(getErrors(), compiled);
+        String generated = getGenerated("demo/Host_V8Bindings.java");
+
+        assertTrue(generated.contains("public final class Host_V8Bindings"));
+        assertTrue(generated.contains("object.registerJavaMethod(export0(target), \"add\");"));
+        assertTrue(generated.contains("builder.add(\"add\", export0(target));"));
+        assertTrue(generated.contains("int arg0 = parameters.getInteger(0);"));
+        assertTrue(generated.contains("return target.add(arg0, arg1);"));
+    }
+
+    @Test
+    public void testCustomName() throws IOException {
+        compile("package demo; import com.eclipsesource.v8.*; public class Host { @V8Export(\"sum\") public int add(int a, int b) { return a + b; } }");
+
+        assertTrue(getGenerated("demo/Host_V8Bindings.java").contains("\"sum\""));
+    }
+
+    @Test
+    public void testVoidMethodUsesVoidCallback() throws IOException {
+        compile("package demo; import com.eclipsesource.v8.*; public class Host { @V8Export public void run(String s) {} }");
+
+        String generated = getGenerated("demo/Host_V8Bindings.java");
+
+        assertTrue(generated.contains("com.eclipsesource.v8.JavaVoidCallback export0"));
+        assertTrue(generated.contains("target.run(arg0);"));
+    }
+
+    @Test
+    public void testIncludeReceiver() throws IOException {
+        compile("package demo; import com.eclipsesource.v8.*; public class Host { @V8Export(includeReceiver = true) public String get(V8Object receiver, String key) { return key; } }");
+
+        String generated = getGenerated("demo/Host_V8Bindings.java");
+
+        assertTrue(generated.contains("isMissing(parameters, 0) ? null : parameters.getString(0);"));
+        assertTrue(generated.contains("return target.get(receiver, arg0);"));
+    }
+
+    @Test
+    public void testObjectParametersAreReleased() throws IOException {
+        compile("package demo; import com.eclipsesource.v8.*; public class Host { @V8Export public void run(V8Array array) {} }");
+
+        assertTrue(getGenerated("demo/Host_V8Bindings.java").contains("release(arg0);"));
+    }
+
+    @Test
+    public void testStaticMethod() throws IOException {
+        compile("package demo; import com.eclipsesource.v8.*; public class Host { @V8Export public static double half(double d) { return d / 2; } }");
+
+        assertTrue(getGenerated("demo/Host_V8Bindings.java").contains("return demo.Host.half(arg0);"));
+    }
+
+    @Test
+    public void testNestedClass() throws IOException {
+        compile("package demo; import com.eclipsesource.v8.*; public class Host { public static class Inner { @V8Export public void run() {} } }");
+
+        assertTrue(new File(output, "demo/Host_Inner_V8Bindings.java").exists());
+    }
+
+    @Test
+    public void testUnsupportedParameterType() {
+        assertFalse(compile("package demo; import com.eclipsesource.v8.*; public class Host { @V8Export public void run(java.util.List<String> list) {} }"));
+
+        assertTrue(getErrors().contains("Unsupported parameter type"));
+    }
+
+    @Test
+    public void testPrivateMethod() {
+        assertFalse(compile("package demo; import com.eclipsesource.v8.*; public class Host { @V8Export private void run() {} }"));
+
+        assertTrue(getErrors().contains("must not be private"));
+    }
+
+    @Test
+    public void testReceiverMustBeV8Object() {
+        assertFalse(compile("package demo; import com.eclipsesource.v8.*; public class Host { @V8Export(includeReceiver = true) public void run(String s) {} }"));
+
+        assertTrue(getErrors().contains("must be a V8Object"));
+    }
+
+    private static class Source extends SimpleJavaFileObject {
+
+        private static final Pattern NAME = Pattern.compile("package ([\\w.]+);.*?(?:class|interface) (\\w+)");
+
+        private final String content;
+
+        Source(final String content) {
+            super(URI.create("string:///" + getName(content).replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+            return content;
+        }
+
+        private static String getName(final String content) {
+            Matcher matcher = NAME.matcher(content);
+            matcher.find();
+            return matcher.group(1) + "." + matcher.group(2);
+        }
+
+    }
+
+}
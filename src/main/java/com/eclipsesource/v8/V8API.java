@@ -26,6 +26,13 @@ public class V8API {
 	public static final int FLOAT_32_ARRAY               = 16;
 	public static final int UNDEFINED                    = 99;
 
+	static final int        CODE_EVENTS_PERF_MAP         = 1;
+	static final int        CODE_EVENTS_LISTENER         = 2;
+
+	static final int        CODE_ADDED                   = 0;
+	static final int        CODE_MOVED                   = 1;
+	static final int        CODE_REMOVED                 = 2;
+
 	private static V8API INSTANCE = new V8API();
 	
 	static V8API get() {
@@ -60,8 +67,12 @@ public class V8API {
 
 	native void _release(long v8ContextPtr, long objectHandle);
 
+	native void _releaseAll(long v8ContextPtr, long[] objectHandles, int count);
+
 	native void _releaseMethodDescriptor(long v8ContextPtr, long methodDescriptor);
 
+	native void _releaseProxyDescriptor(long v8ContextPtr, long proxyDescriptor);
+
 	native boolean _contains(long v8ContextPtr, long objectHandle, String key);
 
 	native String[] _getKeys(long v8ContextPtr, long objectHandle);
@@ -74,8 +85,60 @@ public class V8API {
 
 	native String _getString(long v8ContextPtr, long objectHandle, String key);
 
+	native int _getUTF8(long v8ContextPtr, long objectHandle, String key, ByteBuffer buffer, int offset, int capacity);
+
 	native Object _get(long v8ContextPtr, int expectedType, long objectHandle, String key);
 
+	native long _initNewV8PropertyKey(long v8ContextPtr, String key);
+
+	native void _releasePropertyKey(long v8ContextPtr, long keyHandle);
+
+	native boolean _containsByKey(long v8ContextPtr, long objectHandle, long keyHandle);
+
+	native int _getTypeByKey(long v8ContextPtr, long objectHandle, long keyHandle);
+
+	native Object _getByKey(long v8ContextPtr, int expectedType, long objectHandle, long keyHandle);
+
+	native int _getIntegerByKey(long v8ContextPtr, long objectHandle, long keyHandle);
+
+	native boolean _getBooleanByKey(long v8ContextPtr, long objectHandle, long keyHandle);
+
+	native double _getDoubleByKey(long v8ContextPtr, long objectHandle, long keyHandle);
+
+	native String _getStringByKey(long v8ContextPtr, long objectHandle, long keyHandle);
+
+	native void _addIntegerByKey(long v8ContextPtr, long objectHandle, long keyHandle, int value);
+
+	native void _addBooleanByKey(long v8ContextPtr, long objectHandle, long keyHandle, boolean value);
+
+	native void _addDoubleByKey(long v8ContextPtr, long objectHandle, long keyHandle, double value);
+
+	native void _addStringByKey(long v8ContextPtr, long objectHandle, long keyHandle, String value);
+
+	native void _addObjectByKey(long v8ContextPtr, long objectHandle, long keyHandle, long valueHandle);
+
+	native void _addUndefinedByKey(long v8ContextPtr, long objectHandle, long keyHandle);
+
+	native void _addNullByKey(long v8ContextPtr, long objectHandle, long keyHandle);
+
+	native Object _getPath(long v8ContextPtr, int expectedType, long objectHandle, String path);
+
+	native Object _getPathByKeys(long v8ContextPtr, int expectedType, long objectHandle, long[] keyHandles);
+
+	native int _getTypeAtPath(long v8ContextPtr, long objectHandle, String path);
+
+	native int _getIntegerAtPath(long v8ContextPtr, long objectHandle, String path);
+
+	native boolean _getBooleanAtPath(long v8ContextPtr, long objectHandle, String path);
+
+	native double _getDoubleAtPath(long v8ContextPtr, long objectHandle, String path);
+
+	native String _getStringAtPath(long v8ContextPtr, long objectHandle, String path);
+
+	native void _extract(long v8ContextPtr, long objectHandle, String[] paths, int[] types, double[] numbers, String[] strings);
+
+	native void _addAll(long v8ContextPtr, long objectHandle, String[] paths, int[] types, double[] numbers, String[] strings);
+
 	native int _executeIntegerFunction(long v8ContextPtr, long objectHandle, String name, long parametersHandle);
 
 	native double _executeDoubleFunction(long v8ContextPtr, long objectHandle, String name, long parametersHandle);
@@ -90,6 +153,10 @@ public class V8API {
 
 	native void _executeVoidFunction(long v8ContextPtr, long objectHandle, String name, long parametersHandle);
 
+	native Object _executeFunctionWithFrame(long v8ContextPtr, int expectedType, long objectHandle, String name, ByteBuffer frame, int length, Object[] references);
+
+	native Object _callFunctionWithFrame(long v8ContextPtr, long receiverHandle, long functionHandle, ByteBuffer frame, int length, Object[] references);
+
 	native boolean _equals(long v8ContextPtr, long objectHandle, long that);
 
 	native String _toString(long v8ContextPtr, long ObjectHandle);
@@ -110,6 +177,8 @@ public class V8API {
 
 	native void _add(long v8ContextPtr, long objectHandle, String key, String value);
 
+	native void _addUTF8(long v8ContextPtr, long objectHandle, String key, ByteBuffer value, int offset, int length);
+
 	native void _addUndefined(long v8ContextPtr, long objectHandle, String key);
 
 	native void _addNull(long v8ContextPtr, long objectHandle, String key);
@@ -120,6 +189,12 @@ public class V8API {
 
 	native long[] _initNewV8Function(long v8ContextPtr);
 
+	native long[] _initNewV8JavaProxy(long v8ContextPtr);
+
+	native void _installBinding(long v8ContextPtr, long bindingPtr, long objectHandle);
+
+	native void _setCallbackArguments(long v8ContextPtr, ByteBuffer slots, int slotCount);
+
 	native int _arrayGetSize(long v8ContextPtr, long arrayHandle);
 
 	native int _arrayGetInteger(long v8ContextPtr, long arrayHandle, int index);
@@ -132,6 +207,8 @@ public class V8API {
 
 	native String _arrayGetString(long v8ContextPtr, long arrayHandle, int index);
 
+	native int _arrayGetUTF8(long v8ContextPtr, long arrayHandle, int index, ByteBuffer buffer, int offset, int capacity);
+
 	native Object _arrayGet(long v8ContextPtr, int expectedType, long arrayHandle, int index);
 
 	native void _addArrayIntItem(long v8ContextPtr, long arrayHandle, int value);
@@ -142,6 +219,8 @@ public class V8API {
 
 	native void _addArrayStringItem(long v8ContextPtr, long arrayHandle, String value);
 
+	native void _addArrayUTF8Item(long v8ContextPtr, long arrayHandle, ByteBuffer value, int offset, int length);
+
 	native void _addArrayObjectItem(long v8ContextPtr, long arrayHandle, long value);
 
 	native void _addArrayUndefinedItem(long v8ContextPtr, long arrayHandle);
@@ -221,12 +300,34 @@ public class V8API {
 
 	native static void _lowMemoryNotification(long v8RuntimePtr);
 
+	native static long _createBinding(long v8RuntimePtr, V8Binding binding, String[] names, boolean[] voidMethods);
+
+	native static void _releaseBinding(long v8RuntimePtr, long bindingPtr);
+
 	native static void _releaseIsolate(long v8RuntimePtr);
 
 	native static void _releaseContext(long v8ContextPtr);
 
 	native static void _terminateExecution(long v8RuntimePtr);
 
+	native static void _startCpuProfiling(long v8RuntimePtr, String title, int samplingInterval);
+
+	native static Object[] _stopCpuProfiling(long v8RuntimePtr, String title);
+
+	native static boolean _startSamplingHeapProfiler(long v8RuntimePtr, long sampleInterval, int stackDepth);
+
+	native static void _stopSamplingHeapProfiler(long v8RuntimePtr);
+
+	native static Object[] _getAllocationProfile(long v8RuntimePtr);
+
+	native static boolean _setCodeEventOutputs(long v8RuntimePtr, int outputs);
+
+	native static void _setGarbageCollectionEvents(long v8RuntimePtr, boolean enabled);
+
+	native static void _takeHeapSnapshot(long v8RuntimePtr, V8HeapSnapshotWriter writer, ByteBuffer buffer);
+
+	native static Object[] _takeHeapSnapshotSummary(long v8RuntimePtr);
+
 	native static String _getVersion();
 
 	native static void _setFlags(String v8flags);
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The allocations sampled by the sampling heap profiler of V8, see
+ * {@link V8Isolate#startSamplingHeapProfiler(long, int)}.
+ *
+ * The profile is a tree of {@link V8AllocationProfileNode}s, with the stack
+ * of the sampled allocations. Only allocations whose objects were still
+ * alive when the profile was taken are included. Sizes and counts are
+ * estimated from the samples, and scaled to the sampling interval.
+ */
+public final class V8AllocationProfile {
+
+    // The values of every node passed by the native layer: child count,
+    // script id, line number, column number and allocation count
+    private static final int                NODE_FIELDS  = 5;
+    // The strings of every node: function name and script name
+    private static final int                NODE_STRINGS = 2;
+
+    private final V8AllocationProfileNode[] nodes;
+
+    /*
+     * The nodes are passed in pre-order, every node being followed by
+     * the nodes of its subtree. The allocations are a pair of size and
+     * count for every allocation of every node.
+     */
+    V8AllocationProfile(final int[] values, final String[] strings, final long[] allocations) {
+        int count = values.length / NODE_FIELDS;
+        nodes = new V8AllocationProfileNode[count];
+        V8AllocationProfileNode[] path = new V8AllocationProfileNode[count];
+        int[] remainingChildren = new int[count];
+        int depth = 0;
+        int allocationIndex = 0;
+        for (int i = 0; i < count; i++) {
+            while ((depth > 0) && (remainingChildren[depth - 1] == 0)) {
+                depth--;
+            }
+            V8AllocationProfileNode parent = depth == 0 ? null : path[depth - 1];
+            int v = i * NODE_FIELDS;
+            int allocationCount = values[v + 4];
+            long[] sizes = new long[allocationCount];
+            long[] counts = new long[allocationCount];
+            for (int j = 0; j < allocationCount; j++) {
+                sizes[j] = allocations[allocationIndex++];
+                counts[j] = allocations[allocationIndex++];
+            }
+            int s = i * NODE_STRINGS;
+            V8AllocationProfileNode node = new V8AllocationProfileNode(parent, strings[s], strings[s + 1], values[v + 1], values[v + 2],
+                    values[v + 3], sizes, counts, values[v]);
+            if (parent != null) {
+                parent.addChild(node);
+                remainingChildren[depth - 1]--;
+            }
+            nodes[i] = node;
+            path[depth] = node;
+            remainingChildren[depth] = values[v];
+            depth++;
+        }
+        // Descendants come after their ancestors, so the totals are complete when added to the parent
+        for (int i = count - 1; i > 0; i--) {
+            nodes[i].getParent().totalSize += nodes[i].totalSize;
+            nodes[i].getParent().totalCount += nodes[i].totalCount;
+        }
+    }
+
+    /**
+     * Returns the root of the allocation tree, whose total size is the
+     * estimated size of all sampled allocations.
+     *
+     * @return The root node.
+     */
+    public V8AllocationProfileNode getRoot() {
+        return nodes[0];
+    }
+
+    /**
+     * Returns all nodes of the allocation tree, in pre-order.
+     *
+     * @return An unmodifiable list of the nodes.
+     */
+    public List<V8AllocationProfileNode> getNodes() {
+        return Collections.unmodifiableList(Arrays.asList(nodes));
+    }
+
+    /**
+     * Returns the nodes which allocated the most memory themselves, in
+     * descending order of self size.
+     *
+     * @param limit The maximum number of nodes to return.
+     *
+     * @return The nodes with the largest self size.
+     */
+    public List<V8AllocationProfileNode> getHotspots(final int limit) {
+        List<V8AllocationProfileNode> result = new ArrayList<V8AllocationProfileNode>();
+        for (V8AllocationProfileNode node : nodes) {
+            if (node.getSelfSize() > 0) {
+                result.add(node);
+            }
+        }
+        Collections.sort(result, new Comparator<V8AllocationProfileNode>() {
+
+            @Override
+            public int compare(final V8AllocationProfileNode first, final V8AllocationProfileNode second) {
+                return Long.compare(second.getSelfSize(), first.getSelfSize());
+            }
+        });
+        return result.subList(0, Math.min(limit, result.size()));
+    }
+
+}
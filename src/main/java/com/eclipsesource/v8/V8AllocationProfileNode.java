@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A node of the allocation tree of a {@link V8AllocationProfile}. Every
+ * node is a function called from the function of its parent node, and
+ * holds the sampled allocations made while the function was at the top
+ * of the stack.
+ */
+public final class V8AllocationProfileNode {
+
+    private final String                        functionName;
+    private final String                        scriptName;
+    private final int                           scriptId;
+    private final int                           lineNumber;
+    private final int                           columnNumber;
+    private final long[]                        allocationSizes;
+    private final long[]                        allocationCounts;
+    private final long                          selfSize;
+    private final long                          selfCount;
+    private final V8AllocationProfileNode       parent;
+    private final List<V8AllocationProfileNode> children;
+    long                                        totalSize;
+    long                                        totalCount;
+
+    V8AllocationProfileNode(final V8AllocationProfileNode parent, final String functionName, final String scriptName, final int scriptId,
+            final int lineNumber, final int columnNumber, final long[] allocationSizes, final long[] allocationCounts, final int childCount) {
+        this.parent = parent;
+        this.functionName = functionName;
+        this.scriptName = scriptName;
+        this.scriptId = scriptId;
+        this.lineNumber = lineNumber;
+        this.columnNumber = columnNumber;
+        this.allocationSizes = allocationSizes;
+        this.allocationCounts = allocationCounts;
+        long size = 0;
+        long count = 0;
+        for (int i = 0; i < allocationSizes.length; i++) {
+            size += allocationSizes[i] * allocationCounts[i];
+            count += allocationCounts[i];
+        }
+        selfSize = size;
+        selfCount = count;
+        totalSize = size;
+        totalCount = count;
+        children = childCount == 0 ? Collections.<V8AllocationProfileNode> emptyList() : new ArrayList<V8AllocationProfileNode>(childCount);
+    }
+
+    void addChild(final V8AllocationProfileNode child) {
+        children.add(child);
+    }
+
+    /**
+     * Returns the name of the function, or an empty String for anonymous
+     * functions. The root node is named "(root)".
+     *
+     * @return The name of the function.
+     */
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    /**
+     * Returns the name of the script that defines the function, as passed
+     * to the execute*Script methods.
+     *
+     * @return The name of the script, or an empty String.
+     */
+    public String getScriptName() {
+        return scriptName;
+    }
+
+    /**
+     * Returns the V8 ID of the script that defines the function.
+     *
+     * @return The ID of the script, or 0.
+     */
+    public int getScriptId() {
+        return scriptId;
+    }
+
+    /**
+     * Returns the line at which the function is defined, starting at 1.
+     *
+     * @return The line number, or 0 if it is not known.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the column at which the function is defined, starting at 1.
+     *
+     * @return The column number, or 0 if it is not known.
+     */
+    public int getColumnNumber() {
+        return columnNumber;
+    }
+
+    /**
+     * Returns the estimated number of bytes allocated by the function
+     * itself.
+     *
+     * @return The self size in bytes.
+     */
+    public long getSelfSize() {
+        return selfSize;
+    }
+
+    /**
+     * Returns the estimated number of bytes allocated by the function and
+     * all the functions it called.
+     *
+     * @return The total size in bytes.
+     */
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    /**
+     * Returns the estimated number of objects allocated by the function
+     * itself.
+     *
+     * @return The number of allocations.
+     */
+    public long getSelfCount() {
+        return selfCount;
+    }
+
+    /**
+     * Returns the estimated number of objects allocated by the function
+     * and all the functions it called.
+     *
+     * @return The number of allocations.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the distinct sizes of the objects allocated by the function.
+     * The number of objects of every size is at the same index in
+     * {@link #getAllocationCounts()}.
+     *
+     * @return A copy of the allocation sizes, in bytes.
+     */
+    public long[] getAllocationSizes() {
+        return allocationSizes.clone();
+    }
+
+    /**
+     * Returns the estimated number of objects allocated for every size of
+     * {@link #getAllocationSizes()}.
+     *
+     * @return A copy of the allocation counts.
+     */
+    public long[] getAllocationCounts() {
+        return allocationCounts.clone();
+    }
+
+    /**
+     * Returns the node of the calling function.
+     *
+     * @return The parent node, or null for the root node.
+     */
+    public V8AllocationProfileNode getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the nodes of the functions called by this function.
+     *
+     * @return An unmodifiable list of the child nodes.
+     */
+    public List<V8AllocationProfileNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    @Override
+    public String toString() {
+        String name = functionName.isEmpty() ? "(anonymous)" : functionName;
+        return name + " " + scriptName + ":" + lineNumber + " self=" + selfSize + " total=" + totalSize;
+    }
+
+}
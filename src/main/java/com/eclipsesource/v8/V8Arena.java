@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+/**
+ * Tracks all V8Values created on a context while the arena is active, and
+ * releases them together when the arena is released.
+ *
+ * Arenas can be nested. An arena also tracks the values created while
+ * the arenas created after it are active. Tracking a value is a constant
+ * time operation, releasing a tracked value takes logarithmic time in the
+ * number of nested arenas. The handles of an arena are released with a
+ * single native call.
+ */
+public final class V8Arena implements Releasable {
+
+    private final V8Context context;
+    private boolean         released;
+    int                     start;
+    int                     count;
+    int[]                   freeSlots;
+    int                     freeCount;
+
+    /**
+     * Creates and activates an arena on a context.
+     *
+     * @param context The context whose values are tracked.
+     */
+    public V8Arena(final V8Context context) {
+        context.getIsolate().checkThread();
+        this.context = context;
+        context.pushArena(this);
+    }
+
+    /**
+     * Returns the number of values tracked by this arena which were
+     * not released yet.
+     *
+     * @return The number of tracked values.
+     */
+    public int getObjectReferenceCount() {
+        checkReleased();
+        return context.getArenaObjectReferenceCount(this);
+    }
+
+    /**
+     * Removes a value from this arena, and from all other arenas of
+     * the context, so it is not released with them. Does nothing if
+     * the value is not tracked.
+     *
+     * @param value The value to keep.
+     */
+    public void persist(final V8Value value) {
+        context.getIsolate().checkThread();
+        checkReleased();
+        if ((value != null) && (value.getContext() == context) && (value.arenaSlot >= start)) {
+            context.persistArenaValue(value);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.eclipsesource.v8.Releasable#close()
+     */
+    @Override
+    public void close() {
+        context.getIsolate().checkThread();
+        if (released) {
+            return;
+        }
+        try {
+            context.releaseArena(this);
+        } finally {
+            released = true;
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.eclipsesource.v8.Releasable#isReleased()
+     */
+    @Override
+    public boolean isReleased() {
+        return released;
+    }
+
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The arenas of a context, and the values they track.
+ *
+ * Values created while an arena is active are stored in a slot array,
+ * and each value remembers its slot. Every arena owns the range of slots
+ * from the top of the array when it was pushed to the start of the next
+ * arena, and counts the live values of its own range only. The owner of a
+ * slot is found with a binary search over the starts of the arenas.
+ *
+ * The slots of released values are kept in a free list of the arena that
+ * owns them, and reused by the values created while that arena is the
+ * innermost one.
+ */
+final class V8ArenaStack {
+
+    private final ArrayList<V8Arena> arenas = new ArrayList<V8Arena>();
+    private V8Value[]                slots  = new V8Value[64];
+    private long[]                   handles;
+    private V8Value[]                values;
+    private int                      top;
+
+    boolean isEmpty() {
+        return arenas.isEmpty();
+    }
+
+    void push(final V8Arena arena) {
+        arena.start = top;
+        arena.count = 0;
+        arena.freeCount = 0;
+        arenas.add(arena);
+    }
+
+    void add(final V8Value value) {
+        V8Arena arena = arenas.get(arenas.size() - 1);
+        int slot;
+        if (arena.freeCount > 0) {
+            slot = arena.freeSlots[--arena.freeCount];
+        } else {
+            if (top == slots.length) {
+                slots = Arrays.copyOf(slots, top * 2);
+            }
+            slot = top++;
+        }
+        value.arenaSlot = slot;
+        slots[slot] = value;
+        arena.count++;
+    }
+
+    void remove(final V8Value value) {
+        int slot = value.arenaSlot;
+        slots[slot] = null;
+        value.arenaSlot = -1;
+        int index = findArena(slot);
+        V8Arena arena = arenas.get(index);
+        arena.count--;
+        // Values are usually released in reverse order, so the top is reused directly
+        if ((slot == (top - 1)) && (index == (arenas.size() - 1))) {
+            top--;
+        } else {
+            if ((arena.freeSlots == null) || (arena.freeCount == arena.freeSlots.length)) {
+                arena.freeSlots = Arrays.copyOf(arena.freeSlots == null ? new int[0] : arena.freeSlots, Math.max(arena.freeCount * 2, 16));
+            }
+            arena.freeSlots[arena.freeCount++] = slot;
+        }
+    }
+
+    int getObjectReferenceCount(final V8Arena arena) {
+        // An arena also tracks the values of the arenas pushed after it
+        int result = 0;
+        for (int i = arenas.size() - 1; i >= 0; i--) {
+            V8Arena next = arenas.get(i);
+            result += next.count;
+            if (next == arena) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    void release(final V8Context context, final V8Arena arena) {
+        int index = arenas.indexOf(arena);
+        int start = arena.start;
+        int count = 0;
+        if ((handles == null) || (handles.length < (top - start))) {
+            handles = new long[Math.max(top - start, 16)];
+            values = new V8Value[handles.length];
+        }
+        for (int i = start; i < top; i++) {
+            if (slots[i] != null) {
+                values[count] = slots[i];
+                handles[count++] = slots[i].objectHandle;
+            }
+        }
+        RuntimeException exception = null;
+        try {
+            for (int i = 0; i < count; i++) {
+                try {
+                    values[i].handleReleased();
+                } catch (RuntimeException e) {
+                    if (exception == null) {
+                        exception = e;
+                    }
+                }
+            }
+        } finally {
+            if (count > 0) {
+                context.releaseAll(handles, count);
+            }
+        }
+        Arrays.fill(values, 0, count, null);
+        for (int i = start; i < top; i++) {
+            if (slots[i] != null) {
+                slots[i].arenaSlot = -1;
+                slots[i] = null;
+            }
+        }
+        top = start;
+        arenas.remove(index);
+        // Arenas pushed after this one lost all their values
+        for (int i = index; i < arenas.size(); i++) {
+            V8Arena next = arenas.get(i);
+            next.start = start;
+            next.count = 0;
+            next.freeCount = 0;
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    // Returns the index of the arena owning a slot, the last one starting at or before it
+    private int findArena(final int slot) {
+        int low = 0;
+        int high = arenas.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (arenas.get(middle).start <= slot) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+}
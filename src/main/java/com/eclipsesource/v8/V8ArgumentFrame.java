@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * A reusable list of arguments for invoking JavaScript functions.
+ *
+ * Unlike a parameter V8Array, an argument frame has no native
+ * resources. Primitives are written into tagged slots of a direct
+ * buffer that is read by the native layer in place, Strings and
+ * V8Values are kept in a small reference table. A frame can be
+ * cleared and refilled for every call, so calling a function
+ * through a frame does not allocate once the frame has grown to
+ * its working size.
+ *
+ * Frames are not thread safe. Typically one frame is kept per
+ * thread and refilled before each call.
+ */
+public final class V8ArgumentFrame {
+
+    // Slot layout, shared with the native layer:
+    // int tag | int reference index | 8 byte value
+    static final int SLOT_SIZE        = 16;
+    static final int TAG_OFFSET       = 0;
+    static final int REFERENCE_OFFSET = 4;
+    static final int VALUE_OFFSET     = 8;
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private ByteBuffer slots;
+    private Object[]   references;
+    private int        length;
+    private int        referenceCount;
+
+    /**
+     * Creates a new, empty argument frame.
+     */
+    public V8ArgumentFrame() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new, empty argument frame that can hold the given
+     * number of arguments before it has to grow.
+     *
+     * @param capacity The initial number of argument slots.
+     */
+    public V8ArgumentFrame(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        slots = allocateSlots(Math.max(capacity, 1));
+        references = new Object[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Removes all arguments from this frame. The frame keeps its
+     * capacity and can be refilled.
+     *
+     * @return The receiver.
+     */
+    public V8ArgumentFrame clear() {
+        Arrays.fill(references, 0, referenceCount, null);
+        referenceCount = 0;
+        length = 0;
+        return this;
+    }
+
+    /**
+     * Returns the number of arguments in this frame.
+     *
+     * @return The number of arguments.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Adds an integer argument to this frame.
+     *
+     * @param value The value to add.
+     *
+     * @return The receiver.
+     */
+    public V8ArgumentFrame push(final int value) {
+        int position = nextSlot(V8API.INTEGER, -1);
+        slots.putLong(position + VALUE_OFFSET, value);
+        return this;
+    }
+
+    /**
+     * Adds a double argument to this frame.
+     *
+     * @param value The value to add.
+     *
+     * @return The receiver.
+     */
+    public V8ArgumentFrame push(final double value) {
+        int position = nextSlot(V8API.DOUBLE, -1);
+        slots.putDouble(position + VALUE_OFFSET, value);
+        return this;
+    }
+
+    /**
+     * Adds a boolean argument to this frame.
+     *
+     * @param value The value to add.
+     *
+     * @return The receiver.
+     */
+    public V8ArgumentFrame push(final boolean value) {
+        int position = nextSlot(V8API.BOOLEAN, -1);
+        slots.putLong(position + VALUE_OFFSET, value ? 1 : 0);
+        return this;
+    }
+
+    /**
+     * Adds a String argument to this frame. A null String is passed
+     * to JavaScript as null.
+     *
+     * @param value The value to add.
+     *
+     * @return The receiver.
+     */
+    public V8ArgumentFrame push(final String value) {
+        if (value == null) {
+            return pushNull();
+        }
+        nextSlot(V8API.STRING, addReference(value));
+        return this;
+    }
+
+    /**
+     * Adds a V8Value argument to this frame. The value is not copied,
+     * it must not be released until the frame has been used or cleared.
+     * Null and undefined are passed through to JavaScript.
+     *
+     * @param value The value to add.
+     *
+     * @return The receiver.
+     */
+    public V8ArgumentFrame push(final V8Value value) {
+        if (value == null) {
+            return pushNull();
+        }
+        if (value.isUndefined()) {
+            return pushUndefined();
+        }
+        int position = nextSlot(V8API.V8_OBJECT, addReference(value));
+        slots.putLong(position + VALUE_OFFSET, value.getHandle());
+        return this;
+    }
+
+    /**
+     * Adds a Java Object argument to this frame. Only Integers, Doubles,
+     * Longs, Floats, Booleans, Strings and V8Values are supported. Longs
+     * and Floats are passed as doubles.
+     *
+     * @param value The value to add.
+     *
+     * @return The receiver.
+     */
+    public V8ArgumentFrame push(final Object value) {
+        if (value == null) {
+            return pushNull();
+        } else if (value instanceof Integer) {
+            return push(((Integer) value).intValue());
+        } else if (value instanceof Double) {
+            return push(((Double) value).doubleValue());
+        } else if (value instanceof Long) {
+            return push(((Long) value).doubleValue());
+        } else if (value instanceof Float) {
+            return push(((Float) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            return push(((Boolean) value).booleanValue());
+        } else if (value instanceof String) {
+            return push((String) value);
+        } else if (value instanceof V8Value) {
+            return push((V8Value) value);
+        }
+        throw new IllegalArgumentException("Unsupported Object of type: " + value.getClass());
+    }
+
+    /**
+     * Adds a null argument to this frame.
+     *
+     * @return The receiver.
+     */
+    public V8ArgumentFrame pushNull() {
+        nextSlot(V8API.NULL, -1);
+        return this;
+    }
+
+    /**
+     * Adds an undefined argument to this frame.
+     *
+     * @return The receiver.
+     */
+    public V8ArgumentFrame pushUndefined() {
+        nextSlot(V8API.UNDEFINED, -1);
+        return this;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "[ArgumentFrame length: " + length + "]";
+    }
+
+    ByteBuffer getSlots() {
+        return slots;
+    }
+
+    Object[] getReferences() {
+        return references;
+    }
+
+    void checkValues(final V8Isolate isolate) {
+        for (int i = 0; i < referenceCount; i++) {
+            Object reference = references[i];
+            if (reference instanceof V8Value) {
+                isolate.checkRuntime((V8Value) reference);
+                ((V8Value) reference).checkReleased();
+            }
+        }
+    }
+
+    private int nextSlot(final int tag, final int referenceIndex) {
+        if (length == (slots.capacity() / SLOT_SIZE)) {
+            growSlots();
+        }
+        int position = length * SLOT_SIZE;
+        slots.putInt(position + TAG_OFFSET, tag);
+        slots.putInt(position + REFERENCE_OFFSET, referenceIndex);
+        slots.putLong(position + VALUE_OFFSET, 0);
+        length++;
+        return position;
+    }
+
+    private int addReference(final Object reference) {
+        if (referenceCount == references.length) {
+            references = Arrays.copyOf(references, references.length * 2);
+        }
+        references[referenceCount] = reference;
+        return referenceCount++;
+    }
+
+    private void growSlots() {
+        ByteBuffer grown = allocateSlots((slots.capacity() / SLOT_SIZE) * 2);
+        slots.position(0);
+        slots.limit(length * SLOT_SIZE);
+        grown.put(slots);
+        slots.clear();
+        grown.clear();
+        slots = grown;
+    }
+
+    private static ByteBuffer allocateSlots(final int capacity) {
+        return ByteBuffer.allocateDirect(capacity * SLOT_SIZE).order(ByteOrder.nativeOrder());
+    }
+
+}
@@ -10,6 +10,8 @@
  ******************************************************************************/
 package com.eclipsesource.v8;
 
+import java.nio.ByteBuffer;
+
 /**
  * A V8Value that represents a JavaScript array.
  * JavaScript Arrays contain elements by index, but
@@ -18,6 +20,12 @@ package com.eclipsesource.v8;
  */
 public class V8Array extends V8Object {
 
+    // While this array holds the parameters of a Java callback, the native
+    // trampoline has packed the types and primitive values of the arguments
+    // into the callback slots of the context, starting at packedOffset.
+    private int packedOffset = -1;
+    private int packedLength;
+
     protected V8Array() {
 
     }
@@ -70,6 +78,28 @@ public class V8Array extends V8Object {
         addObjectReference(handle);
     }
 
+    void setPackedArguments(final int offset, final int length) {
+        packedOffset = offset;
+        packedLength = length;
+    }
+
+    void clearPackedArguments() {
+        packedOffset = -1;
+    }
+
+    // The packed arguments no longer describe the array once it is modified
+    @Override
+    void beforeModification() {
+        clearPackedArguments();
+    }
+
+    private int getPackedType(final int index) {
+        if ((packedOffset < 0) || (index < 0) || (index >= packedLength)) {
+            return -1;
+        }
+        return getContext().getPackedArgumentType(packedOffset + index);
+    }
+
     /**
      * Returns the length of this array.
      *
@@ -78,6 +108,9 @@ public class V8Array extends V8Object {
     public int length() {
         getIsolate().checkThread();
         checkReleased();
+        if (packedOffset >= 0) {
+            return packedLength;
+        }
         return getContext().arrayGetSize(getHandle());
     }
 
@@ -91,6 +124,10 @@ public class V8Array extends V8Object {
     public int getType(final int index) {
         getIsolate().checkThread();
         checkReleased();
+        int packedType = getPackedType(index);
+        if (packedType >= 0) {
+            return packedType;
+        }
         return getContext().getType(getHandle(), index);
     }
 
@@ -137,6 +174,9 @@ public class V8Array extends V8Object {
     public int getInteger(final int index) {
         getIsolate().checkThread();
         checkReleased();
+        if (getPackedType(index) == V8API.INTEGER) {
+            return (int) getContext().getPackedArgument(packedOffset + index);
+        }
         return getContext().arrayGetInteger(getHandle(), index);
     }
 
@@ -153,6 +193,9 @@ public class V8Array extends V8Object {
     public boolean getBoolean(final int index) {
         getIsolate().checkThread();
         checkReleased();
+        if (getPackedType(index) == V8API.BOOLEAN) {
+            return getContext().getPackedArgument(packedOffset + index) != 0;
+        }
         return getContext().arrayGetBoolean(getHandle(), index);
     }
 
@@ -184,6 +227,12 @@ public class V8Array extends V8Object {
     public double getDouble(final int index) {
         getIsolate().checkThread();
         checkReleased();
+        int packedType = getPackedType(index);
+        if (packedType == V8API.DOUBLE) {
+            return getContext().getPackedDoubleArgument(packedOffset + index);
+        } else if (packedType == V8API.INTEGER) {
+            return getContext().getPackedArgument(packedOffset + index);
+        }
         return getContext().arrayGetDouble(getHandle(), index);
     }
 
@@ -203,6 +252,32 @@ public class V8Array extends V8Object {
         return getContext().arrayGetString(getHandle(), index);
     }
 
+    /**
+     * Writes the String value at this index to a direct buffer, encoded as
+     * UTF-8, without creating a Java String. The bytes are written at the
+     * position of the buffer, and the position is advanced past them. If the
+     * remaining space of the buffer is too small, nothing is written. If the
+     * value at this index does not exist, or if it's not a String, then
+     * V8ResultUndefined exception is thrown.
+     *
+     * @param index The index whose value to write.
+     * @param buffer The direct buffer to write the value to.
+     *
+     * @return The length of the value in UTF-8 bytes. If it is larger than
+     * the remaining space of the buffer, nothing was written.
+     */
+    public int getUTF8(final int index, final ByteBuffer buffer) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkDirect(buffer);
+        int position = buffer.position();
+        int length = getContext().arrayGetUTF8(getHandle(), index, buffer, position, buffer.remaining());
+        if (length <= buffer.remaining()) {
+            buffer.position(position + length);
+        }
+        return length;
+    }
+
     /**
      * Returns the integers contained in a subset of a V8Array. If the subset
      * contains elements other than integers, then a V8ResultUndefined exception
@@ -467,6 +542,7 @@ public class V8Array extends V8Object {
     public V8Array push(final int value) {
         getIsolate().checkThread();
         checkReleased();
+        clearPackedArguments();
         getContext().addArrayIntItem(getHandle(), value);
         return this;
     }
@@ -482,6 +558,7 @@ public class V8Array extends V8Object {
     public V8Array push(final boolean value) {
         getIsolate().checkThread();
         checkReleased();
+        clearPackedArguments();
         getContext().addArrayBooleanItem(getHandle(), value);
         return this;
     }
@@ -497,6 +574,7 @@ public class V8Array extends V8Object {
     public V8Array push(final double value) {
         getIsolate().checkThread();
         checkReleased();
+        clearPackedArguments();
         getContext().addArrayDoubleItem(getHandle(), value);
         return this;
     }
@@ -512,6 +590,7 @@ public class V8Array extends V8Object {
     public V8Array push(final String value) {
         getIsolate().checkThread();
         checkReleased();
+        clearPackedArguments();
         if (value == null) {
             getContext().addArrayNullItem(getHandle());
         } else if (value.equals(V8Isolate.getUndefined())) {
@@ -522,6 +601,25 @@ public class V8Array extends V8Object {
         return this;
     }
 
+    /**
+     * Pushes a String value, given as the UTF-8 bytes between the position
+     * and the limit of a direct buffer, to the next available spot in the
+     * Array. The position of the buffer is advanced to its limit.
+     *
+     * @param value The direct buffer containing the value to push.
+     *
+     * @return The receiver.
+     */
+    public V8Array pushUTF8(final ByteBuffer value) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkDirect(value);
+        clearPackedArguments();
+        getContext().addArrayUTF8Item(getHandle(), value, value.position(), value.remaining());
+        value.position(value.limit());
+        return this;
+    }
+
     /**
      * Pushes a V8Value to the next available spot in the Array. In
      * particular, this[length] = value;
@@ -533,6 +631,7 @@ public class V8Array extends V8Object {
     public V8Array push(final V8Value value) {
         getIsolate().checkThread();
         checkReleased();
+        clearPackedArguments();
         getIsolate().checkRuntime(value);
         if (value == null) {
             getContext().addArrayNullItem(getHandle());
@@ -555,6 +654,7 @@ public class V8Array extends V8Object {
     public V8Array push(final Object value) {
         getIsolate().checkThread();
         checkReleased();
+        clearPackedArguments();
         if (value instanceof V8Value) {
             getIsolate().checkRuntime((V8Value) value);
         }
@@ -593,6 +693,7 @@ public class V8Array extends V8Object {
     public V8Array pushNull() {
         getIsolate().checkThread();
         checkReleased();
+        clearPackedArguments();
         getContext().addArrayNullItem(getHandle());
         return this;
     }
@@ -606,6 +707,7 @@ public class V8Array extends V8Object {
     public V8Array pushUndefined() {
         getIsolate().checkThread();
         checkReleased();
+        clearPackedArguments();
         getContext().addArrayUndefinedItem(getHandle());
         return this;
     }
@@ -734,6 +836,15 @@ public class V8Array extends V8Object {
             throw new UnsupportedOperationException();
         }
 
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addUTF8(java.lang.String, java.nio.ByteBuffer)
+         */
+        @Override
+        public V8Object addUTF8(final String key, final ByteBuffer value) {
+            throw new UnsupportedOperationException();
+        }
+
         /*
          * (non-Javadoc)
          * @see com.eclipsesource.v8.V8Object#add(java.lang.String, com.eclipsesource.v8.V8Value)
@@ -878,6 +989,15 @@ public class V8Array extends V8Object {
             throw new UnsupportedOperationException();
         }
 
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getUTF8(java.lang.String, java.nio.ByteBuffer)
+         */
+        @Override
+        public int getUTF8(final String key, final ByteBuffer buffer) {
+            throw new UnsupportedOperationException();
+        }
+
         /*
          * (non-Javadoc)
          * @see com.eclipsesource.v8.V8Object#getString(java.lang.String)
@@ -1076,6 +1196,15 @@ public class V8Array extends V8Object {
             throw new UnsupportedOperationException();
         }
 
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Array#getUTF8(int, java.nio.ByteBuffer)
+         */
+        @Override
+        public int getUTF8(final int index, final ByteBuffer buffer) {
+            throw new UnsupportedOperationException();
+        }
+
         /*
          * (non-Javadoc)
          * @see com.eclipsesource.v8.V8Array#getStrings(int, int)
@@ -1166,6 +1295,15 @@ public class V8Array extends V8Object {
             throw new UnsupportedOperationException();
         }
 
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Array#pushUTF8(java.nio.ByteBuffer)
+         */
+        @Override
+        public V8Array pushUTF8(final ByteBuffer value) {
+            throw new UnsupportedOperationException();
+        }
+
         /*
          * (non-Javadoc)
          * @see com.eclipsesource.v8.V8Array#push(com.eclipsesource.v8.V8Value)
@@ -1184,6 +1322,231 @@ public class V8Array extends V8Object {
             throw new UnsupportedOperationException();
         }
 
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#containsByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public boolean containsByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getTypeByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public int getTypeByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public Object getByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getIntegerByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public int getIntegerByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getBooleanByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public boolean getBooleanByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getDoubleByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public double getDoubleByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getStringByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public String getStringByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getArrayByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public V8Array getArrayByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getObjectByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public V8Object getObjectByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addByKey(com.eclipsesource.v8.V8PropertyKey, int)
+         */
+        @Override
+        public V8Object addByKey(final V8PropertyKey key, final int value) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addByKey(com.eclipsesource.v8.V8PropertyKey, boolean)
+         */
+        @Override
+        public V8Object addByKey(final V8PropertyKey key, final boolean value) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addByKey(com.eclipsesource.v8.V8PropertyKey, double)
+         */
+        @Override
+        public V8Object addByKey(final V8PropertyKey key, final double value) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addByKey(com.eclipsesource.v8.V8PropertyKey, java.lang.String)
+         */
+        @Override
+        public V8Object addByKey(final V8PropertyKey key, final String value) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addByKey(com.eclipsesource.v8.V8PropertyKey, com.eclipsesource.v8.V8Value)
+         */
+        @Override
+        public V8Object addByKey(final V8PropertyKey key, final V8Value value) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addUndefinedByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public V8Object addUndefinedByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addNullByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public V8Object addNullByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getPath(java.lang.String)
+         */
+        @Override
+        public Object getPath(final String path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getPathByKeys(com.eclipsesource.v8.V8PropertyKey[])
+         */
+        @Override
+        public Object getPathByKeys(final V8PropertyKey... path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getTypeAtPath(java.lang.String)
+         */
+        @Override
+        public int getTypeAtPath(final String path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getIntegerAtPath(java.lang.String)
+         */
+        @Override
+        public int getIntegerAtPath(final String path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getBooleanAtPath(java.lang.String)
+         */
+        @Override
+        public boolean getBooleanAtPath(final String path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getDoubleAtPath(java.lang.String)
+         */
+        @Override
+        public double getDoubleAtPath(final String path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getStringAtPath(java.lang.String)
+         */
+        @Override
+        public String getStringAtPath(final String path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#extract(com.eclipsesource.v8.V8Extraction)
+         */
+        @Override
+        public V8Extraction extract(final V8Extraction extraction) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addAll(com.eclipsesource.v8.V8Extraction)
+         */
+        @Override
+        public V8Object addAll(final V8Extraction values) {
+            throw new UnsupportedOperationException();
+        }
+
     }
 
 }
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A set of Java methods that can be installed as JavaScript functions on
+ * any number of objects and contexts of an isolate.
+ *
+ * {@link V8Object#registerJavaMethod(JavaCallback, String)} creates a new
+ * function and a new native descriptor every time it is called, so a host API
+ * has to be registered again for every context. A binding creates one
+ * FunctionTemplate per method when it is built, and installing it only
+ * instantiates those templates in the target context. All invocations are
+ * dispatched through the binding itself, no per-context registry is involved.
+ *
+ * A binding is created for a single isolate and must be released. It is
+ * released automatically when the isolate is released. Functions that were
+ * installed before the binding was released throw an error when called.
+ */
+public final class V8Binding implements Releasable {
+
+    private final V8Isolate isolate;
+    private final Entry[]   entries;
+    private long            bindingPtr;
+
+    private V8Binding(final V8Isolate isolate, final List<Entry> entries) {
+        this.isolate = isolate;
+        this.entries = entries.toArray(new Entry[entries.size()]);
+        String[] names = new String[this.entries.length];
+        boolean[] voidMethods = new boolean[this.entries.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = this.entries[i].name;
+            voidMethods[i] = this.entries[i].voidMethod;
+        }
+        bindingPtr = V8API._createBinding(isolate.getIsolatePtr(), this, names, voidMethods);
+        isolate.registerResource(this);
+    }
+
+    /**
+     * Creates a new builder for a binding.
+     *
+     * @return A new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Installs the functions of this binding on an object. To install
+     * them as global functions, pass the context.
+     *
+     * @param target The object on which to install the functions.
+     */
+    public void install(final V8Object target) {
+        isolate.checkThread();
+        checkReleased();
+        if ((target == null) || target.isUndefined()) {
+            throw new IllegalArgumentException("Target cannot be null or undefined");
+        }
+        isolate.checkRuntime(target);
+        target.checkReleased();
+        target.getContext().installBinding(bindingPtr, target.getHandle());
+    }
+
+    /**
+     * Returns the names of the functions of this binding.
+     *
+     * @return The function names, in the order they were declared.
+     */
+    public String[] getFunctionNames() {
+        String[] result = new String[entries.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = entries[i].name;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the isolate this binding was created for.
+     *
+     * @return The isolate of this binding.
+     */
+    public V8Isolate getIsolate() {
+        return isolate;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.eclipsesource.v8.Releasable#close()
+     */
+    @Override
+    public void close() {
+        if (bindingPtr == 0) {
+            return;
+        }
+        isolate.checkThread();
+        V8API._releaseBinding(isolate.getIsolatePtr(), bindingPtr);
+        bindingPtr = 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.eclipsesource.v8.Releasable#isReleased()
+     */
+    @Override
+    public boolean isReleased() {
+        return bindingPtr == 0;
+    }
+
+    Object invoke(final V8Context v8Context, final int index, final V8Object receiver, final V8Array parameters, final int argumentOffset, final int argumentCount) throws Throwable {
+        parameters.setPackedArguments(argumentOffset, argumentCount);
+        Entry entry = entries[index];
+        if (entry.voidMethod) {
+            v8Context.callVoidJavaMethod(entry.descriptor, receiver, parameters);
+            return null;
+        }
+        return v8Context.callObjectJavaMethod(entry.descriptor, receiver, parameters);
+    }
+
+    /**
+     * Declares the functions of a binding.
+     */
+    public static final class Builder {
+
+        private final List<Entry> entries = new ArrayList<Entry>();
+        private final Set<String> names   = new HashSet<String>();
+
+        private Builder() {
+        }
+
+        /**
+         * Declares a function that calls a JavaCallback.
+         *
+         * @param jsFunctionName The name of the JavaScript function.
+         * @param callback The callback to invoke.
+         *
+         * @return The receiver.
+         */
+        public Builder add(final String jsFunctionName, final JavaCallback callback) {
+            V8Context.MethodDescriptor descriptor = new V8Context.MethodDescriptor();
+            descriptor.callback = checkCallback(callback);
+            return add(jsFunctionName, descriptor, false);
+        }
+
+        /**
+         * Declares a function that calls a JavaVoidCallback. The function
+         * returns undefined.
+         *
+         * @param jsFunctionName The name of the JavaScript function.
+         * @param callback The callback to invoke.
+         *
+         * @return The receiver.
+         */
+        public Builder addVoid(final String jsFunctionName, final JavaVoidCallback callback) {
+            V8Context.MethodDescriptor descriptor = new V8Context.MethodDescriptor();
+            descriptor.voidCallback = checkCallback(callback);
+            return add(jsFunctionName, descriptor, true);
+        }
+
+        /**
+         * Declares a function that calls a Java method, looked up reflectively
+         * by its name and signature. Arguments are converted the same way as
+         * for {@link V8Object#registerJavaMethod(Object, String, String, Class[], boolean)}.
+         *
+         * @param object The Java Object on which the method is defined.
+         * @param methodName The name of the method.
+         * @param jsFunctionName The name of the JavaScript function.
+         * @param parameterTypes The parameter types of the method.
+         * @param includeReceiver True if the first parameter should include the JS Object,
+         * false otherwise.
+         *
+         * @return The receiver.
+         */
+        public Builder add(final Object object, final String methodName, final String jsFunctionName, final Class<?>[] parameterTypes, final boolean includeReceiver) {
+            checkCallback(object);
+            Method method;
+            try {
+                method = object.getClass().getMethod(methodName, parameterTypes);
+                method.setAccessible(true);
+            } catch (NoSuchMethodException | SecurityException e) {
+                throw new IllegalStateException(e);
+            }
+            V8Context.MethodDescriptor descriptor = new V8Context.MethodDescriptor();
+            descriptor.object = object;
+            descriptor.method = method;
+            descriptor.includeReceiver = includeReceiver;
+            return add(jsFunctionName, descriptor, method.getReturnType().equals(Void.TYPE));
+        }
+
+        /**
+         * Creates the binding for an isolate.
+         *
+         * @param isolate The isolate on which the functions will be used.
+         *
+         * @return A new binding, which must be released.
+         */
+        public V8Binding build(final V8Isolate isolate) {
+            isolate.checkThread();
+            return new V8Binding(isolate, entries);
+        }
+
+        private Builder add(final String jsFunctionName, final V8Context.MethodDescriptor descriptor, final boolean voidMethod) {
+            if (jsFunctionName == null) {
+                throw new IllegalArgumentException("Function name cannot be null");
+            }
+            if (!names.add(jsFunctionName)) {
+                throw new IllegalArgumentException("Duplicate function name: " + jsFunctionName);
+            }
+            entries.add(new Entry(jsFunctionName, descriptor, voidMethod));
+            return this;
+        }
+
+        private static <T> T checkCallback(final T callback) {
+            if (callback == null) {
+                throw new IllegalArgumentException("Callback cannot be null");
+            }
+            return callback;
+        }
+
+    }
+
+    private static final class Entry {
+
+        final String                     name;
+        final V8Context.MethodDescriptor descriptor;
+        final boolean                    voidMethod;
+
+        Entry(final String name, final V8Context.MethodDescriptor descriptor, final boolean voidMethod) {
+            this.name = name;
+            this.descriptor = descriptor;
+            this.voidMethod = voidMethod;
+        }
+
+    }
+
+}
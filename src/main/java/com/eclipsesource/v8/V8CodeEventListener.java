@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+/**
+ * Receives the code V8 generates for a runtime, so native profilers can
+ * symbolize the frames of JavaScript functions, see
+ * {@link V8Isolate#setCodeEventListener(V8CodeEventListener)}.
+ *
+ * Listeners are called on the thread of the runtime, while V8 compiles or
+ * collects code, including during garbage collections. They must not use
+ * the runtime or any of its values, and should only record the events.
+ * Exceptions thrown by a listener are ignored.
+ */
+public interface V8CodeEventListener {
+
+    /**
+     * Called when code was generated, or for the existing code when the
+     * listener is set.
+     *
+     * @param address The start address of the code.
+     * @param size The size of the code in bytes.
+     * @param name The name of the code, such as the function name and
+     * its script location, prefixed by the kind of code.
+     */
+    public void codeAdded(long address, long size, String name);
+
+    /**
+     * Called when code was moved by the garbage collector.
+     *
+     * @param address The previous start address of the code.
+     * @param newAddress The new start address of the code.
+     */
+    public void codeMoved(long address, long newAddress);
+
+    /**
+     * Called when code was removed.
+     *
+     * @param address The start address of the code.
+     */
+    public void codeRemoved(long address);
+
+}
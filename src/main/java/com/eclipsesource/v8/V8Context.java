@@ -5,21 +5,30 @@ import com.eclipsesource.v8.utils.V8ContextRunnable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.*;
 
 public class V8Context extends V8Object {
 	private V8Isolate                          isolate                 = null;
 	private long                               contextPtr              = 0L;
 	private Map<String, Object>                data                    = null;
-	private Map<Long, MethodDescriptor>        functionRegistry        = new HashMap<Long, MethodDescriptor>();
+	private LongObjectMap<MethodDescriptor>    functionRegistry        = new LongObjectMap<MethodDescriptor>();
+	private LongObjectMap<V8JavaProxy.Target>  proxyRegistry           = new LongObjectMap<V8JavaProxy.Target>();
 	private long                               objectReferences        = 0;
-	private Map<Long, V8Value>                 v8WeakReferences        = new HashMap<Long, V8Value>();
+	private LongObjectMap<V8Value>             v8WeakReferences        = new LongObjectMap<V8Value>();
 	private LinkedList<ReferenceHandler>       referenceHandlers       = new LinkedList<ReferenceHandler>();
 	private LinkedList<V8ContextRunnable>             releaseHandlers         = new LinkedList<V8ContextRunnable>();
 	private V8ScriptException                  pendingException        = null;
+	private V8ArenaStack                       arenaStack              = null;
 	private static Object                      invalid                 = new Object();
 
-	private static class MethodDescriptor {
+	// The native callback trampoline packs the arguments of Java callbacks into
+	// these slots, using the slot layout of V8ArgumentFrame. Nested callbacks
+	// use the slots after the ones of their caller.
+	static final int                           CALLBACK_ARGUMENT_SLOTS = 256;
+	private final ByteBuffer                   callbackArguments       = ByteBuffer.allocateDirect(CALLBACK_ARGUMENT_SLOTS * V8ArgumentFrame.SLOT_SIZE).order(ByteOrder.nativeOrder());
+
+	static class MethodDescriptor {
 		Object           object;
 		Method           method;
 		JavaCallback     callback;
@@ -35,6 +44,7 @@ public class V8Context extends V8Object {
 
 		contextPtr = V8API.get()._createContext(this, isolate.getIsolatePtr(), globalAlias);
 		objectHandle = V8API.get()._getGlobalObject(contextPtr);
+		V8API.get()._setCallbackArguments(contextPtr, callbackArguments, CALLBACK_ARGUMENT_SLOTS);
 	}
 
 	@Override
@@ -42,7 +52,7 @@ public class V8Context extends V8Object {
 		return isolate;
 	}
 	
-	private long getContextPtr() {
+	long getContextPtr() {
 		return contextPtr;
 	}
 
@@ -141,18 +151,221 @@ public class V8Context extends V8Object {
 
 	void addObjRef(final V8Value reference) {
 		objectReferences++;
+		if ((arenaStack != null) && !arenaStack.isEmpty()) {
+			arenaStack.add(reference);
+		}
+		V8ReleaseQueue releaseQueue = isolate.getReleaseQueue();
+		if (releaseQueue != null) {
+			reference.releaseReference = releaseQueue.register(reference);
+		}
+		V8LeakTracker leakTracker = isolate.getLeakTracker();
+		if (leakTracker != null) {
+			leakTracker.handleCreated(reference.objectHandle);
+		}
 		if (!referenceHandlers.isEmpty()) {
 			notifyReferenceCreated(reference);
 		}
 	}
 
 	void releaseObjRef(final V8Value reference) {
+		if (reference.arenaSlot >= 0) {
+			arenaStack.remove(reference);
+		}
+		if (reference.releaseReference != null) {
+			isolate.getReleaseQueue().unregister(reference.releaseReference);
+			reference.releaseReference = null;
+		}
+		V8LeakTracker leakTracker = isolate.getLeakTracker();
+		if (leakTracker != null) {
+			leakTracker.handleReleased(reference.objectHandle);
+		}
 		if (!referenceHandlers.isEmpty()) {
 			notifyReferenceDisposed(reference);
 		}
 		objectReferences--;
 	}
 
+	void addKeyRef(final long keyHandle) {
+		objectReferences++;
+		V8LeakTracker leakTracker = isolate.getLeakTracker();
+		if (leakTracker != null) {
+			leakTracker.handleCreated(keyHandle);
+		}
+	}
+
+	void releaseKeyRef(final long keyHandle) {
+		V8LeakTracker leakTracker = isolate.getLeakTracker();
+		if (leakTracker != null) {
+			leakTracker.handleReleased(keyHandle);
+		}
+		objectReferences--;
+	}
+
+	void releaseCollected(final long[] objectHandles, final int count) {
+		releaseAll(objectHandles, count);
+		objectReferences -= count;
+		V8LeakTracker leakTracker = isolate.getLeakTracker();
+		if (leakTracker != null) {
+			for (int i = 0; i < count; i++) {
+				leakTracker.handleReleased(objectHandles[i]);
+			}
+		}
+	}
+
+	// The calls to the native methods are timed and recorded by these helpers when
+	// instrumentation is enabled. The sizes of strings are only computed when recorded.
+	private static long startTime() {
+		return V8Instrumentation.ENABLED ? System.nanoTime() : 0;
+	}
+
+	private void record(final V8NativeMethod method, final long startTime) {
+		if (V8Instrumentation.ENABLED) {
+			record(method, startTime, 0L);
+		}
+	}
+
+	private void record(final V8NativeMethod method, final long startTime, final long bytes) {
+		if (V8Instrumentation.ENABLED) {
+			getIsolate().getInstrumentation().record(method, System.nanoTime() - startTime, bytes);
+		}
+	}
+
+	private void record(final V8NativeMethod method, final long startTime, final String value) {
+		if (V8Instrumentation.ENABLED) {
+			record(method, startTime, V8Instrumentation.sizeOf(value));
+		}
+	}
+
+	private void record(final V8NativeMethod method, final long startTime, final String first, final String second) {
+		if (V8Instrumentation.ENABLED) {
+			record(method, startTime, V8Instrumentation.sizeOf(first) + V8Instrumentation.sizeOf(second));
+		}
+	}
+
+	private void record(final V8NativeMethod method, final long startTime, final String first, final String second, final String third) {
+		if (V8Instrumentation.ENABLED) {
+			record(method, startTime, V8Instrumentation.sizeOf(first) + V8Instrumentation.sizeOf(second) + V8Instrumentation.sizeOf(third));
+		}
+	}
+
+	private void record(final V8NativeMethod method, final long startTime, final String value, final long bytes) {
+		if (V8Instrumentation.ENABLED) {
+			record(method, startTime, V8Instrumentation.sizeOf(value) + bytes);
+		}
+	}
+
+	private void record(final V8NativeMethod method, final long startTime, final String[] values) {
+		if (V8Instrumentation.ENABLED) {
+			record(method, startTime, V8Instrumentation.sizeOf(values));
+		}
+	}
+
+	private void record(final V8NativeMethod method, final long startTime, final String[] values, final int count) {
+		if (V8Instrumentation.ENABLED) {
+			record(method, startTime, V8Instrumentation.sizeOf(values, count));
+		}
+	}
+
+	private void record(final V8NativeMethod method, final long startTime, final String[] values, final String value) {
+		if (V8Instrumentation.ENABLED) {
+			record(method, startTime, V8Instrumentation.sizeOf(values) + V8Instrumentation.sizeOf(value));
+		}
+	}
+
+	private void record(final V8NativeMethod method, final long startTime, final V8Extraction extraction) {
+		if (V8Instrumentation.ENABLED) {
+			record(method, startTime, V8Instrumentation.sizeOf(extraction));
+		}
+	}
+
+	// Called before every script and function execution
+	private V8Isolate prepareExecution() {
+		V8Isolate isolate = getIsolate();
+		isolate.releaseCollectedValues();
+		isolate.updateGarbageCollectionEvents();
+		return isolate;
+	}
+
+	private V8TraceSpan startSpan(final V8TraceSpan.Kind kind, final String name, final int lineNumber) {
+		V8Isolate isolate = prepareExecution();
+		boolean sampled = isolate.sampleSpan();
+		boolean recorded = V8FlightRecorder.isExecutionEnabled();
+		if (!sampled && !recorded) {
+			return null;
+		}
+		return isolate.startSpan(this, sampled, recorded, kind, name, lineNumber);
+	}
+
+	private V8TraceSpan startFunctionSpan(final long functionHandle) {
+		V8Isolate isolate = prepareExecution();
+		boolean sampled = isolate.sampleSpan();
+		boolean recorded = V8FlightRecorder.isExecutionEnabled();
+		if (!sampled && !recorded) {
+			return null;
+		}
+		// Reading the name needs native calls, so it is only done for sampled or recorded calls
+		String name = getType(functionHandle, "name") == V8API.STRING ? getString(functionHandle, "name") : null;
+		return isolate.startSpan(this, sampled, recorded, V8TraceSpan.Kind.FUNCTION, name, 0);
+	}
+
+	private void endSpan(final V8TraceSpan span, final int resultType, final Throwable exception) {
+		if (span != null) {
+			getIsolate().endSpan(span, resultType, exception);
+		}
+	}
+
+	private static int getResultType(final Object result) {
+		if (result == null) {
+			return V8API.NULL;
+		} else if (result instanceof Integer) {
+			return V8API.INTEGER;
+		} else if (result instanceof Double) {
+			return V8API.DOUBLE;
+		} else if (result instanceof Boolean) {
+			return V8API.BOOLEAN;
+		} else if (result instanceof String) {
+			return V8API.STRING;
+		} else if ((result instanceof V8Value) && ((V8Value) result).isUndefined()) {
+			return V8API.UNDEFINED;
+		} else if (result instanceof V8Function) {
+			return V8API.V8_FUNCTION;
+		} else if (result instanceof V8TypedArray) {
+			return V8API.V8_TYPED_ARRAY;
+		} else if (result instanceof V8Array) {
+			return V8API.V8_ARRAY;
+		} else if (result instanceof V8ArrayBuffer) {
+			return V8API.V8_ARRAY_BUFFER;
+		} else if (result instanceof V8Object) {
+			return V8API.V8_OBJECT;
+		}
+		return V8API.UNKNOWN;
+	}
+
+	void releaseAll(final long[] objectHandles, final int count) {
+		long startTime = startTime();
+		V8API.get()._releaseAll(getContextPtr(), objectHandles, count);
+		record(V8NativeMethod.RELEASE_ALL, startTime, V8Instrumentation.sizeOf(objectHandles));
+	}
+
+	void pushArena(final V8Arena arena) {
+		if (arenaStack == null) {
+			arenaStack = new V8ArenaStack();
+		}
+		arenaStack.push(arena);
+	}
+
+	void releaseArena(final V8Arena arena) {
+		arenaStack.release(this, arena);
+	}
+
+	int getArenaObjectReferenceCount(final V8Arena arena) {
+		return arenaStack.getObjectReferenceCount(arena);
+	}
+
+	void persistArenaValue(final V8Value value) {
+		arenaStack.remove(value);
+	}
+
 	/**
 	 * Associates an arbitrary object with this runtime.
 	 *
@@ -200,8 +413,22 @@ public class V8Context extends V8Object {
 	public int executeIntegerScript(final String script, final String scriptName, final int lineNumber) {
 		getIsolate().checkThread();
 		checkScript(script);
-		int i = V8API.get()._executeIntegerScript(getContextPtr(), script, scriptName, lineNumber);
-		checkPendingException();
+		V8TraceSpan span = startSpan(V8TraceSpan.Kind.SCRIPT, scriptName, lineNumber);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		int i;
+		try {
+			long startTime = startTime();
+			i = V8API.get()._executeIntegerScript(getContextPtr(), script, scriptName, lineNumber);
+			record(V8NativeMethod.EXECUTE_INTEGER_SCRIPT, startTime, script, scriptName);
+			checkPendingException();
+			resultType = V8API.INTEGER;
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
 		return i;
 	}
 
@@ -238,8 +465,22 @@ public class V8Context extends V8Object {
 	public double executeDoubleScript(final String script, final String scriptName, final int lineNumber) {
 		getIsolate().checkThread();
 		checkScript(script);
-		double d = V8API.get()._executeDoubleScript(getContextPtr(), script, scriptName, lineNumber);
-		checkPendingException();
+		V8TraceSpan span = startSpan(V8TraceSpan.Kind.SCRIPT, scriptName, lineNumber);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		double d;
+		try {
+			long startTime = startTime();
+			d = V8API.get()._executeDoubleScript(getContextPtr(), script, scriptName, lineNumber);
+			record(V8NativeMethod.EXECUTE_DOUBLE_SCRIPT, startTime, script, scriptName);
+			checkPendingException();
+			resultType = V8API.DOUBLE;
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
 		return d;
 	}
 
@@ -271,8 +512,22 @@ public class V8Context extends V8Object {
 	public String executeStringScript(final String script, final String scriptName, final int lineNumber) {
 		getIsolate().checkThread();
 		checkScript(script);
-		String s = V8API.get()._executeStringScript(getContextPtr(), script, scriptName, lineNumber);
-		checkPendingException();
+		V8TraceSpan span = startSpan(V8TraceSpan.Kind.SCRIPT, scriptName, lineNumber);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		String s;
+		try {
+			long startTime = startTime();
+			s = V8API.get()._executeStringScript(getContextPtr(), script, scriptName, lineNumber);
+			record(V8NativeMethod.EXECUTE_STRING_SCRIPT, startTime, script, scriptName, s);
+			checkPendingException();
+			resultType = V8API.STRING;
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
 		return s;
 	}
 
@@ -304,8 +559,22 @@ public class V8Context extends V8Object {
 	public boolean executeBooleanScript(final String script, final String scriptName, final int lineNumber) {
 		getIsolate().checkThread();
 		checkScript(script);
-		boolean b = V8API.get()._executeBooleanScript(getContextPtr(), script, scriptName, lineNumber);
-		checkPendingException();
+		V8TraceSpan span = startSpan(V8TraceSpan.Kind.SCRIPT, scriptName, lineNumber);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		boolean b;
+		try {
+			long startTime = startTime();
+			b = V8API.get()._executeBooleanScript(getContextPtr(), script, scriptName, lineNumber);
+			record(V8NativeMethod.EXECUTE_BOOLEAN_SCRIPT, startTime, script, scriptName);
+			checkPendingException();
+			resultType = V8API.BOOLEAN;
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
 		return b;
 	}
 
@@ -426,8 +695,20 @@ public class V8Context extends V8Object {
 	public void executeVoidScript(final String script, final String scriptName, final int lineNumber) {
 		getIsolate().checkThread();
 		checkScript(script);
-		V8API.get()._executeVoidScript(getContextPtr(), script, scriptName, lineNumber);
-		checkPendingException();
+		V8TraceSpan span = startSpan(V8TraceSpan.Kind.SCRIPT, scriptName, lineNumber);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		try {
+			long startTime = startTime();
+			V8API.get()._executeVoidScript(getContextPtr(), script, scriptName, lineNumber);
+			record(V8NativeMethod.EXECUTE_VOID_SCRIPT, startTime, script, scriptName);
+			checkPendingException();
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
 	}
 
 	void registerCallback(final Object object, final Method method, final long objectHandle, final String jsFunctionName, final boolean includeReceiver) {
@@ -458,12 +739,86 @@ public class V8Context extends V8Object {
 	}
 
 	void releaseNativeMethodDescriptors() {
-		Set<Long> nativeMethodDescriptors = functionRegistry.keySet();
-		for (Long nativeMethodDescriptor : nativeMethodDescriptors) {
+		long[] nativeMethodDescriptors = functionRegistry.keys();
+		for (long nativeMethodDescriptor : nativeMethodDescriptors) {
 			releaseMethodDescriptor(nativeMethodDescriptor);
 		}
 	}
 
+	void registerProxy(final long proxyID, final V8JavaProxy.Target target) {
+		proxyRegistry.put(proxyID, target);
+	}
+
+	void releaseNativeProxyDescriptors() {
+		for (long proxyID : proxyRegistry.keys()) {
+			V8API.get()._releaseProxyDescriptor(getContextPtr(), proxyID);
+		}
+	}
+
+	void disposeProxy(final long proxyID) {
+		proxyRegistry.remove(proxyID);
+	}
+
+	int proxyDescriptorCount() {
+		return proxyRegistry.size();
+	}
+
+	// The proxy may have been disposed after the native layer looked it up, such
+	// as when the context is being released, so a missing proxy has no properties
+	Object getProxyProperty(final long proxyID, final String name) {
+		V8JavaProxy.Target target = proxyRegistry.get(proxyID);
+		return target == null ? V8JavaProxy.NOT_FOUND : target.get(this, name);
+	}
+
+	Object getProxyElement(final long proxyID, final int index) {
+		V8JavaProxy.Target target = proxyRegistry.get(proxyID);
+		return target == null ? V8JavaProxy.NOT_FOUND : target.get(this, index);
+	}
+
+	boolean setProxyProperty(final long proxyID, final String name, final Object value) {
+		V8JavaProxy.Target target = proxyRegistry.get(proxyID);
+		if (target == null) {
+			releaseProxyValue(value);
+			return false;
+		}
+		return target.set(name, value);
+	}
+
+	boolean setProxyElement(final long proxyID, final int index, final Object value) {
+		V8JavaProxy.Target target = proxyRegistry.get(proxyID);
+		if (target == null) {
+			releaseProxyValue(value);
+			return false;
+		}
+		return target.set(index, value);
+	}
+
+	int queryProxyProperty(final long proxyID, final String name) {
+		V8JavaProxy.Target target = proxyRegistry.get(proxyID);
+		return target == null ? -1 : target.query(name);
+	}
+
+	int queryProxyElement(final long proxyID, final int index) {
+		V8JavaProxy.Target target = proxyRegistry.get(proxyID);
+		return target == null ? -1 : target.query(index);
+	}
+
+	String[] getProxyKeys(final long proxyID) {
+		V8JavaProxy.Target target = proxyRegistry.get(proxyID);
+		return target == null ? new String[0] : target.getKeys();
+	}
+
+	int getProxySize(final long proxyID) {
+		V8JavaProxy.Target target = proxyRegistry.get(proxyID);
+		return target == null ? 0 : target.size();
+	}
+
+	private void releaseProxyValue(final Object value) {
+		if (value instanceof V8Value) {
+			((V8Value) value).close();
+		}
+	}
+
 	private boolean isVoidMethod(final Method method) {
 		Class<?> returnType = method.getReturnType();
 		if (returnType.equals(Void.TYPE)) {
@@ -485,6 +840,10 @@ public class V8Context extends V8Object {
 		functionRegistry.remove(methodID);
 	}
 
+	int methodDescriptorCount() {
+		return functionRegistry.size();
+	}
+
 	void weakReferenceAdded(final long objectID, V8Value value) {
 		v8WeakReferences.put(objectID, value);
 	}
@@ -493,12 +852,15 @@ public class V8Context extends V8Object {
 		v8WeakReferences.remove(objectID);
 	}
 
+	boolean isWeakReference(final long objectID) {
+		return v8WeakReferences.containsKey(objectID);
+	}
+
 	void weakReferenceReleased(final long objectID) {
-		V8Value v8Value = v8WeakReferences.get(objectID);
+		V8Value v8Value = v8WeakReferences.remove(objectID);
 		if (v8Value != null) {
-			weakReferenceRemoved(objectID);
 			try {
-				v8Value.close();
+				v8Value.handleReleased();
 			} catch (Exception e) {
 				// Swallow these exceptions. The V8 GC is running, and
 				// if we return to V8 with Java exception on our stack,
@@ -512,23 +874,43 @@ public class V8Context extends V8Object {
 	}
 
 	Object callObjectJavaMethod(final long methodID, final V8Object receiver, final V8Array parameters) throws Throwable {
-		MethodDescriptor methodDescriptor = functionRegistry.get(methodID);
-		if (methodDescriptor.callback != null) {
-			return checkResult(methodDescriptor.callback.invoke(receiver, parameters));
-		}
-		boolean hasVarArgs = methodDescriptor.method.isVarArgs();
-		Object[] args = getArgs(receiver, methodDescriptor, parameters, hasVarArgs);
-		checkArgs(args);
+		return callObjectJavaMethod(functionRegistry.get(methodID), receiver, parameters);
+	}
+
+	Object callObjectJavaMethod(final long methodID, final V8Object receiver, final V8Array parameters, final int argumentOffset, final int argumentCount) throws Throwable {
+		parameters.setPackedArguments(argumentOffset, argumentCount);
+		return callObjectJavaMethod(functionRegistry.get(methodID), receiver, parameters);
+	}
+
+	Object callObjectJavaMethod(final MethodDescriptor methodDescriptor, final V8Object receiver, final V8Array parameters) throws Throwable {
+		Object flightRecording = V8FlightRecorder.beginCallback();
 		try {
-			Object result = methodDescriptor.method.invoke(methodDescriptor.object, args);
-			return checkResult(result);
-		} catch (InvocationTargetException e) {
-			throw e.getTargetException();
-		} catch (IllegalAccessException | IllegalArgumentException e) {
-			throw e;
+			if (methodDescriptor.callback != null) {
+				return checkResult(methodDescriptor.callback.invoke(receiver, parameters));
+			}
+			boolean hasVarArgs = methodDescriptor.method.isVarArgs();
+			Object[] args = getArgs(receiver, methodDescriptor, parameters, hasVarArgs);
+			checkArgs(args);
+			try {
+				Object result = methodDescriptor.method.invoke(methodDescriptor.object, args);
+				return checkResult(result);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			} catch (IllegalAccessException | IllegalArgumentException e) {
+				throw e;
+			} finally {
+				releaseArguments(args, hasVarArgs);
+			}
 		} finally {
-			releaseArguments(args, hasVarArgs);
+			V8FlightRecorder.endCallback(flightRecording, getCallbackTarget(methodDescriptor));
+		}
+	}
+
+	private static Object getCallbackTarget(final MethodDescriptor methodDescriptor) {
+		if (methodDescriptor.method != null) {
+			return methodDescriptor.method;
 		}
+		return methodDescriptor.callback != null ? methodDescriptor.callback : methodDescriptor.voidCallback;
 	}
 
 	static void checkScript(final String script) {
@@ -568,23 +950,48 @@ public class V8Context extends V8Object {
 	}
 
 	protected void callVoidJavaMethod(final long methodID, final V8Object receiver, final V8Array parameters) throws Throwable {
-		MethodDescriptor methodDescriptor = functionRegistry.get(methodID);
-		if (methodDescriptor.voidCallback != null) {
-			methodDescriptor.voidCallback.invoke(receiver, parameters);
-			return;
-		}
-		boolean hasVarArgs = methodDescriptor.method.isVarArgs();
-		Object[] args = getArgs(receiver, methodDescriptor, parameters, hasVarArgs);
-		checkArgs(args);
+		callVoidJavaMethod(functionRegistry.get(methodID), receiver, parameters);
+	}
+
+	void callVoidJavaMethod(final long methodID, final V8Object receiver, final V8Array parameters, final int argumentOffset, final int argumentCount) throws Throwable {
+		parameters.setPackedArguments(argumentOffset, argumentCount);
+		callVoidJavaMethod(functionRegistry.get(methodID), receiver, parameters);
+	}
+
+	int getPackedArgumentType(final int slot) {
+		return callbackArguments.getInt((slot * V8ArgumentFrame.SLOT_SIZE) + V8ArgumentFrame.TAG_OFFSET);
+	}
+
+	long getPackedArgument(final int slot) {
+		return callbackArguments.getLong((slot * V8ArgumentFrame.SLOT_SIZE) + V8ArgumentFrame.VALUE_OFFSET);
+	}
+
+	double getPackedDoubleArgument(final int slot) {
+		return callbackArguments.getDouble((slot * V8ArgumentFrame.SLOT_SIZE) + V8ArgumentFrame.VALUE_OFFSET);
+	}
+
+	void callVoidJavaMethod(final MethodDescriptor methodDescriptor, final V8Object receiver, final V8Array parameters) throws Throwable {
+		Object flightRecording = V8FlightRecorder.beginCallback();
 		try {
-			methodDescriptor.method.invoke(methodDescriptor.object, args);
-		} catch (InvocationTargetException e) {
-			throw e.getTargetException();
-		} catch (IllegalAccessException | IllegalArgumentException e) {
-			throw e;
+			if (methodDescriptor.voidCallback != null) {
+				methodDescriptor.voidCallback.invoke(receiver, parameters);
+				return;
+			}
+			boolean hasVarArgs = methodDescriptor.method.isVarArgs();
+			Object[] args = getArgs(receiver, methodDescriptor, parameters, hasVarArgs);
+			checkArgs(args);
+			try {
+				methodDescriptor.method.invoke(methodDescriptor.object, args);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			} catch (IllegalAccessException | IllegalArgumentException e) {
+				throw e;
+			} finally {
+				releaseArguments(args, hasVarArgs);
+				checkPendingException();
+			}
 		} finally {
-			releaseArguments(args, hasVarArgs);
-			checkPendingException();
+			V8FlightRecorder.endCallback(flightRecording, getCallbackTarget(methodDescriptor));
 		}
 	}
 
@@ -691,7 +1098,10 @@ public class V8Context extends V8Object {
 	}
 
 	long getGlobalObject() {
-		return V8API.get()._getGlobalObject(getContextPtr());
+		long startTime = startTime();
+		long result = V8API.get()._getGlobalObject(getContextPtr());
+		record(V8NativeMethod.GET_GLOBAL_OBJECT, startTime);
+		return result;
 	}
 
 	void startNodeJS(String fileName) {
@@ -706,343 +1116,896 @@ public class V8Context extends V8Object {
 		return V8API._isRunning(getContextPtr());
 	}
 
+	void installBinding(final long bindingPtr, final long objectHandle) {
+		long startTime = startTime();
+		V8API.get()._installBinding(getContextPtr(), bindingPtr, objectHandle);
+		record(V8NativeMethod.INSTALL_BINDING, startTime);
+	}
+
+	long[] initNewV8JavaProxy() {
+		long startTime = startTime();
+		long[] result = V8API.get()._initNewV8JavaProxy(getContextPtr());
+		record(V8NativeMethod.INIT_NEW_V8_JAVA_PROXY, startTime, V8Instrumentation.sizeOf(result));
+		return result;
+	}
+
 	long initNewV8Object() {
-		return V8API.get()._initNewV8Object(getContextPtr());
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8Object(getContextPtr());
+		record(V8NativeMethod.INIT_NEW_V8_OBJECT, startTime);
+		return result;
 	}
 
 	long initEmptyContainer() {
-		return V8API.get()._initEmptyContainer(getContextPtr());
+		long startTime = startTime();
+		long result = V8API.get()._initEmptyContainer(getContextPtr());
+		record(V8NativeMethod.INIT_EMPTY_CONTAINER, startTime);
+		return result;
 	}
 
 	void createTwin(final long objectHandle, final long twinHandle) {
+		long startTime = startTime();
 		V8API.get()._createTwin(getContextPtr(), objectHandle, twinHandle);
+		record(V8NativeMethod.CREATE_TWIN, startTime);
 	}
 
 	Object executeScript(final int expectedType, final String script, final String scriptName, final int lineNumber) {
-		Object o = V8API.get()._executeScript(getContextPtr(), expectedType, script, scriptName, lineNumber);
-		checkPendingException();
+		V8TraceSpan span = startSpan(V8TraceSpan.Kind.SCRIPT, scriptName, lineNumber);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		Object o;
+		try {
+			long startTime = startTime();
+			o = V8API.get()._executeScript(getContextPtr(), expectedType, script, scriptName, lineNumber);
+			record(V8NativeMethod.EXECUTE_SCRIPT, startTime, script, scriptName);
+			checkPendingException();
+			resultType = getResultType(o);
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
 		return o;
 	}
 
 	void setWeak(final long objectHandle) {
+		long startTime = startTime();
 		V8API.get()._setWeak(getContextPtr(), objectHandle);
+		record(V8NativeMethod.SET_WEAK, startTime);
 	}
 
 	void clearWeak(final long objectHandle) {
+		long startTime = startTime();
 		V8API.get()._clearWeak(getContextPtr(), objectHandle);
+		record(V8NativeMethod.CLEAR_WEAK, startTime);
 	}
 
 	boolean isWeak(final long objectHandle) {
-		return V8API.get()._isWeak(getContextPtr(), objectHandle);
+		long startTime = startTime();
+		boolean result = V8API.get()._isWeak(getContextPtr(), objectHandle);
+		record(V8NativeMethod.IS_WEAK, startTime);
+		return result;
 	}
 
 	void release(final long objectHandle) {
+		long startTime = startTime();
 		V8API.get()._release(getContextPtr(), objectHandle);
+		record(V8NativeMethod.RELEASE, startTime);
 	}
 
 	boolean contains(final long objectHandle, final String key) {
-		return V8API.get()._contains(getContextPtr(), objectHandle, key);
+		long startTime = startTime();
+		boolean result = V8API.get()._contains(getContextPtr(), objectHandle, key);
+		record(V8NativeMethod.CONTAINS, startTime, key);
+		return result;
 	}
 
 	String[] getKeys(final long objectHandle) {
-		return V8API.get()._getKeys(getContextPtr(), objectHandle);
+		long startTime = startTime();
+		String[] result = V8API.get()._getKeys(getContextPtr(), objectHandle);
+		record(V8NativeMethod.GET_KEYS, startTime, result);
+		return result;
 	}
 
 	int getInteger(final long objectHandle, final String key) {
-		return V8API.get()._getInteger(getContextPtr(), objectHandle, key);
+		long startTime = startTime();
+		int result = V8API.get()._getInteger(getContextPtr(), objectHandle, key);
+		record(V8NativeMethod.GET_INTEGER, startTime, key);
+		return result;
 	}
 
 	boolean getBoolean(final long objectHandle, final String key) {
-		return V8API.get()._getBoolean(getContextPtr(), objectHandle, key);
+		long startTime = startTime();
+		boolean result = V8API.get()._getBoolean(getContextPtr(), objectHandle, key);
+		record(V8NativeMethod.GET_BOOLEAN, startTime, key);
+		return result;
 	}
 
 	double getDouble(final long objectHandle, final String key) {
-		return V8API.get()._getDouble(getContextPtr(), objectHandle, key);
+		long startTime = startTime();
+		double result = V8API.get()._getDouble(getContextPtr(), objectHandle, key);
+		record(V8NativeMethod.GET_DOUBLE, startTime, key);
+		return result;
 	}
 
 	String getString(final long objectHandle, final String key) {
-		return V8API.get()._getString(getContextPtr(), objectHandle, key);
+		long startTime = startTime();
+		String result = V8API.get()._getString(getContextPtr(), objectHandle, key);
+		record(V8NativeMethod.GET_STRING, startTime, key, result);
+		return result;
+	}
+
+	int getUTF8(final long objectHandle, final String key, final ByteBuffer buffer, final int offset, final int capacity) {
+		long startTime = startTime();
+		int result = V8API.get()._getUTF8(getContextPtr(), objectHandle, key, buffer, offset, capacity);
+		record(V8NativeMethod.GET_UTF8, startTime, key, Math.min(result, capacity));
+		return result;
 	}
 
 	Object get(final int expectedType, final long objectHandle, final String key) {
-		return V8API.get()._get(getContextPtr(), expectedType, objectHandle, key);
+		long startTime = startTime();
+		Object result = V8API.get()._get(getContextPtr(), expectedType, objectHandle, key);
+		record(V8NativeMethod.GET, startTime, key);
+		return result;
+	}
+
+	long initNewV8PropertyKey(final String key) {
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8PropertyKey(getContextPtr(), key);
+		record(V8NativeMethod.INIT_NEW_V8_PROPERTY_KEY, startTime, key);
+		return result;
+	}
+
+	void releasePropertyKey(final long keyHandle) {
+		long startTime = startTime();
+		V8API.get()._releasePropertyKey(getContextPtr(), keyHandle);
+		record(V8NativeMethod.RELEASE_PROPERTY_KEY, startTime);
+	}
+
+	boolean containsByKey(final long objectHandle, final long keyHandle) {
+		long startTime = startTime();
+		boolean result = V8API.get()._containsByKey(getContextPtr(), objectHandle, keyHandle);
+		record(V8NativeMethod.CONTAINS_BY_KEY, startTime);
+		return result;
+	}
+
+	int getTypeByKey(final long objectHandle, final long keyHandle) {
+		long startTime = startTime();
+		int result = V8API.get()._getTypeByKey(getContextPtr(), objectHandle, keyHandle);
+		record(V8NativeMethod.GET_TYPE_BY_KEY, startTime);
+		return result;
+	}
+
+	Object getByKey(final int expectedType, final long objectHandle, final long keyHandle) {
+		long startTime = startTime();
+		Object result = V8API.get()._getByKey(getContextPtr(), expectedType, objectHandle, keyHandle);
+		record(V8NativeMethod.GET_BY_KEY, startTime);
+		return result;
+	}
+
+	int getIntegerByKey(final long objectHandle, final long keyHandle) {
+		long startTime = startTime();
+		int result = V8API.get()._getIntegerByKey(getContextPtr(), objectHandle, keyHandle);
+		record(V8NativeMethod.GET_INTEGER_BY_KEY, startTime);
+		return result;
+	}
+
+	boolean getBooleanByKey(final long objectHandle, final long keyHandle) {
+		long startTime = startTime();
+		boolean result = V8API.get()._getBooleanByKey(getContextPtr(), objectHandle, keyHandle);
+		record(V8NativeMethod.GET_BOOLEAN_BY_KEY, startTime);
+		return result;
+	}
+
+	double getDoubleByKey(final long objectHandle, final long keyHandle) {
+		long startTime = startTime();
+		double result = V8API.get()._getDoubleByKey(getContextPtr(), objectHandle, keyHandle);
+		record(V8NativeMethod.GET_DOUBLE_BY_KEY, startTime);
+		return result;
+	}
+
+	String getStringByKey(final long objectHandle, final long keyHandle) {
+		long startTime = startTime();
+		String result = V8API.get()._getStringByKey(getContextPtr(), objectHandle, keyHandle);
+		record(V8NativeMethod.GET_STRING_BY_KEY, startTime, result);
+		return result;
+	}
+
+	void addByKey(final long objectHandle, final long keyHandle, final int value) {
+		long startTime = startTime();
+		V8API.get()._addIntegerByKey(getContextPtr(), objectHandle, keyHandle, value);
+		record(V8NativeMethod.ADD_INTEGER_BY_KEY, startTime);
+	}
+
+	void addByKey(final long objectHandle, final long keyHandle, final boolean value) {
+		long startTime = startTime();
+		V8API.get()._addBooleanByKey(getContextPtr(), objectHandle, keyHandle, value);
+		record(V8NativeMethod.ADD_BOOLEAN_BY_KEY, startTime);
+	}
+
+	void addByKey(final long objectHandle, final long keyHandle, final double value) {
+		long startTime = startTime();
+		V8API.get()._addDoubleByKey(getContextPtr(), objectHandle, keyHandle, value);
+		record(V8NativeMethod.ADD_DOUBLE_BY_KEY, startTime);
+	}
+
+	void addByKey(final long objectHandle, final long keyHandle, final String value) {
+		long startTime = startTime();
+		V8API.get()._addStringByKey(getContextPtr(), objectHandle, keyHandle, value);
+		record(V8NativeMethod.ADD_STRING_BY_KEY, startTime, value);
+	}
+
+	void addObjectByKey(final long objectHandle, final long keyHandle, final long valueHandle) {
+		long startTime = startTime();
+		V8API.get()._addObjectByKey(getContextPtr(), objectHandle, keyHandle, valueHandle);
+		record(V8NativeMethod.ADD_OBJECT_BY_KEY, startTime);
+	}
+
+	void addUndefinedByKey(final long objectHandle, final long keyHandle) {
+		long startTime = startTime();
+		V8API.get()._addUndefinedByKey(getContextPtr(), objectHandle, keyHandle);
+		record(V8NativeMethod.ADD_UNDEFINED_BY_KEY, startTime);
+	}
+
+	void addNullByKey(final long objectHandle, final long keyHandle) {
+		long startTime = startTime();
+		V8API.get()._addNullByKey(getContextPtr(), objectHandle, keyHandle);
+		record(V8NativeMethod.ADD_NULL_BY_KEY, startTime);
+	}
+
+	Object getPath(final int expectedType, final long objectHandle, final String path) {
+		long startTime = startTime();
+		Object result = V8API.get()._getPath(getContextPtr(), expectedType, objectHandle, path);
+		record(V8NativeMethod.GET_PATH, startTime, path);
+		return result;
+	}
+
+	Object getPath(final int expectedType, final long objectHandle, final long[] keyHandles) {
+		long startTime = startTime();
+		Object result = V8API.get()._getPathByKeys(getContextPtr(), expectedType, objectHandle, keyHandles);
+		record(V8NativeMethod.GET_PATH_BY_KEYS, startTime, V8Instrumentation.sizeOf(keyHandles));
+		return result;
+	}
+
+	int getTypeAtPath(final long objectHandle, final String path) {
+		long startTime = startTime();
+		int result = V8API.get()._getTypeAtPath(getContextPtr(), objectHandle, path);
+		record(V8NativeMethod.GET_TYPE_AT_PATH, startTime, path);
+		return result;
+	}
+
+	int getIntegerAtPath(final long objectHandle, final String path) {
+		long startTime = startTime();
+		int result = V8API.get()._getIntegerAtPath(getContextPtr(), objectHandle, path);
+		record(V8NativeMethod.GET_INTEGER_AT_PATH, startTime, path);
+		return result;
+	}
+
+	boolean getBooleanAtPath(final long objectHandle, final String path) {
+		long startTime = startTime();
+		boolean result = V8API.get()._getBooleanAtPath(getContextPtr(), objectHandle, path);
+		record(V8NativeMethod.GET_BOOLEAN_AT_PATH, startTime, path);
+		return result;
+	}
+
+	double getDoubleAtPath(final long objectHandle, final String path) {
+		long startTime = startTime();
+		double result = V8API.get()._getDoubleAtPath(getContextPtr(), objectHandle, path);
+		record(V8NativeMethod.GET_DOUBLE_AT_PATH, startTime, path);
+		return result;
+	}
+
+	String getStringAtPath(final long objectHandle, final String path) {
+		long startTime = startTime();
+		String result = V8API.get()._getStringAtPath(getContextPtr(), objectHandle, path);
+		record(V8NativeMethod.GET_STRING_AT_PATH, startTime, path, result);
+		return result;
+	}
+
+	void extract(final long objectHandle, final V8Extraction extraction) {
+		long startTime = startTime();
+		V8API.get()._extract(getContextPtr(), objectHandle, extraction.getPaths(), extraction.getTypes(), extraction.getNumbers(), extraction.getStrings());
+		record(V8NativeMethod.EXTRACT, startTime, extraction);
+	}
+
+	void addAll(final long objectHandle, final V8Extraction values) {
+		long startTime = startTime();
+		V8API.get()._addAll(getContextPtr(), objectHandle, values.getPaths(), values.getTypes(), values.getNumbers(), values.getStrings());
+		record(V8NativeMethod.ADD_ALL, startTime, values);
 	}
 
 	int executeIntegerFunction(final long objectHandle, final String name, final long parametersHandle) {
-		int i = V8API.get()._executeIntegerFunction(getContextPtr(), objectHandle, name, parametersHandle);
-		checkPendingException();
+		V8TraceSpan span = startSpan(V8TraceSpan.Kind.FUNCTION, name, 0);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		int i;
+		try {
+			long startTime = startTime();
+			i = V8API.get()._executeIntegerFunction(getContextPtr(), objectHandle, name, parametersHandle);
+			record(V8NativeMethod.EXECUTE_INTEGER_FUNCTION, startTime, name);
+			checkPendingException();
+			resultType = V8API.INTEGER;
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
 		return i;
 	}
 
 	double executeDoubleFunction(final long objectHandle, final String name, final long parametersHandle) {
-		double d = V8API.get()._executeDoubleFunction(getContextPtr(), objectHandle, name, parametersHandle);
-		checkPendingException();
+		V8TraceSpan span = startSpan(V8TraceSpan.Kind.FUNCTION, name, 0);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		double d;
+		try {
+			long startTime = startTime();
+			d = V8API.get()._executeDoubleFunction(getContextPtr(), objectHandle, name, parametersHandle);
+			record(V8NativeMethod.EXECUTE_DOUBLE_FUNCTION, startTime, name);
+			checkPendingException();
+			resultType = V8API.DOUBLE;
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
 		return d;
 	}
 
 	String executeStringFunction(final long handle, final String name, final long parametersHandle) {
-		String s = V8API.get()._executeStringFunction(getContextPtr(), handle, name, parametersHandle);
-		checkPendingException();
+		V8TraceSpan span = startSpan(V8TraceSpan.Kind.FUNCTION, name, 0);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		String s;
+		try {
+			long startTime = startTime();
+			s = V8API.get()._executeStringFunction(getContextPtr(), handle, name, parametersHandle);
+			record(V8NativeMethod.EXECUTE_STRING_FUNCTION, startTime, name, s);
+			checkPendingException();
+			resultType = V8API.STRING;
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
 		return s;
 	}
 
 	boolean executeBooleanFunction(final long handle, final String name, final long parametersHandle) {
-		boolean b = V8API.get()._executeBooleanFunction(getContextPtr(), handle, name, parametersHandle);
-		checkPendingException();
+		V8TraceSpan span = startSpan(V8TraceSpan.Kind.FUNCTION, name, 0);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		boolean b;
+		try {
+			long startTime = startTime();
+			b = V8API.get()._executeBooleanFunction(getContextPtr(), handle, name, parametersHandle);
+			record(V8NativeMethod.EXECUTE_BOOLEAN_FUNCTION, startTime, name);
+			checkPendingException();
+			resultType = V8API.BOOLEAN;
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
 		return b;
 	}
 
 	Object executeFunction(final int expectedType, final long objectHandle, final String name, final long parametersHandle) {
-		Object o = V8API.get()._executeFunction(getContextPtr(), expectedType, objectHandle, name, parametersHandle);
-		checkPendingException();
+		V8TraceSpan span = startSpan(V8TraceSpan.Kind.FUNCTION, name, 0);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		Object o;
+		try {
+			long startTime = startTime();
+			o = V8API.get()._executeFunction(getContextPtr(), expectedType, objectHandle, name, parametersHandle);
+			record(V8NativeMethod.EXECUTE_FUNCTION, startTime, name);
+			checkPendingException();
+			resultType = getResultType(o);
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
 		return o;
 	}
 
 	Object executeFunction(final long receiverHandle, final long functionHandle, final long parametersHandle) {
-		Object o = V8API.get()._executeFunction(getContextPtr(), receiverHandle, functionHandle, parametersHandle);
-		checkPendingException();
+		V8TraceSpan span = startFunctionSpan(functionHandle);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		Object o;
+		try {
+			long startTime = startTime();
+			o = V8API.get()._executeFunction(getContextPtr(), receiverHandle, functionHandle, parametersHandle);
+			record(V8NativeMethod.EXECUTE_FUNCTION, startTime);
+			checkPendingException();
+			resultType = getResultType(o);
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
+		return o;
+	}
+
+	Object executeFunction(final int expectedType, final long objectHandle, final String name, final V8ArgumentFrame frame) {
+		V8TraceSpan span = startSpan(V8TraceSpan.Kind.FUNCTION, name, 0);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		Object o;
+		try {
+			long startTime = startTime();
+			o = V8API.get()._executeFunctionWithFrame(getContextPtr(), expectedType, objectHandle, name, frame.getSlots(), frame.length(), frame.getReferences());
+			record(V8NativeMethod.EXECUTE_FUNCTION_WITH_FRAME, startTime, name);
+			checkPendingException();
+			resultType = getResultType(o);
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
+		return o;
+	}
+
+	Object executeFunction(final long receiverHandle, final long functionHandle, final V8ArgumentFrame frame) {
+		V8TraceSpan span = startFunctionSpan(functionHandle);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		Object o;
+		try {
+			long startTime = startTime();
+			o = V8API.get()._callFunctionWithFrame(getContextPtr(), receiverHandle, functionHandle, frame.getSlots(), frame.length(), frame.getReferences());
+			record(V8NativeMethod.CALL_FUNCTION_WITH_FRAME, startTime);
+			checkPendingException();
+			resultType = getResultType(o);
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
 		return o;
 	}
 
 	void executeVoidFunction(final long objectHandle, final String name, final long parametersHandle) {
-		V8API.get()._executeVoidFunction(getContextPtr(), objectHandle, name, parametersHandle);
-		checkPendingException();
+		V8TraceSpan span = startSpan(V8TraceSpan.Kind.FUNCTION, name, 0);
+		int resultType = V8API.UNDEFINED;
+		Throwable exception = null;
+		try {
+			long startTime = startTime();
+			V8API.get()._executeVoidFunction(getContextPtr(), objectHandle, name, parametersHandle);
+			record(V8NativeMethod.EXECUTE_VOID_FUNCTION, startTime, name);
+			checkPendingException();
+		} catch (Throwable e) {
+			exception = e;
+			throw e;
+		} finally {
+			endSpan(span, resultType, exception);
+		}
 	}
 
 	boolean equals(final long objectHandle, final long that) {
-		return V8API.get()._equals(getContextPtr(), objectHandle, that);
+		long startTime = startTime();
+		boolean result = V8API.get()._equals(getContextPtr(), objectHandle, that);
+		record(V8NativeMethod.EQUALS, startTime);
+		return result;
 	}
 
 	String toString(final long objectHandle) {
-		return V8API.get()._toString(getContextPtr(), objectHandle);
+		long startTime = startTime();
+		String result = V8API.get()._toString(getContextPtr(), objectHandle);
+		record(V8NativeMethod.TO_STRING, startTime, result);
+		return result;
 	}
 
 	boolean strictEquals(final long objectHandle, final long that) {
-		return V8API.get()._strictEquals(getContextPtr(), objectHandle, that);
+		long startTime = startTime();
+		boolean result = V8API.get()._strictEquals(getContextPtr(), objectHandle, that);
+		record(V8NativeMethod.STRICT_EQUALS, startTime);
+		return result;
 	}
 
 	boolean sameValue(final long objectHandle, final long that) {
-		return V8API.get()._sameValue(getContextPtr(), objectHandle, that);
+		long startTime = startTime();
+		boolean result = V8API.get()._sameValue(getContextPtr(), objectHandle, that);
+		record(V8NativeMethod.SAME_VALUE, startTime);
+		return result;
 	}
 
 	int identityHash(final long objectHandle) {
-		return V8API.get()._identityHash(getContextPtr(), objectHandle);
+		long startTime = startTime();
+		int result = V8API.get()._identityHash(getContextPtr(), objectHandle);
+		record(V8NativeMethod.IDENTITY_HASH, startTime);
+		return result;
 	}
 
 	void add(final long objectHandle, final String key, final int value) {
+		long startTime = startTime();
 		V8API.get()._add(getContextPtr(), objectHandle, key, value);
+		record(V8NativeMethod.ADD, startTime, key);
 	}
 
 	void addObject(final long objectHandle, final String key, final long value) {
+		long startTime = startTime();
 		V8API.get()._addObject(getContextPtr(), objectHandle, key, value);
+		record(V8NativeMethod.ADD_OBJECT, startTime, key);
 	}
 
 	void add(final long objectHandle, final String key, final boolean value) {
+		long startTime = startTime();
 		V8API.get()._add(getContextPtr(), objectHandle, key, value);
+		record(V8NativeMethod.ADD, startTime, key);
 	}
 
 	void add(final long objectHandle, final String key, final double value) {
+		long startTime = startTime();
 		V8API.get()._add(getContextPtr(), objectHandle, key, value);
+		record(V8NativeMethod.ADD, startTime, key);
 	}
 
 	void add(final long objectHandle, final String key, final String value) {
+		long startTime = startTime();
 		V8API.get()._add(getContextPtr(), objectHandle, key, value);
+		record(V8NativeMethod.ADD, startTime, key, value);
+	}
+
+	void addUTF8(final long objectHandle, final String key, final ByteBuffer value, final int offset, final int length) {
+		long startTime = startTime();
+		V8API.get()._addUTF8(getContextPtr(), objectHandle, key, value, offset, length);
+		record(V8NativeMethod.ADD_UTF8, startTime, key, length);
 	}
 
 	void addUndefined(final long objectHandle, final String key) {
+		long startTime = startTime();
 		V8API.get()._addUndefined(getContextPtr(), objectHandle, key);
+		record(V8NativeMethod.ADD_UNDEFINED, startTime, key);
 	}
 
 	void addNull(final long objectHandle, final String key) {
+		long startTime = startTime();
 		V8API.get()._addNull(getContextPtr(), objectHandle, key);
+		record(V8NativeMethod.ADD_NULL, startTime, key);
 	}
 
 	long registerJavaMethod(final long objectHandle, final String functionName, final boolean voidMethod) {
-		return V8API.get()._registerJavaMethod(getContextPtr(), objectHandle, functionName, voidMethod);
+		long startTime = startTime();
+		long result = V8API.get()._registerJavaMethod(getContextPtr(), objectHandle, functionName, voidMethod);
+		record(V8NativeMethod.REGISTER_JAVA_METHOD, startTime, functionName);
+		return result;
 	}
 
 	long initNewV8ArrayBuffer(final ByteBuffer buffer, final int capacity) {
-		return V8API.get()._initNewV8ArrayBuffer(getContextPtr(), buffer, capacity);
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8ArrayBuffer(getContextPtr(), buffer, capacity);
+		record(V8NativeMethod.INIT_NEW_V8_ARRAY_BUFFER, startTime);
+		return result;
 	}
 
 	long initNewV8ArrayBuffer(final int capacity) {
-		return V8API.get()._initNewV8ArrayBuffer(getContextPtr(), capacity);
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8ArrayBuffer(getContextPtr(), capacity);
+		record(V8NativeMethod.INIT_NEW_V8_ARRAY_BUFFER, startTime);
+		return result;
 	}
 
 	public long initNewV8Int32Array(final long bufferHandle, final int offset, final int size) {
-		return V8API.get()._initNewV8Int32Array(getContextPtr(), bufferHandle, offset, size);
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8Int32Array(getContextPtr(), bufferHandle, offset, size);
+		record(V8NativeMethod.INIT_NEW_V8_INT32_ARRAY, startTime);
+		return result;
 	}
 
 	public long initNewV8Float32Array(final long bufferHandle, final int offset, final int size) {
-		return V8API.get()._initNewV8Float32Array(getContextPtr(), bufferHandle, offset, size);
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8Float32Array(getContextPtr(), bufferHandle, offset, size);
+		record(V8NativeMethod.INIT_NEW_V8_FLOAT32_ARRAY, startTime);
+		return result;
 	}
 
 	public long initNewV8Float64Array(final long bufferHandle, final int offset, final int size) {
-		return V8API.get()._initNewV8Float64Array(getContextPtr(), bufferHandle, offset, size);
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8Float64Array(getContextPtr(), bufferHandle, offset, size);
+		record(V8NativeMethod.INIT_NEW_V8_FLOAT64_ARRAY, startTime);
+		return result;
 	}
 
 	public long initNewV8UInt32Array(final long bufferHandle, final int offset, final int size) {
-		return V8API.get()._initNewV8UInt32Array(getContextPtr(), bufferHandle, offset, size);
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8UInt32Array(getContextPtr(), bufferHandle, offset, size);
+		record(V8NativeMethod.INIT_NEW_V8_UINT32_ARRAY, startTime);
+		return result;
 	}
 
 	public long initNewV8UInt16Array(final long bufferHandle, final int offset, final int size) {
-		return V8API.get()._initNewV8UInt16Array(getContextPtr(), bufferHandle, offset, size);
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8UInt16Array(getContextPtr(), bufferHandle, offset, size);
+		record(V8NativeMethod.INIT_NEW_V8_UINT16_ARRAY, startTime);
+		return result;
 	}
 
 	public long initNewV8Int16Array(final long bufferHandle, final int offset, final int size) {
-		return V8API.get()._initNewV8Int16Array(getContextPtr(), bufferHandle, offset, size);
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8Int16Array(getContextPtr(), bufferHandle, offset, size);
+		record(V8NativeMethod.INIT_NEW_V8_INT16_ARRAY, startTime);
+		return result;
 	}
 
 	public long initNewV8UInt8Array(final long bufferHandle, final int offset, final int size) {
-		return V8API.get()._initNewV8UInt8Array(getContextPtr(), bufferHandle, offset, size);
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8UInt8Array(getContextPtr(), bufferHandle, offset, size);
+		record(V8NativeMethod.INIT_NEW_V8_UINT8_ARRAY, startTime);
+		return result;
 	}
 
 	public long initNewV8Int8Array(final long bufferHandle, final int offset, final int size) {
-		return V8API.get()._initNewV8Int8Array(getContextPtr(), bufferHandle, offset, size);
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8Int8Array(getContextPtr(), bufferHandle, offset, size);
+		record(V8NativeMethod.INIT_NEW_V8_INT8_ARRAY, startTime);
+		return result;
 	}
 
 	public long initNewV8UInt8ClampedArray(final long bufferHandle, final int offset, final int size) {
-		return V8API.get()._initNewV8UInt8ClampedArray(getContextPtr(), bufferHandle, offset, size);
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8UInt8ClampedArray(getContextPtr(), bufferHandle, offset, size);
+		record(V8NativeMethod.INIT_NEW_V8_UINT8_CLAMPED_ARRAY, startTime);
+		return result;
 	}
 
 	ByteBuffer createV8ArrayBufferBackingStore(final long objectHandle, final int capacity) {
-		return V8API.get()._createV8ArrayBufferBackingStore(getContextPtr(), objectHandle, capacity);
+		long startTime = startTime();
+		ByteBuffer result = V8API.get()._createV8ArrayBufferBackingStore(getContextPtr(), objectHandle, capacity);
+		record(V8NativeMethod.CREATE_V8_ARRAY_BUFFER_BACKING_STORE, startTime);
+		return result;
 	}
 
 	long initNewV8Array() {
-		return V8API.get()._initNewV8Array(getContextPtr());
+		long startTime = startTime();
+		long result = V8API.get()._initNewV8Array(getContextPtr());
+		record(V8NativeMethod.INIT_NEW_V8_ARRAY, startTime);
+		return result;
 	}
 
 	long[] initNewV8Function() {
-		return V8API.get()._initNewV8Function(getContextPtr());
+		long startTime = startTime();
+		long[] result = V8API.get()._initNewV8Function(getContextPtr());
+		record(V8NativeMethod.INIT_NEW_V8_FUNCTION, startTime, V8Instrumentation.sizeOf(result));
+		return result;
 	}
 
 	int arrayGetSize(final long arrayHandle) {
-		return V8API.get()._arrayGetSize(getContextPtr(), arrayHandle);
+		long startTime = startTime();
+		int result = V8API.get()._arrayGetSize(getContextPtr(), arrayHandle);
+		record(V8NativeMethod.ARRAY_GET_SIZE, startTime);
+		return result;
 	}
 
 	int arrayGetInteger(final long arrayHandle, final int index) {
-		return V8API.get()._arrayGetInteger(getContextPtr(), arrayHandle, index);
+		long startTime = startTime();
+		int result = V8API.get()._arrayGetInteger(getContextPtr(), arrayHandle, index);
+		record(V8NativeMethod.ARRAY_GET_INTEGER, startTime);
+		return result;
 	}
 
 	boolean arrayGetBoolean(final long arrayHandle, final int index) {
-		return V8API.get()._arrayGetBoolean(getContextPtr(), arrayHandle, index);
+		long startTime = startTime();
+		boolean result = V8API.get()._arrayGetBoolean(getContextPtr(), arrayHandle, index);
+		record(V8NativeMethod.ARRAY_GET_BOOLEAN, startTime);
+		return result;
 	}
 
 	byte arrayGetByte(final long arrayHandle, final int index) {
-		return V8API.get()._arrayGetByte(getContextPtr(), arrayHandle, index);
+		long startTime = startTime();
+		byte result = V8API.get()._arrayGetByte(getContextPtr(), arrayHandle, index);
+		record(V8NativeMethod.ARRAY_GET_BYTE, startTime);
+		return result;
 	}
 
 	double arrayGetDouble(final long arrayHandle, final int index) {
-		return V8API.get()._arrayGetDouble(getContextPtr(), arrayHandle, index);
+		long startTime = startTime();
+		double result = V8API.get()._arrayGetDouble(getContextPtr(), arrayHandle, index);
+		record(V8NativeMethod.ARRAY_GET_DOUBLE, startTime);
+		return result;
 	}
 
 	String arrayGetString(final long arrayHandle, final int index) {
-		return V8API.get()._arrayGetString(getContextPtr(), arrayHandle, index);
+		long startTime = startTime();
+		String result = V8API.get()._arrayGetString(getContextPtr(), arrayHandle, index);
+		record(V8NativeMethod.ARRAY_GET_STRING, startTime, result);
+		return result;
+	}
+
+	int arrayGetUTF8(final long arrayHandle, final int index, final ByteBuffer buffer, final int offset, final int capacity) {
+		long startTime = startTime();
+		int result = V8API.get()._arrayGetUTF8(getContextPtr(), arrayHandle, index, buffer, offset, capacity);
+		record(V8NativeMethod.ARRAY_GET_UTF8, startTime, Math.min(result, capacity));
+		return result;
 	}
 
 	Object arrayGet(final int expectedType, final long arrayHandle, final int index) {
-		return V8API.get()._arrayGet(getContextPtr(), expectedType, arrayHandle, index);
+		long startTime = startTime();
+		Object result = V8API.get()._arrayGet(getContextPtr(), expectedType, arrayHandle, index);
+		record(V8NativeMethod.ARRAY_GET, startTime);
+		return result;
 	}
 
 	void addArrayIntItem(final long arrayHandle, final int value) {
+		long startTime = startTime();
 		V8API.get()._addArrayIntItem(getContextPtr(), arrayHandle, value);
+		record(V8NativeMethod.ADD_ARRAY_INT_ITEM, startTime);
 	}
 
 	void addArrayBooleanItem(final long arrayHandle, final boolean value) {
+		long startTime = startTime();
 		V8API.get()._addArrayBooleanItem(getContextPtr(), arrayHandle, value);
+		record(V8NativeMethod.ADD_ARRAY_BOOLEAN_ITEM, startTime);
 	}
 
 	void addArrayDoubleItem(final long arrayHandle, final double value) {
+		long startTime = startTime();
 		V8API.get()._addArrayDoubleItem(getContextPtr(), arrayHandle, value);
+		record(V8NativeMethod.ADD_ARRAY_DOUBLE_ITEM, startTime);
 	}
 
 	void addArrayStringItem(final long arrayHandle, final String value) {
+		long startTime = startTime();
 		V8API.get()._addArrayStringItem(getContextPtr(), arrayHandle, value);
+		record(V8NativeMethod.ADD_ARRAY_STRING_ITEM, startTime, value);
+	}
+
+	void addArrayUTF8Item(final long arrayHandle, final ByteBuffer value, final int offset, final int length) {
+		long startTime = startTime();
+		V8API.get()._addArrayUTF8Item(getContextPtr(), arrayHandle, value, offset, length);
+		record(V8NativeMethod.ADD_ARRAY_UTF8_ITEM, startTime, length);
 	}
 
 	void addArrayObjectItem(final long arrayHandle, final long value) {
+		long startTime = startTime();
 		V8API.get()._addArrayObjectItem(getContextPtr(), arrayHandle, value);
+		record(V8NativeMethod.ADD_ARRAY_OBJECT_ITEM, startTime);
 	}
 
 	void addArrayUndefinedItem(final long arrayHandle) {
+		long startTime = startTime();
 		V8API.get()._addArrayUndefinedItem(getContextPtr(), arrayHandle);
+		record(V8NativeMethod.ADD_ARRAY_UNDEFINED_ITEM, startTime);
 	}
 
 	void addArrayNullItem(final long arrayHandle) {
+		long startTime = startTime();
 		V8API.get()._addArrayNullItem(getContextPtr(), arrayHandle);
+		record(V8NativeMethod.ADD_ARRAY_NULL_ITEM, startTime);
 	}
 
 	String getConstructorName(final long objectHandle) {
-		return V8API.get()._getConstructorName(getContextPtr(), objectHandle);
+		long startTime = startTime();
+		String result = V8API.get()._getConstructorName(getContextPtr(), objectHandle);
+		record(V8NativeMethod.GET_CONSTRUCTOR_NAME, startTime, result);
+		return result;
 	}
 
 	int getType(final long objectHandle) {
-		return V8API.get()._getType(getContextPtr(), objectHandle);
+		long startTime = startTime();
+		int result = V8API.get()._getType(getContextPtr(), objectHandle);
+		record(V8NativeMethod.GET_TYPE, startTime);
+		return result;
 	}
 
 	int getType(final long objectHandle, final String key) {
-		return V8API.get()._getType(getContextPtr(), objectHandle, key);
+		long startTime = startTime();
+		int result = V8API.get()._getType(getContextPtr(), objectHandle, key);
+		record(V8NativeMethod.GET_TYPE, startTime, key);
+		return result;
 	}
 
 	int getType(final long objectHandle, final int index) {
-		return V8API.get()._getType(getContextPtr(), objectHandle, index);
+		long startTime = startTime();
+		int result = V8API.get()._getType(getContextPtr(), objectHandle, index);
+		record(V8NativeMethod.GET_TYPE, startTime);
+		return result;
 	}
 
 	int getArrayType(final long objectHandle) {
-		return V8API.get()._getArrayType(getContextPtr(), objectHandle);
+		long startTime = startTime();
+		int result = V8API.get()._getArrayType(getContextPtr(), objectHandle);
+		record(V8NativeMethod.GET_ARRAY_TYPE, startTime);
+		return result;
 	}
 
 	int getType(final long objectHandle, final int index, final int length) {
-		return V8API.get()._getType(getContextPtr(), objectHandle, index, length);
+		long startTime = startTime();
+		int result = V8API.get()._getType(getContextPtr(), objectHandle, index, length);
+		record(V8NativeMethod.GET_TYPE, startTime);
+		return result;
 	}
 
 	void setPrototype(final long objectHandle, final long prototypeHandle) {
+		long startTime = startTime();
 		V8API.get()._setPrototype(getContextPtr(), objectHandle, prototypeHandle);
+		record(V8NativeMethod.SET_PROTOTYPE, startTime);
 	}
 
 	int[] arrayGetIntegers(final long objectHandle, final int index, final int length) {
-		return V8API.get()._arrayGetIntegers(getContextPtr(), objectHandle, index, length);
+		long startTime = startTime();
+		int[] result = V8API.get()._arrayGetIntegers(getContextPtr(), objectHandle, index, length);
+		record(V8NativeMethod.ARRAY_GET_INTEGERS, startTime, V8Instrumentation.sizeOf(result));
+		return result;
 	}
 
 	double[] arrayGetDoubles(final long objectHandle, final int index, final int length) {
-		return V8API.get()._arrayGetDoubles(getContextPtr(), objectHandle, index, length);
+		long startTime = startTime();
+		double[] result = V8API.get()._arrayGetDoubles(getContextPtr(), objectHandle, index, length);
+		record(V8NativeMethod.ARRAY_GET_DOUBLES, startTime, V8Instrumentation.sizeOf(result));
+		return result;
 	}
 
 	boolean[] arrayGetBooleans(final long objectHandle, final int index, final int length) {
-		return V8API.get()._arrayGetBooleans(getContextPtr(), objectHandle, index, length);
+		long startTime = startTime();
+		boolean[] result = V8API.get()._arrayGetBooleans(getContextPtr(), objectHandle, index, length);
+		record(V8NativeMethod.ARRAY_GET_BOOLEANS, startTime, V8Instrumentation.sizeOf(result));
+		return result;
 	}
 
 	byte[] arrayGetBytes(final long objectHandle, final int index, final int length) {
-		return V8API.get()._arrayGetBytes(getContextPtr(), objectHandle, index, length);
+		long startTime = startTime();
+		byte[] result = V8API.get()._arrayGetBytes(getContextPtr(), objectHandle, index, length);
+		record(V8NativeMethod.ARRAY_GET_BYTES, startTime, V8Instrumentation.sizeOf(result));
+		return result;
 	}
 
 	String[] arrayGetStrings(final long objectHandle, final int index, final int length) {
-		return V8API.get()._arrayGetStrings(getContextPtr(), objectHandle, index, length);
+		long startTime = startTime();
+		String[] result = V8API.get()._arrayGetStrings(getContextPtr(), objectHandle, index, length);
+		record(V8NativeMethod.ARRAY_GET_STRINGS, startTime, result);
+		return result;
 	}
 
 	int arrayGetIntegers(final long objectHandle, final int index, final int length, final int[] resultArray) {
-		return V8API.get()._arrayGetIntegers(getContextPtr(), objectHandle, index, length, resultArray);
+		long startTime = startTime();
+		int result = V8API.get()._arrayGetIntegers(getContextPtr(), objectHandle, index, length, resultArray);
+		record(V8NativeMethod.ARRAY_GET_INTEGERS, startTime, V8Instrumentation.sizeOf(resultArray, result));
+		return result;
 	}
 
 	int arrayGetDoubles(final long objectHandle, final int index, final int length, final double[] resultArray) {
-		return V8API.get()._arrayGetDoubles(getContextPtr(), objectHandle, index, length, resultArray);
+		long startTime = startTime();
+		int result = V8API.get()._arrayGetDoubles(getContextPtr(), objectHandle, index, length, resultArray);
+		record(V8NativeMethod.ARRAY_GET_DOUBLES, startTime, V8Instrumentation.sizeOf(resultArray, result));
+		return result;
 	}
 
 	int arrayGetBooleans(final long objectHandle, final int index, final int length, final boolean[] resultArray) {
-		return V8API.get()._arrayGetBooleans(getContextPtr(), objectHandle, index, length, resultArray);
+		long startTime = startTime();
+		int result = V8API.get()._arrayGetBooleans(getContextPtr(), objectHandle, index, length, resultArray);
+		record(V8NativeMethod.ARRAY_GET_BOOLEANS, startTime, V8Instrumentation.sizeOf(resultArray, result));
+		return result;
 	}
 
 	int arrayGetBytes(final long objectHandle, final int index, final int length, final byte[] resultArray) {
-		return V8API.get()._arrayGetBytes(getContextPtr(), objectHandle, index, length, resultArray);
+		long startTime = startTime();
+		int result = V8API.get()._arrayGetBytes(getContextPtr(), objectHandle, index, length, resultArray);
+		record(V8NativeMethod.ARRAY_GET_BYTES, startTime, V8Instrumentation.sizeOf(resultArray, result));
+		return result;
 	}
 
 	int arrayGetStrings(final long objectHandle, final int index, final int length, final String[] resultArray) {
-		return V8API.get()._arrayGetStrings(getContextPtr(), objectHandle, index, length, resultArray);
+		long startTime = startTime();
+		int result = V8API.get()._arrayGetStrings(getContextPtr(), objectHandle, index, length, resultArray);
+		record(V8NativeMethod.ARRAY_GET_STRINGS, startTime, resultArray, result);
+		return result;
 	}
 
 	void releaseMethodDescriptor(final long methodDescriptor) {
+		long startTime = startTime();
 		V8API.get()._releaseMethodDescriptor(getContextPtr(), methodDescriptor);
+		record(V8NativeMethod.RELEASE_METHOD_DESCRIPTOR, startTime);
 	}
 
 	void createNodeRuntime(final String fileName) {
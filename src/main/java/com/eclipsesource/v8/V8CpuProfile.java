@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A CPU profile recorded by the sampling profiler of V8, see
+ * {@link V8Isolate#startCpuProfiling(String, int)}.
+ *
+ * The profile is a call tree of {@link V8CpuProfileNode}s, and the list of
+ * samples with the node at the top of the stack and the time of each
+ * sample. Times are in microseconds, on the clock used by V8. The profile
+ * can be written as a .cpuprofile file, which can be loaded by the Chrome
+ * developer tools.
+ */
+public final class V8CpuProfile {
+
+    // The values of every node passed by the native layer: id, child count,
+    // hit count, line number, column number and script id
+    private static final int         NODE_FIELDS  = 6;
+    // The strings of every node: function name, script name and bailout reason
+    private static final int         NODE_STRINGS = 3;
+
+    private final String             title;
+    private final V8CpuProfileNode[] nodes;
+    private final int[]              samples;
+    private final long[]             timestamps;
+    private final long               startTime;
+    private final long               endTime;
+
+    /*
+     * The nodes are passed in pre-order, every node being followed by
+     * the nodes of its subtree. The line ticks of every node are its
+     * number of hit lines, followed by a pair of line and ticks for each
+     * line. The times are the start and end time, followed by the
+     * timestamp of every sample.
+     */
+    V8CpuProfile(final String title, final int[] values, final String[] strings, final int[] lineTicks, final int[] samples, final long[] times) {
+        this.title = title;
+        this.samples = samples;
+        startTime = times[0];
+        endTime = times[1];
+        timestamps = Arrays.copyOfRange(times, 2, times.length);
+        int count = values.length / NODE_FIELDS;
+        nodes = new V8CpuProfileNode[count];
+        V8CpuProfileNode[] path = new V8CpuProfileNode[count];
+        int[] remainingChildren = new int[count];
+        int depth = 0;
+        int lineTickIndex = 0;
+        for (int i = 0; i < count; i++) {
+            while ((depth > 0) && (remainingChildren[depth - 1] == 0)) {
+                depth--;
+            }
+            V8CpuProfileNode parent = depth == 0 ? null : path[depth - 1];
+            int hitLineCount = lineTicks[lineTickIndex++];
+            int[] hitLines = new int[hitLineCount];
+            int[] hitLineTicks = new int[hitLineCount];
+            for (int j = 0; j < hitLineCount; j++) {
+                hitLines[j] = lineTicks[lineTickIndex++];
+                hitLineTicks[j] = lineTicks[lineTickIndex++];
+            }
+            int v = i * NODE_FIELDS;
+            int s = i * NODE_STRINGS;
+            V8CpuProfileNode node = new V8CpuProfileNode(parent, values[v], strings[s], strings[s + 1], values[v + 5], values[v + 3],
+                    values[v + 4], values[v + 2], strings[s + 2], hitLines, hitLineTicks, values[v + 1]);
+            if (parent != null) {
+                parent.addChild(node);
+                remainingChildren[depth - 1]--;
+            }
+            nodes[i] = node;
+            path[depth] = node;
+            remainingChildren[depth] = values[v + 1];
+            depth++;
+        }
+        // Descendants come after their ancestors, so the totals are complete when added to the parent
+        for (int i = count - 1; i > 0; i--) {
+            nodes[i].getParent().totalTicks += nodes[i].totalTicks;
+        }
+    }
+
+    /**
+     * Returns the title passed when the profiling was started.
+     *
+     * @return The title of this profile.
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Returns the root of the call tree, whose total ticks are the number
+     * of samples of the profile.
+     *
+     * @return The root node.
+     */
+    public V8CpuProfileNode getRoot() {
+        return nodes[0];
+    }
+
+    /**
+     * Returns all nodes of the call tree, in pre-order.
+     *
+     * @return An unmodifiable list of the nodes.
+     */
+    public List<V8CpuProfileNode> getNodes() {
+        return Collections.unmodifiableList(Arrays.asList(nodes));
+    }
+
+    /**
+     * Returns the time at which the profiling was started.
+     *
+     * @return The start time in microseconds.
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Returns the time at which the profiling was stopped.
+     *
+     * @return The end time in microseconds.
+     */
+    public long getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Returns the number of samples of this profile.
+     *
+     * @return The number of samples.
+     */
+    public int getSampleCount() {
+        return samples.length;
+    }
+
+    /**
+     * Returns the ID of the node at the top of the stack for every sample.
+     *
+     * @return A copy of the node IDs of the samples.
+     */
+    public int[] getSamples() {
+        return samples.clone();
+    }
+
+    /**
+     * Returns the time at which every sample was taken.
+     *
+     * @return A copy of the timestamps of the samples, in microseconds.
+     */
+    public long[] getTimestamps() {
+        return timestamps.clone();
+    }
+
+    /**
+     * Writes this profile as JSON, in the .cpuprofile format of the Chrome
+     * developer tools. The channel is not closed.
+     *
+     * @param channel The channel to write to.
+     *
+     * @throws IOException If the channel cannot be written to.
+     */
+    public void writeTo(final WritableByteChannel channel) throws IOException {
+        V8JsonWriter writer = new V8JsonWriter(channel);
+        writer.raw("{\"nodes\":[");
+        for (int i = 0; i < nodes.length; i++) {
+            if (i > 0) {
+                writer.raw(',');
+            }
+            writeNode(writer, nodes[i]);
+        }
+        writer.raw("],\"startTime\":").number(startTime);
+        writer.raw(",\"endTime\":").number(endTime);
+        writer.raw(",\"samples\":[");
+        for (int i = 0; i < samples.length; i++) {
+            if (i > 0) {
+                writer.raw(',');
+            }
+            writer.number(samples[i]);
+        }
+        writer.raw("],\"timeDeltas\":[");
+        long previous = startTime;
+        for (int i = 0; i < timestamps.length; i++) {
+            if (i > 0) {
+                writer.raw(',');
+            }
+            writer.number(timestamps[i] - previous);
+            previous = timestamps[i];
+        }
+        writer.raw("]}");
+        writer.flush();
+    }
+
+    private static void writeNode(final V8JsonWriter writer, final V8CpuProfileNode node) throws IOException {
+        writer.raw("{\"id\":").number(node.getId());
+        // Call frames use zero based line and column numbers
+        writer.raw(",\"callFrame\":{\"functionName\":").string(node.getFunctionName());
+        writer.raw(",\"scriptId\":").string(Integer.toString(node.getScriptId()));
+        writer.raw(",\"url\":").string(node.getUrl());
+        writer.raw(",\"lineNumber\":").number(node.getLineNumber() - 1);
+        writer.raw(",\"columnNumber\":").number(node.getColumnNumber() - 1);
+        writer.raw("},\"hitCount\":").number(node.getSelfTicks());
+        List<V8CpuProfileNode> children = node.getChildren();
+        if (!children.isEmpty()) {
+            writer.raw(",\"children\":[");
+            for (int i = 0; i < children.size(); i++) {
+                if (i > 0) {
+                    writer.raw(',');
+                }
+                writer.number(children.get(i).getId());
+            }
+            writer.raw(']');
+        }
+        if (!node.getBailoutReason().isEmpty()) {
+            writer.raw(",\"deoptReason\":").string(node.getBailoutReason());
+        }
+        if (node.getHitLineCount() > 0) {
+            writer.raw(",\"positionTicks\":[");
+            for (int i = 0; i < node.getHitLineCount(); i++) {
+                if (i > 0) {
+                    writer.raw(',');
+                }
+                writer.raw("{\"line\":").number(node.getHitLine(i)).raw(",\"ticks\":").number(node.getHitLineTick(i)).raw('}');
+            }
+            writer.raw(']');
+        }
+        writer.raw('}');
+    }
+
+}
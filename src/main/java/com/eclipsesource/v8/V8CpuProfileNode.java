@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A node of the call tree of a {@link V8CpuProfile}. Every node is a
+ * function called from the function of its parent node, and counts the
+ * samples that were taken while the function was at the top of the stack.
+ */
+public final class V8CpuProfileNode {
+
+    private final int                    id;
+    private final String                 functionName;
+    private final String                 url;
+    private final int                    scriptId;
+    private final int                    lineNumber;
+    private final int                    columnNumber;
+    private final int                    selfTicks;
+    private final String                 bailoutReason;
+    private final int[]                  hitLines;
+    private final int[]                  hitLineTicks;
+    private final V8CpuProfileNode       parent;
+    private final List<V8CpuProfileNode> children;
+    int                                  totalTicks;
+
+    V8CpuProfileNode(final V8CpuProfileNode parent, final int id, final String functionName, final String url, final int scriptId,
+            final int lineNumber, final int columnNumber, final int selfTicks, final String bailoutReason, final int[] hitLines,
+            final int[] hitLineTicks, final int childCount) {
+        this.parent = parent;
+        this.id = id;
+        this.functionName = functionName;
+        this.url = url;
+        this.scriptId = scriptId;
+        this.lineNumber = lineNumber;
+        this.columnNumber = columnNumber;
+        this.selfTicks = selfTicks;
+        this.bailoutReason = bailoutReason;
+        this.hitLines = hitLines;
+        this.hitLineTicks = hitLineTicks;
+        children = childCount == 0 ? Collections.<V8CpuProfileNode> emptyList() : new ArrayList<V8CpuProfileNode>(childCount);
+        totalTicks = selfTicks;
+    }
+
+    void addChild(final V8CpuProfileNode child) {
+        children.add(child);
+    }
+
+    /**
+     * Returns the ID of this node, which is unique within its profile and
+     * used by the samples of the profile.
+     *
+     * @return The ID of this node.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the name of the function, or an empty String for anonymous
+     * functions. The root node, and the nodes of time spent outside of
+     * JavaScript, have names in parentheses, such as "(root)",
+     * "(program)", "(idle)" or "(garbage collector)".
+     *
+     * @return The name of the function.
+     */
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    /**
+     * Returns the name of the script that defines the function, as passed
+     * to the execute*Script methods.
+     *
+     * @return The name of the script, or an empty String.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Returns the V8 ID of the script that defines the function.
+     *
+     * @return The ID of the script, or 0.
+     */
+    public int getScriptId() {
+        return scriptId;
+    }
+
+    /**
+     * Returns the line at which the function is defined, starting at 1.
+     *
+     * @return The line number, or 0 if it is not known.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the column at which the function is defined, starting at 1.
+     *
+     * @return The column number, or 0 if it is not known.
+     */
+    public int getColumnNumber() {
+        return columnNumber;
+    }
+
+    /**
+     * Returns the number of samples taken while the function of this node
+     * was at the top of the stack.
+     *
+     * @return The self ticks of this node.
+     */
+    public int getSelfTicks() {
+        return selfTicks;
+    }
+
+    /**
+     * Returns the number of samples taken while the function of this node
+     * was on the stack, including the samples of all its descendants.
+     *
+     * @return The total ticks of this node.
+     */
+    public int getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * Returns the reason why the function was not optimized.
+     *
+     * @return The bailout reason, or an empty String.
+     */
+    public String getBailoutReason() {
+        return bailoutReason;
+    }
+
+    /**
+     * Returns the lines of the function at which samples were taken,
+     * starting at 1. The number of samples of every line is at the same
+     * index in {@link #getHitLineTicks()}.
+     *
+     * @return A copy of the hit lines.
+     */
+    public int[] getHitLines() {
+        return hitLines.clone();
+    }
+
+    /**
+     * Returns the number of samples taken at each line of
+     * {@link #getHitLines()}.
+     *
+     * @return A copy of the ticks of the hit lines.
+     */
+    public int[] getHitLineTicks() {
+        return hitLineTicks.clone();
+    }
+
+    /**
+     * Returns the node of the calling function.
+     *
+     * @return The parent node, or null for the root node.
+     */
+    public V8CpuProfileNode getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the nodes of the functions called by this function.
+     *
+     * @return An unmodifiable list of the child nodes.
+     */
+    public List<V8CpuProfileNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    int getHitLineCount() {
+        return hitLines.length;
+    }
+
+    int getHitLine(final int index) {
+        return hitLines[index];
+    }
+
+    int getHitLineTick(final int index) {
+        return hitLineTicks[index];
+    }
+
+    @Override
+    public String toString() {
+        String name = functionName.isEmpty() ? "(anonymous)" : functionName;
+        return name + " " + url + ":" + lineNumber + " self=" + selfTicks + " total=" + totalTicks;
+    }
+
+}
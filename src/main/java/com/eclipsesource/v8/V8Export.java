@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method to be exposed to JavaScript.
+ *
+ * When the j2v8-processor annotation processor is on the compile path, it
+ * generates a class named <code>&lt;Class&gt;_V8Bindings</code> next to each
+ * class with exported methods. The generated class registers one
+ * {@link JavaCallback} or {@link JavaVoidCallback} per method, which reads the
+ * arguments with the typed getters of {@link V8Array} and calls the method
+ * directly, without reflection.
+ *
+ * Supported parameter types are int, long, float, double, boolean, their boxed
+ * types, String, Object, V8Value, V8Object, V8Array and V8Function. Supported
+ * return types are void, the primitives, their boxed types, String, Object and
+ * any V8Value.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface V8Export {
+
+    /**
+     * The name of the JavaScript function. Defaults to the name of the method.
+     *
+     * @return The name of the JavaScript function.
+     */
+    String value() default "";
+
+    /**
+     * True if the JavaScript receiver is passed as the first parameter,
+     * which must then be a V8Object.
+     *
+     * @return True if the receiver is included.
+     */
+    boolean includeReceiver() default false;
+
+}
@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+/**
+ * A set of dotted property paths, such as "result.score.value", together
+ * with the primitive values found at those paths.
+ *
+ * An extraction is filled by {@link V8Object#extract(V8Extraction)}, which
+ * resolves all paths in a single call to the native layer. Numbers and
+ * booleans are returned in a packed double array, Strings in a String
+ * array, and the type of every value is recorded. Values that are not
+ * primitives (Objects, Arrays, Functions, ...) only report their type.
+ *
+ * The values of an extraction can also be set from Java and written to an
+ * object in a single call with {@link V8Object#addAll(V8Extraction)}.
+ *
+ * Extractions have no native resources and can be reused for many objects.
+ */
+public final class V8Extraction {
+
+    private final String[] paths;
+    private final int[]    types;
+    private final double[] numbers;
+    private final String[] strings;
+
+    /**
+     * Creates a new extraction for the given paths. Path segments are
+     * separated by '.'.
+     *
+     * @param paths The paths to resolve.
+     */
+    public V8Extraction(final String... paths) {
+        if (paths == null) {
+            throw new IllegalArgumentException("Paths cannot be null");
+        }
+        for (String path : paths) {
+            if (path == null) {
+                throw new IllegalArgumentException("Path cannot be null");
+            }
+        }
+        this.paths = paths.clone();
+        types = new int[paths.length];
+        numbers = new double[paths.length];
+        strings = new String[paths.length];
+        clear();
+    }
+
+    /**
+     * Returns the number of paths in this extraction.
+     *
+     * @return The number of paths.
+     */
+    public int size() {
+        return paths.length;
+    }
+
+    /**
+     * Returns the path at the given index.
+     *
+     * @param index The index of the path.
+     *
+     * @return The path.
+     */
+    public String getPath(final int index) {
+        return paths[index];
+    }
+
+    /**
+     * Returns the type of the value found at the path with the given
+     * index, or UNDEFINED if the path could not be resolved. Types are
+     * the constants defined in V8API.
+     *
+     * @param index The index of the path.
+     *
+     * @return The type of the value.
+     */
+    public int getType(final int index) {
+        return types[index];
+    }
+
+    /**
+     * Returns the integer value found at the path with the given index.
+     * If the value is not a number, V8ResultUndefined is thrown.
+     *
+     * @param index The index of the path.
+     *
+     * @return The integer value.
+     */
+    public int getInteger(final int index) {
+        checkNumber(index);
+        return (int) numbers[index];
+    }
+
+    /**
+     * Returns the double value found at the path with the given index.
+     * If the value is not a number, V8ResultUndefined is thrown.
+     *
+     * @param index The index of the path.
+     *
+     * @return The double value.
+     */
+    public double getDouble(final int index) {
+        checkNumber(index);
+        return numbers[index];
+    }
+
+    /**
+     * Returns the boolean value found at the path with the given index.
+     * If the value is not a boolean, V8ResultUndefined is thrown.
+     *
+     * @param index The index of the path.
+     *
+     * @return The boolean value.
+     */
+    public boolean getBoolean(final int index) {
+        if (types[index] != V8API.BOOLEAN) {
+            throw new V8ResultUndefined();
+        }
+        return numbers[index] != 0;
+    }
+
+    /**
+     * Returns the String value found at the path with the given index,
+     * or null if the value is null. If the value is not a String,
+     * V8ResultUndefined is thrown.
+     *
+     * @param index The index of the path.
+     *
+     * @return The String value.
+     */
+    public String getString(final int index) {
+        if (types[index] == V8API.NULL) {
+            return null;
+        }
+        if (types[index] != V8API.STRING) {
+            throw new V8ResultUndefined();
+        }
+        return strings[index];
+    }
+
+    /**
+     * Sets the value of the path with the given index to an integer.
+     *
+     * @param index The index of the path.
+     * @param value The value to set.
+     *
+     * @return The receiver.
+     */
+    public V8Extraction setInteger(final int index, final int value) {
+        types[index] = V8API.INTEGER;
+        numbers[index] = value;
+        strings[index] = null;
+        return this;
+    }
+
+    /**
+     * Sets the value of the path with the given index to a double.
+     *
+     * @param index The index of the path.
+     * @param value The value to set.
+     *
+     * @return The receiver.
+     */
+    public V8Extraction setDouble(final int index, final double value) {
+        types[index] = V8API.DOUBLE;
+        numbers[index] = value;
+        strings[index] = null;
+        return this;
+    }
+
+    /**
+     * Sets the value of the path with the given index to a boolean.
+     *
+     * @param index The index of the path.
+     * @param value The value to set.
+     *
+     * @return The receiver.
+     */
+    public V8Extraction setBoolean(final int index, final boolean value) {
+        types[index] = V8API.BOOLEAN;
+        numbers[index] = value ? 1 : 0;
+        strings[index] = null;
+        return this;
+    }
+
+    /**
+     * Sets the value of the path with the given index to a String. A
+     * null String is stored as null.
+     *
+     * @param index The index of the path.
+     * @param value The value to set.
+     *
+     * @return The receiver.
+     */
+    public V8Extraction setString(final int index, final String value) {
+        types[index] = value == null ? V8API.NULL : V8API.STRING;
+        numbers[index] = 0;
+        strings[index] = value;
+        return this;
+    }
+
+    /**
+     * Sets the value of the path with the given index to UNDEFINED.
+     *
+     * @param index The index of the path.
+     *
+     * @return The receiver.
+     */
+    public V8Extraction setUndefined(final int index) {
+        types[index] = V8API.UNDEFINED;
+        numbers[index] = 0;
+        strings[index] = null;
+        return this;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "[Extraction size: " + paths.length + "]";
+    }
+
+    String[] getPaths() {
+        return paths;
+    }
+
+    int[] getTypes() {
+        return types;
+    }
+
+    double[] getNumbers() {
+        return numbers;
+    }
+
+    String[] getStrings() {
+        return strings;
+    }
+
+    void clear() {
+        for (int i = 0; i < paths.length; i++) {
+            types[i] = V8API.UNDEFINED;
+            numbers[i] = 0;
+            strings[i] = null;
+        }
+    }
+
+    private void checkNumber(final int index) {
+        if ((types[index] != V8API.INTEGER) && (types[index] != V8API.DOUBLE)) {
+            throw new V8ResultUndefined();
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+/**
+ * Emits the events of the runtimes to Java Flight Recorder.
+ *
+ * This version is used on Java 8 and Android, where it records nothing.
+ * The jar is a multi-release jar, and contains a version for Java 11 and
+ * later in META-INF/versions/11, which emits the events of
+ * src/main/java11. The recordings returned by the begin methods are
+ * opaque, and null when the event is not enabled.
+ */
+final class V8FlightRecorder {
+
+    private V8FlightRecorder() {
+    }
+
+    static boolean isExecutionEnabled() {
+        return false;
+    }
+
+    static Object beginExecution() {
+        return null;
+    }
+
+    static void endExecution(final Object recording, final V8TraceSpan span) {
+    }
+
+    static Object beginCallback() {
+        return null;
+    }
+
+    static void endCallback(final Object recording, final Object target) {
+    }
+
+    static Object beginLockerAcquire() {
+        return null;
+    }
+
+    static void endLockerAcquire(final Object recording) {
+    }
+
+    static Object beginIsolateCreation() {
+        return null;
+    }
+
+    static void endIsolateCreation(final Object recording) {
+    }
+
+    static Object beginIsolateRelease() {
+        return null;
+    }
+
+    static void endIsolateRelease(final Object recording) {
+    }
+
+    static int getRecordingChanges() {
+        return 0;
+    }
+
+    static boolean isGarbageCollectionEnabled() {
+        return false;
+    }
+
+    static void garbageCollected(final int type, final long pauseTime) {
+    }
+
+}
@@ -95,4 +95,27 @@ public class V8Function extends V8Object {
         return getContext().executeFunction(receiverHandle, objectHandle, parametersHandle);
     }
 
+    /**
+     * Invoke the JavaScript function on the current runtime, passing the
+     * arguments held by a reusable argument frame.
+     *
+     * @param receiver The object on which to call the function on. The
+     * receiver will be mapped to 'this' in JavaScript. If receiver is null
+     * or undefined, then the V8 runtime will be used instead.
+     * @param arguments The arguments passed to the JS Function. The frame
+     * is not modified and can be reused for subsequent calls.
+     *
+     * @return The result of JavaScript function.
+     */
+    @SuppressWarnings("resource")
+    public Object callWithFrame(V8Object receiver, final V8ArgumentFrame arguments) {
+        getIsolate().checkThread();
+        checkReleased();
+        getIsolate().checkRuntime(receiver);
+        arguments.checkValues(getIsolate());
+        receiver = receiver != null ? receiver : getContext();
+        long receiverHandle = receiver.isUndefined() ? getContext().getHandle() : receiver.getHandle();
+        return getContext().executeFunction(receiverHandle, objectHandle, arguments);
+    }
+
 }
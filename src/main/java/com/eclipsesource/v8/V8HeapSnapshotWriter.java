@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes the chunks of a heap snapshot, which the native layer copies
+ * into a direct buffer, to a channel. The snapshot is never held in
+ * memory, only one chunk at a time.
+ */
+final class V8HeapSnapshotWriter {
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer          buffer;
+    private IOException               exception;
+
+    V8HeapSnapshotWriter(final WritableByteChannel channel, final ByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    // Called by the native layer for every chunk, returns false to abort the snapshot
+    boolean writeChunk(final int length) {
+        buffer.clear();
+        buffer.limit(length);
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            return true;
+        } catch (IOException e) {
+            exception = e;
+            return false;
+        }
+    }
+
+    void checkException() throws IOException {
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A summary of the heap of a runtime, grouping the objects by constructor,
+ * see {@link V8Isolate#takeHeapSummary(int)}. Objects which are not
+ * created by a constructor are grouped by type, with names in parentheses
+ * such as "(string)", "(closure)" or "(compiled code)".
+ *
+ * Sizes are shallow sizes, the memory used by the objects themselves, not
+ * including the objects they reference.
+ */
+public final class V8HeapSummary {
+
+    private final List<Entry> entries;
+    private final long        totalCount;
+    private final long        totalSize;
+
+    /**
+     * The objects of one constructor, or type.
+     */
+    public static final class Entry {
+
+        private final String name;
+        private final long   count;
+        private final long   size;
+
+        Entry(final String name, final long count, final long size) {
+            this.name = name;
+            this.count = count;
+            this.size = size;
+        }
+
+        /**
+         * Returns the name of the constructor, or of the type.
+         *
+         * @return The name of this entry.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the number of objects of this entry.
+         *
+         * @return The number of objects.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the total shallow size of the objects of this entry.
+         *
+         * @return The size in bytes.
+         */
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + count + " objects, " + size + " bytes";
+        }
+
+    }
+
+    /*
+     * The values are a pair of count and size for every name.
+     */
+    V8HeapSummary(final String[] names, final long[] values, final int limit) {
+        List<Entry> all = new ArrayList<Entry>(names.length);
+        long count = 0;
+        long size = 0;
+        for (int i = 0; i < names.length; i++) {
+            all.add(new Entry(names[i], values[i * 2], values[(i * 2) + 1]));
+            count += values[i * 2];
+            size += values[(i * 2) + 1];
+        }
+        Collections.sort(all, new Comparator<Entry>() {
+
+            @Override
+            public int compare(final Entry first, final Entry second) {
+                return Long.compare(second.size, first.size);
+            }
+        });
+        entries = Collections.unmodifiableList(new ArrayList<Entry>(all.subList(0, Math.min(limit, all.size()))));
+        totalCount = count;
+        totalSize = size;
+    }
+
+    /**
+     * Returns the constructors with the largest total size, in descending
+     * order of size.
+     *
+     * @return An unmodifiable list of the entries.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the number of objects in the heap, including those of the
+     * entries which are not part of the summary.
+     *
+     * @return The number of objects.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the total shallow size of the objects in the heap, including
+     * those of the entries which are not part of the summary.
+     *
+     * @return The size in bytes.
+     */
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append(totalCount).append(" objects, ").append(totalSize).append(" bytes");
+        for (Entry entry : entries) {
+            result.append('\n').append(entry);
+        }
+        return result.toString();
+    }
+
+}
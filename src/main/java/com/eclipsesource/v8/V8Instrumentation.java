@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the calls of V8Context to the native methods of V8API: the
+ * number of invocations, a latency histogram, and the number of bytes of
+ * strings and arrays passed through JNI, per native method.
+ *
+ * Instrumentation is disabled by default, and enabled for the whole process
+ * with the system property <code>j2v8.instrumentation=true</code>. When
+ * disabled, the recording code is removed by the JIT, as it is guarded by
+ * the static final ENABLED flag.
+ *
+ * Every isolate records its own calls, see
+ * {@link V8Isolate#getInstrumentationSnapshot()}. The calls of all isolates,
+ * including released ones, are aggregated by {@link #getProcessSnapshot()}.
+ * Snapshots of an isolate taken from another thread while it is running
+ * may be slightly inconsistent.
+ */
+public final class V8Instrumentation {
+
+    /**
+     * Whether the native calls are recorded.
+     */
+    public static final boolean                  ENABLED  = Boolean.getBoolean("j2v8.instrumentation");
+
+    private static final V8NativeMethod[]        METHODS  = V8NativeMethod.values();
+    private static final List<V8Instrumentation> active   = new ArrayList<V8Instrumentation>();
+    private static final V8Instrumentation       released = new V8Instrumentation();
+
+    private final long[]                         invocations;
+    private final long[]                         bytes;
+    private final V8LatencyHistogram[]           latencies;
+
+    private V8Instrumentation() {
+        invocations = new long[METHODS.length];
+        bytes = new long[METHODS.length];
+        latencies = new V8LatencyHistogram[METHODS.length];
+        for (int i = 0; i < METHODS.length; i++) {
+            latencies[i] = new V8LatencyHistogram();
+        }
+    }
+
+    static V8Instrumentation create() {
+        V8Instrumentation result = new V8Instrumentation();
+        synchronized (active) {
+            active.add(result);
+        }
+        return result;
+    }
+
+    void record(final V8NativeMethod method, final long nanos, final long transferred) {
+        int index = method.ordinal();
+        invocations[index]++;
+        bytes[index] += transferred;
+        latencies[index].record(nanos);
+    }
+
+    // Keeps the calls of a released isolate in the process snapshot
+    void release() {
+        synchronized (active) {
+            if (active.remove(this)) {
+                addTo(released);
+            }
+        }
+    }
+
+    Snapshot snapshot() {
+        Snapshot result = new Snapshot();
+        addTo(result);
+        return result;
+    }
+
+    private void addTo(final V8Instrumentation target) {
+        for (int i = 0; i < METHODS.length; i++) {
+            target.invocations[i] += invocations[i];
+            target.bytes[i] += bytes[i];
+            target.latencies[i].add(latencies[i]);
+        }
+    }
+
+    private void addTo(final Snapshot target) {
+        for (int i = 0; i < METHODS.length; i++) {
+            target.invocations[i] += invocations[i];
+            target.bytes[i] += bytes[i];
+            target.latencies[i].add(latencies[i]);
+        }
+    }
+
+    /**
+     * Returns the calls of all isolates of this process, including the
+     * released ones. The snapshot is empty if instrumentation is disabled.
+     *
+     * @return A snapshot of the calls of all isolates.
+     */
+    public static Snapshot getProcessSnapshot() {
+        Snapshot result = new Snapshot();
+        synchronized (active) {
+            released.addTo(result);
+            for (V8Instrumentation instrumentation : active) {
+                instrumentation.addTo(result);
+            }
+        }
+        return result;
+    }
+
+    // ASCII strings are passed as one byte per character, other strings as UTF-16
+    static long sizeOf(final String value) {
+        if (value == null) {
+            return 0;
+        }
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c == 0) || (c >= 0x80)) {
+                return length * 2L;
+            }
+        }
+        return length;
+    }
+
+    static long sizeOf(final String[] values) {
+        return values == null ? 0 : sizeOf(values, values.length);
+    }
+
+    static long sizeOf(final String[] values, final int count) {
+        long result = 0;
+        for (int i = 0; i < count; i++) {
+            result += sizeOf(values[i]);
+        }
+        return result;
+    }
+
+    static long sizeOf(final int[] values) {
+        return values == null ? 0 : values.length * 4L;
+    }
+
+    static long sizeOf(final int[] values, final int count) {
+        return count * 4L;
+    }
+
+    static long sizeOf(final long[] values) {
+        return values == null ? 0 : values.length * 8L;
+    }
+
+    static long sizeOf(final double[] values) {
+        return values == null ? 0 : values.length * 8L;
+    }
+
+    static long sizeOf(final double[] values, final int count) {
+        return count * 8L;
+    }
+
+    static long sizeOf(final boolean[] values) {
+        return values == null ? 0 : values.length;
+    }
+
+    static long sizeOf(final boolean[] values, final int count) {
+        return count;
+    }
+
+    static long sizeOf(final byte[] values) {
+        return values == null ? 0 : values.length;
+    }
+
+    static long sizeOf(final byte[] values, final int count) {
+        return count;
+    }
+
+    static long sizeOf(final V8Extraction extraction) {
+        return sizeOf(extraction.getPaths()) + sizeOf(extraction.getTypes()) + sizeOf(extraction.getNumbers()) + sizeOf(extraction.getStrings());
+    }
+
+    /**
+     * The calls recorded up to some point, per native method.
+     */
+    public static final class Snapshot {
+
+        private final long[]               invocations = new long[METHODS.length];
+        private final long[]               bytes       = new long[METHODS.length];
+        private final V8LatencyHistogram[] latencies   = new V8LatencyHistogram[METHODS.length];
+
+        Snapshot() {
+            for (int i = 0; i < METHODS.length; i++) {
+                latencies[i] = new V8LatencyHistogram();
+            }
+        }
+
+        /**
+         * Returns the number of calls of a native method.
+         *
+         * @param method The native method.
+         *
+         * @return The number of calls.
+         */
+        public long getInvocationCount(final V8NativeMethod method) {
+            return invocations[method.ordinal()];
+        }
+
+        /**
+         * Returns the number of bytes of strings and arrays passed to and
+         * returned from a native method. ASCII strings are counted as one
+         * byte per character, as they cross JNI as one-byte strings, and
+         * other strings as UTF-16. UTF-8 buffers are counted as their
+         * number of bytes.
+         *
+         * @param method The native method.
+         *
+         * @return The number of bytes transferred.
+         */
+        public long getBytesTransferred(final V8NativeMethod method) {
+            return bytes[method.ordinal()];
+        }
+
+        /**
+         * Returns the histogram of the latencies of a native method.
+         *
+         * @param method The native method.
+         *
+         * @return The latency histogram.
+         */
+        public V8LatencyHistogram getLatency(final V8NativeMethod method) {
+            return latencies[method.ordinal()];
+        }
+
+        /**
+         * Returns the number of calls of all native methods.
+         *
+         * @return The number of calls.
+         */
+        public long getTotalInvocationCount() {
+            long result = 0;
+            for (long count : invocations) {
+                result += count;
+            }
+            return result;
+        }
+
+        /**
+         * Returns the time spent in all native methods.
+         *
+         * @return The total latency in nanoseconds.
+         */
+        public long getTotalNanos() {
+            long result = 0;
+            for (V8LatencyHistogram latency : latencies) {
+                result += latency.getTotalNanos();
+            }
+            return result;
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder();
+            result.append(String.format("%-40s %12s %14s %10s %10s %10s %14s%n", "method", "calls", "total ns", "p50 ns", "p99 ns", "max ns", "bytes"));
+            for (V8NativeMethod method : METHODS) {
+                V8LatencyHistogram latency = getLatency(method);
+                if (latency.getCount() > 0) {
+                    result.append(String.format("%-40s %12d %14d %10d %10d %10d %14d%n", method, getInvocationCount(method), latency.getTotalNanos(),
+                            latency.getValueAtPercentile(50), latency.getValueAtPercentile(99), latency.getMaxNanos(), getBytesTransferred(method)));
+                }
+            }
+            return result.toString();
+        }
+
+    }
+
+}
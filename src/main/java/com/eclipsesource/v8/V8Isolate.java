@@ -13,9 +13,13 @@ package com.eclipsesource.v8;
 import com.eclipsesource.v8.utils.V8Executor;
 import com.eclipsesource.v8.utils.V8Map;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
@@ -36,6 +40,8 @@ import java.util.function.Consumer;
 public class V8Isolate implements Releasable {
 
     private static final Object           lock                    = new Object();
+    private static final int              SNAPSHOT_CHUNK_SIZE     = 64 * 1024;
+    private static final int              LEAK_REPORT_SITES       = 10;
     private volatile static AtomicInteger runtimeCounter          = new AtomicInteger(0);
     private static String                 v8Flags                 = null;
     private static boolean                initialized             = false;
@@ -46,6 +52,19 @@ public class V8Isolate implements Releasable {
     private List<Releasable>              resources               = null;
     private V8Map<V8Executor>             executors               = null;
     private boolean                       forceTerminateExecutors = false;
+    private V8ReleaseQueue                releaseQueue            = null;
+    private V8LeakTracker                 leakTracker             = null;
+    private final V8Instrumentation       instrumentation         = V8Instrumentation.ENABLED ? V8Instrumentation.create() : null;
+    private V8Tracer                      tracer                  = null;
+    private double                        samplingRate            = 1;
+    private V8TraceSpan                   activeSpan              = null;
+    private String                        cpuProfileTitle         = null;
+    private ByteBuffer                    heapSnapshotBuffer      = null;
+    private boolean                       samplingHeapProfiler    = false;
+    private boolean                       perfMapEnabled          = false;
+    private V8CodeEventListener           codeEventListener       = null;
+    private boolean                       garbageCollectionEvents = false;
+    private int                           recordingChanges        = -1;
     private boolean                       released                = false;
 
     private static boolean                nativeLibraryLoaded     = false;
@@ -123,8 +142,10 @@ public class V8Isolate implements Releasable {
             initialized = true;
         }
 
+        Object flightRecording = V8FlightRecorder.beginIsolateCreation();
         V8Isolate runtime = new V8Isolate();
         runtimeCounter.incrementAndGet();
+        V8FlightRecorder.endIsolateCreation(flightRecording);
 
         return runtime;
     }
@@ -133,6 +154,7 @@ public class V8Isolate implements Releasable {
         isolatePtr = V8API.get()._createIsolate(this);
         locker = new V8Locker(this);
         checkThread();
+        updateGarbageCollectionEvents();
     }
 
     public long getIsolatePtr() {
@@ -143,6 +165,108 @@ public class V8Isolate implements Releasable {
         contexts.forEach(contextConsumer);
     }
 
+    private boolean isWeakReference(final long objectHandle) {
+        for (V8Context context : contexts) {
+            if (context.isWeakReference(objectHandle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Called by the native layer once after a garbage collection, with a pair
+    // of context pointer and handle for every weak reference it collected
+    void weakReferencesReleased(final long[] entries) {
+        V8Context context = null;
+        for (int i = 0; i < entries.length; i += 2) {
+            if ((context == null) || (context.getContextPtr() != entries[i])) {
+                context = findContext(entries[i]);
+            }
+            if (context != null) {
+                context.weakReferenceReleased(entries[i + 1]);
+            }
+        }
+    }
+
+    // Called by the native layer once after a garbage collection, with a pair
+    // of context pointer and method ID for every function descriptor it freed.
+    // Released contexts are included, as their registries are freed again when
+    // the isolate is released. The pointer of a released context may have been
+    // reused, so the ID is removed from every context with that pointer.
+    void methodDescriptorsReleased(final long[] entries) {
+        for (int i = 0; i < entries.length; i += 2) {
+            for (V8Context context : contexts) {
+                if (context.getContextPtr() == entries[i]) {
+                    context.disposeMethodID(entries[i + 1]);
+                }
+            }
+        }
+    }
+
+    // Called by the native layer once after a garbage collection, with a pair
+    // of context pointer and proxy ID for every proxy descriptor it freed.
+    // Released contexts are included, as for the method descriptors.
+    void proxyDescriptorsReleased(final long[] entries) {
+        for (int i = 0; i < entries.length; i += 2) {
+            for (V8Context context : contexts) {
+                if (context.getContextPtr() == entries[i]) {
+                    context.disposeProxy(entries[i + 1]);
+                }
+            }
+        }
+    }
+
+    // Called by the native layer after every garbage collection, while the
+    // garbage collection events are enabled, with its GCType and pause time
+    void garbageCollected(final int type, final long pauseTime) {
+        V8FlightRecorder.garbageCollected(type, pauseTime);
+    }
+
+    // Installs the garbage collection callbacks while the GarbageCollection event
+    // is enabled in a recording. Called on the isolate thread when it is created
+    // and before every traced execution, and only checks the event again after a
+    // recording changed state.
+    void updateGarbageCollectionEvents() {
+        int changes = V8FlightRecorder.getRecordingChanges();
+        if (changes == recordingChanges) {
+            return;
+        }
+        recordingChanges = changes;
+        boolean enabled = V8FlightRecorder.isGarbageCollectionEnabled();
+        if (enabled != garbageCollectionEvents) {
+            V8API._setGarbageCollectionEvents(isolatePtr, enabled);
+            garbageCollectionEvents = enabled;
+        }
+    }
+
+    // Called by the native layer for every code event, while the listener is set
+    void codeEvent(final int type, final long address, final long size, final long newAddress, final String name) {
+        V8CodeEventListener listener = codeEventListener;
+        if (listener == null) {
+            return;
+        }
+        try {
+            if (type == V8API.CODE_ADDED) {
+                listener.codeAdded(address, size, name);
+            } else if (type == V8API.CODE_MOVED) {
+                listener.codeMoved(address, newAddress);
+            } else {
+                listener.codeRemoved(address);
+            }
+        } catch (RuntimeException e) {
+            // Exceptions cannot be thrown into V8 while it generates or moves code
+        }
+    }
+
+    private V8Context findContext(final long contextPtr) {
+        for (V8Context context : contexts) {
+            if (!context.isReleased() && (context.getContextPtr() == contextPtr)) {
+                return context;
+            }
+        }
+        return null;
+    }
+
     private static void checkNativeLibraryLoaded() {
         if (!nativeLibraryLoaded) {
             String vendorName = LibraryLoader.computeLibraryShortName(true);
@@ -189,6 +313,21 @@ public class V8Isolate implements Releasable {
         return refCount.get();
     }
 
+    /**
+     * Returns the number of native method descriptors of this runtime. A
+     * descriptor is created for every Java callback registered on an object,
+     * and for every V8Function backed by a Java callback. It is freed when
+     * V8 collects the functions using it, or when the runtime is released.
+     *
+     * @return The number of live method descriptors on this runtime.
+     */
+    public long getMethodDescriptorCount() {
+        AtomicLong count = new AtomicLong(0);
+        doAllContexts(v8Ctx -> count.addAndGet(v8Ctx.methodDescriptorCount()));
+
+        return count.get();
+    }
+
     /**
      * Gets the version of the V8 engine
      *
@@ -242,6 +381,8 @@ public class V8Isolate implements Releasable {
             return;
         }
         checkThread();
+        Object flightRecording = V8FlightRecorder.beginIsolateRelease();
+        releaseCollectedValues();
         try {
             doAllContexts(V8Context::notifyReleaseHandlers);
         } finally {
@@ -251,12 +392,35 @@ public class V8Isolate implements Releasable {
                 executors.clear();
             }
             doAllContexts(V8Context::releaseNativeMethodDescriptors);
+            doAllContexts(V8Context::releaseNativeProxyDescriptors);
             doAllContexts(V8Context::close);
+            if (cpuProfileTitle != null) {
+                V8API._stopCpuProfiling(isolatePtr, cpuProfileTitle);
+                cpuProfileTitle = null;
+            }
+            if (samplingHeapProfiler) {
+                V8API._stopSamplingHeapProfiler(isolatePtr);
+                samplingHeapProfiler = false;
+            }
+            if (perfMapEnabled || (codeEventListener != null)) {
+                V8API._setCodeEventOutputs(isolatePtr, 0);
+                perfMapEnabled = false;
+                codeEventListener = null;
+            }
             runtimeCounter.decrementAndGet();
             V8API._releaseIsolate(isolatePtr);
             released = true;
+            V8FlightRecorder.endIsolateRelease(flightRecording);
+            if (instrumentation != null) {
+                instrumentation.release();
+            }
             if (reportMemoryLeaks && (getObjectReferenceCount() > 0)) {
-                throw new IllegalStateException(getObjectReferenceCount() + " Object(s) still exist in runtime");
+                String message = getObjectReferenceCount() + " Object(s) still exist in runtime";
+                if (leakTracker != null) {
+                    // Weak values are not counted as leaks, so their sites are not reported either
+                    message += "\n" + leakTracker.report(LEAK_REPORT_SITES, this::isWeakReference);
+                }
+                throw new IllegalStateException(message);
             }
         }
     }
@@ -355,6 +519,447 @@ public class V8Isolate implements Releasable {
     }
 
 
+    /**
+     * Enables the automatic release of V8Values that are garbage collected
+     * without being released. Only values created after this call are tracked.
+     *
+     * Collected values are released on the thread of this runtime, in batches,
+     * when the locker is acquired, before a script or function is executed, or
+     * when {@link #releaseCollectedValues()} is called. Values should still be
+     * released explicitly, as the garbage collector gives no guarantee about
+     * when, or if, a value is collected.
+     */
+    public void enableAutoRelease() {
+        checkThread();
+        if (releaseQueue == null) {
+            releaseQueue = new V8ReleaseQueue();
+        }
+    }
+
+    /**
+     * Determines if V8Values that are garbage collected without being
+     * released are released automatically.
+     *
+     * @return True if automatic release is enabled, false otherwise.
+     */
+    public boolean isAutoReleaseEnabled() {
+        return releaseQueue != null;
+    }
+
+    /**
+     * Releases the V8Values that were garbage collected without being
+     * released. Does nothing unless automatic release is enabled.
+     *
+     * @return The number of values that were released.
+     */
+    public int releaseCollectedValues() {
+        if (releaseQueue == null) {
+            return 0;
+        }
+        checkThread();
+        return releaseQueue.drain();
+    }
+
+    V8ReleaseQueue getReleaseQueue() {
+        return releaseQueue;
+    }
+
+    /**
+     * Enables the tracking of leaked V8Values. A fraction of the values
+     * created after this call are sampled, and the stack at which each
+     * sampled value was created is recorded until the value is released,
+     * so the allocation sites of the values which are never released can
+     * be reported with {@link #getLeakReport(int)}, and by
+     * {@link #release(boolean)} when it reports memory leaks.
+     *
+     * Capturing a stack is expensive, so low sampling rates should be used
+     * in production. Weak values are tracked until they are released or
+     * collected, and are included in {@link #getLeakReport(int)}, but not in
+     * the report of {@link #release(boolean)}, as they are not counted as
+     * leaks.
+     *
+     * @param samplingRate The fraction of values that are sampled, between
+     * 0 and 1.
+     * @param capacity The maximum number of live values whose stack is
+     * recorded. Samples are dropped while the table is full.
+     */
+    public void enableLeakTracking(final double samplingRate, final int capacity) {
+        checkThread();
+        if (!((samplingRate >= 0) && (samplingRate <= 1))) {
+            throw new IllegalArgumentException("Sampling rate must be between 0 and 1: " + samplingRate);
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        leakTracker = new V8LeakTracker(samplingRate, capacity);
+    }
+
+    /**
+     * Disables the tracking of leaked V8Values, and discards the recorded
+     * stacks.
+     */
+    public void disableLeakTracking() {
+        checkThread();
+        leakTracker = null;
+    }
+
+    /**
+     * Determines if leaked V8Values are tracked.
+     *
+     * @return True if leak tracking is enabled, false otherwise.
+     */
+    public boolean isLeakTrackingEnabled() {
+        return leakTracker != null;
+    }
+
+    /**
+     * Returns the allocation sites of the sampled V8Values which were not
+     * released yet.
+     *
+     * @param limit The maximum number of sites in the report.
+     *
+     * @return The report of the live values.
+     */
+    public V8LeakReport getLeakReport(final int limit) {
+        checkThread();
+        if (leakTracker == null) {
+            throw new IllegalStateException("Leak tracking not enabled");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        return leakTracker.report(limit);
+    }
+
+    V8LeakTracker getLeakTracker() {
+        return leakTracker;
+    }
+
+    /**
+     * Returns the calls of this runtime to the native methods, with their
+     * latencies and the bytes transferred. The snapshot is empty unless
+     * instrumentation is enabled, see {@link V8Instrumentation}.
+     *
+     * @return A snapshot of the native calls of this runtime.
+     */
+    public V8Instrumentation.Snapshot getInstrumentationSnapshot() {
+        if (instrumentation == null) {
+            return new V8Instrumentation.Snapshot();
+        }
+        return instrumentation.snapshot();
+    }
+
+    V8Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * Reports the execution of every script and function of this runtime
+     * to a tracer, see {@link #setTracer(V8Tracer, double)}.
+     *
+     * @param tracer The tracer, or null to disable tracing.
+     */
+    public void setTracer(final V8Tracer tracer) {
+        setTracer(tracer, 1);
+    }
+
+    /**
+     * Reports the execution of scripts and functions of this runtime to a
+     * tracer. Every execution is sampled independently, so a span may be
+     * reported while its parent is not. Spans which were started before
+     * the tracer is replaced are still reported to the previous tracer
+     * when they end.
+     *
+     * @param tracer The tracer, or null to disable tracing.
+     * @param samplingRate The fraction of executions that are reported,
+     * between 0 and 1.
+     */
+    public void setTracer(final V8Tracer tracer, final double samplingRate) {
+        checkThread();
+        if (!((samplingRate >= 0) && (samplingRate <= 1))) {
+            throw new IllegalArgumentException("Sampling rate must be between 0 and 1: " + samplingRate);
+        }
+        this.tracer = tracer;
+        this.samplingRate = samplingRate;
+    }
+
+    /**
+     * Returns the tracer of this runtime.
+     *
+     * @return The tracer, or null if tracing is disabled.
+     */
+    public V8Tracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Returns the sampling rate of the tracer of this runtime.
+     *
+     * @return The fraction of executions that are reported.
+     */
+    public double getTracerSamplingRate() {
+        return samplingRate;
+    }
+
+    boolean sampleSpan() {
+        if (tracer == null) {
+            return false;
+        }
+        return (samplingRate >= 1) || (ThreadLocalRandom.current().nextDouble() < samplingRate);
+    }
+
+    V8TraceSpan startSpan(final V8Context context, final boolean sampled, final boolean recorded, final V8TraceSpan.Kind kind,
+            final String name, final int lineNumber) {
+        V8TraceSpan span = new V8TraceSpan(context, sampled ? tracer : null, activeSpan, kind, name, lineNumber);
+        span.start(recorded);
+        activeSpan = span;
+        return span;
+    }
+
+    void endSpan(final V8TraceSpan span, final int resultType, final Throwable exception) {
+        activeSpan = span.getParent();
+        span.end(resultType, exception);
+    }
+
+    /**
+     * Starts the sampling CPU profiler of V8 on this runtime. Only one
+     * profile can be recorded at a time. The profiler samples the stack of
+     * the runtime thread, and should only be enabled on demand, as it adds
+     * overhead to the execution.
+     *
+     * @param title The title of the profile.
+     * @param samplingInterval The interval between samples in microseconds.
+     */
+    public void startCpuProfiling(final String title, final int samplingInterval) {
+        checkThread();
+        if (title == null) {
+            throw new IllegalArgumentException("Title cannot be null");
+        }
+        if (samplingInterval <= 0) {
+            throw new IllegalArgumentException("Sampling interval must be positive: " + samplingInterval);
+        }
+        if (cpuProfileTitle != null) {
+            throw new IllegalStateException("CPU profiling already started: " + cpuProfileTitle);
+        }
+        V8API._startCpuProfiling(getIsolatePtr(), title, samplingInterval);
+        cpuProfileTitle = title;
+    }
+
+    /**
+     * Determines if the CPU profiler is running on this runtime.
+     *
+     * @return True if CPU profiling was started and not stopped yet.
+     */
+    public boolean isCpuProfiling() {
+        return cpuProfileTitle != null;
+    }
+
+    /**
+     * Stops the CPU profiler, and returns the recorded profile.
+     *
+     * @return The CPU profile.
+     */
+    public V8CpuProfile stopCpuProfiling() {
+        checkThread();
+        if (cpuProfileTitle == null) {
+            throw new IllegalStateException("CPU profiling not started");
+        }
+        String title = cpuProfileTitle;
+        cpuProfileTitle = null;
+        Object[] profile = V8API._stopCpuProfiling(getIsolatePtr(), title);
+        if (profile == null) {
+            throw new V8RuntimeException("CPU profile not found: " + title);
+        }
+        return new V8CpuProfile(title, (int[]) profile[0], (String[]) profile[1], (int[]) profile[2], (int[]) profile[3], (long[]) profile[4]);
+    }
+
+    /**
+     * Starts the sampling heap profiler of V8 on this runtime. The profiler
+     * records the stack of one allocation every sampling interval bytes
+     * on average, so its overhead is low enough to be left running.
+     *
+     * @param samplingInterval The average number of bytes between samples.
+     * @param stackDepth The maximum number of frames recorded per sample.
+     */
+    public void startSamplingHeapProfiler(final long samplingInterval, final int stackDepth) {
+        checkThread();
+        if (samplingInterval <= 0) {
+            throw new IllegalArgumentException("Sampling interval must be positive: " + samplingInterval);
+        }
+        if (stackDepth <= 0) {
+            throw new IllegalArgumentException("Stack depth must be positive: " + stackDepth);
+        }
+        if (samplingHeapProfiler) {
+            throw new IllegalStateException("Sampling heap profiler already started");
+        }
+        if (!V8API._startSamplingHeapProfiler(getIsolatePtr(), samplingInterval, stackDepth)) {
+            throw new V8RuntimeException("Sampling heap profiler could not be started");
+        }
+        samplingHeapProfiler = true;
+    }
+
+    /**
+     * Determines if the sampling heap profiler is running on this runtime.
+     *
+     * @return True if the sampling heap profiler was started and not
+     * stopped yet.
+     */
+    public boolean isSamplingHeapProfiler() {
+        return samplingHeapProfiler;
+    }
+
+    /**
+     * Returns the allocations sampled since the sampling heap profiler was
+     * started, whose objects are still alive. The profiler keeps running.
+     *
+     * @return The allocation profile.
+     */
+    public V8AllocationProfile getAllocationProfile() {
+        checkThread();
+        if (!samplingHeapProfiler) {
+            throw new IllegalStateException("Sampling heap profiler not started");
+        }
+        Object[] profile = V8API._getAllocationProfile(getIsolatePtr());
+        if (profile == null) {
+            throw new V8RuntimeException("Allocation profile not available");
+        }
+        return new V8AllocationProfile((int[]) profile[0], (String[]) profile[1], (long[]) profile[2]);
+    }
+
+    /**
+     * Stops the sampling heap profiler, and discards its samples.
+     */
+    public void stopSamplingHeapProfiler() {
+        checkThread();
+        if (!samplingHeapProfiler) {
+            throw new IllegalStateException("Sampling heap profiler not started");
+        }
+        samplingHeapProfiler = false;
+        V8API._stopSamplingHeapProfiler(getIsolatePtr());
+    }
+
+    /**
+     * Enables or disables the perf map of this runtime. While it is enabled,
+     * the code V8 generates for the runtime is appended to
+     * /tmp/perf-&lt;pid&gt;.map, so perf and async-profiler can show the
+     * JavaScript functions of the stacks they sample. The existing code
+     * is written when the perf map is enabled, and code moved by the garbage
+     * collector is written again. The file is shared by all runtimes of the
+     * process, and is not removed. Perf maps are only supported on Linux.
+     *
+     * Code events have a cost on every compilation and garbage collection,
+     * so the perf map should only be enabled while profiling.
+     *
+     * @param enabled True to enable the perf map, false to disable it.
+     */
+    public void setPerfMapEnabled(final boolean enabled) {
+        checkThread();
+        if (enabled == perfMapEnabled) {
+            return;
+        }
+        setCodeEventOutputs(enabled, codeEventListener != null);
+        perfMapEnabled = enabled;
+    }
+
+    /**
+     * Determines if the perf map of this runtime is enabled.
+     *
+     * @return True if the code of this runtime is written to the perf map.
+     */
+    public boolean isPerfMapEnabled() {
+        return perfMapEnabled;
+    }
+
+    /**
+     * Sets the listener which receives the code V8 generates for this
+     * runtime, such as for a profiler which resolves native addresses
+     * itself. The existing code is reported when a listener is set, and
+     * code events stop when the listener is removed, so they only have a
+     * cost while profiling.
+     *
+     * @param listener The listener, or null to remove the current one.
+     */
+    public void setCodeEventListener(final V8CodeEventListener listener) {
+        checkThread();
+        if ((listener != null) && (codeEventListener != null)) {
+            // The code of the runtime is only enumerated for a new output
+            setCodeEventOutputs(perfMapEnabled, false);
+            codeEventListener = null;
+        }
+        codeEventListener = listener;
+        try {
+            setCodeEventOutputs(perfMapEnabled, listener != null);
+        } catch (RuntimeException e) {
+            codeEventListener = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the listener which receives the code events of this runtime.
+     *
+     * @return The code event listener, or null if none is set.
+     */
+    public V8CodeEventListener getCodeEventListener() {
+        return codeEventListener;
+    }
+
+    private void setCodeEventOutputs(final boolean perfMap, final boolean listener) {
+        int outputs = (perfMap ? V8API.CODE_EVENTS_PERF_MAP : 0) | (listener ? V8API.CODE_EVENTS_LISTENER : 0);
+        if (!V8API._setCodeEventOutputs(getIsolatePtr(), outputs)) {
+            throw new V8RuntimeException("Perf map could not be opened");
+        }
+    }
+
+    /**
+     * Takes a heap snapshot of this runtime, and writes it as JSON, in the
+     * .heapsnapshot format of the Chrome developer tools. The snapshot is
+     * written while it is serialized, through a direct buffer which is
+     * reused by the following snapshots, so it is never held in memory.
+     * The channel is not closed.
+     *
+     * Taking a snapshot triggers garbage collections, and stops the runtime
+     * for a time proportional to the size of the heap.
+     *
+     * @param channel The channel to write to.
+     *
+     * @throws IOException If the channel cannot be written to, in which
+     * case the rest of the snapshot is discarded.
+     */
+    public void takeHeapSnapshot(final WritableByteChannel channel) throws IOException {
+        checkThread();
+        if (heapSnapshotBuffer == null) {
+            heapSnapshotBuffer = ByteBuffer.allocateDirect(SNAPSHOT_CHUNK_SIZE);
+        }
+        V8HeapSnapshotWriter writer = new V8HeapSnapshotWriter(channel, heapSnapshotBuffer);
+        V8API._takeHeapSnapshot(getIsolatePtr(), writer, heapSnapshotBuffer);
+        writer.checkException();
+    }
+
+    /**
+     * Takes a full heap snapshot of this runtime, and returns the
+     * constructors whose objects use the most memory.
+     *
+     * This costs as much as {@link #takeHeapSnapshot(WritableByteChannel)}
+     * on the V8 side: the snapshot triggers garbage collections, and stops
+     * the runtime while the whole heap is traversed. Only the transfer of
+     * the snapshot to Java is saved, as it is aggregated natively and
+     * discarded. It is not suited to frequent sampling. The calling thread
+     * must hold the locker of this runtime.
+     *
+     * @param limit The maximum number of constructors in the summary.
+     *
+     * @return The summary of the heap.
+     */
+    public V8HeapSummary takeHeapSummary(final int limit) {
+        checkThread();
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        Object[] summary = V8API._takeHeapSnapshotSummary(getIsolatePtr());
+        return new V8HeapSummary((String[]) summary[0], (long[]) summary[1], limit);
+    }
+
     /**
      * Creates a new context within the runtime.
      */
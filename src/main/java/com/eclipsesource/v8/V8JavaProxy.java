@@ -0,0 +1,464 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A JavaScript object whose properties are backed by a Java object.
+ *
+ * Unlike {@link com.eclipsesource.v8.utils.V8ObjectUtils#toV8Object(V8Context, Map)},
+ * nothing is copied when the proxy is created. Every property read from
+ * JavaScript calls back into Java and only converts the value that was read,
+ * so the cost of exposing an object depends on the properties that are used,
+ * not on the size of the object.
+ *
+ * The target can be a Map (String keys are exposed as properties), a List or
+ * an Object array (exposed by index, with a length property), or any other
+ * object, in which case its public fields and bean properties are exposed.
+ * The accessors of a class are looked up once and shared by all proxies.
+ *
+ * Values that are not primitives are returned to JavaScript as proxies
+ * themselves. Writes from JavaScript are passed on to the target, unless the
+ * proxy is read-only, in which case they throw an exception in JavaScript.
+ * Only primitive values can be written through a proxy.
+ *
+ * Like all V8Objects, proxies must be released. The target is held until
+ * the JavaScript object has been garbage collected.
+ */
+public class V8JavaProxy extends V8Object {
+
+    static final Object NOT_FOUND = new Object();
+
+    private static final int NONE      = 0;
+    private static final int READ_ONLY = 1;
+
+    private static final Map<Class<?>, ClassAccessors> accessorCache = new ConcurrentHashMap<Class<?>, ClassAccessors>();
+
+    private Target target;
+
+    /**
+     * Create a JavaScript object whose properties are read from and written
+     * to the given Java object.
+     *
+     * @param v8Context The v8 context on which to create the proxy
+     * @param target The Java object to expose
+     */
+    public V8JavaProxy(final V8Context v8Context, final Object target) {
+        this(v8Context, target, false);
+    }
+
+    /**
+     * Create a JavaScript object whose properties are read from the given
+     * Java object.
+     *
+     * @param v8Context The v8 context on which to create the proxy
+     * @param target The Java object to expose
+     * @param readOnly True if writes from JavaScript should be rejected
+     */
+    public V8JavaProxy(final V8Context v8Context, final Object target, final boolean readOnly) {
+        super(v8Context, new Target(target, readOnly));
+    }
+
+    protected V8JavaProxy(final V8Context v8Context) {
+        super(v8Context);
+    }
+
+    @Override
+    protected V8Value createTwin() {
+        V8JavaProxy twin = new V8JavaProxy(getContext());
+        twin.target = target;
+        return twin;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.eclipsesource.v8.V8Object#twin()
+     */
+    @Override
+    public V8JavaProxy twin() {
+        return (V8JavaProxy) super.twin();
+    }
+
+    @Override
+    protected void initialize(final Object data) {
+        if (data == null) {
+            super.initialize(null);
+            return;
+        }
+        target = (Target) data;
+        long[] pointers = getContext().initNewV8JavaProxy();
+        // position 0 is the object reference, position 1 is the proxy reference
+        getContext().registerProxy(pointers[1], target);
+        released = false;
+        addObjectReference(pointers[0]);
+    }
+
+    /**
+     * Returns the Java object this proxy exposes.
+     *
+     * @return The target of this proxy.
+     */
+    public Object getTarget() {
+        return target.target;
+    }
+
+    /**
+     * Returns true if writes from JavaScript are rejected.
+     *
+     * @return True if this proxy is read-only.
+     */
+    public boolean isReadOnly() {
+        return target.readOnly;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.eclipsesource.v8.V8Object#toString()
+     */
+    @Override
+    public String toString() {
+        if (released || getContext().isReleased()) {
+            return "[Proxy released]";
+        }
+        return super.toString();
+    }
+
+    static ClassAccessors getAccessors(final Class<?> type) {
+        return accessorCache.computeIfAbsent(type, ClassAccessors::new);
+    }
+
+    /**
+     * The Java side of a proxy. It is registered with the context and
+     * called by the native interceptors.
+     */
+    static final class Target {
+
+        final Object         target;
+        final boolean        readOnly;
+        final List<Object>   list;
+        final ClassAccessors accessors;
+
+        Target(final Object target, final boolean readOnly) {
+            if (target == null) {
+                throw new IllegalArgumentException("Target cannot be null");
+            }
+            this.target = target;
+            this.readOnly = readOnly;
+            list = toList(target);
+            accessors = ((target instanceof Map) || (list != null)) ? null : getAccessors(target.getClass());
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<Object> toList(final Object target) {
+            if (target instanceof List) {
+                return (List<Object>) target;
+            } else if (target instanceof Object[]) {
+                return Arrays.asList((Object[]) target);
+            }
+            return null;
+        }
+
+        Object get(final V8Context v8Context, final String name) {
+            if (list != null) {
+                return "length".equals(name) ? list.size() : NOT_FOUND;
+            } else if (accessors == null) {
+                Map<?, ?> map = (Map<?, ?>) target;
+                Object value = map.get(name);
+                if ((value == null) && !map.containsKey(name)) {
+                    return NOT_FOUND;
+                }
+                return toJS(v8Context, value);
+            }
+            Accessor accessor = accessors.get(name);
+            if (accessor == null) {
+                return NOT_FOUND;
+            }
+            return toJS(v8Context, accessor.get(target));
+        }
+
+        Object get(final V8Context v8Context, final int index) {
+            if ((list == null) || (index >= list.size())) {
+                return NOT_FOUND;
+            }
+            return toJS(v8Context, list.get(index));
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean set(final String name, final Object value) {
+            try {
+                if (list != null) {
+                    return false;
+                } else if (accessors == null) {
+                    checkWritable();
+                    ((Map<Object, Object>) target).put(name, fromJS(value, Object.class));
+                    return true;
+                }
+                Accessor accessor = accessors.get(name);
+                if (accessor == null) {
+                    if (readOnly) {
+                        checkWritable();
+                    }
+                    return false;
+                }
+                checkWritable();
+                accessor.set(target, fromJS(value, accessor.type));
+                return true;
+            } finally {
+                release(value);
+            }
+        }
+
+        boolean set(final int index, final Object value) {
+            try {
+                if (list == null) {
+                    return false;
+                }
+                checkWritable();
+                Object element = fromJS(value, Object.class);
+                if (index == list.size()) {
+                    list.add(element);
+                } else {
+                    list.set(index, element);
+                }
+                return true;
+            } finally {
+                release(value);
+            }
+        }
+
+        int query(final String name) {
+            boolean found;
+            if (list != null) {
+                found = "length".equals(name);
+            } else if (accessors == null) {
+                found = ((Map<?, ?>) target).containsKey(name);
+            } else {
+                found = accessors.get(name) != null;
+            }
+            if (!found) {
+                return -1;
+            }
+            return readOnly ? READ_ONLY : NONE;
+        }
+
+        int query(final int index) {
+            if ((list == null) || (index >= list.size())) {
+                return -1;
+            }
+            return readOnly ? READ_ONLY : NONE;
+        }
+
+        String[] getKeys() {
+            if (list != null) {
+                return new String[0];
+            } else if (accessors == null) {
+                List<String> keys = new ArrayList<String>();
+                for (Object key : ((Map<?, ?>) target).keySet()) {
+                    if (key instanceof String) {
+                        keys.add((String) key);
+                    }
+                }
+                return keys.toArray(new String[keys.size()]);
+            }
+            return accessors.names;
+        }
+
+        int size() {
+            return list == null ? 0 : list.size();
+        }
+
+        private void checkWritable() {
+            if (readOnly) {
+                throw new UnsupportedOperationException("Java proxy is read-only");
+            }
+        }
+
+        private Object toJS(final V8Context v8Context, final Object value) {
+            if ((value == null) || (value instanceof Integer) || (value instanceof Double)
+                    || (value instanceof Boolean) || (value instanceof String)) {
+                return value;
+            } else if ((value instanceof Short) || (value instanceof Byte)) {
+                return ((Number) value).intValue();
+            } else if (value instanceof Number) {
+                return ((Number) value).doubleValue();
+            } else if ((value instanceof Character) || (value instanceof Enum)) {
+                return value.toString();
+            } else if (value instanceof V8Value) {
+                // the native layer releases the result, so hand out a twin
+                v8Context.getIsolate().checkRuntime((V8Value) value);
+                return ((V8Value) value).twin();
+            }
+            return new V8JavaProxy(v8Context, value, readOnly);
+        }
+
+        private static Object fromJS(final Object value, final Class<?> type) {
+            if (value instanceof V8Value) {
+                if (((V8Value) value).isUndefined()) {
+                    return fromJS(null, type);
+                }
+                throw new IllegalArgumentException("Only primitive values can be assigned to a Java proxy");
+            }
+            if (value == null) {
+                if (type.isPrimitive()) {
+                    throw new IllegalArgumentException("Cannot assign null to " + type.getName());
+                }
+                return null;
+            }
+            if (value instanceof Number) {
+                Number number = (Number) value;
+                if ((type == int.class) || (type == Integer.class)) {
+                    return number.intValue();
+                } else if ((type == long.class) || (type == Long.class)) {
+                    return number.longValue();
+                } else if ((type == double.class) || (type == Double.class)) {
+                    return number.doubleValue();
+                } else if ((type == float.class) || (type == Float.class)) {
+                    return number.floatValue();
+                } else if ((type == short.class) || (type == Short.class)) {
+                    return number.shortValue();
+                } else if ((type == byte.class) || (type == Byte.class)) {
+                    return number.byteValue();
+                }
+            }
+            return value;
+        }
+
+        private static void release(final Object value) {
+            if (value instanceof V8Value) {
+                ((V8Value) value).close();
+            }
+        }
+
+    }
+
+    /**
+     * The public fields and bean properties of a class, looked up once.
+     */
+    static final class ClassAccessors {
+
+        final Map<String, Accessor> accessors = new HashMap<String, Accessor>();
+        final String[]              names;
+
+        ClassAccessors(final Class<?> type) {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            for (Field field : type.getFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers)) {
+                    continue;
+                }
+                try {
+                    MethodHandle setter = Modifier.isFinal(modifiers) ? null : lookup.unreflectSetter(field);
+                    accessors.put(field.getName(), new Accessor(lookup.unreflectGetter(field), setter, field.getType()));
+                } catch (IllegalAccessException e) {
+                    // not accessible, the field is not exposed
+                }
+            }
+            for (Method method : type.getMethods()) {
+                String name = getPropertyName(method);
+                if ((name == null) || accessors.containsKey(name)) {
+                    continue;
+                }
+                try {
+                    accessors.put(name, new Accessor(lookup.unreflect(method), findSetter(lookup, type, method), method.getReturnType()));
+                } catch (IllegalAccessException e) {
+                    // not accessible, the property is not exposed
+                }
+            }
+            names = accessors.keySet().toArray(new String[accessors.size()]);
+        }
+
+        Accessor get(final String name) {
+            return accessors.get(name);
+        }
+
+        private static String getPropertyName(final Method method) {
+            if (Modifier.isStatic(method.getModifiers()) || (method.getParameterTypes().length != 0)
+                    || (method.getDeclaringClass() == Object.class)) {
+                return null;
+            }
+            String name = method.getName();
+            if (name.startsWith("get") && (name.length() > 3) && (method.getReturnType() != void.class)) {
+                return decapitalize(name.substring(3));
+            } else if (name.startsWith("is") && (name.length() > 2) && (method.getReturnType() == boolean.class)) {
+                return decapitalize(name.substring(2));
+            }
+            return null;
+        }
+
+        private static MethodHandle findSetter(final MethodHandles.Lookup lookup, final Class<?> type, final Method getter) throws IllegalAccessException {
+            String name = getter.getName();
+            String setterName = "set" + name.substring(name.startsWith("is") ? 2 : 3);
+            try {
+                Method setter = type.getMethod(setterName, getter.getReturnType());
+                return Modifier.isStatic(setter.getModifiers()) ? null : lookup.unreflect(setter);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        private static String decapitalize(final String name) {
+            if ((name.length() > 1) && Character.isUpperCase(name.charAt(1))) {
+                return name;
+            }
+            return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+        }
+
+    }
+
+    static final class Accessor {
+
+        final MethodHandle getter;
+        final MethodHandle setter;
+        final Class<?>     type;
+
+        Accessor(final MethodHandle getter, final MethodHandle setter, final Class<?> type) {
+            this.getter = getter;
+            this.setter = setter;
+            this.type = type;
+        }
+
+        Object get(final Object target) {
+            try {
+                return getter.invoke(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
+
+        void set(final Object target, final Object value) {
+            if (setter == null) {
+                throw new UnsupportedOperationException("Property is read-only");
+            }
+            try {
+                setter.invoke(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes JSON documents as UTF-8 to a channel, through a fixed size
+ * buffer, so large documents such as profiles are never held in memory.
+ *
+ * The writer does not validate the structure of the document, callers
+ * are responsible for writing separators in the right places. The
+ * channel is not closed.
+ */
+final class V8JsonWriter {
+
+    private static final int            BUFFER_SIZE = 8192;
+    private static final char[]         HEX         = "0123456789abcdef".toCharArray();
+
+    private final WritableByteChannel   channel;
+    private final CharBuffer            chars       = CharBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer            bytes       = ByteBuffer.allocate(BUFFER_SIZE * 3);
+    private final CharsetEncoder        encoder     = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    V8JsonWriter(final WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Writes characters that need no escaping, such as punctuation and
+     * property names known to be plain ASCII.
+     */
+    V8JsonWriter raw(final String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            put(value.charAt(i));
+        }
+        return this;
+    }
+
+    V8JsonWriter raw(final char value) throws IOException {
+        put(value);
+        return this;
+    }
+
+    V8JsonWriter number(final long value) throws IOException {
+        return raw(Long.toString(value));
+    }
+
+    V8JsonWriter number(final double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return raw("null");
+        }
+        if ((value == Math.rint(value)) && (Math.abs(value) < 1e15)) {
+            return number((long) value);
+        }
+        return raw(Double.toString(value));
+    }
+
+    V8JsonWriter string(final String value) throws IOException {
+        if (value == null) {
+            return raw("null");
+        }
+        put('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    raw("\\\"");
+                    break;
+                case '\\':
+                    raw("\\\\");
+                    break;
+                case '\n':
+                    raw("\\n");
+                    break;
+                case '\r':
+                    raw("\\r");
+                    break;
+                case '\t':
+                    raw("\\t");
+                    break;
+                default:
+                    if ((c < 0x20) || (c == '\u2028') || (c == '\u2029')) {
+                        raw("\\u").raw(HEX[(c >> 12) & 0xF]).raw(HEX[(c >> 8) & 0xF]).raw(HEX[(c >> 4) & 0xF]).raw(HEX[c & 0xF]);
+                    } else {
+                        put(c);
+                    }
+            }
+        }
+        put('"');
+        return this;
+    }
+
+    /**
+     * Writes out all buffered characters.
+     */
+    void flush() throws IOException {
+        encode(true);
+    }
+
+    private void put(final char c) throws IOException {
+        if (!chars.hasRemaining()) {
+            encode(false);
+        }
+        chars.put(c);
+    }
+
+    private void encode(final boolean endOfInput) throws IOException {
+        chars.flip();
+        encoder.encode(chars, bytes, endOfInput);
+        if (endOfInput) {
+            encoder.flush(bytes);
+            encoder.reset();
+        }
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+        // A high surrogate at the end of the buffer is kept for the next call
+        chars.compact();
+    }
+
+}
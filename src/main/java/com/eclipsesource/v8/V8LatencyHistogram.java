@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+/**
+ * A histogram of latencies in nanoseconds, with log-linear buckets in the
+ * style of HdrHistogram. Every power of two is split in 16 buckets, so
+ * values are recorded with a relative error below 1/16, and recording is a
+ * few bit operations on a fixed array.
+ *
+ * A histogram is not thread safe.
+ */
+public final class V8LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS  = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT     = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final long[]     counts           = new long[BUCKET_COUNT];
+    private long             count;
+    private long             total;
+    private long             min              = Long.MAX_VALUE;
+    private long             max;
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos The latency in nanoseconds. Negative values are recorded as 0.
+     */
+    public void record(final long nanos) {
+        long value = Math.max(nanos, 0);
+        counts[indexOf(value)]++;
+        count++;
+        total += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Adds the latencies recorded by another histogram to this one.
+     *
+     * @param other The histogram to add.
+     */
+    public void add(final V8LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        total += other.total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns a copy of this histogram.
+     *
+     * @return A new histogram with the latencies of this one.
+     */
+    public V8LatencyHistogram copy() {
+        V8LatencyHistogram result = new V8LatencyHistogram();
+        result.add(this);
+        return result;
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return The number of recorded latencies.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of all recorded latencies.
+     *
+     * @return The total latency in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return total;
+    }
+
+    /**
+     * Returns the smallest recorded latency, or 0 if nothing was recorded.
+     *
+     * @return The smallest latency in nanoseconds.
+     */
+    public long getMinNanos() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Returns the largest recorded latency.
+     *
+     * @return The largest latency in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the recorded latencies, or 0 if nothing was recorded.
+     *
+     * @return The mean latency in nanoseconds.
+     */
+    public double getMeanNanos() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Returns the latency below which the given percentage of the recorded
+     * latencies fall. The result is the upper bound of the bucket containing
+     * the percentile, and never larger than the maximum.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     *
+     * @return The latency at the percentile in nanoseconds, or 0 if nothing
+     * was recorded.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if ((percentile < 0) || (percentile > 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil((percentile / 100) * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(Math.min(highestValueOf(i), max), getMinNanos());
+            }
+        }
+        return max;
+    }
+
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // The highest bit selects the bucket, the next bits the sub-bucket
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+    }
+
+    static long highestValueOf(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lowest = ((long) (SUB_BUCKET_COUNT | (index & (SUB_BUCKET_COUNT - 1)))) << shift;
+        return (lowest + (1L << shift)) - 1;
+    }
+
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The allocation sites of the live handles sampled by the leak tracking of
+ * a runtime, see {@link V8Isolate#enableLeakTracking(double, int)}.
+ *
+ * Only a fraction of the handles are sampled, so the counts of the sites
+ * are estimated by dividing the sampled counts by the sampling rate.
+ */
+public final class V8LeakReport {
+
+    private final List<Site> sites;
+    private final long       sampledHandles;
+    private final long       droppedSamples;
+    private final double     samplingRate;
+
+    /**
+     * The sampled live handles created at the same stack.
+     */
+    public static final class Site {
+
+        private final StackTraceElement[] stackTrace;
+        private final long                count;
+        private final double              samplingRate;
+
+        Site(final StackTraceElement[] stackTrace, final long count, final double samplingRate) {
+            this.stackTrace = stackTrace;
+            this.count = count;
+            this.samplingRate = samplingRate;
+        }
+
+        /**
+         * Returns the stack at which the handles were created, starting at
+         * the caller of J2V8.
+         *
+         * @return A copy of the stack trace.
+         */
+        public StackTraceElement[] getStackTrace() {
+            return stackTrace.clone();
+        }
+
+        /**
+         * Returns the number of sampled handles created at this site which
+         * were not released.
+         *
+         * @return The sampled number of live handles.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the estimated number of handles created at this site which
+         * were not released, including those which were not sampled.
+         *
+         * @return The estimated number of live handles.
+         */
+        public long getEstimatedCount() {
+            return Math.round(count / samplingRate);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder();
+            result.append(getEstimatedCount()).append(" handle(s), ").append(count).append(" sampled");
+            for (StackTraceElement frame : stackTrace) {
+                result.append("\n\tat ").append(frame);
+            }
+            return result.toString();
+        }
+
+    }
+
+    V8LeakReport(final List<Site> all, final long sampledHandles, final long droppedSamples, final double samplingRate,
+            final int limit) {
+        List<Site> sorted = new ArrayList<Site>(all);
+        Collections.sort(sorted, new Comparator<Site>() {
+
+            @Override
+            public int compare(final Site first, final Site second) {
+                return Long.compare(second.count, first.count);
+            }
+        });
+        sites = Collections.unmodifiableList(new ArrayList<Site>(sorted.subList(0, Math.min(limit, sorted.size()))));
+        this.sampledHandles = sampledHandles;
+        this.droppedSamples = droppedSamples;
+        this.samplingRate = samplingRate;
+    }
+
+    /**
+     * Returns the allocation sites with the most live handles, in
+     * descending order of count.
+     *
+     * @return An unmodifiable list of the sites.
+     */
+    public List<Site> getSites() {
+        return sites;
+    }
+
+    /**
+     * Returns the number of sampled handles which were not released,
+     * including those of the sites which are not part of the report.
+     *
+     * @return The sampled number of live handles.
+     */
+    public long getSampledHandles() {
+        return sampledHandles;
+    }
+
+    /**
+     * Returns the number of samples which were discarded because the table
+     * of the tracker was full. The counts are underestimated when samples
+     * were dropped.
+     *
+     * @return The number of dropped samples.
+     */
+    public long getDroppedSamples() {
+        return droppedSamples;
+    }
+
+    /**
+     * Returns the fraction of the handles which were sampled.
+     *
+     * @return The sampling rate, between 0 and 1.
+     */
+    public double getSamplingRate() {
+        return samplingRate;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append(sampledHandles).append(" sampled live handle(s), sampling rate ").append(samplingRate);
+        if (droppedSamples > 0) {
+            result.append(", ").append(droppedSamples).append(" dropped sample(s)");
+        }
+        for (Site site : sites) {
+            result.append('\n').append(site);
+        }
+        return result.toString();
+    }
+
+}
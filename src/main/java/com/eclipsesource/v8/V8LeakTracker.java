@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongPredicate;
+
+/**
+ * Samples the creation of the handles of an isolate, and records the stack
+ * at which each sampled handle was created until it is released, so the
+ * allocation sites of leaked handles can be reported. The handles of weak
+ * values stay tracked until the values are collected.
+ *
+ * Only sampled handles capture a stack, and the table of stacks is bounded,
+ * so the cost of unsampled handles is a random number. The tracker is used
+ * on the isolate thread, and is not thread safe.
+ */
+final class V8LeakTracker {
+
+    private static final int         MAX_FRAMES       = 32;
+    private static final int         INITIAL_CAPACITY = 1024;
+    private static final String      PACKAGE          = "com.eclipsesource.v8.";
+
+    // The classes whose frames are skipped, so the stacks start at the caller of J2V8
+    private static final Set<String> internalClasses  = new HashSet<String>(Arrays.asList(
+            "V8LeakTracker", "V8Isolate", "V8Context", "V8API", "V8Value", "V8Object", "V8Object$Undefined", "V8Array",
+            "V8Array$Undefined", "V8TypedArray", "V8ArrayBuffer", "V8Function", "V8JavaProxy", "V8PropertyKey"));
+
+    private final double                             samplingRate;
+    private final int                                capacity;
+    private final LongObjectMap<StackTraceElement[]> stacks;
+    private long                                     droppedSamples;
+
+    V8LeakTracker(final double samplingRate, final int capacity) {
+        this.samplingRate = samplingRate;
+        this.capacity = capacity;
+        stacks = new LongObjectMap<StackTraceElement[]>(Math.min(capacity, INITIAL_CAPACITY));
+    }
+
+    double getSamplingRate() {
+        return samplingRate;
+    }
+
+    void handleCreated(final long objectHandle) {
+        if ((samplingRate < 1) && (ThreadLocalRandom.current().nextDouble() >= samplingRate)) {
+            return;
+        }
+        if (stacks.size() >= capacity) {
+            droppedSamples++;
+            return;
+        }
+        stacks.put(objectHandle, captureStack());
+    }
+
+    void handleReleased(final long objectHandle) {
+        if (!stacks.isEmpty()) {
+            stacks.remove(objectHandle);
+        }
+    }
+
+    V8LeakReport report(final int limit) {
+        return report(limit, null);
+    }
+
+    // The handles matched by excluded, if any, are left out of the report
+    V8LeakReport report(final int limit, final LongPredicate excluded) {
+        Map<List<StackTraceElement>, long[]> counts = new HashMap<List<StackTraceElement>, long[]>();
+        int sampledHandles = 0;
+        for (long handle : stacks.keys()) {
+            if ((excluded != null) && excluded.test(handle)) {
+                continue;
+            }
+            sampledHandles++;
+            List<StackTraceElement> site = Arrays.asList(stacks.get(handle));
+            long[] count = counts.get(site);
+            if (count == null) {
+                counts.put(site, new long[] { 1 });
+            } else {
+                count[0]++;
+            }
+        }
+        List<V8LeakReport.Site> sites = new ArrayList<V8LeakReport.Site>(counts.size());
+        for (Map.Entry<List<StackTraceElement>, long[]> entry : counts.entrySet()) {
+            StackTraceElement[] stack = entry.getKey().toArray(new StackTraceElement[0]);
+            sites.add(new V8LeakReport.Site(stack, entry.getValue()[0], samplingRate));
+        }
+        return new V8LeakReport(sites, sampledHandles, droppedSamples, samplingRate, limit);
+    }
+
+    private static StackTraceElement[] captureStack() {
+        StackTraceElement[] stack = new Throwable().getStackTrace();
+        int start = 0;
+        while ((start < stack.length) && isInternal(stack[start])) {
+            start++;
+        }
+        return Arrays.copyOfRange(stack, start, Math.min(stack.length, start + MAX_FRAMES));
+    }
+
+    private static boolean isInternal(final StackTraceElement frame) {
+        String className = frame.getClassName();
+        return className.startsWith(PACKAGE) && internalClasses.contains(className.substring(PACKAGE.length()));
+    }
+
+}
@@ -47,9 +47,12 @@ public class V8Locker {
         } else if ((thread == Thread.currentThread())) {
             return;
         }
+        Object flightRecording = V8FlightRecorder.beginLockerAcquire();
         runtime.acquireLock();
+        V8FlightRecorder.endLockerAcquire(flightRecording);
         thread = Thread.currentThread();
         released = false;
+        runtime.releaseCollectedValues();
     }
 
     /**
@@ -65,9 +68,12 @@ public class V8Locker {
         } else if (thread == Thread.currentThread()) {
             return true;
         }
+        Object flightRecording = V8FlightRecorder.beginLockerAcquire();
         runtime.acquireLock();
+        V8FlightRecorder.endLockerAcquire(flightRecording);
         thread = Thread.currentThread();
         released = false;
+        runtime.releaseCollectedValues();
         return true;
     }
 
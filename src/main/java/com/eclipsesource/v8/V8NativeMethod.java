@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+/**
+ * The native methods of V8API called by a V8Context, as recorded by
+ * V8Instrumentation. Overloads of a native method share their constant.
+ */
+public enum V8NativeMethod {
+
+    RELEASE_ALL,
+    EXECUTE_INTEGER_SCRIPT,
+    EXECUTE_DOUBLE_SCRIPT,
+    EXECUTE_STRING_SCRIPT,
+    EXECUTE_BOOLEAN_SCRIPT,
+    EXECUTE_VOID_SCRIPT,
+    GET_GLOBAL_OBJECT,
+    INSTALL_BINDING,
+    INIT_NEW_V8_JAVA_PROXY,
+    INIT_NEW_V8_OBJECT,
+    INIT_EMPTY_CONTAINER,
+    CREATE_TWIN,
+    EXECUTE_SCRIPT,
+    SET_WEAK,
+    CLEAR_WEAK,
+    IS_WEAK,
+    RELEASE,
+    CONTAINS,
+    GET_KEYS,
+    GET_INTEGER,
+    GET_BOOLEAN,
+    GET_DOUBLE,
+    GET_STRING,
+    GET_UTF8,
+    GET,
+    INIT_NEW_V8_PROPERTY_KEY,
+    RELEASE_PROPERTY_KEY,
+    CONTAINS_BY_KEY,
+    GET_TYPE_BY_KEY,
+    GET_BY_KEY,
+    GET_INTEGER_BY_KEY,
+    GET_BOOLEAN_BY_KEY,
+    GET_DOUBLE_BY_KEY,
+    GET_STRING_BY_KEY,
+    ADD_INTEGER_BY_KEY,
+    ADD_BOOLEAN_BY_KEY,
+    ADD_DOUBLE_BY_KEY,
+    ADD_STRING_BY_KEY,
+    ADD_OBJECT_BY_KEY,
+    ADD_UNDEFINED_BY_KEY,
+    ADD_NULL_BY_KEY,
+    GET_PATH,
+    GET_PATH_BY_KEYS,
+    GET_TYPE_AT_PATH,
+    GET_INTEGER_AT_PATH,
+    GET_BOOLEAN_AT_PATH,
+    GET_DOUBLE_AT_PATH,
+    GET_STRING_AT_PATH,
+    EXTRACT,
+    ADD_ALL,
+    EXECUTE_INTEGER_FUNCTION,
+    EXECUTE_DOUBLE_FUNCTION,
+    EXECUTE_STRING_FUNCTION,
+    EXECUTE_BOOLEAN_FUNCTION,
+    EXECUTE_FUNCTION,
+    EXECUTE_FUNCTION_WITH_FRAME,
+    CALL_FUNCTION_WITH_FRAME,
+    EXECUTE_VOID_FUNCTION,
+    EQUALS,
+    TO_STRING,
+    STRICT_EQUALS,
+    SAME_VALUE,
+    IDENTITY_HASH,
+    ADD,
+    ADD_OBJECT,
+    ADD_UTF8,
+    ADD_UNDEFINED,
+    ADD_NULL,
+    REGISTER_JAVA_METHOD,
+    INIT_NEW_V8_ARRAY_BUFFER,
+    INIT_NEW_V8_INT32_ARRAY,
+    INIT_NEW_V8_FLOAT32_ARRAY,
+    INIT_NEW_V8_FLOAT64_ARRAY,
+    INIT_NEW_V8_UINT32_ARRAY,
+    INIT_NEW_V8_UINT16_ARRAY,
+    INIT_NEW_V8_INT16_ARRAY,
+    INIT_NEW_V8_UINT8_ARRAY,
+    INIT_NEW_V8_INT8_ARRAY,
+    INIT_NEW_V8_UINT8_CLAMPED_ARRAY,
+    CREATE_V8_ARRAY_BUFFER_BACKING_STORE,
+    INIT_NEW_V8_ARRAY,
+    INIT_NEW_V8_FUNCTION,
+    ARRAY_GET_SIZE,
+    ARRAY_GET_INTEGER,
+    ARRAY_GET_BOOLEAN,
+    ARRAY_GET_BYTE,
+    ARRAY_GET_DOUBLE,
+    ARRAY_GET_STRING,
+    ARRAY_GET_UTF8,
+    ARRAY_GET,
+    ADD_ARRAY_INT_ITEM,
+    ADD_ARRAY_BOOLEAN_ITEM,
+    ADD_ARRAY_DOUBLE_ITEM,
+    ADD_ARRAY_STRING_ITEM,
+    ADD_ARRAY_UTF8_ITEM,
+    ADD_ARRAY_OBJECT_ITEM,
+    ADD_ARRAY_UNDEFINED_ITEM,
+    ADD_ARRAY_NULL_ITEM,
+    GET_CONSTRUCTOR_NAME,
+    GET_TYPE,
+    GET_ARRAY_TYPE,
+    SET_PROTOTYPE,
+    ARRAY_GET_INTEGERS,
+    ARRAY_GET_DOUBLES,
+    ARRAY_GET_BOOLEANS,
+    ARRAY_GET_BYTES,
+    ARRAY_GET_STRINGS,
+    RELEASE_METHOD_DESCRIPTOR;
+
+}
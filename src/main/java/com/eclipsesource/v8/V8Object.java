@@ -11,6 +11,7 @@
 package com.eclipsesource.v8;
 
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 
 /**
  * The concrete class for all V8 Objects. V8Objects are
@@ -189,6 +190,33 @@ public class V8Object extends V8Value {
         return getContext().getString(objectHandle, key);
     }
 
+    /**
+     * Writes the String value associated with this key to a direct buffer,
+     * encoded as UTF-8, without creating a Java String. The bytes are written
+     * at the position of the buffer, and the position is advanced past them.
+     * If the remaining space of the buffer is too small, nothing is written.
+     * If the value associated with this key does not exist, or if it's not a
+     * String, then V8ResultUndefined exception is thrown.
+     *
+     * @param key The key whose value to write.
+     * @param buffer The direct buffer to write the value to.
+     *
+     * @return The length of the value in UTF-8 bytes. If it is larger than
+     * the remaining space of the buffer, nothing was written.
+     */
+    public int getUTF8(final String key, final ByteBuffer buffer) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(key);
+        checkDirect(buffer);
+        int position = buffer.position();
+        int length = getContext().getUTF8(objectHandle, key, buffer, position, buffer.remaining());
+        if (length <= buffer.remaining()) {
+            buffer.position(position + length);
+        }
+        return length;
+    }
+
     /**
      * Returns the V8Array value associated with this key. If the value
      * associated with this key does not exist then UNDEFINED is returned.
@@ -245,6 +273,7 @@ public class V8Object extends V8Value {
     public int executeIntegerFunction(final String name, final V8Array parameters) {
         getIsolate().checkThread();
         checkReleased();
+        beforeModification();
         getIsolate().checkRuntime(parameters);
         long parametersHandle = parameters == null ? 0 : parameters.getHandle();
         return getContext().executeIntegerFunction(getHandle(), name, parametersHandle);
@@ -264,6 +293,7 @@ public class V8Object extends V8Value {
     public double executeDoubleFunction(final String name, final V8Array parameters) {
         getIsolate().checkThread();
         checkReleased();
+        beforeModification();
         getIsolate().checkRuntime(parameters);
         long parametersHandle = parameters == null ? 0 : parameters.getHandle();
         return getContext().executeDoubleFunction(getHandle(), name, parametersHandle);
@@ -283,6 +313,7 @@ public class V8Object extends V8Value {
     public String executeStringFunction(final String name, final V8Array parameters) {
         getIsolate().checkThread();
         checkReleased();
+        beforeModification();
         getIsolate().checkRuntime(parameters);
         long parametersHandle = parameters == null ? 0 : parameters.getHandle();
         return getContext().executeStringFunction(getHandle(), name, parametersHandle);
@@ -302,6 +333,7 @@ public class V8Object extends V8Value {
     public boolean executeBooleanFunction(final String name, final V8Array parameters) {
         getIsolate().checkThread();
         checkReleased();
+        beforeModification();
         getIsolate().checkRuntime(parameters);
         long parametersHandle = parameters == null ? 0 : parameters.getHandle();
         return getContext().executeBooleanFunction(getHandle(), name, parametersHandle);
@@ -321,6 +353,7 @@ public class V8Object extends V8Value {
     public V8Array executeArrayFunction(final String name, final V8Array parameters) {
         getIsolate().checkThread();
         checkReleased();
+        beforeModification();
         getIsolate().checkRuntime(parameters);
         long parametersHandle = parameters == null ? 0 : parameters.getHandle();
         Object result = getContext().executeFunction(V8API.V8_ARRAY, objectHandle, name, parametersHandle);
@@ -344,6 +377,7 @@ public class V8Object extends V8Value {
     public V8Object executeObjectFunction(final String name, final V8Array parameters) {
         getIsolate().checkThread();
         checkReleased();
+        beforeModification();
         getIsolate().checkRuntime(parameters);
         long parametersHandle = parameters == null ? 0 : parameters.getHandle();
         Object result = getContext().executeFunction(V8API.V8_OBJECT, objectHandle, name, parametersHandle);
@@ -365,11 +399,32 @@ public class V8Object extends V8Value {
     public Object executeFunction(final String name, final V8Array parameters) {
         getIsolate().checkThread();
         checkReleased();
+        beforeModification();
         getIsolate().checkRuntime(parameters);
         long parametersHandle = parameters == null ? 0 : parameters.getHandle();
         return getContext().executeFunction(V8API.UNKNOWN, objectHandle, name, parametersHandle);
     }
 
+    /**
+     * Invoke a JavaScript function and return the result as a Java Object.
+     * The arguments are taken from a reusable argument frame, which avoids
+     * allocating a parameter V8Array for each call.
+     *
+     * @param name The name of the JS Function to call.
+     *
+     * @param arguments The arguments to pass to the function. The frame is
+     * not modified and can be reused for subsequent calls.
+     *
+     * @return A Java Object representing the result of the function call.
+     */
+    public Object executeFunctionWithFrame(final String name, final V8ArgumentFrame arguments) {
+        getIsolate().checkThread();
+        checkReleased();
+        beforeModification();
+        arguments.checkValues(getIsolate());
+        return getContext().executeFunction(V8API.UNKNOWN, objectHandle, name, arguments);
+    }
+
     /**
      * Invoke a JavaScript function and return the result as a Java Object.
      *
@@ -421,82 +476,545 @@ public class V8Object extends V8Value {
     }
 
     /**
-     * Invokes a JavaScript function which does not return a result.
+     * Invokes a JavaScript function which does not return a result.
+     *
+     * @param name The name of the JS Function to call.
+     *
+     * @param parameters The parameters to pass to the function. Parameters must be released.
+     */
+    public void executeVoidFunction(final String name, final V8Array parameters) {
+        getIsolate().checkThread();
+        checkReleased();
+        beforeModification();
+        getIsolate().checkRuntime(parameters);
+        long parametersHandle = parameters == null ? 0 : parameters.getHandle();
+        getContext().executeVoidFunction(objectHandle, name, parametersHandle);
+    }
+
+    /**
+     * Adds a key value pair to the receiver where the value is an integer.
+     *
+     * @param key The key to associate the value with.
+     * @param value The value to add.
+     *
+     * @return The receiver.
+     */
+    public V8Object add(final String key, final int value) {
+        getIsolate().checkThread();
+        checkReleased();
+        beforeModification();
+        getContext().add(objectHandle, key, value);
+        return this;
+    }
+
+    /**
+     * Adds a key value pair to the receiver where the value is a boolean.
+     *
+     * @param key The key to associate the value with.
+     * @param value The value to add.
+     *
+     * @return The receiver.
+     */
+    public V8Object add(final String key, final boolean value) {
+        getIsolate().checkThread();
+        checkReleased();
+        beforeModification();
+        getContext().add(objectHandle, key, value);
+        return this;
+    }
+
+    /**
+     * Adds a key value pair to the receiver where the value is a double.
+     *
+     * @param key The key to associate the value with.
+     * @param value The value to add.
+     *
+     * @return The receiver.
+     */
+    public V8Object add(final String key, final double value) {
+        getIsolate().checkThread();
+        checkReleased();
+        beforeModification();
+        getContext().add(objectHandle, key, value);
+        return this;
+    }
+
+    /**
+     * Adds a key value pair to the receiver where the value is a String.
+     *
+     * @param key The key to associate the value with.
+     * @param value The value to add.
+     *
+     * @return The receiver.
+     */
+    public V8Object add(final String key, final String value) {
+        getIsolate().checkThread();
+        checkReleased();
+        beforeModification();
+        if (value == null) {
+            getContext().addNull(objectHandle, key);
+        } else if (value.equals(V8Isolate.getUndefined())) {
+            getContext().addUndefined(objectHandle, key);
+        } else {
+            getContext().add(objectHandle, key, value);
+        }
+        return this;
+    }
+
+    /**
+     * Adds a key value pair to the receiver where the value is a String,
+     * given as the UTF-8 bytes between the position and the limit of a
+     * direct buffer. The position of the buffer is advanced to its limit.
+     *
+     * @param key The key to associate the value with.
+     * @param value The direct buffer containing the value.
+     *
+     * @return The receiver.
+     */
+    public V8Object addUTF8(final String key, final ByteBuffer value) {
+        getIsolate().checkThread();
+        checkReleased();
+        beforeModification();
+        checkDirect(value);
+        getContext().addUTF8(objectHandle, key, value, value.position(), value.remaining());
+        value.position(value.limit());
+        return this;
+    }
+
+    /**
+     * Adds a key value pair to the receiver where the value is a V8Value.
+     *
+     * @param key The key to associate the value with.
+     * @param value The value to add.
+     *
+     * @return The receiver.
+     */
+    public V8Object add(final String key, final V8Value value) {
+        getIsolate().checkThread();
+        checkReleased();
+        beforeModification();
+        getIsolate().checkRuntime(value);
+        if (value == null) {
+            getContext().addNull(objectHandle, key);
+        } else if (value.equals(V8Isolate.getUndefined())) {
+            getContext().addUndefined(objectHandle, key);
+        } else {
+            getContext().addObject(objectHandle, key, value.getHandle());
+        }
+        return this;
+    }
+
+    /**
+     * Associate UNDEFINED with the given key.
+     *
+     * @param key The key to associate UNDEFINED with.
+     *
+     * @return The receiver.
+     */
+    public V8Object addUndefined(final String key) {
+        getIsolate().checkThread();
+        checkReleased();
+        beforeModification();
+        getContext().addUndefined(objectHandle, key);
+        return this;
+    }
+
+    /**
+     * Associate NULL with the given key.
+     *
+     * @param key The key to associate NULL with.
+     *
+     * @return The receiver.
+     */
+    public V8Object addNull(final String key) {
+        getIsolate().checkThread();
+        checkReleased();
+        beforeModification();
+        getContext().addNull(objectHandle, key);
+        return this;
+    }
+
+    /**
+     * Determine if a key/value pair with this key exists in
+     * the Object.
+     *
+     * @param key The precompiled key to check
+     * @return True if the key exists, false otherwise.
+     */
+    public boolean containsByKey(final V8PropertyKey key) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(key);
+        return getContext().containsByKey(objectHandle, key.getHandle());
+    }
+
+    /**
+     * Returns the type of the value associated with this Key, or
+     * UNDEFINED if the key does not exist.
+     *
+     * @param key The precompiled key whose type to lookup.
+     *
+     * @return The Type of the value associated with this key
+     */
+    public int getTypeByKey(final V8PropertyKey key) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(key);
+        return getContext().getTypeByKey(objectHandle, key.getHandle());
+    }
+
+    /**
+     * Returns the value associated with this key. If the value is a
+     * primitive, its boxed type is returned. If the value is a V8Value,
+     * it must be released.
+     *
+     * @param key The precompiled key whose value to return.
+     *
+     * @return The value associated with this key.
+     */
+    public Object getByKey(final V8PropertyKey key) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(key);
+        return getContext().getByKey(V8API.V8_OBJECT, objectHandle, key.getHandle());
+    }
+
+    /**
+     * Returns the integer value associated with this key. If the value
+     * associated with this key does not exist, or if it's not an integer, then
+     * V8ResultUndefined exception is thrown.
+     *
+     * @param key The precompiled key whose value to return.
+     *
+     * @return The integer value associated with this key.
+     */
+    public int getIntegerByKey(final V8PropertyKey key) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(key);
+        return getContext().getIntegerByKey(objectHandle, key.getHandle());
+    }
+
+    /**
+     * Returns the boolean value associated with this key. If the value
+     * associated with this key does not exist, or if it's not a boolean, then
+     * V8ResultUndefined exception is thrown.
+     *
+     * @param key The precompiled key whose value to return.
+     *
+     * @return The boolean value associated with this key.
+     */
+    public boolean getBooleanByKey(final V8PropertyKey key) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(key);
+        return getContext().getBooleanByKey(objectHandle, key.getHandle());
+    }
+
+    /**
+     * Returns the double value associated with this key. If the value
+     * associated with this key does not exist, or if it's not a double, then
+     * V8ResultUndefined exception is thrown.
+     *
+     * @param key The precompiled key whose value to return.
+     *
+     * @return The double value associated with this key.
+     */
+    public double getDoubleByKey(final V8PropertyKey key) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(key);
+        return getContext().getDoubleByKey(objectHandle, key.getHandle());
+    }
+
+    /**
+     * Returns the String value associated with this key. If the value
+     * associated with this key does not exist, or if it's not a String, then
+     * V8ResultUndefined exception is thrown.
+     *
+     * @param key The precompiled key whose value to return.
+     *
+     * @return The String value associated with this key.
+     */
+    public String getStringByKey(final V8PropertyKey key) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(key);
+        return getContext().getStringByKey(objectHandle, key.getHandle());
+    }
+
+    /**
+     * Returns the V8Array value associated with this key. If the value
+     * associated with this key does not exist then UNDEFINED is returned.
+     * If the value exists but is not an array then
+     * V8ResultUndefined exception is thrown.
+     *
+     * @param key The precompiled key whose value to return.
+     *
+     * @return The V8Array value associated with this key.
+     */
+    public V8Array getArrayByKey(final V8PropertyKey key) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(key);
+        Object result = getContext().getByKey(V8API.V8_ARRAY, objectHandle, key.getHandle());
+        if ((result == null) || (result instanceof V8Array)) {
+            return (V8Array) result;
+        }
+        throw new V8ResultUndefined();
+    }
+
+    /**
+     * Returns the V8Object value associated with this key. If the value
+     * associated with this key does not exist then UNDEFINED is returned.
+     * If the value exists but is not an JS Object then
+     * V8ResultUndefined exception is thrown.
+     *
+     * @param key The precompiled key whose value to return.
+     *
+     * @return The V8Object value associated with this key.
+     */
+    public V8Object getObjectByKey(final V8PropertyKey key) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(key);
+        Object result = getContext().getByKey(V8API.V8_OBJECT, objectHandle, key.getHandle());
+        if ((result == null) || (result instanceof V8Object)) {
+            return (V8Object) result;
+        }
+        throw new V8ResultUndefined();
+    }
+
+    /**
+     * Returns the value found by following a dotted path of property names,
+     * for example "result.score.value", starting at the receiver. The path is
+     * resolved in a single call and no intermediate objects are created. If
+     * a segment of the path does not exist, or is not an Object, UNDEFINED
+     * is returned. If the value is a V8Value, it must be released.
+     *
+     * @param path The path whose value to return, segments separated by '.'.
+     *
+     * @return The value found at the path.
+     */
+    public Object getPath(final String path) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(path);
+        return getContext().getPath(V8API.V8_OBJECT, objectHandle, path);
+    }
+
+    /**
+     * Returns the value found by following a path of precompiled property
+     * keys, starting at the receiver. If a segment of the path does not exist,
+     * or is not an Object, UNDEFINED is returned. If the value is a V8Value,
+     * it must be released.
+     *
+     * @param path The keys of the path, outermost first.
+     *
+     * @return The value found at the path.
+     */
+    public Object getPathByKeys(final V8PropertyKey... path) {
+        getIsolate().checkThread();
+        checkReleased();
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        long[] keyHandles = new long[path.length];
+        for (int i = 0; i < path.length; i++) {
+            checkKey(path[i]);
+            keyHandles[i] = path[i].getHandle();
+        }
+        return getContext().getPath(V8API.V8_OBJECT, objectHandle, keyHandles);
+    }
+
+    /**
+     * Returns the type of the value found at a dotted path, or UNDEFINED
+     * if the path cannot be resolved.
+     *
+     * @param path The path whose type to lookup, segments separated by '.'.
+     *
+     * @return The Type of the value found at the path.
+     */
+    public int getTypeAtPath(final String path) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(path);
+        return getContext().getTypeAtPath(objectHandle, path);
+    }
+
+    /**
+     * Returns the integer value found at a dotted path. If the path cannot be
+     * resolved, or the value is not an integer, then V8ResultUndefined exception
+     * is thrown.
+     *
+     * @param path The path whose value to return, segments separated by '.'.
+     *
+     * @return The integer value found at the path.
+     */
+    public int getIntegerAtPath(final String path) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(path);
+        return getContext().getIntegerAtPath(objectHandle, path);
+    }
+
+    /**
+     * Returns the boolean value found at a dotted path. If the path cannot be
+     * resolved, or the value is not a boolean, then V8ResultUndefined exception
+     * is thrown.
+     *
+     * @param path The path whose value to return, segments separated by '.'.
+     *
+     * @return The boolean value found at the path.
+     */
+    public boolean getBooleanAtPath(final String path) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(path);
+        return getContext().getBooleanAtPath(objectHandle, path);
+    }
+
+    /**
+     * Returns the double value found at a dotted path. If the path cannot be
+     * resolved, or the value is not a double, then V8ResultUndefined exception
+     * is thrown.
+     *
+     * @param path The path whose value to return, segments separated by '.'.
+     *
+     * @return The double value found at the path.
+     */
+    public double getDoubleAtPath(final String path) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(path);
+        return getContext().getDoubleAtPath(objectHandle, path);
+    }
+
+    /**
+     * Returns the String value found at a dotted path. If the path cannot be
+     * resolved, or the value is not a String, then V8ResultUndefined exception
+     * is thrown.
+     *
+     * @param path The path whose value to return, segments separated by '.'.
+     *
+     * @return The String value found at the path.
+     */
+    public String getStringAtPath(final String path) {
+        getIsolate().checkThread();
+        checkReleased();
+        checkKey(path);
+        return getContext().getStringAtPath(objectHandle, path);
+    }
+
+    /**
+     * Resolves all paths of the given extraction against the receiver and
+     * stores the types and primitive values found in the extraction. All
+     * paths are resolved in a single call to the native layer.
+     *
+     * @param extraction The paths to resolve, and the holder of the results.
+     *
+     * @return The extraction that was passed in.
+     */
+    public V8Extraction extract(final V8Extraction extraction) {
+        getIsolate().checkThread();
+        checkReleased();
+        if (extraction == null) {
+            throw new IllegalArgumentException("Extraction cannot be null");
+        }
+        getContext().extract(objectHandle, extraction);
+        return extraction;
+    }
+
+    /**
+     * Writes all values held by the given extraction to the receiver, each
+     * at its path, in a single call to the native layer. Intermediate path
+     * segments that do not hold an Object are replaced by new, empty Objects.
      *
-     * @param name The name of the JS Function to call.
+     * @param values The paths and the values to write.
      *
-     * @param parameters The parameters to pass to the function. Parameters must be released.
+     * @return The receiver.
      */
-    public void executeVoidFunction(final String name, final V8Array parameters) {
+    public V8Object addAll(final V8Extraction values) {
         getIsolate().checkThread();
         checkReleased();
-        getIsolate().checkRuntime(parameters);
-        long parametersHandle = parameters == null ? 0 : parameters.getHandle();
-        getContext().executeVoidFunction(objectHandle, name, parametersHandle);
+        beforeModification();
+        if (values == null) {
+            throw new IllegalArgumentException("Values cannot be null");
+        }
+        getContext().addAll(objectHandle, values);
+        return this;
     }
 
     /**
      * Adds a key value pair to the receiver where the value is an integer.
      *
-     * @param key The key to associate the value with.
+     * @param key The precompiled key to associate the value with.
      * @param value The value to add.
      *
      * @return The receiver.
      */
-    public V8Object add(final String key, final int value) {
+    public V8Object addByKey(final V8PropertyKey key, final int value) {
         getIsolate().checkThread();
         checkReleased();
-        getContext().add(objectHandle, key, value);
+        beforeModification();
+        checkKey(key);
+        getContext().addByKey(objectHandle, key.getHandle(), value);
         return this;
     }
 
     /**
      * Adds a key value pair to the receiver where the value is a boolean.
      *
-     * @param key The key to associate the value with.
+     * @param key The precompiled key to associate the value with.
      * @param value The value to add.
      *
      * @return The receiver.
      */
-    public V8Object add(final String key, final boolean value) {
+    public V8Object addByKey(final V8PropertyKey key, final boolean value) {
         getIsolate().checkThread();
         checkReleased();
-        getContext().add(objectHandle, key, value);
+        beforeModification();
+        checkKey(key);
+        getContext().addByKey(objectHandle, key.getHandle(), value);
         return this;
     }
 
     /**
      * Adds a key value pair to the receiver where the value is a double.
      *
-     * @param key The key to associate the value with.
+     * @param key The precompiled key to associate the value with.
      * @param value The value to add.
      *
      * @return The receiver.
      */
-    public V8Object add(final String key, final double value) {
+    public V8Object addByKey(final V8PropertyKey key, final double value) {
         getIsolate().checkThread();
         checkReleased();
-        getContext().add(objectHandle, key, value);
+        beforeModification();
+        checkKey(key);
+        getContext().addByKey(objectHandle, key.getHandle(), value);
         return this;
     }
 
     /**
      * Adds a key value pair to the receiver where the value is a String.
      *
-     * @param key The key to associate the value with.
+     * @param key The precompiled key to associate the value with.
      * @param value The value to add.
      *
      * @return The receiver.
      */
-    public V8Object add(final String key, final String value) {
+    public V8Object addByKey(final V8PropertyKey key, final String value) {
         getIsolate().checkThread();
         checkReleased();
+        beforeModification();
+        checkKey(key);
         if (value == null) {
-            getContext().addNull(objectHandle, key);
+            getContext().addNullByKey(objectHandle, key.getHandle());
         } else if (value.equals(V8Isolate.getUndefined())) {
-            getContext().addUndefined(objectHandle, key);
+            getContext().addUndefinedByKey(objectHandle, key.getHandle());
         } else {
-            getContext().add(objectHandle, key, value);
+            getContext().addByKey(objectHandle, key.getHandle(), value);
         }
         return this;
     }
@@ -504,21 +1022,23 @@ public class V8Object extends V8Value {
     /**
      * Adds a key value pair to the receiver where the value is a V8Value.
      *
-     * @param key The key to associate the value with.
+     * @param key The precompiled key to associate the value with.
      * @param value The value to add.
      *
      * @return The receiver.
      */
-    public V8Object add(final String key, final V8Value value) {
+    public V8Object addByKey(final V8PropertyKey key, final V8Value value) {
         getIsolate().checkThread();
         checkReleased();
+        beforeModification();
+        checkKey(key);
         getIsolate().checkRuntime(value);
         if (value == null) {
-            getContext().addNull(objectHandle, key);
+            getContext().addNullByKey(objectHandle, key.getHandle());
         } else if (value.equals(V8Isolate.getUndefined())) {
-            getContext().addUndefined(objectHandle, key);
+            getContext().addUndefinedByKey(objectHandle, key.getHandle());
         } else {
-            getContext().addObject(objectHandle, key, value.getHandle());
+            getContext().addObjectByKey(objectHandle, key.getHandle(), value.getHandle());
         }
         return this;
     }
@@ -526,28 +1046,32 @@ public class V8Object extends V8Value {
     /**
      * Associate UNDEFINED with the given key.
      *
-     * @param key The key to associate UNDEFINED with.
+     * @param key The precompiled key to associate UNDEFINED with.
      *
      * @return The receiver.
      */
-    public V8Object addUndefined(final String key) {
+    public V8Object addUndefinedByKey(final V8PropertyKey key) {
         getIsolate().checkThread();
         checkReleased();
-        getContext().addUndefined(objectHandle, key);
+        beforeModification();
+        checkKey(key);
+        getContext().addUndefinedByKey(objectHandle, key.getHandle());
         return this;
     }
 
     /**
      * Associate NULL with the given key.
      *
-     * @param key The key to associate NULL with.
+     * @param key The precompiled key to associate NULL with.
      *
      * @return The receiver.
      */
-    public V8Object addNull(final String key) {
+    public V8Object addNullByKey(final V8PropertyKey key) {
         getIsolate().checkThread();
         checkReleased();
-        getContext().addNull(objectHandle, key);
+        beforeModification();
+        checkKey(key);
+        getContext().addNullByKey(objectHandle, key.getHandle());
         return this;
     }
 
@@ -561,6 +1085,7 @@ public class V8Object extends V8Value {
     public V8Object setPrototype(final V8Object value) {
         getIsolate().checkThread();
         checkReleased();
+        beforeModification();
         getContext().setPrototype(objectHandle, value.getHandle());
         return this;
     }
@@ -577,6 +1102,7 @@ public class V8Object extends V8Value {
     public V8Object registerJavaMethod(final JavaCallback callback, final String jsFunctionName) {
         getIsolate().checkThread();
         checkReleased();
+        beforeModification();
         getContext().registerCallback(callback, getHandle(), jsFunctionName);
         return this;
     }
@@ -593,6 +1119,7 @@ public class V8Object extends V8Value {
     public V8Object registerJavaMethod(final JavaVoidCallback callback, final String jsFunctionName) {
         getIsolate().checkThread();
         checkReleased();
+        beforeModification();
         getContext().registerVoidCallback(callback, getHandle(), jsFunctionName);
         return this;
     }
@@ -629,6 +1156,7 @@ public class V8Object extends V8Value {
     public V8Object registerJavaMethod(final Object object, final String methodName, final String jsFunctionName, final Class<?>[] parameterTypes, final boolean includeReceiver) {
         getIsolate().checkThread();
         checkReleased();
+        beforeModification();
         try {
             Method method = object.getClass().getMethod(methodName, parameterTypes);
             method.setAccessible(true);
@@ -652,12 +1180,33 @@ public class V8Object extends V8Value {
         return getContext().toString(getHandle());
     }
 
+    // Called before the properties of this object are changed, or a function
+    // which may change them is invoked on it
+    void beforeModification() {
+    }
+
+    static void checkDirect(final ByteBuffer buffer) {
+        if ((buffer == null) || !buffer.isDirect()) {
+            throw new IllegalArgumentException("ByteBuffer must be a allocated as a direct ByteBuffer");
+        }
+    }
+
     private void checkKey(final String key) {
         if (key == null) {
             throw new IllegalArgumentException("Key cannot be null");
         }
     }
 
+    private void checkKey(final V8PropertyKey key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        if (key.getIsolate() != getIsolate()) {
+            throw new Error("Invalid target runtime");
+        }
+        key.checkReleased();
+    }
+
     static class Undefined extends V8Object {
 
         public Undefined() {
@@ -791,6 +1340,15 @@ public class V8Object extends V8Value {
             throw new UnsupportedOperationException();
         }
 
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#executeFunctionWithFrame(java.lang.String, com.eclipsesource.v8.V8ArgumentFrame)
+         */
+        @Override
+        public Object executeFunctionWithFrame(final String name, final V8ArgumentFrame arguments) {
+            throw new UnsupportedOperationException();
+        }
+
         /*
          * (non-Javadoc)
          * @see com.eclipsesource.v8.V8Object#add(java.lang.String, java.lang.String)
@@ -800,6 +1358,15 @@ public class V8Object extends V8Value {
             throw new UnsupportedOperationException();
         }
 
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addUTF8(java.lang.String, java.nio.ByteBuffer)
+         */
+        @Override
+        public V8Object addUTF8(final String key, final ByteBuffer value) {
+            throw new UnsupportedOperationException();
+        }
+
         /*
          * (non-Javadoc)
          * @see com.eclipsesource.v8.V8Object#add(java.lang.String, com.eclipsesource.v8.V8Value)
@@ -944,6 +1511,15 @@ public class V8Object extends V8Value {
             throw new UnsupportedOperationException();
         }
 
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getUTF8(java.lang.String, java.nio.ByteBuffer)
+         */
+        @Override
+        public int getUTF8(final String key, final ByteBuffer buffer) {
+            throw new UnsupportedOperationException();
+        }
+
         /*
          * (non-Javadoc)
          * @see com.eclipsesource.v8.V8Object#getString(java.lang.String)
@@ -998,6 +1574,231 @@ public class V8Object extends V8Value {
             throw new UnsupportedOperationException();
         }
 
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#containsByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public boolean containsByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getTypeByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public int getTypeByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public Object getByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getIntegerByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public int getIntegerByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getBooleanByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public boolean getBooleanByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getDoubleByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public double getDoubleByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getStringByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public String getStringByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getArrayByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public V8Array getArrayByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getObjectByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public V8Object getObjectByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addByKey(com.eclipsesource.v8.V8PropertyKey, int)
+         */
+        @Override
+        public V8Object addByKey(final V8PropertyKey key, final int value) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addByKey(com.eclipsesource.v8.V8PropertyKey, boolean)
+         */
+        @Override
+        public V8Object addByKey(final V8PropertyKey key, final boolean value) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addByKey(com.eclipsesource.v8.V8PropertyKey, double)
+         */
+        @Override
+        public V8Object addByKey(final V8PropertyKey key, final double value) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addByKey(com.eclipsesource.v8.V8PropertyKey, java.lang.String)
+         */
+        @Override
+        public V8Object addByKey(final V8PropertyKey key, final String value) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addByKey(com.eclipsesource.v8.V8PropertyKey, com.eclipsesource.v8.V8Value)
+         */
+        @Override
+        public V8Object addByKey(final V8PropertyKey key, final V8Value value) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addUndefinedByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public V8Object addUndefinedByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addNullByKey(com.eclipsesource.v8.V8PropertyKey)
+         */
+        @Override
+        public V8Object addNullByKey(final V8PropertyKey key) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getPath(java.lang.String)
+         */
+        @Override
+        public Object getPath(final String path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getPathByKeys(com.eclipsesource.v8.V8PropertyKey[])
+         */
+        @Override
+        public Object getPathByKeys(final V8PropertyKey... path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getTypeAtPath(java.lang.String)
+         */
+        @Override
+        public int getTypeAtPath(final String path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getIntegerAtPath(java.lang.String)
+         */
+        @Override
+        public int getIntegerAtPath(final String path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getBooleanAtPath(java.lang.String)
+         */
+        @Override
+        public boolean getBooleanAtPath(final String path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getDoubleAtPath(java.lang.String)
+         */
+        @Override
+        public double getDoubleAtPath(final String path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#getStringAtPath(java.lang.String)
+         */
+        @Override
+        public String getStringAtPath(final String path) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#extract(com.eclipsesource.v8.V8Extraction)
+         */
+        @Override
+        public V8Extraction extract(final V8Extraction extraction) {
+            throw new UnsupportedOperationException();
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see com.eclipsesource.v8.V8Object#addAll(com.eclipsesource.v8.V8Extraction)
+         */
+        @Override
+        public V8Object addAll(final V8Extraction values) {
+            throw new UnsupportedOperationException();
+        }
+
     }
 
 }
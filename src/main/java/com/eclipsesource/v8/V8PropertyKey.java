@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+/**
+ * A property name that has been converted to an internalized
+ * JavaScript string once, and can be used to access properties
+ * of V8Objects without converting the Java String on each access.
+ *
+ * Property keys are typically created once per context for keys
+ * that are read or written frequently, and passed to the ByKey
+ * methods of V8Object, for example
+ * {@link V8Object#getIntegerByKey(V8PropertyKey)}. A key can be used
+ * with any object of the runtime it was created on.
+ *
+ * A property key is not a V8Value, it only holds the handle of the
+ * string. Property keys have native resources and must be released.
+ */
+public class V8PropertyKey implements Releasable {
+
+    private final V8Context v8Context;
+    private final String    name;
+    private long            keyHandle;
+    private boolean         released = true;
+
+    /**
+     * Creates a new property key for the given name and associates
+     * it with a context. Once created, it must be released.
+     *
+     * @param v8Context The context on which to create the key.
+     * @param name The name of the property.
+     */
+    public V8PropertyKey(final V8Context v8Context, final String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        this.v8Context = v8Context;
+        this.name = name;
+        v8Context.getIsolate().checkThread();
+        keyHandle = v8Context.initNewV8PropertyKey(name);
+        released = false;
+        v8Context.addKeyRef(keyHandle);
+    }
+
+    /**
+     * Creates a new property key for the same name on the same context.
+     * The new key must be released separately.
+     *
+     * @return A new key for the name of this key.
+     */
+    public V8PropertyKey twin() {
+        checkReleased();
+        return new V8PropertyKey(v8Context, name);
+    }
+
+    /**
+     * Returns the name of the property this key represents.
+     *
+     * @return The property name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the runtime this key was created on.
+     *
+     * @return The runtime of this key.
+     */
+    public V8Isolate getIsolate() {
+        return v8Context.getIsolate();
+    }
+
+    V8Context getContext() {
+        return v8Context;
+    }
+
+    long getHandle() {
+        checkReleased();
+        return keyHandle;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.eclipsesource.v8.Releasable#isReleased()
+     */
+    @Override
+    public boolean isReleased() {
+        return released;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.eclipsesource.v8.Releasable#close()
+     */
+    @Override
+    public void close() {
+        v8Context.getIsolate().checkThread();
+        if (!released) {
+            try {
+                v8Context.releaseKeyRef(keyHandle);
+            } finally {
+                released = true;
+                v8Context.releasePropertyKey(keyHandle);
+            }
+        }
+    }
+
+    /**
+     * Releases the native resources associated with this key.
+     *
+     * @deprecated use close() instead.
+     */
+    @Override
+    @Deprecated
+    public void release() {
+        close();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(final Object that) {
+        if (that == this) {
+            return true;
+        }
+        if (!(that instanceof V8PropertyKey)) {
+            return false;
+        }
+        return name.equals(((V8PropertyKey) that).name) && (getIsolate() == ((V8PropertyKey) that).getIsolate());
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tracks the V8Values of an isolate with phantom references, so the
+ * handles of values that were garbage collected without being released
+ * can be released later.
+ *
+ * Values are registered and unregistered on the isolate thread. The
+ * garbage collector enqueues the references of collected values from
+ * its own thread, and the isolate thread drains the queue at safe points,
+ * releasing the handles of each context with a single native call.
+ */
+final class V8ReleaseQueue {
+
+    private final ReferenceQueue<V8Value> queue      = new ReferenceQueue<V8Value>();
+    private final Set<HandleReference>    references = Collections.newSetFromMap(new IdentityHashMap<HandleReference, Boolean>());
+    private final List<HandleReference>   collected  = new ArrayList<HandleReference>();
+    private long[]                        handles    = new long[16];
+
+    HandleReference register(final V8Value value) {
+        HandleReference reference = new HandleReference(value, queue);
+        references.add(reference);
+        return reference;
+    }
+
+    void unregister(final HandleReference reference) {
+        reference.clear();
+        references.remove(reference);
+    }
+
+    /**
+     * Releases the handles of all collected values.
+     *
+     * @return The number of released handles.
+     */
+    int drain() {
+        HandleReference reference;
+        while ((reference = (HandleReference) queue.poll()) != null) {
+            // Values released explicitly after being enqueued are no longer registered
+            if (references.remove(reference)) {
+                collected.add(reference);
+            }
+        }
+        int result = 0;
+        while (!collected.isEmpty()) {
+            V8Context context = collected.get(0).context;
+            int count = 0;
+            for (int i = collected.size() - 1; i >= 0; i--) {
+                HandleReference next = collected.get(i);
+                if (next.context == context) {
+                    if (count == handles.length) {
+                        handles = Arrays.copyOf(handles, count * 2);
+                    }
+                    handles[count++] = next.handle;
+                    collected.remove(i);
+                }
+            }
+            if (!context.isReleased()) {
+                context.releaseCollected(handles, count);
+                result += count;
+            }
+        }
+        return result;
+    }
+
+    static final class HandleReference extends PhantomReference<V8Value> {
+
+        final V8Context context;
+        final long      handle;
+
+        HandleReference(final V8Value value, final ReferenceQueue<V8Value> queue) {
+            super(value, queue);
+            context = value.getContext();
+            handle = value.objectHandle;
+        }
+
+    }
+
+}
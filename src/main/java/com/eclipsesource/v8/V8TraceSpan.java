@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The execution of a script, or of a function, reported to a
+ * {@link V8Tracer}. Wall time is measured with System.nanoTime(), and CPU
+ * time with the CPU time of the runtime thread, when the platform supports
+ * it.
+ *
+ * Spans are not thread safe, and should not be modified by tracers, other
+ * than with {@link #setAttachment(Object)}.
+ */
+public final class V8TraceSpan {
+
+    /**
+     * The kinds of executions that are traced.
+     */
+    public enum Kind {
+        /**
+         * A script executed with one of the execute*Script methods of V8Context.
+         */
+        SCRIPT,
+        /**
+         * A function executed with one of the execute*Function methods of
+         * V8Object, or called with V8Function.
+         */
+        FUNCTION
+    }
+
+    private static final ThreadMXBean threadBean = getThreadBean();
+
+    private final V8Context           context;
+    private final V8Tracer            tracer;
+    private final V8TraceSpan         parent;
+    private final Kind                kind;
+    private final String              name;
+    private final int                 lineNumber;
+    private long                      startTime;
+    private long                      startCpuTime;
+    private long                      endTime;
+    private long                      endCpuTime;
+    private int                       resultType = V8API.UNDEFINED;
+    private Throwable                 exception;
+    private boolean                   ended;
+    private Object                    attachment;
+    private Object                    flightRecording;
+
+    V8TraceSpan(final V8Context context, final V8Tracer tracer, final V8TraceSpan parent, final Kind kind, final String name, final int lineNumber) {
+        this.context = context;
+        this.tracer = tracer;
+        this.parent = parent;
+        this.kind = kind;
+        this.name = name;
+        this.lineNumber = lineNumber;
+    }
+
+    // The tracer is null for spans which are only recorded by Java Flight Recorder
+    void start(final boolean recorded) {
+        if (tracer != null) {
+            tracer.spanStarted(this);
+            startCpuTime = currentThreadCpuTime();
+        } else {
+            startCpuTime = -1;
+        }
+        flightRecording = recorded ? V8FlightRecorder.beginExecution() : null;
+        startTime = System.nanoTime();
+    }
+
+    void end(final int resultType, final Throwable exception) {
+        endTime = System.nanoTime();
+        endCpuTime = tracer != null ? currentThreadCpuTime() : -1;
+        this.resultType = resultType;
+        this.exception = exception;
+        ended = true;
+        V8FlightRecorder.endExecution(flightRecording, this);
+        if (tracer != null) {
+            tracer.spanEnded(this);
+        }
+    }
+
+    V8Tracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Returns the context on which the script or function was executed.
+     *
+     * @return The context of this span.
+     */
+    public V8Context getContext() {
+        return context;
+    }
+
+    /**
+     * Returns the traced span during which this span was started, if any.
+     * The parent is not necessarily reported to the same tracer, nor
+     * reported at all when spans are sampled.
+     *
+     * @return The enclosing span, or null.
+     */
+    public V8TraceSpan getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns whether a script or a function was executed.
+     *
+     * @return The kind of this span.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the name of the script, as passed to the execute*Script
+     * methods, or the name of the function.
+     *
+     * @return The name of the script or function, or null if the script
+     * has no name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the line number of the first line of the script, as passed
+     * to the execute*Script methods. Always 0 for functions.
+     *
+     * @return The line number of the script.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the System.nanoTime() at which the execution started.
+     *
+     * @return The start time, in nanoseconds.
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Returns the wall time of the execution.
+     *
+     * @return The duration of the execution in nanoseconds, or 0 if the
+     * span has not ended yet.
+     */
+    public long getWallTime() {
+        return ended ? endTime - startTime : 0;
+    }
+
+    /**
+     * Returns the CPU time used by the runtime thread during the execution.
+     *
+     * @return The CPU time in nanoseconds, or -1 if it is not supported by
+     * the platform, or if the span has not ended yet.
+     */
+    public long getCpuTime() {
+        if (!ended || (startCpuTime < 0) || (endCpuTime < 0)) {
+            return -1;
+        }
+        return endCpuTime - startCpuTime;
+    }
+
+    /**
+     * Returns the type of the result of the execution. The types are
+     * defined as constants in {@link V8API}.
+     *
+     * @return The type of the result, or UNDEFINED if the execution failed
+     * or has not ended yet.
+     */
+    public int getResultType() {
+        return resultType;
+    }
+
+    /**
+     * Returns the exception that was thrown by the execution.
+     *
+     * @return The exception, or null if the execution succeeded or has
+     * not ended yet.
+     */
+    public Throwable getException() {
+        return exception;
+    }
+
+    /**
+     * Determines if an exception was thrown by the execution.
+     *
+     * @return True if the execution failed, false otherwise.
+     */
+    public boolean hasException() {
+        return exception != null;
+    }
+
+    /**
+     * Determines if the execution of this span has ended.
+     *
+     * @return True if the span has ended, false otherwise.
+     */
+    public boolean hasEnded() {
+        return ended;
+    }
+
+    /**
+     * Returns the object attached to this span by the tracer.
+     *
+     * @return The attachment, or null.
+     */
+    public Object getAttachment() {
+        return attachment;
+    }
+
+    /**
+     * Attaches an object to this span, such as the span of a metrics or
+     * tracing library, so the tracer can retrieve it when the span ends.
+     *
+     * @param attachment The object to attach.
+     */
+    public void setAttachment(final Object attachment) {
+        this.attachment = attachment;
+    }
+
+    private static long currentThreadCpuTime() {
+        return threadBean == null ? -1 : threadBean.getCurrentThreadCpuTime();
+    }
+
+    private static ThreadMXBean getThreadBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            return bean.isCurrentThreadCpuTimeSupported() ? bean : null;
+        } catch (LinkageError e) {
+            // java.lang.management is not available on Android
+            return null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+}
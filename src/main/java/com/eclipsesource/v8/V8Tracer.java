@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+/**
+ * Receives the spans of the scripts and functions executed on a runtime,
+ * see {@link V8Isolate#setTracer(V8Tracer, double)}.
+ *
+ * Tracers are called on the thread of the runtime, before and after the
+ * script or function is executed, and spans of nested executions, such as
+ * a function called from a Java callback, are reported between the events
+ * of their parent. Tracers should be fast, and must not throw exceptions,
+ * as an exception thrown by {@link #spanEnded(V8TraceSpan)} replaces the
+ * result of the execution.
+ */
+public interface V8Tracer {
+
+    /**
+     * Called before a script or function is executed. The execution is
+     * timed after this method returns.
+     *
+     * @param span The span of the execution, whose end time, result type
+     * and exception are not set yet.
+     */
+    public void spanStarted(V8TraceSpan span);
+
+    /**
+     * Called after a script or function was executed, or failed. The
+     * execution is timed before this method is called.
+     *
+     * @param span The span of the execution.
+     */
+    public void spanEnded(V8TraceSpan span);
+
+}
@@ -29,6 +29,12 @@ abstract public class V8Value implements Releasable {
     protected long      objectHandle;
     protected boolean   released = true;
 
+    // Set while the value is tracked for automatic release, see V8Isolate#enableAutoRelease()
+    V8ReleaseQueue.HandleReference releaseReference;
+
+    // The slot of this value in the arenas of its context, or -1 if it is not tracked
+    int                            arenaSlot = -1;
+
     protected V8Value() {
         super();
     }
@@ -269,6 +275,18 @@ abstract public class V8Value implements Releasable {
         close();
     }
 
+    // Called when the native handle was already released, such as
+    // the handle of a weak reference collected by V8
+    void handleReleased() {
+        if (!released) {
+            try {
+                getContext().releaseObjRef(this);
+            } finally {
+                released = true;
+            }
+        }
+    }
+
     /**
      * Determine if the native resources have been released. Once released
      * a V8 Value can no longer be used.
@@ -10,13 +10,11 @@
  ******************************************************************************/
 package com.eclipsesource.v8.utils;
 
-import com.eclipsesource.v8.ReferenceHandler;
+import com.eclipsesource.v8.V8Arena;
 import com.eclipsesource.v8.V8Context;
 import com.eclipsesource.v8.V8Value;
 
 import java.io.Closeable;
-import java.util.ArrayList;
-import java.util.Iterator;
 
 /**
  * A memory manager that tracks all V8 Handles while the object is registered.
@@ -26,14 +24,14 @@ import java.util.Iterator;
  * It is important that no V8 handles (V8Objects, V8Arrays, etc...) that are
  * created while the memory manager is active, are persisted.
  *
+ * A memory manager is backed by a {@link V8Arena}, so tracking and releasing
+ * a handle takes constant time.
  */
 public class MemoryManager implements Closeable {
 
-    private MemoryManagerReferenceHandler memoryManagerReferenceHandler;
-    private V8Context                     v8Context;
-    private ArrayList<V8Value>            references = new ArrayList<V8Value>();
-    private boolean                       releasing = false;
-    private boolean                       released   = false;
+    private V8Context v8Context;
+    private V8Arena   arena;
+    private boolean   released = false;
 
     /**
      * Creates and registered a Memory Manager. After this, all V8 handles will be
@@ -43,8 +41,7 @@ public class MemoryManager implements Closeable {
      */
     public MemoryManager(final V8Context v8Context) {
         this.v8Context = v8Context;
-        memoryManagerReferenceHandler = new MemoryManagerReferenceHandler();
-        v8Context.addReferenceHandler(memoryManagerReferenceHandler);
+        arena = new V8Arena(v8Context);
     }
 
     /**
@@ -58,7 +55,7 @@ public class MemoryManager implements Closeable {
      */
     public int getObjectReferenceCount() {
         checkReleased();
-        return references.size();
+        return arena.getObjectReferenceCount();
     }
 
     /**
@@ -66,15 +63,15 @@ public class MemoryManager implements Closeable {
      *
      * Objects that are being managed by a MemoryManager will be released
      * once the MemoryManager is released. If an object is persisted, it will
-     * be remove from the MemoryManager's control and therefore will not
-     * be released.
+     * be remove from the control of this MemoryManager, and of all the other
+     * MemoryManagers of the context, and therefore will not be released.
      *
      * @param object The object to persist
      */
     public void persist(final V8Value object) {
         v8Context.getIsolate().getLocker().checkThread();
         checkReleased();
-        references.remove(object);
+        arena.persist(object);
     }
 
     /**
@@ -96,16 +93,7 @@ public class MemoryManager implements Closeable {
         if (released) {
             return;
         }
-        releasing = true;
-        try {
-            for (V8Value reference : references) {
-                reference.close();
-            }
-            v8Context.removeReferenceHandler(memoryManagerReferenceHandler);
-            references.clear();
-        } finally {
-            releasing = false;
-        }
+        arena.close();
         released = true;
     }
 
@@ -120,25 +108,4 @@ public class MemoryManager implements Closeable {
         release();
     }
 
-    private class MemoryManagerReferenceHandler implements ReferenceHandler {
-
-        @Override
-        public void v8HandleCreated(final V8Value object) {
-            references.add(object);
-        }
-
-        @Override
-        public void v8HandleDisposed(final V8Value object) {
-            if (!releasing) {
-                Iterator<V8Value> iterator = references.iterator();
-                while (iterator.hasNext()) {
-                    if (iterator.next() == object) {
-                        iterator.remove();
-                        return;
-                    }
-                }
-            }
-        }
-    }
-
 }
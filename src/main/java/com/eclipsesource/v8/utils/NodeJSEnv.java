@@ -67,18 +67,17 @@ public class NodeJSEnv implements V8IsolateRunnable {
 		}
 
 		try (V8Array args = V8ObjectUtils.toV8Array(njs.getContext(), Arrays.asList(qm.getArgs()))) {
-			String[] methodPath = qm.getMethod().split("\\.");
+			Object method = njs.getContext().getPath(qm.getMethod());
 
-			V8Object f = njs.getContext();
-			for (String method : methodPath) {
-				f = (V8Object) f.get(method);
-			}
-
-			if (!(f instanceof V8Function)) {
+			if (!(method instanceof V8Function)) {
+				if (method instanceof Releasable) {
+					((Releasable) method).release();
+				}
 				throw new V8InvalidMethodException(qm.getMethod());
 			}
 
-			Object o = ((V8Function) f).call(f, args);
+			V8Function f = (V8Function) method;
+			Object o = f.call(f, args);
 			njs.getContext().checkPendingException();
 			njs.pump();
 
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.utils;
+
+import com.eclipsesource.v8.Releasable;
+import com.eclipsesource.v8.V8Array;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A read-only List view of a V8Array. Unlike {@link V8ObjectUtils#toList(V8Array)},
+ * the view does not copy the array. The length is fetched on first use and
+ * every element is fetched from V8 the first time it is accessed. Primitive
+ * values are cached, nested Objects and Arrays are returned as views themselves.
+ *
+ * To keep indices stable, Functions are represented as null.
+ *
+ * A view holds native resources and must be released. Releasing a view releases
+ * all nested views that were created through it.
+ */
+public class V8ArrayListView extends AbstractList<Object> implements RandomAccess, Releasable {
+
+    private static final Object NOT_LOADED = new Object();
+
+    private final V8Array      array;
+    private final V8ViewValues values;
+    private Object[]           cache;
+    private boolean            released;
+
+    V8ArrayListView(final V8Array array, final TypeAdapter adapter) {
+        this.array = array;
+        values = new V8ViewValues(adapter);
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.util.AbstractList#get(int)
+     */
+    @Override
+    public Object get(final int index) {
+        checkReleased();
+        Object[] elements = getElements();
+        if ((index < 0) || (index >= elements.length)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+        }
+        Object value = elements[index];
+        if (value == NOT_LOADED) {
+            value = values.convert(array.get(index));
+            elements[index] = value;
+        }
+        return value == V8ViewValues.IGNORE ? null : value;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.util.AbstractCollection#size()
+     */
+    @Override
+    public int size() {
+        checkReleased();
+        return getElements().length;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() {
+        if (released) {
+            return;
+        }
+        released = true;
+        try {
+            values.close();
+        } finally {
+            array.close();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.eclipsesource.v8.Releasable#isReleased()
+     */
+    @Override
+    public boolean isReleased() {
+        return released;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.util.AbstractCollection#toString()
+     */
+    @Override
+    public String toString() {
+        if (released) {
+            return "[ListView released]";
+        }
+        return super.toString();
+    }
+
+    /**
+     * Returns the V8Array this view is backed by. The array is owned
+     * by the view and must not be released.
+     *
+     * @return The backing V8Array.
+     */
+    public V8Array getV8Array() {
+        checkReleased();
+        return array;
+    }
+
+    private Object[] getElements() {
+        if (cache == null) {
+            cache = new Object[array.length()];
+            Arrays.fill(cache, NOT_LOADED);
+        }
+        return cache;
+    }
+
+}
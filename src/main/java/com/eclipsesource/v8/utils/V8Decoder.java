@@ -0,0 +1,491 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.utils;
+
+import com.eclipsesource.v8.Releasable;
+import com.eclipsesource.v8.V8API;
+import com.eclipsesource.v8.V8Array;
+import com.eclipsesource.v8.V8Extraction;
+import com.eclipsesource.v8.V8Object;
+import com.eclipsesource.v8.V8Value;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Decodes V8Objects into instances of a Java type.
+ *
+ * A decoder is built once, either by declaring its fields with a {@link Builder}
+ * or from the public fields of a class with {@link #forClass(Class)}, and can then
+ * be used for any number of objects. All integer, double, boolean and String
+ * fields are read with a single call to the native layer (see
+ * {@link V8Object#extract(V8Extraction)}) and written directly into the target,
+ * without creating an intermediate Map. Field names may be dotted paths.
+ *
+ * Nested objects can be decoded with another decoder, and any other field can
+ * be converted with a {@link TypeAdapter}, the same as with V8ObjectUtils.
+ *
+ * Decoders are immutable and can be shared between threads. Each thread
+ * reuses a single extraction for all the objects it decodes.
+ */
+public final class V8Decoder<T> {
+
+    private final Supplier<T>             factory;
+    private final String[]                paths;
+    private final List<PrimitiveField<T>> primitiveFields;
+    private final List<ValueField<T>>     valueFields;
+    private final ThreadLocal<V8Extraction> extractions;
+
+    private V8Decoder(final Builder<T> builder) {
+        factory = builder.factory;
+        primitiveFields = new ArrayList<PrimitiveField<T>>(builder.primitiveFields);
+        valueFields = new ArrayList<ValueField<T>>(builder.valueFields);
+        paths = new String[primitiveFields.size()];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = primitiveFields.get(i).path;
+        }
+        extractions = ThreadLocal.withInitial(() -> new V8Extraction(paths));
+    }
+
+    /**
+     * Creates a new builder for a decoder.
+     *
+     * @param factory Creates the instances that are decoded into.
+     *
+     * @return A new builder.
+     */
+    public static <T> Builder<T> builder(final Supplier<T> factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory cannot be null");
+        }
+        return new Builder<T>(factory);
+    }
+
+    /**
+     * Creates a decoder for a class from its public, non-final instance fields.
+     * The class must have a public constructor without parameters. Fields of
+     * type int, double, boolean (or their boxed types) and String are read in
+     * bulk. Fields whose type is a class other than those of the JDK and of J2V8
+     * are decoded with a nested decoder created the same way, all other fields
+     * are converted with V8ObjectUtils.
+     *
+     * The class is inspected once, when the decoder is created. Classes that
+     * contain themselves, directly or through nested fields, are rejected.
+     *
+     * @param type The class to decode into.
+     *
+     * @return A decoder for the class.
+     */
+    public static <T> V8Decoder<T> forClass(final Class<T> type) {
+        return forClass(type, new V8ObjectUtils.DefaultTypeAdapter());
+    }
+
+    /**
+     * Creates a decoder for a class from its public, non-final instance fields,
+     * using a TypeAdapter for all fields that are not read in bulk or decoded
+     * with a nested decoder.
+     *
+     * @param type The class to decode into.
+     * @param adapter The {@link TypeAdapter} used for the other fields.
+     *
+     * @return A decoder for the class.
+     */
+    public static <T> V8Decoder<T> forClass(final Class<T> type, final TypeAdapter adapter) {
+        return forClass(type, adapter, new HashSet<Class<?>>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> V8Decoder<T> forClass(final Class<T> type, final TypeAdapter adapter, final Set<Class<?>> enclosing) {
+        if (!enclosing.add(type)) {
+            throw new IllegalArgumentException("Recursive field type: " + type.getName());
+        }
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        final MethodHandle constructor;
+        try {
+            constructor = lookup.findConstructor(type, MethodType.methodType(void.class)).asType(MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("No public default constructor: " + type.getName(), e);
+        }
+        Builder<T> builder = builder(() -> {
+            try {
+                return (T) constructor.invokeExact();
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        });
+        for (Field field : type.getFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
+                continue;
+            }
+            final MethodHandle setter;
+            try {
+                setter = lookup.unreflectSetter(field);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Cannot access field: " + field, e);
+            }
+            Class<?> fieldType = field.getType();
+            if ((fieldType == int.class) || (fieldType == Integer.class)) {
+                builder.intField(field.getName(), intSetter(setter));
+            } else if ((fieldType == double.class) || (fieldType == Double.class)) {
+                builder.doubleField(field.getName(), doubleSetter(setter));
+            } else if ((fieldType == boolean.class) || (fieldType == Boolean.class)) {
+                builder.booleanField(field.getName(), booleanSetter(setter));
+            } else if (fieldType == String.class) {
+                builder.stringField(field.getName(), objectSetter(setter));
+            } else if (isNestedType(fieldType)) {
+                builder.field(field.getName(), forClass(fieldType, adapter, enclosing), objectSetter(setter));
+            } else {
+                builder.field(field.getName(), adapter, objectSetter(setter));
+            }
+        }
+        enclosing.remove(type);
+        return builder.build();
+    }
+
+    /**
+     * Creates a new instance and decodes the given object into it.
+     *
+     * @param object The object to decode. It is not released.
+     *
+     * @return The decoded instance, or null if the object is null or undefined.
+     */
+    public T decode(final V8Object object) {
+        if ((object == null) || object.isUndefined()) {
+            return null;
+        }
+        return decodeInto(object, factory.get());
+    }
+
+    /**
+     * Decodes the given object into an existing instance.
+     *
+     * @param object The object to decode. It is not released.
+     * @param target The instance to decode into.
+     *
+     * @return The target.
+     */
+    public T decodeInto(final V8Object object, final T target) {
+        if (paths.length > 0) {
+            // The extraction is fully consumed before nested fields are decoded
+            V8Extraction extraction = object.extract(extractions.get());
+            for (int i = 0; i < paths.length; i++) {
+                primitiveFields.get(i).set(target, extraction, i);
+            }
+        }
+        for (ValueField<T> field : valueFields) {
+            field.decode(target, object);
+        }
+        return target;
+    }
+
+    /**
+     * Decodes all elements of an array. Elements that are not Objects
+     * are decoded as null.
+     *
+     * @param array The array to decode. It is not released.
+     *
+     * @return A list with one decoded instance per element.
+     */
+    public List<T> decodeAll(final V8Array array) {
+        int length = array.length();
+        List<T> result = new ArrayList<T>(length);
+        for (int i = 0; i < length; i++) {
+            Object element = array.get(i);
+            try {
+                result.add(element instanceof V8Object ? decode((V8Object) element) : null);
+            } finally {
+                if (element instanceof Releasable) {
+                    ((Releasable) element).release();
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isNestedType(final Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isInterface() || type.isEnum()
+                || Modifier.isAbstract(type.getModifiers()) || !Modifier.isPublic(type.getModifiers())) {
+            return false;
+        }
+        if ((type == ArrayBuffer.class) || (type == TypedArray.class) || Releasable.class.isAssignableFrom(type)) {
+            return false;
+        }
+        String name = type.getName();
+        return !name.startsWith("java.") && !name.startsWith("javax.");
+    }
+
+    private static <T> ObjIntConsumer<T> intSetter(final MethodHandle setter) {
+        final MethodHandle typed = setter.asType(MethodType.methodType(void.class, Object.class, int.class));
+        return (target, value) -> {
+            try {
+                typed.invokeExact((Object) target, value);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        };
+    }
+
+    private static <T> ObjDoubleConsumer<T> doubleSetter(final MethodHandle setter) {
+        final MethodHandle typed = setter.asType(MethodType.methodType(void.class, Object.class, double.class));
+        return (target, value) -> {
+            try {
+                typed.invokeExact((Object) target, value);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        };
+    }
+
+    private static <T> BiConsumer<T, Boolean> booleanSetter(final MethodHandle setter) {
+        // The builder passes a Boolean, which Boolean.valueOf never allocates
+        final MethodHandle typed = setter.asType(MethodType.methodType(void.class, Object.class, boolean.class));
+        return (target, value) -> {
+            try {
+                typed.invokeExact((Object) target, value.booleanValue());
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        };
+    }
+
+    private static <T, F> BiConsumer<T, F> objectSetter(final MethodHandle setter) {
+        final MethodHandle typed = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (target, value) -> {
+            try {
+                typed.invokeExact((Object) target, (Object) value);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        };
+    }
+
+    private static RuntimeException propagate(final Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException(t);
+    }
+
+    /**
+     * Declares the fields of a decoder.
+     */
+    public static final class Builder<T> {
+
+        private final Supplier<T>             factory;
+        private final List<PrimitiveField<T>> primitiveFields = new ArrayList<PrimitiveField<T>>();
+        private final List<ValueField<T>>     valueFields     = new ArrayList<ValueField<T>>();
+
+        private Builder(final Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * Declares an integer field. Missing, null and undefined values
+         * are skipped.
+         *
+         * @param path The property name or dotted path of the value.
+         * @param setter Stores the value in the target.
+         *
+         * @return The receiver.
+         */
+        public Builder<T> intField(final String path, final ObjIntConsumer<T> setter) {
+            primitiveFields.add(new PrimitiveField<T>(checkPath(path)) {
+                @Override
+                void set(final T target, final V8Extraction extraction, final int index) {
+                    if (isPresent(extraction.getType(index))) {
+                        setter.accept(target, extraction.getInteger(index));
+                    }
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Declares a double field. Missing, null and undefined values
+         * are skipped.
+         *
+         * @param path The property name or dotted path of the value.
+         * @param setter Stores the value in the target.
+         *
+         * @return The receiver.
+         */
+        public Builder<T> doubleField(final String path, final ObjDoubleConsumer<T> setter) {
+            primitiveFields.add(new PrimitiveField<T>(checkPath(path)) {
+                @Override
+                void set(final T target, final V8Extraction extraction, final int index) {
+                    if (isPresent(extraction.getType(index))) {
+                        setter.accept(target, extraction.getDouble(index));
+                    }
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Declares a boolean field. Missing, null and undefined values
+         * are skipped.
+         *
+         * @param path The property name or dotted path of the value.
+         * @param setter Stores the value in the target.
+         *
+         * @return The receiver.
+         */
+        public Builder<T> booleanField(final String path, final BiConsumer<T, Boolean> setter) {
+            primitiveFields.add(new PrimitiveField<T>(checkPath(path)) {
+                @Override
+                void set(final T target, final V8Extraction extraction, final int index) {
+                    if (isPresent(extraction.getType(index))) {
+                        setter.accept(target, extraction.getBoolean(index));
+                    }
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Declares a String field. Missing and undefined values are skipped,
+         * null is stored as null.
+         *
+         * @param path The property name or dotted path of the value.
+         * @param setter Stores the value in the target.
+         *
+         * @return The receiver.
+         */
+        public Builder<T> stringField(final String path, final BiConsumer<T, String> setter) {
+            primitiveFields.add(new PrimitiveField<T>(checkPath(path)) {
+                @Override
+                void set(final T target, final V8Extraction extraction, final int index) {
+                    if (extraction.getType(index) != V8API.UNDEFINED) {
+                        setter.accept(target, extraction.getString(index));
+                    }
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Declares a field that holds a nested object, decoded with another
+         * decoder. Missing and undefined values are skipped, other values
+         * that are not Objects are stored as null.
+         *
+         * @param path The property name or dotted path of the value.
+         * @param decoder The decoder for the nested object.
+         * @param setter Stores the value in the target.
+         *
+         * @return The receiver.
+         */
+        public <F> Builder<T> field(final String path, final V8Decoder<F> decoder, final BiConsumer<T, F> setter) {
+            valueFields.add(new ValueField<T>(checkPath(path)) {
+                @Override
+                void set(final T target, final Object value) {
+                    setter.accept(target, value instanceof V8Object ? decoder.decode((V8Object) value) : null);
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Declares a field that is converted with a {@link TypeAdapter}, the
+         * same way {@link V8ObjectUtils#getValue(Object, TypeAdapter)} does.
+         * Missing and undefined values are skipped.
+         *
+         * @param path The property name or dotted path of the value.
+         * @param adapter The adapter used for the conversion.
+         * @param setter Stores the value in the target.
+         *
+         * @return The receiver.
+         */
+        public Builder<T> field(final String path, final TypeAdapter adapter, final BiConsumer<T, Object> setter) {
+            valueFields.add(new ValueField<T>(checkPath(path)) {
+                @Override
+                void set(final T target, final Object value) {
+                    setter.accept(target, V8ObjectUtils.getValue(value, adapter));
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Creates the decoder.
+         *
+         * @return A new decoder.
+         */
+        public V8Decoder<T> build() {
+            return new V8Decoder<T>(this);
+        }
+
+        private static String checkPath(final String path) {
+            if (path == null) {
+                throw new IllegalArgumentException("Path cannot be null");
+            }
+            return path;
+        }
+
+        private static boolean isPresent(final int type) {
+            return (type != V8API.UNDEFINED) && (type != V8API.NULL);
+        }
+
+    }
+
+    private abstract static class PrimitiveField<T> {
+
+        final String path;
+
+        PrimitiveField(final String path) {
+            this.path = path;
+        }
+
+        abstract void set(T target, V8Extraction extraction, int index);
+
+    }
+
+    private abstract static class ValueField<T> {
+
+        final String path;
+
+        ValueField(final String path) {
+            this.path = path;
+        }
+
+        void decode(final T target, final V8Object object) {
+            Object value = object.getPath(path);
+            try {
+                if ((value instanceof V8Value) && ((V8Value) value).isUndefined()) {
+                    return;
+                }
+                set(target, value);
+            } finally {
+                if (value instanceof Releasable) {
+                    ((Releasable) value).release();
+                }
+            }
+        }
+
+        abstract void set(T target, Object value);
+
+    }
+
+}
@@ -0,0 +1,447 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.utils;
+
+import com.eclipsesource.v8.Releasable;
+import com.eclipsesource.v8.V8Context;
+import com.eclipsesource.v8.V8Extraction;
+import com.eclipsesource.v8.V8Object;
+import com.eclipsesource.v8.V8Value;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Encodes instances of a Java type into V8Objects. This is the inverse
+ * of {@link V8Decoder}.
+ *
+ * An encoder is built once, either by declaring its fields with a {@link Builder}
+ * or from the public fields of a class with {@link #forClass(Class)}. All integer,
+ * double, boolean and String fields are written with a single call to the native
+ * layer (see {@link V8Object#addAll(V8Extraction)}). Field names may be dotted paths.
+ *
+ * Nested objects can be encoded with another encoder, and any other field is
+ * converted with {@link V8ObjectUtils#getV8Result(V8Context, Object)}.
+ *
+ * Encoders are immutable and can be shared between threads. Each thread
+ * reuses a single extraction for all the instances it encodes.
+ */
+public final class V8Encoder<T> {
+
+    private final String[]                paths;
+    private final List<PrimitiveField<T>> primitiveFields;
+    private final List<ValueField<T>>     valueFields;
+    private final ThreadLocal<V8Extraction> extractions;
+
+    private V8Encoder(final Builder<T> builder) {
+        primitiveFields = new ArrayList<PrimitiveField<T>>(builder.primitiveFields);
+        valueFields = new ArrayList<ValueField<T>>(builder.valueFields);
+        paths = new String[primitiveFields.size()];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = primitiveFields.get(i).path;
+        }
+        extractions = ThreadLocal.withInitial(() -> new V8Extraction(paths));
+    }
+
+    /**
+     * Creates a new builder for an encoder.
+     *
+     * @return A new builder.
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<T>();
+    }
+
+    /**
+     * Creates an encoder for a class from its public instance fields. Fields
+     * of type int, double, boolean (or their boxed types) and String are
+     * written in bulk. Fields whose type is a class other than those of the
+     * JDK and of J2V8 are encoded with a nested encoder created the same way,
+     * all other fields are converted with V8ObjectUtils.
+     *
+     * The class is inspected once, when the encoder is created. Classes that
+     * contain themselves, directly or through nested fields, are rejected.
+     *
+     * @param type The class to encode.
+     *
+     * @return An encoder for the class.
+     */
+    public static <T> V8Encoder<T> forClass(final Class<T> type) {
+        return forClass(type, new HashSet<Class<?>>());
+    }
+
+    private static <T> V8Encoder<T> forClass(final Class<T> type, final Set<Class<?>> enclosing) {
+        if (!enclosing.add(type)) {
+            throw new IllegalArgumentException("Recursive field type: " + type.getName());
+        }
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Builder<T> builder = builder();
+        for (Field field : type.getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            final MethodHandle getter;
+            try {
+                getter = lookup.unreflectGetter(field);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Cannot access field: " + field, e);
+            }
+            Class<?> fieldType = field.getType();
+            if (fieldType == int.class) {
+                builder.intField(field.getName(), intGetter(getter));
+            } else if (fieldType == double.class) {
+                builder.doubleField(field.getName(), doubleGetter(getter));
+            } else if (fieldType == boolean.class) {
+                builder.booleanField(field.getName(), booleanGetter(getter));
+            } else if (fieldType == String.class) {
+                builder.stringField(field.getName(), objectGetter(getter));
+            } else if (isNestedType(fieldType)) {
+                builder.field(field.getName(), forClass(fieldType, enclosing), objectGetter(getter));
+            } else {
+                builder.field(field.getName(), objectGetter(getter));
+            }
+        }
+        enclosing.remove(type);
+        return builder.build();
+    }
+
+    /**
+     * Creates a new V8Object and encodes the given instance into it.
+     *
+     * @param v8Context The context on which to create the object.
+     * @param source The instance to encode.
+     *
+     * @return A new V8Object, which must be released.
+     */
+    public V8Object encode(final V8Context v8Context, final T source) {
+        V8Object result = new V8Object(v8Context);
+        try {
+            return encodeInto(result, source);
+        } catch (RuntimeException e) {
+            result.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Encodes the given instance into an existing V8Object.
+     *
+     * @param target The object to encode into.
+     * @param source The instance to encode.
+     *
+     * @return The target.
+     */
+    public V8Object encodeInto(final V8Object target, final T source) {
+        if (paths.length > 0) {
+            // All values are set and written before nested fields are encoded
+            V8Extraction values = extractions.get();
+            for (int i = 0; i < paths.length; i++) {
+                primitiveFields.get(i).get(source, values, i);
+            }
+            target.addAll(values);
+        }
+        for (ValueField<T> field : valueFields) {
+            field.encode(target, source);
+        }
+        return target;
+    }
+
+    private static boolean isNestedType(final Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isInterface() || type.isEnum()
+                || Modifier.isAbstract(type.getModifiers()) || !Modifier.isPublic(type.getModifiers())) {
+            return false;
+        }
+        if ((type == ArrayBuffer.class) || (type == TypedArray.class) || Releasable.class.isAssignableFrom(type)) {
+            return false;
+        }
+        String name = type.getName();
+        return !name.startsWith("java.") && !name.startsWith("javax.");
+    }
+
+    private static <T> ToIntFunction<T> intGetter(final MethodHandle getter) {
+        final MethodHandle typed = getter.asType(MethodType.methodType(int.class, Object.class));
+        return (source) -> {
+            try {
+                return (int) typed.invokeExact((Object) source);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        };
+    }
+
+    private static <T> ToDoubleFunction<T> doubleGetter(final MethodHandle getter) {
+        final MethodHandle typed = getter.asType(MethodType.methodType(double.class, Object.class));
+        return (source) -> {
+            try {
+                return (double) typed.invokeExact((Object) source);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        };
+    }
+
+    private static <T> Predicate<T> booleanGetter(final MethodHandle getter) {
+        final MethodHandle typed = getter.asType(MethodType.methodType(boolean.class, Object.class));
+        return (source) -> {
+            try {
+                return (boolean) typed.invokeExact((Object) source);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, F> Function<T, F> objectGetter(final MethodHandle getter) {
+        final MethodHandle typed = getter.asType(MethodType.methodType(Object.class, Object.class));
+        return (source) -> {
+            try {
+                return (F) typed.invokeExact((Object) source);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        };
+    }
+
+    private static RuntimeException propagate(final Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException(t);
+    }
+
+    /**
+     * Declares the fields of an encoder.
+     */
+    public static final class Builder<T> {
+
+        private final List<PrimitiveField<T>> primitiveFields = new ArrayList<PrimitiveField<T>>();
+        private final List<ValueField<T>>     valueFields     = new ArrayList<ValueField<T>>();
+
+        private Builder() {
+        }
+
+        /**
+         * Declares an integer field.
+         *
+         * @param path The property name or dotted path of the value.
+         * @param getter Reads the value from the source.
+         *
+         * @return The receiver.
+         */
+        public Builder<T> intField(final String path, final ToIntFunction<T> getter) {
+            primitiveFields.add(new PrimitiveField<T>(checkPath(path)) {
+                @Override
+                void get(final T source, final V8Extraction values, final int index) {
+                    values.setInteger(index, getter.applyAsInt(source));
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Declares a double field.
+         *
+         * @param path The property name or dotted path of the value.
+         * @param getter Reads the value from the source.
+         *
+         * @return The receiver.
+         */
+        public Builder<T> doubleField(final String path, final ToDoubleFunction<T> getter) {
+            primitiveFields.add(new PrimitiveField<T>(checkPath(path)) {
+                @Override
+                void get(final T source, final V8Extraction values, final int index) {
+                    values.setDouble(index, getter.applyAsDouble(source));
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Declares a boolean field.
+         *
+         * @param path The property name or dotted path of the value.
+         * @param getter Reads the value from the source.
+         *
+         * @return The receiver.
+         */
+        public Builder<T> booleanField(final String path, final Predicate<T> getter) {
+            primitiveFields.add(new PrimitiveField<T>(checkPath(path)) {
+                @Override
+                void get(final T source, final V8Extraction values, final int index) {
+                    values.setBoolean(index, getter.test(source));
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Declares a String field. A null String is written as null.
+         *
+         * @param path The property name or dotted path of the value.
+         * @param getter Reads the value from the source.
+         *
+         * @return The receiver.
+         */
+        public Builder<T> stringField(final String path, final Function<T, String> getter) {
+            primitiveFields.add(new PrimitiveField<T>(checkPath(path)) {
+                @Override
+                void get(final T source, final V8Extraction values, final int index) {
+                    values.setString(index, getter.apply(source));
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Declares a field that holds a nested object, encoded with another
+         * encoder. A null value is written as null. Only a single property
+         * name is supported for nested objects, a dotted path is rejected.
+         *
+         * @param key The property name of the value.
+         * @param encoder The encoder for the nested object.
+         * @param getter Reads the value from the source.
+         *
+         * @return The receiver.
+         */
+        public <F> Builder<T> field(final String key, final V8Encoder<F> encoder, final Function<T, F> getter) {
+            valueFields.add(new ValueField<T>(checkKey(key)) {
+                @Override
+                void encode(final V8Object target, final T source) {
+                    F value = getter.apply(source);
+                    if (value == null) {
+                        target.addNull(key);
+                        return;
+                    }
+                    V8Object object = encoder.encode(target.getContext(), value);
+                    try {
+                        target.add(key, object);
+                    } finally {
+                        object.close();
+                    }
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Declares a field that is converted with
+         * {@link V8ObjectUtils#getV8Result(V8Context, Object)}. A null value is
+         * written as null. Only a single property name is supported, a dotted
+         * path is rejected.
+         *
+         * @param key The property name of the value.
+         * @param getter Reads the value from the source.
+         *
+         * @return The receiver.
+         */
+        public Builder<T> field(final String key, final Function<T, Object> getter) {
+            valueFields.add(new ValueField<T>(checkKey(key)) {
+                @Override
+                void encode(final V8Object target, final T source) {
+                    Object value = V8ObjectUtils.getV8Result(target.getContext(), getter.apply(source));
+                    try {
+                        add(target, key, value);
+                    } finally {
+                        if (value instanceof V8Value) {
+                            ((V8Value) value).close();
+                        }
+                    }
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Creates the encoder.
+         *
+         * @return A new encoder.
+         */
+        public V8Encoder<T> build() {
+            return new V8Encoder<T>(this);
+        }
+
+        private static String checkPath(final String path) {
+            if (path == null) {
+                throw new IllegalArgumentException("Path cannot be null");
+            }
+            return path;
+        }
+
+        private static String checkKey(final String key) {
+            if (key == null) {
+                throw new IllegalArgumentException("Key cannot be null");
+            }
+            if (key.indexOf('.') >= 0) {
+                throw new IllegalArgumentException("Key cannot be a dotted path: " + key);
+            }
+            return key;
+        }
+
+        private static void add(final V8Object target, final String key, final Object value) {
+            if (value == null) {
+                target.addNull(key);
+            } else if (value instanceof Integer) {
+                target.add(key, (Integer) value);
+            } else if (value instanceof Number) {
+                target.add(key, ((Number) value).doubleValue());
+            } else if (value instanceof Boolean) {
+                target.add(key, (Boolean) value);
+            } else if (value instanceof String) {
+                target.add(key, (String) value);
+            } else if (value instanceof V8Value) {
+                target.add(key, (V8Value) value);
+            } else {
+                throw new IllegalStateException("Unsupported Object of type: " + value.getClass());
+            }
+        }
+
+    }
+
+    private abstract static class PrimitiveField<T> {
+
+        final String path;
+
+        PrimitiveField(final String path) {
+            this.path = path;
+        }
+
+        abstract void get(T source, V8Extraction values, int index);
+
+    }
+
+    private abstract static class ValueField<T> {
+
+        final String path;
+
+        ValueField(final String path) {
+            this.path = path;
+        }
+
+        abstract void encode(V8Object target, T source);
+
+    }
+
+}
@@ -36,6 +36,8 @@ public class V8Executor extends Thread {
     private volatile boolean              shuttingDown     = false;
     private volatile boolean              forceTerminating = false;
     private Exception                     exception        = null;
+    private volatile V8Tracer             tracer           = null;
+    private volatile double               samplingRate     = 1;
 
     /**
      * Create a new executor. The executor will wait on a
@@ -56,6 +58,24 @@ public class V8Executor extends Thread {
 
     }
 
+    /**
+     * Reports the executions of the runtime of this executor to a tracer,
+     * see {@link V8Isolate#setTracer(V8Tracer, double)}. Must be called
+     * before the executor is started. The tracer is called on the thread
+     * of the executor.
+     *
+     * @param tracer The tracer, or null to disable tracing.
+     * @param samplingRate The fraction of executions that are reported,
+     * between 0 and 1.
+     */
+    public void setTracer(final V8Tracer tracer, final double samplingRate) {
+        if (!((samplingRate >= 0) && (samplingRate <= 1))) {
+            throw new IllegalArgumentException("Sampling rate must be between 0 and 1: " + samplingRate);
+        }
+        this.tracer = tracer;
+        this.samplingRate = samplingRate;
+    }
+
     /**
      * Posts a message to the receiver to be processed by the executor
      * and sent to the V8 runtime via the messageHandler.
@@ -78,6 +98,9 @@ public class V8Executor extends Thread {
     public void run() {
         synchronized (this) {
             nodeJs = NodeJS.createNodeJS().start();
+            if (tracer != null) {
+                nodeJs.getRuntime().setTracer(tracer, samplingRate);
+            }
             nodeJs.getContext().registerJavaMethod(new ExecutorTermination(), "__j2v8__checkThreadTerminate");
             setup(nodeJs);
         }
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.utils;
+
+import com.eclipsesource.v8.Releasable;
+import com.eclipsesource.v8.V8API;
+import com.eclipsesource.v8.V8Object;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A read-only Map view of a V8Object. Unlike {@link V8ObjectUtils#toMap(V8Object)},
+ * the view does not copy the object. The keys are fetched on first use and
+ * every value is fetched from V8 the first time it is accessed. Primitive values
+ * are cached, nested Objects and Arrays are returned as views themselves.
+ *
+ * Functions are not part of the view, the same as with toMap.
+ *
+ * A view holds native resources and must be released. Releasing a view releases
+ * all nested views that were created through it. To tie a view to the lifecycle
+ * of a V8 runtime, it can be registered as a resource with
+ * V8Isolate.registerResource.
+ */
+public class V8ObjectMapView extends AbstractMap<String, Object> implements Releasable {
+
+    private static final Object NOT_LOADED = new Object();
+
+    private final V8Object      object;
+    private final V8ViewValues  values;
+    private String[]            keys;
+    private Map<String, Object> cache;
+    private boolean             released;
+
+    V8ObjectMapView(final V8Object object, final TypeAdapter adapter) {
+        this.object = object;
+        values = new V8ViewValues(adapter);
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.util.AbstractMap#get(java.lang.Object)
+     */
+    @Override
+    public Object get(final Object key) {
+        Object value = getValue(key);
+        return value == V8ViewValues.IGNORE ? null : value;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.util.AbstractMap#containsKey(java.lang.Object)
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        checkReleased();
+        if (!(key instanceof String) || !object.contains((String) key)) {
+            return false;
+        }
+        getKeys();
+        Object value = cache.get(key);
+        if (value == null) {
+            // An inherited property, which is not part of the view
+            return false;
+        }
+        return isEntry((String) key);
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.util.AbstractMap#entrySet()
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        checkReleased();
+        return new EntrySet();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() {
+        if (released) {
+            return;
+        }
+        released = true;
+        try {
+            values.close();
+        } finally {
+            object.close();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.eclipsesource.v8.Releasable#isReleased()
+     */
+    @Override
+    public boolean isReleased() {
+        return released;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.util.AbstractMap#toString()
+     */
+    @Override
+    public String toString() {
+        if (released) {
+            return "[MapView released]";
+        }
+        return super.toString();
+    }
+
+    /**
+     * Returns the V8Object this view is backed by. The object is owned
+     * by the view and must not be released.
+     *
+     * @return The backing V8Object.
+     */
+    public V8Object getV8Object() {
+        checkReleased();
+        return object;
+    }
+
+    private Object getValue(final Object key) {
+        checkReleased();
+        getKeys();
+        Object value = cache.get(key);
+        if (value == NOT_LOADED) {
+            value = values.convert(object.get((String) key));
+            cache.put((String) key, value);
+        }
+        return value;
+    }
+
+    // Only functions need their value, as they are only part of the view if the adapter converts them
+    private boolean isEntry(final String key) {
+        if ((cache.get(key) == NOT_LOADED) && (object.getType(key) != V8API.V8_FUNCTION)) {
+            return true;
+        }
+        return getValue(key) != V8ViewValues.IGNORE;
+    }
+
+    private String[] getKeys() {
+        if (keys == null) {
+            keys = object.getKeys();
+            cache = new HashMap<String, Object>(keys.length * 2);
+            for (String key : keys) {
+                cache.put(key, NOT_LOADED);
+            }
+        }
+        return keys;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            checkReleased();
+            for (String key : getKeys()) {
+                if (isEntry(key)) {
+                    size++;
+                }
+            }
+            return size;
+        }
+
+    }
+
+    private class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private final String[] iteratorKeys = getKeys();
+        private int            next         = -1;
+
+        EntryIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < iteratorKeys.length;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String key = iteratorKeys[next];
+            Object value = getValue(key);
+            advance();
+            return new SimpleImmutableEntry<String, Object>(key, value);
+        }
+
+        private void advance() {
+            next++;
+            while ((next < iteratorKeys.length) && (getValue(iteratorKeys[next]) == V8ViewValues.IGNORE)) {
+                next++;
+            }
+        }
+
+    }
+
+}
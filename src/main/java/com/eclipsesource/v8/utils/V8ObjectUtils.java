@@ -138,6 +138,70 @@ public class V8ObjectUtils {
         }
     }
 
+    /**
+     * Creates a lazy, read-only Map view of a V8Object. Unlike toMap, nothing
+     * is copied up front: values are fetched from V8 when they are first accessed,
+     * and nested Objects and Arrays are returned as views as well.
+     *
+     * The view works on a twin of the object, so the object itself can be released
+     * independently. The view must be released once it is no longer needed.
+     *
+     * @param object The V8Object to view.
+     *
+     * @return A map view of the object.
+     */
+    public static V8ObjectMapView asMap(final V8Object object) {
+        return asMap(object, DEFAULT_TYPE_ADAPTER);
+    }
+
+    /**
+     * Creates a lazy, read-only Map view of a V8Object using a TypeAdapter to
+     * handle type conversions.
+     *
+     * The view works on a twin of the object, so the object itself can be released
+     * independently. The view must be released once it is no longer needed.
+     *
+     * @param object The V8Object to view.
+     * @param adapter The {@link TypeAdapter} to use for the object conversions.
+     *
+     * @return A map view of the object.
+     */
+    public static V8ObjectMapView asMap(final V8Object object, final TypeAdapter adapter) {
+        return new V8ObjectMapView(object.twin(), adapter);
+    }
+
+    /**
+     * Creates a lazy, read-only List view of a V8Array. Unlike toList, nothing
+     * is copied up front: elements are fetched from V8 when they are first accessed,
+     * and nested Objects and Arrays are returned as views as well.
+     *
+     * The view works on a twin of the array, so the array itself can be released
+     * independently. The view must be released once it is no longer needed.
+     *
+     * @param array The V8Array to view.
+     *
+     * @return A list view of the array.
+     */
+    public static V8ArrayListView asList(final V8Array array) {
+        return asList(array, DEFAULT_TYPE_ADAPTER);
+    }
+
+    /**
+     * Creates a lazy, read-only List view of a V8Array using a TypeAdapter to
+     * handle type conversions.
+     *
+     * The view works on a twin of the array, so the array itself can be released
+     * independently. The view must be released once it is no longer needed.
+     *
+     * @param array The V8Array to view.
+     * @param adapter The {@link TypeAdapter} to use for the object conversions.
+     *
+     * @return A list view of the array.
+     */
+    public static V8ArrayListView asList(final V8Array array, final TypeAdapter adapter) {
+        return new V8ArrayListView(array.twin(), adapter);
+    }
+
     /**
      * Populates a Java array from a V8Array. The type of the array must be specified.
      * Currently, only INTEGER, DOUBLE, BOOLEAN and STRING are supported.
@@ -223,7 +287,8 @@ public class V8ObjectUtils {
 
     /**
      * Creates a V8Object from a java.util.Map. This is a deep copy, so if the map
-     * contains other maps (or lists) they will also be converted.
+     * contains other maps (or lists) they will also be converted. To expose a map
+     * without copying it, use a {@link com.eclipsesource.v8.V8JavaProxy}.
      *
      * @param v8Context The runtime on which to create the result.
      * @param map The map to convert to a V8Object.
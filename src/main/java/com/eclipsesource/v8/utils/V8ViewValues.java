@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.utils;
+
+import com.eclipsesource.v8.Releasable;
+import com.eclipsesource.v8.V8API;
+import com.eclipsesource.v8.V8Array;
+import com.eclipsesource.v8.V8ArrayBuffer;
+import com.eclipsesource.v8.V8Function;
+import com.eclipsesource.v8.V8Isolate;
+import com.eclipsesource.v8.V8Object;
+import com.eclipsesource.v8.V8TypedArray;
+import com.eclipsesource.v8.V8Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts the values read by a lazy view and keeps track of the
+ * nested views it created, so they can be released with their parent.
+ */
+class V8ViewValues {
+
+    static final Object IGNORE = new Object();
+
+    private final TypeAdapter adapter;
+    private List<Releasable>  children;
+
+    V8ViewValues(final TypeAdapter adapter) {
+        this.adapter = adapter;
+    }
+
+    /**
+     * Converts a value returned by V8Object.get or V8Array.get. The
+     * conversion takes ownership of V8Values: they are either released,
+     * or owned by the nested view that is returned.
+     */
+    Object convert(final Object value) {
+        int type = getType(value);
+        boolean owned = false;
+        try {
+            Object adapterResult = adapter.adapt(type, value);
+            if (TypeAdapter.DEFAULT != adapterResult) {
+                return adapterResult;
+            }
+            switch (type) {
+                case V8API.INTEGER:
+                case V8API.DOUBLE:
+                case V8API.BOOLEAN:
+                case V8API.STRING:
+                    return value;
+                case V8API.V8_FUNCTION:
+                    return IGNORE;
+                case V8API.V8_ARRAY_BUFFER:
+                    return new ArrayBuffer((V8ArrayBuffer) value);
+                case V8API.V8_TYPED_ARRAY:
+                    return new TypedArray((V8TypedArray) value);
+                case V8API.V8_ARRAY:
+                    owned = true;
+                    return addChild(new V8ArrayListView((V8Array) value, adapter));
+                case V8API.V8_OBJECT:
+                    owned = true;
+                    return addChild(new V8ObjectMapView((V8Object) value, adapter));
+                case V8API.NULL:
+                    return null;
+                case V8API.UNDEFINED:
+                    return V8Isolate.getUndefined();
+                default:
+                    throw new IllegalStateException("Cannot convert type " + V8Value.getStringRepresentation(type));
+            }
+        } finally {
+            if (!owned && (value instanceof Releasable)) {
+                ((Releasable) value).release();
+            }
+        }
+    }
+
+    void close() {
+        if (children == null) {
+            return;
+        }
+        for (Releasable child : children) {
+            child.release();
+        }
+        children = null;
+    }
+
+    private Releasable addChild(final Releasable child) {
+        if (children == null) {
+            children = new ArrayList<Releasable>();
+        }
+        children.add(child);
+        return child;
+    }
+
+    private static int getType(final Object value) {
+        if (value == null) {
+            return V8API.NULL;
+        } else if (value instanceof Integer) {
+            return V8API.INTEGER;
+        } else if (value instanceof Double) {
+            return V8API.DOUBLE;
+        } else if (value instanceof Boolean) {
+            return V8API.BOOLEAN;
+        } else if (value instanceof String) {
+            return V8API.STRING;
+        } else if (((V8Value) value).isUndefined()) {
+            return V8API.UNDEFINED;
+        } else if (value instanceof V8Function) {
+            return V8API.V8_FUNCTION;
+        } else if (value instanceof V8TypedArray) {
+            return V8API.V8_TYPED_ARRAY;
+        } else if (value instanceof V8ArrayBuffer) {
+            return V8API.V8_ARRAY_BUFFER;
+        } else if (value instanceof V8Array) {
+            return V8API.V8_ARRAY;
+        }
+        return V8API.V8_OBJECT;
+    }
+
+}
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.eclipsesource.v8.Execution")
+@Label("V8 Execution")
+@Category("J2V8")
+@Description("A script or function executed on a runtime")
+final class V8ExecutionEvent extends Event {
+
+    @Label("Kind")
+    String kind;
+
+    @Label("Name")
+    String name;
+
+    @Label("Line Number")
+    int    lineNumber;
+
+    @Label("Exception")
+    String exception;
+
+}
@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+
+/**
+ * Emits the events of the runtimes to Java Flight Recorder.
+ *
+ * This version replaces the one of src/main/java on Java 11 and later.
+ * Events are only created while they are enabled in a recording, and
+ * their fields are only computed when they are committed, so the runtime
+ * is not slowed down by events which are not recorded. The garbage
+ * collection callbacks of an isolate are only installed while the
+ * GarbageCollection event is enabled, see
+ * {@link V8Isolate#updateGarbageCollectionEvents()}.
+ *
+ * The jdk.jfr module is only used through {@link Recorder}, so the runtime
+ * records nothing instead of failing when the module is missing, when the
+ * flight recorder is disabled or when a security manager denies access
+ * to it.
+ */
+final class V8FlightRecorder {
+
+    private static final boolean available = isAvailable();
+
+    private V8FlightRecorder() {
+    }
+
+    static boolean isExecutionEnabled() {
+        return available && Recorder.isExecutionEnabled();
+    }
+
+    static Object beginExecution() {
+        return available ? Recorder.beginExecution() : null;
+    }
+
+    static void endExecution(final Object recording, final V8TraceSpan span) {
+        if (recording != null) {
+            Recorder.endExecution(recording, span);
+        }
+    }
+
+    static Object beginCallback() {
+        return available ? Recorder.beginCallback() : null;
+    }
+
+    static void endCallback(final Object recording, final Object target) {
+        if (recording != null) {
+            Recorder.endCallback(recording, target);
+        }
+    }
+
+    static Object beginLockerAcquire() {
+        return available ? Recorder.beginLockerAcquire() : null;
+    }
+
+    static void endLockerAcquire(final Object recording) {
+        if (recording != null) {
+            Recorder.commit(recording);
+        }
+    }
+
+    static Object beginIsolateCreation() {
+        return available ? Recorder.beginIsolateCreation() : null;
+    }
+
+    static void endIsolateCreation(final Object recording) {
+        if (recording != null) {
+            Recorder.commit(recording);
+        }
+    }
+
+    static Object beginIsolateRelease() {
+        return available ? Recorder.beginIsolateRelease() : null;
+    }
+
+    static void endIsolateRelease(final Object recording) {
+        if (recording != null) {
+            Recorder.commit(recording);
+        }
+    }
+
+    static int getRecordingChanges() {
+        return available ? Recorder.getRecordingChanges() : 0;
+    }
+
+    static boolean isGarbageCollectionEnabled() {
+        return available && Recorder.isGarbageCollectionEnabled();
+    }
+
+    static void garbageCollected(final int type, final long pauseTime) {
+        if (available) {
+            Recorder.garbageCollected(type, pauseTime);
+        }
+    }
+
+    private static boolean isAvailable() {
+        try {
+            return Recorder.initialize();
+        } catch (LinkageError e) {
+            // The jdk.jfr module is missing or the recorder failed to initialize
+            return false;
+        } catch (SecurityException e) {
+            return false;
+        }
+    }
+
+    // Only this class links against jdk.jfr, so it is loaded once the recorder is known to be present
+    private static final class Recorder {
+
+        // The GCType flags of V8
+        private static final int           GC_SCAVENGE            = 1;
+        private static final int           GC_MARK_SWEEP_COMPACT  = 2;
+        private static final int           GC_INCREMENTAL_MARKING = 4;
+        private static final int           GC_WEAK_CALLBACKS      = 8;
+
+        private static final EventType     executionType          = EventType.getEventType(V8ExecutionEvent.class);
+        private static final EventType     garbageCollectionType  = EventType.getEventType(V8GarbageCollectionEvent.class);
+
+        // Incremented when a recording changes state, so the isolates check the GC event again
+        private static final AtomicInteger recordingChanges       = new AtomicInteger();
+
+        static {
+            FlightRecorder.addListener(new FlightRecorderListener() {
+
+                @Override
+                public void recordingStateChanged(final Recording recording) {
+                    recordingChanges.incrementAndGet();
+                }
+            });
+        }
+
+        private Recorder() {
+        }
+
+        static boolean initialize() {
+            return FlightRecorder.isAvailable();
+        }
+
+        static boolean isExecutionEnabled() {
+            return executionType.isEnabled();
+        }
+
+        static Object beginExecution() {
+            return begin(new V8ExecutionEvent());
+        }
+
+        static void endExecution(final Object recording, final V8TraceSpan span) {
+            V8ExecutionEvent event = (V8ExecutionEvent) recording;
+            if (!end(event)) {
+                return;
+            }
+            event.kind = span.getKind().name();
+            event.name = span.getName();
+            event.lineNumber = span.getLineNumber();
+            event.exception = span.hasException() ? span.getException().getClass().getName() : null;
+            event.commit();
+        }
+
+        static Object beginCallback() {
+            return begin(new V8CallbackEvent());
+        }
+
+        static void endCallback(final Object recording, final Object target) {
+            V8CallbackEvent event = (V8CallbackEvent) recording;
+            if (!end(event)) {
+                return;
+            }
+            if (target instanceof Method) {
+                Method method = (Method) target;
+                event.method = method.getDeclaringClass().getName() + "." + method.getName();
+            } else if (target != null) {
+                event.method = target.getClass().getName();
+            }
+            event.commit();
+        }
+
+        static Object beginLockerAcquire() {
+            return begin(new V8LockerAcquireEvent());
+        }
+
+        static Object beginIsolateCreation() {
+            return begin(new V8IsolateCreationEvent());
+        }
+
+        static Object beginIsolateRelease() {
+            return begin(new V8IsolateReleaseEvent());
+        }
+
+        static void commit(final Object recording) {
+            Event event = (Event) recording;
+            if (end(event)) {
+                event.commit();
+            }
+        }
+
+        static int getRecordingChanges() {
+            return recordingChanges.get();
+        }
+
+        static boolean isGarbageCollectionEnabled() {
+            return garbageCollectionType.isEnabled();
+        }
+
+        static void garbageCollected(final int type, final long pauseTime) {
+            if (!garbageCollectionType.isEnabled()) {
+                return;
+            }
+            V8GarbageCollectionEvent event = new V8GarbageCollectionEvent();
+            // The pause is measured by the native layer, so the event itself has no duration
+            if (!event.shouldCommit()) {
+                return;
+            }
+            event.type = getGarbageCollectionType(type);
+            event.pauseTime = pauseTime;
+            event.commit();
+        }
+
+        private static String getGarbageCollectionType(final int type) {
+            switch (type) {
+                case GC_SCAVENGE:
+                    return "Scavenge";
+                case GC_MARK_SWEEP_COMPACT:
+                    return "Mark-Sweep-Compact";
+                case GC_INCREMENTAL_MARKING:
+                    return "Incremental Marking";
+                case GC_WEAK_CALLBACKS:
+                    return "Weak Callbacks";
+                default:
+                    return Integer.toString(type);
+            }
+        }
+
+        private static Event begin(final Event event) {
+            if (!event.isEnabled()) {
+                return null;
+            }
+            event.begin();
+            return event;
+        }
+
+        private static boolean end(final Event event) {
+            event.end();
+            return event.shouldCommit();
+        }
+
+    }
+
+}
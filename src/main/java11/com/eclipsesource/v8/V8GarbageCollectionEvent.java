@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.eclipsesource.v8.GarbageCollection")
+@Label("V8 Garbage Collection")
+@Category("J2V8")
+@Description("A garbage collection pause of a runtime")
+final class V8GarbageCollectionEvent extends Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("Pause Time")
+    @Timespan
+    long   pauseTime;
+
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LongObjectMapTest {
+
+    @Test
+    public void testEmpty() {
+        LongObjectMap<String> map = new LongObjectMap<String>();
+
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void testPutAndGet() {
+        LongObjectMap<String> map = new LongObjectMap<String>();
+
+        assertNull(map.put(1, "a"));
+        assertNull(map.put(Long.MAX_VALUE, "b"));
+        assertNull(map.put(0, "c"));
+
+        assertEquals("a", map.get(1));
+        assertEquals("b", map.get(Long.MAX_VALUE));
+        assertEquals("c", map.get(0));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void testPutReplacesValue() {
+        LongObjectMap<String> map = new LongObjectMap<String>();
+        map.put(1, "a");
+
+        assertEquals("a", map.put(1, "b"));
+
+        assertEquals("b", map.get(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutNullValue() {
+        new LongObjectMap<String>().put(1, null);
+    }
+
+    @Test
+    public void testRemove() {
+        LongObjectMap<String> map = new LongObjectMap<String>();
+        map.put(1, "a");
+        map.put(2, "b");
+
+        assertEquals("a", map.remove(1));
+
+        assertNull(map.get(1));
+        assertFalse(map.containsKey(1));
+        assertEquals("b", map.get(2));
+        assertEquals(1, map.size());
+        assertNull(map.remove(1));
+    }
+
+    @Test
+    public void testClear() {
+        LongObjectMap<String> map = new LongObjectMap<String>();
+        map.put(1, "a");
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void testValues() {
+        LongObjectMap<String> map = new LongObjectMap<String>();
+        map.put(1, "a");
+        map.put(2, "b");
+
+        Object[] values = map.values();
+
+        assertEquals(2, values.length);
+    }
+
+    @Test
+    public void testKeys() {
+        LongObjectMap<String> map = new LongObjectMap<String>();
+        map.put(1, "a");
+        map.put(2, "b");
+        map.remove(1);
+
+        long[] keys = map.keys();
+
+        assertEquals(1, keys.length);
+        assertEquals(2, keys[0]);
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        LongObjectMap<Long> map = new LongObjectMap<Long>(4);
+        Map<Long, Long> expected = new HashMap<Long, Long>();
+        Random random = new Random(0);
+
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(1000) * 16L;
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+    }
+
+}
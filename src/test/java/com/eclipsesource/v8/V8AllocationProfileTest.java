@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class V8AllocationProfileTest {
+
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    // (root) -> main -> [allocate, other], allocate has two allocation sizes
+    private V8AllocationProfile createProfile() {
+        int[] values = new int[] {
+                1, 0, 0, 0, 0,
+                2, 3, 1, 1, 1,
+                0, 3, 4, 10, 2,
+                0, 3, 8, 10, 0 };
+        String[] strings = new String[] { "(root)", "", "main", "app.js", "allocate", "app.js", "other", "app.js" };
+        long[] allocations = new long[] { 16, 2, 32, 10, 64, 1 };
+        return new V8AllocationProfile(values, strings, allocations);
+    }
+
+    @Test
+    public void testAllocationTree() {
+        V8AllocationProfile profile = createProfile();
+
+        V8AllocationProfileNode root = profile.getRoot();
+        assertEquals("(root)", root.getFunctionName());
+        V8AllocationProfileNode main = root.getChildren().get(0);
+        assertEquals("main", main.getFunctionName());
+        assertEquals(2, main.getChildren().size());
+        V8AllocationProfileNode allocate = main.getChildren().get(0);
+        assertEquals("allocate", allocate.getFunctionName());
+        assertEquals("app.js", allocate.getScriptName());
+        assertEquals(3, allocate.getScriptId());
+        assertEquals(4, allocate.getLineNumber());
+        assertEquals(10, allocate.getColumnNumber());
+        assertSame(main, allocate.getParent());
+    }
+
+    @Test
+    public void testSizes() {
+        V8AllocationProfile profile = createProfile();
+        V8AllocationProfileNode main = profile.getRoot().getChildren().get(0);
+        V8AllocationProfileNode allocate = main.getChildren().get(0);
+
+        assertEquals(32, main.getSelfSize());
+        assertEquals(32 + 320 + 64, main.getTotalSize());
+        assertEquals(2, main.getSelfCount());
+        assertEquals(13, main.getTotalCount());
+        assertEquals(384, allocate.getSelfSize());
+        assertArrayEquals(new long[] { 32, 64 }, allocate.getAllocationSizes());
+        assertArrayEquals(new long[] { 10, 1 }, allocate.getAllocationCounts());
+        assertEquals(416, profile.getRoot().getTotalSize());
+    }
+
+    @Test
+    public void testHotspots() {
+        List<V8AllocationProfileNode> hotspots = createProfile().getHotspots(10);
+
+        assertEquals(2, hotspots.size());
+        assertEquals("allocate", hotspots.get(0).getFunctionName());
+        assertEquals("main", hotspots.get(1).getFunctionName());
+    }
+
+    @Test
+    public void testSampleScriptAllocations() {
+        v8Isolate.startSamplingHeapProfiler(128, 16);
+        assertTrue(v8Isolate.isSamplingHeapProfiler());
+        v8Context.executeVoidScript("var retained = [];\n"
+                + "function allocate() { for (var i = 0; i < 10000; i++) { retained.push({ value: i }); } }\n"
+                + "allocate();", "allocations.js", 0);
+
+        V8AllocationProfile profile = v8Isolate.getAllocationProfile();
+
+        assertTrue(profile.getRoot().getTotalSize() > 0);
+        boolean found = false;
+        for (V8AllocationProfileNode node : profile.getNodes()) {
+            if ("allocate".equals(node.getFunctionName())) {
+                assertEquals("allocations.js", node.getScriptName());
+                assertEquals(2, node.getLineNumber());
+                assertTrue(node.getSelfSize() > 0);
+                found = true;
+            }
+        }
+        assertTrue(found);
+        v8Isolate.stopSamplingHeapProfiler();
+        assertFalse(v8Isolate.isSamplingHeapProfiler());
+    }
+
+    @Test
+    public void testProfilerStoppedOnRelease() {
+        v8Isolate.startSamplingHeapProfiler(1024, 16);
+
+        v8Isolate.close();
+        v8Isolate = null;
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStartTwice() {
+        v8Isolate.startSamplingHeapProfiler(1024, 16);
+        try {
+            v8Isolate.startSamplingHeapProfiler(1024, 16);
+        } finally {
+            v8Isolate.stopSamplingHeapProfiler();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetProfileWithoutStart() {
+        v8Isolate.getAllocationProfile();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidStackDepth() {
+        v8Isolate.startSamplingHeapProfiler(1024, 0);
+    }
+
+}
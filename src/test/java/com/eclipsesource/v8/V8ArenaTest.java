@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class V8ArenaTest {
+
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test
+    public void testReleasesTrackedValues() {
+        V8Arena arena = new V8Arena(v8Context);
+        V8Object object = new V8Object(v8Context);
+        V8Array array = new V8Array(v8Context);
+
+        arena.close();
+
+        assertTrue(object.isReleased());
+        assertTrue(array.isReleased());
+        assertEquals(0, v8Isolate.getObjectReferenceCount());
+    }
+
+    @Test
+    public void testReleasesManyValues() {
+        V8Arena arena = new V8Arena(v8Context);
+        for (int i = 0; i < 1000; i++) {
+            new V8Object(v8Context);
+        }
+
+        assertEquals(1000, arena.getObjectReferenceCount());
+        arena.close();
+
+        assertEquals(0, v8Isolate.getObjectReferenceCount());
+    }
+
+    @Test
+    public void testClosedValueIsNotTracked() {
+        V8Arena arena = new V8Arena(v8Context);
+        new V8Object(v8Context).close();
+        V8Object object = new V8Object(v8Context);
+
+        assertEquals(1, arena.getObjectReferenceCount());
+        arena.close();
+        assertTrue(object.isReleased());
+    }
+
+    @Test
+    public void testValuesCreatedBeforeAreNotTracked() {
+        V8Object object = new V8Object(v8Context);
+        V8Arena arena = new V8Arena(v8Context);
+
+        arena.close();
+
+        assertFalse(object.isReleased());
+        object.close();
+    }
+
+    @Test
+    public void testNestedArenas() {
+        V8Arena outer = new V8Arena(v8Context);
+        V8Object first = new V8Object(v8Context);
+        V8Arena inner = new V8Arena(v8Context);
+        V8Object second = new V8Object(v8Context);
+
+        assertEquals(2, outer.getObjectReferenceCount());
+        assertEquals(1, inner.getObjectReferenceCount());
+        inner.close();
+
+        assertTrue(second.isReleased());
+        assertFalse(first.isReleased());
+        assertEquals(1, outer.getObjectReferenceCount());
+        outer.close();
+        assertTrue(first.isReleased());
+    }
+
+    @Test
+    public void testReleaseOuterArenaFirst() {
+        V8Arena outer = new V8Arena(v8Context);
+        V8Arena inner = new V8Arena(v8Context);
+        V8Object first = new V8Object(v8Context);
+
+        outer.close();
+
+        assertTrue(first.isReleased());
+        assertEquals(0, inner.getObjectReferenceCount());
+        V8Object second = new V8Object(v8Context);
+        assertEquals(1, inner.getObjectReferenceCount());
+        inner.close();
+        assertTrue(second.isReleased());
+    }
+
+    @Test
+    public void testPersistRemovesFromAllArenas() {
+        V8Arena outer = new V8Arena(v8Context);
+        V8Arena inner = new V8Arena(v8Context);
+        V8Object object = new V8Object(v8Context);
+
+        inner.persist(object);
+        inner.close();
+        outer.close();
+
+        assertFalse(object.isReleased());
+        object.close();
+    }
+
+    @Test
+    public void testSlotsAreReused() {
+        V8Arena arena = new V8Arena(v8Context);
+        for (int i = 0; i < 1000; i++) {
+            new V8Object(v8Context).close();
+        }
+        V8Object object = new V8Object(v8Context);
+
+        assertEquals(0, object.arenaSlot);
+        arena.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReleasedArenaCannotBeUsed() {
+        V8Arena arena = new V8Arena(v8Context);
+        arena.close();
+
+        arena.getObjectReferenceCount();
+    }
+
+}
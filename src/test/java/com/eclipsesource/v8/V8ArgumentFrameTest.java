@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class V8ArgumentFrameTest {
+
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test
+    public void testEmptyFrame() {
+        v8Context.executeVoidScript("function count() { return arguments.length; }");
+        V8ArgumentFrame frame = new V8ArgumentFrame();
+
+        Object result = v8Context.executeFunctionWithFrame("count", frame);
+
+        assertEquals(0, result);
+    }
+
+    @Test
+    public void testPrimitiveArguments() {
+        v8Context.executeVoidScript("function add(a, b, c) { return c ? a + b : a - b; }");
+        V8ArgumentFrame frame = new V8ArgumentFrame().push(7).push(3.5).push(true);
+
+        Object result = v8Context.executeFunctionWithFrame("add", frame);
+
+        assertEquals(10.5, result);
+    }
+
+    @Test
+    public void testStringArguments() {
+        v8Context.executeVoidScript("function join(a, b) { return a + ':' + b; }");
+        V8ArgumentFrame frame = new V8ArgumentFrame().push("foo").push("bar");
+
+        Object result = v8Context.executeFunctionWithFrame("join", frame);
+
+        assertEquals("foo:bar", result);
+    }
+
+    @Test
+    public void testNullAndUndefinedArguments() {
+        v8Context.executeVoidScript("function types(a, b, c) { return [a === null, b === undefined, c === null].join(); }");
+        V8ArgumentFrame frame = new V8ArgumentFrame().pushNull().pushUndefined().push((String) null);
+
+        Object result = v8Context.executeFunctionWithFrame("types", frame);
+
+        assertEquals("true,true,true", result);
+    }
+
+    @Test
+    public void testObjectArgument() {
+        v8Context.executeVoidScript("function name(o) { return o.name; }");
+        V8Object object = new V8Object(v8Context).add("name", "j2v8");
+        V8ArgumentFrame frame = new V8ArgumentFrame().push(object);
+
+        Object result = v8Context.executeFunctionWithFrame("name", frame);
+
+        assertEquals("j2v8", result);
+        object.close();
+    }
+
+    @Test
+    public void testPushObjectValues() {
+        v8Context.executeVoidScript("function types() { return Array.prototype.map.call(arguments, function(a) { return typeof a; }).join(); }");
+        V8ArgumentFrame frame = new V8ArgumentFrame();
+        frame.push((Object) 1).push((Object) 2.5).push((Object) 3L).push((Object) 1.5f).push((Object) false).push((Object) "s");
+
+        Object result = v8Context.executeFunctionWithFrame("types", frame);
+
+        assertEquals("number,number,number,number,boolean,string", result);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPushUnsupportedObject() {
+        new V8ArgumentFrame().push(new Object());
+    }
+
+    @Test
+    public void testFrameGrowsBeyondCapacity() {
+        v8Context.executeVoidScript("function sum() { var s = 0; for (var i = 0; i < arguments.length; i++) { s += arguments[i]; } return s; }");
+        V8ArgumentFrame frame = new V8ArgumentFrame(1);
+        for (int i = 0; i < 100; i++) {
+            frame.push(i);
+        }
+
+        Object result = v8Context.executeFunctionWithFrame("sum", frame);
+
+        assertEquals(100, frame.length());
+        assertEquals(4950, result);
+    }
+
+    @Test
+    public void testFrameCanBeReused() {
+        v8Context.executeVoidScript("function twice(a) { return a + a; }");
+        V8ArgumentFrame frame = new V8ArgumentFrame();
+
+        for (int i = 0; i < 10; i++) {
+            Object result = v8Context.executeFunctionWithFrame("twice", frame.clear().push(i));
+            assertEquals(i * 2, result);
+        }
+        assertEquals(1, frame.length());
+    }
+
+    @Test
+    public void testClearResetsLength() {
+        V8ArgumentFrame frame = new V8ArgumentFrame().push(1).push("a");
+
+        frame.clear();
+
+        assertEquals(0, frame.length());
+    }
+
+    @Test
+    public void testCallFunctionWithFrame() {
+        V8Function function = (V8Function) v8Context.executeScript("(function(a, b) { return this.base + a * b; })");
+        V8Object receiver = new V8Object(v8Context).add("base", 1);
+        V8ArgumentFrame frame = new V8ArgumentFrame().push(2).push(3);
+
+        Object result = function.callWithFrame(receiver, frame);
+
+        assertEquals(7, result);
+        receiver.close();
+        function.close();
+    }
+
+    @Test
+    public void testCallFunctionWithFrameNullReceiver() {
+        v8Context.add("base", 10);
+        V8Function function = (V8Function) v8Context.executeScript("(function(a) { return this.base + a; })");
+        V8ArgumentFrame frame = new V8ArgumentFrame().push(5);
+
+        Object result = function.callWithFrame(null, frame);
+
+        assertEquals(15, result);
+        function.close();
+    }
+
+    @Test
+    public void testCallFunctionReturnsObject() {
+        V8Function function = (V8Function) v8Context.executeScript("(function(a) { return { value: a }; })");
+        V8ArgumentFrame frame = new V8ArgumentFrame().push("x");
+
+        V8Object result = (V8Object) function.callWithFrame(null, frame);
+
+        assertEquals("x", result.getString("value"));
+        result.close();
+        function.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReleasedObjectArgument() {
+        v8Context.executeVoidScript("function name(o) { return o.name; }");
+        V8Object object = new V8Object(v8Context);
+        V8ArgumentFrame frame = new V8ArgumentFrame().push(object);
+        object.close();
+
+        v8Context.executeFunctionWithFrame("name", frame);
+    }
+
+    @Test
+    public void testExceptionInFunction() {
+        v8Context.executeVoidScript("function fail(a) { throw 'failed ' + a; }");
+        V8ArgumentFrame frame = new V8ArgumentFrame().push(1);
+
+        try {
+            v8Context.executeFunctionWithFrame("fail", frame);
+            fail("Exception expected");
+        } catch (V8ScriptExecutionException e) {
+            assertTrue(e.getMessage().contains("failed 1"));
+        }
+    }
+
+}
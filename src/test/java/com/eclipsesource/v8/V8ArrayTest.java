@@ -10,6 +10,9 @@
  ******************************************************************************/
 package com.eclipsesource.v8;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -1010,6 +1013,81 @@ public class V8ArrayTest {
         array.close();
     }
 
+    @Test
+    public void testArrayGetString_Latin1() {
+        V8Array array = v8Context.executeArrayScript("['caf\\u00e9','\\u0000','x\\u00ff'];");
+
+        assertEquals("caf\u00e9", array.getString(0));
+        assertEquals("\u0000", array.getString(1));
+        assertEquals("x\u00ff", array.getString(2));
+        array.close();
+    }
+
+    @Test
+    public void testArrayGetLongString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.append((char) ('a' + (i % 26)));
+        }
+        V8Array array = new V8Array(v8Context).push(builder.toString()).push(builder.toString() + "\u00e9");
+
+        assertEquals(builder.toString(), array.getString(0));
+        assertEquals(builder.toString() + "\u00e9", array.getString(1));
+        array.close();
+    }
+
+    @Test
+    public void testArrayGetUTF8() {
+        V8Array array = v8Context.executeArrayScript("['first','\u00e9t\u00e9','🎉'];");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+
+        assertEquals(5, array.getUTF8(0, buffer));
+        assertEquals(5, array.getUTF8(1, buffer));
+        assertEquals(4, array.getUTF8(2, buffer));
+
+        buffer.flip();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        assertEquals("first\u00e9t\u00e9🎉", new String(bytes, StandardCharsets.UTF_8));
+        array.close();
+    }
+
+    @Test
+    public void testArrayGetUTF8BufferTooSmall() {
+        V8Array array = v8Context.executeArrayScript("['first'];");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+
+        assertEquals(5, array.getUTF8(0, buffer));
+
+        assertEquals(0, buffer.position());
+        array.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArrayGetUTF8NotDirect() {
+        V8Array array = v8Context.executeArrayScript("['first'];");
+
+        try {
+            array.getUTF8(0, ByteBuffer.allocate(16));
+        } finally {
+            array.close();
+        }
+    }
+
+    @Test
+    public void testArrayPushUTF8() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        buffer.put("\u00e9t\u00e9 🌞".getBytes(StandardCharsets.UTF_8));
+        buffer.flip();
+        V8Array array = new V8Array(v8Context);
+
+        array.pushUTF8(buffer);
+
+        assertEquals("\u00e9t\u00e9 🌞", array.getString(0));
+        assertEquals(buffer.limit(), buffer.position());
+        array.close();
+    }
+
     @Test
     public void testArrayGetStrings_Unicode() {
         V8Array array = v8Context.executeArrayScript("['🎉','🌞','💐'];");
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class V8AutoReleaseTest {
+
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    private int releaseCollectedValues(final int expected) throws InterruptedException {
+        int result = 0;
+        for (int i = 0; (i < 100) && (result < expected); i++) {
+            System.gc();
+            Thread.sleep(10);
+            result += v8Isolate.releaseCollectedValues();
+        }
+        return result;
+    }
+
+    private void createAbandonedObjects(final int count) {
+        for (int i = 0; i < count; i++) {
+            new V8Object(v8Context).add("foo", i);
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(v8Isolate.isAutoReleaseEnabled());
+        assertEquals(0, v8Isolate.releaseCollectedValues());
+    }
+
+    @Test
+    public void testEnableAutoRelease() {
+        v8Isolate.enableAutoRelease();
+
+        assertTrue(v8Isolate.isAutoReleaseEnabled());
+    }
+
+    @Test
+    public void testCollectedObjectsAreReleased() throws InterruptedException {
+        v8Isolate.enableAutoRelease();
+
+        createAbandonedObjects(10);
+
+        assertEquals(10, releaseCollectedValues(10));
+        assertEquals(0, v8Isolate.getObjectReferenceCount());
+    }
+
+    @Test
+    public void testClosedObjectsAreNotReleasedAgain() throws InterruptedException {
+        v8Isolate.enableAutoRelease();
+        for (int i = 0; i < 10; i++) {
+            new V8Object(v8Context).close();
+        }
+
+        assertEquals(0, releaseCollectedValues(1));
+        assertEquals(0, v8Isolate.getObjectReferenceCount());
+    }
+
+    @Test
+    public void testObjectsCreatedBeforeEnablingAreNotTracked() throws InterruptedException {
+        V8Object object = new V8Object(v8Context);
+        v8Isolate.enableAutoRelease();
+
+        createAbandonedObjects(1);
+
+        assertEquals(1, releaseCollectedValues(2));
+        assertEquals(1, v8Isolate.getObjectReferenceCount());
+        object.close();
+    }
+
+    @Test
+    public void testCollectedObjectsAreNotReportedAsLeaks() throws InterruptedException {
+        v8Isolate.enableAutoRelease();
+        createAbandonedObjects(5);
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        v8Isolate.close();
+        v8Isolate = null;
+    }
+
+    @Test
+    public void testReleasedBeforeScriptExecution() throws InterruptedException {
+        v8Isolate.enableAutoRelease();
+        createAbandonedObjects(5);
+        for (int i = 0; (i < 100) && (v8Isolate.getObjectReferenceCount() > 0); i++) {
+            System.gc();
+            Thread.sleep(10);
+            v8Context.executeVoidScript("");
+        }
+
+        assertEquals(0, v8Isolate.getObjectReferenceCount());
+    }
+
+    @Test
+    public void testReleasedBeforeFunctionCall() throws InterruptedException {
+        v8Context.executeVoidScript("function foo() { return 7; }");
+        v8Isolate.enableAutoRelease();
+        createAbandonedObjects(5);
+        for (int i = 0; (i < 100) && (v8Isolate.getObjectReferenceCount() > 0); i++) {
+            System.gc();
+            Thread.sleep(10);
+            v8Context.executeIntegerFunction("foo", null);
+        }
+
+        assertEquals(0, v8Isolate.getObjectReferenceCount());
+    }
+
+    @Test
+    public void testReleasedWhenLockerIsAcquired() throws InterruptedException {
+        v8Isolate.enableAutoRelease();
+        createAbandonedObjects(5);
+        for (int i = 0; (i < 100) && (v8Isolate.getObjectReferenceCount() > 0); i++) {
+            System.gc();
+            Thread.sleep(10);
+            v8Isolate.getLocker().release();
+            v8Isolate.getLocker().tryAcquire();
+        }
+
+        assertEquals(0, v8Isolate.getObjectReferenceCount());
+    }
+
+}
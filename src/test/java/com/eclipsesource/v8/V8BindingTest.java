@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class V8BindingTest {
+
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    public static class Host {
+        public int add(final int a, final int b) {
+            return a + b;
+        }
+
+        public String greet(final V8Object receiver, final String name) {
+            return receiver.getString("prefix") + name;
+        }
+    }
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test
+    public void testInstallOnContext() {
+        V8Binding binding = V8Binding.builder()
+                .add("answer", (receiver, parameters) -> 42)
+                .build(v8Isolate);
+
+        binding.install(v8Context);
+
+        assertEquals(42, v8Context.executeIntegerScript("answer()"));
+        binding.close();
+    }
+
+    @Test
+    public void testInstallOnManyContexts() {
+        V8Binding binding = V8Binding.builder()
+                .add("answer", (receiver, parameters) -> parameters.getInteger(0) * 2)
+                .build(v8Isolate);
+        V8Context otherContext = v8Isolate.createContext();
+
+        binding.install(v8Context);
+        binding.install(otherContext);
+
+        assertEquals(2, v8Context.executeIntegerScript("answer(1)"));
+        assertEquals(4, otherContext.executeIntegerScript("answer(2)"));
+        binding.close();
+    }
+
+    @Test
+    public void testCallbackReceivesCallingContext() {
+        final List<V8Context> contexts = new ArrayList<V8Context>();
+        V8Binding binding = V8Binding.builder()
+                .addVoid("record", (receiver, parameters) -> contexts.add(receiver.getContext()))
+                .build(v8Isolate);
+        V8Context otherContext = v8Isolate.createContext();
+        binding.install(v8Context);
+        binding.install(otherContext);
+
+        v8Context.executeVoidScript("record()");
+        otherContext.executeVoidScript("record()");
+
+        assertSame(v8Context, contexts.get(0));
+        assertSame(otherContext, contexts.get(1));
+        binding.close();
+    }
+
+    @Test
+    public void testInstallOnObject() {
+        V8Binding binding = V8Binding.builder()
+                .add("answer", (receiver, parameters) -> 42)
+                .build(v8Isolate);
+        V8Object api = new V8Object(v8Context);
+        v8Context.add("api", api);
+
+        binding.install(api);
+
+        assertEquals(42, v8Context.executeIntegerScript("api.answer()"));
+        api.close();
+        binding.close();
+    }
+
+    @Test
+    public void testReflectiveMethods() {
+        V8Binding binding = V8Binding.builder()
+                .add(new Host(), "add", "add", new Class<?>[] { Integer.TYPE, Integer.TYPE }, false)
+                .add(new Host(), "greet", "greet", new Class<?>[] { V8Object.class, String.class }, true)
+                .build(v8Isolate);
+
+        binding.install(v8Context);
+
+        assertEquals(7, v8Context.executeIntegerScript("add(3, 4)"));
+        assertEquals("Hello Joe", v8Context.executeStringScript("var o = {prefix: 'Hello ', greet: greet}; o.greet('Joe')"));
+        binding.close();
+    }
+
+    @Test
+    public void testVoidCallbackReturnsUndefined() {
+        V8Binding binding = V8Binding.builder()
+                .addVoid("noop", (receiver, parameters) -> {
+                })
+                .build(v8Isolate);
+        binding.install(v8Context);
+
+        assertTrue(v8Context.executeBooleanScript("noop() === undefined"));
+        binding.close();
+    }
+
+    @Test
+    public void testExceptionIsThrownInJavaScript() {
+        V8Binding binding = V8Binding.builder()
+                .addVoid("fail", (receiver, parameters) -> {
+                    throw new IllegalStateException("failed");
+                })
+                .build(v8Isolate);
+        binding.install(v8Context);
+
+        assertEquals("failed", v8Context.executeStringScript("var m; try { fail(); } catch (e) { m = e; } m"));
+        binding.close();
+    }
+
+    @Test
+    public void testReleasedWithIsolate() {
+        V8Binding binding = V8Binding.builder()
+                .add("answer", (receiver, parameters) -> 42)
+                .build(v8Isolate);
+
+        v8Isolate.close();
+        v8Isolate = null;
+
+        assertTrue(binding.isReleased());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testInstallReleasedBinding() {
+        V8Binding binding = V8Binding.builder()
+                .add("answer", (receiver, parameters) -> 42)
+                .build(v8Isolate);
+        binding.close();
+
+        binding.install(v8Context);
+    }
+
+    @Test
+    public void testCallReleasedBinding() {
+        V8Binding binding = V8Binding.builder()
+                .add("answer", (receiver, parameters) -> 42)
+                .build(v8Isolate);
+        binding.install(v8Context);
+
+        binding.close();
+
+        assertEquals("Binding has been released", v8Context.executeStringScript("var m; try { answer(); } catch (e) { m = e.message; } m"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateFunctionName() {
+        V8Binding.builder()
+                .add("answer", (receiver, parameters) -> 42)
+                .add("answer", (receiver, parameters) -> 43);
+    }
+
+    @Test
+    public void testGetFunctionNames() {
+        V8Binding binding = V8Binding.builder()
+                .add("a", (receiver, parameters) -> 1)
+                .addVoid("b", (receiver, parameters) -> {
+                })
+                .build(v8Isolate);
+
+        assertArrayEquals(new String[] { "a", "b" }, binding.getFunctionNames());
+        binding.close();
+    }
+
+}
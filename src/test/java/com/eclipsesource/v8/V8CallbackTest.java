@@ -18,7 +18,10 @@ import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -1915,6 +1918,127 @@ public class V8CallbackTest {
         assertTrue(result);
     }
 
+    @Test
+    public void testPackedPrimitiveArguments() {
+        final List<Object> result = new ArrayList<Object>();
+        v8Context.registerJavaMethod(new JavaVoidCallback() {
+
+            @Override
+            public void invoke(final V8Object receiver, final V8Array parameters) {
+                result.add(parameters.length());
+                result.add(parameters.getType(0));
+                result.add(parameters.getInteger(0));
+                result.add(parameters.getDouble(0));
+                result.add(parameters.getType(1));
+                result.add(parameters.getDouble(1));
+                result.add(parameters.getBoolean(2));
+                result.add(parameters.getString(3));
+                result.add(parameters.getType(4));
+            }
+        }, "foo");
+
+        v8Context.executeVoidScript("foo(7, 3.5, true, 'bar', null);");
+
+        assertEquals(Arrays.<Object> asList(5, V8API.INTEGER, 7, 7.0, V8API.DOUBLE, 3.5, true, "bar", V8API.NULL), result);
+    }
+
+    @Test
+    public void testPackedArgumentsOfNestedCallbacks() {
+        final List<Integer> result = new ArrayList<Integer>();
+        v8Context.registerJavaMethod(new JavaCallback() {
+
+            @Override
+            public Object invoke(final V8Object receiver, final V8Array parameters) {
+                return parameters.getInteger(0) * 2;
+            }
+        }, "inner");
+        v8Context.registerJavaMethod(new JavaVoidCallback() {
+
+            @Override
+            public void invoke(final V8Object receiver, final V8Array parameters) {
+                result.add(parameters.getInteger(0));
+                result.add(v8Context.executeIntegerScript("inner(5)"));
+                result.add(parameters.getInteger(1));
+            }
+        }, "outer");
+
+        v8Context.executeVoidScript("outer(1, 2);");
+
+        assertEquals(Arrays.asList(1, 10, 2), result);
+    }
+
+    @Test
+    public void testPushAfterPackedArguments() {
+        final List<Integer> result = new ArrayList<Integer>();
+        v8Context.registerJavaMethod(new JavaVoidCallback() {
+
+            @Override
+            public void invoke(final V8Object receiver, final V8Array parameters) {
+                parameters.push(2);
+                result.add(parameters.length());
+                result.add(parameters.getInteger(1));
+            }
+        }, "foo");
+
+        v8Context.executeVoidScript("foo(1);");
+
+        assertEquals(Arrays.asList(2, 2), result);
+    }
+
+    @Test
+    public void testPackedArgumentsBeyondSlotCapacity() {
+        ICallback callback = mock(ICallback.class);
+        v8Context.registerJavaMethod(callback, "voidMethodVarArgs", "foo", new Class<?>[] { Object[].class });
+        StringBuilder script = new StringBuilder("foo(");
+        for (int i = 0; i <= V8Context.CALLBACK_ARGUMENT_SLOTS; i++) {
+            script.append(i == 0 ? "" : ", ").append(i);
+        }
+        script.append(");");
+
+        v8Context.executeVoidScript(script.toString());
+
+        Object[] expected = new Object[V8Context.CALLBACK_ARGUMENT_SLOTS + 1];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = i;
+        }
+        verify(callback).voidMethodVarArgs(expected);
+    }
+
+    @Test
+    public void testPackedArgumentsInvalidatedByInheritedSetters() {
+        JavaCallback callback = new JavaCallback() {
+
+            @Override
+            public Object invoke(final V8Object receiver, final V8Array parameters) {
+                parameters.add("0", "replaced");
+                parameters.addNull("1");
+                return parameters.getString(0) + ":" + parameters.getType(1) + ":" + parameters.length();
+            }
+        };
+        v8Context.registerJavaMethod(callback, "callback");
+
+        Object result = v8Context.executeScript("callback(1, 2);");
+
+        assertEquals("replaced:" + V8API.NULL + ":2", result);
+    }
+
+    @Test
+    public void testPackedArgumentsInvalidatedByFunctionCall() {
+        JavaCallback callback = new JavaCallback() {
+
+            @Override
+            public Object invoke(final V8Object receiver, final V8Array parameters) {
+                parameters.executeVoidFunction("pop", null);
+                return parameters.length();
+            }
+        };
+        v8Context.registerJavaMethod(callback, "callback");
+
+        Object result = v8Context.executeScript("callback(1, 2);");
+
+        assertEquals(1, result);
+    }
+
     private Answer<Object> constructAnswer(final V8Object receiver, final V8Array parameters, final Object result) {
         return new Answer<Object>() {
 
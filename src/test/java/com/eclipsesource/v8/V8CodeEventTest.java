@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class V8CodeEventTest {
+
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    private static final String SCRIPT = "function codeEventFunction(x) { return x * 2; }\n"
+            + "for (var i = 0; i < 10; i++) { codeEventFunction(i); }\n";
+
+    private static class RecordingListener implements V8CodeEventListener {
+
+        final List<String> names   = new ArrayList<String>();
+        int                moved   = 0;
+        int                removed = 0;
+
+        @Override
+        public void codeAdded(final long address, final long size, final String name) {
+            names.add(name);
+        }
+
+        @Override
+        public void codeMoved(final long address, final long newAddress) {
+            moved++;
+        }
+
+        @Override
+        public void codeRemoved(final long address) {
+            removed++;
+        }
+
+        boolean hasName(final String name) {
+            for (String next : names) {
+                if (next.contains(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    private static File getPerfMap() {
+        String name = ManagementFactory.getRuntimeMXBean().getName();
+        return new File("/tmp/perf-" + name.substring(0, name.indexOf('@')) + ".map");
+    }
+
+    @Test
+    public void testCodeEventListenerNotSetByDefault() {
+        assertNull(v8Isolate.getCodeEventListener());
+        assertFalse(v8Isolate.isPerfMapEnabled());
+    }
+
+    @Test
+    public void testSetCodeEventListener() {
+        RecordingListener listener = new RecordingListener();
+
+        v8Isolate.setCodeEventListener(listener);
+
+        assertSame(listener, v8Isolate.getCodeEventListener());
+    }
+
+    @Test
+    public void testCodeEventListenerReceivesCompiledFunctions() {
+        RecordingListener listener = new RecordingListener();
+        v8Isolate.setCodeEventListener(listener);
+
+        v8Context.executeVoidScript(SCRIPT);
+
+        assertTrue(listener.hasName("codeEventFunction"));
+    }
+
+    @Test
+    public void testCodeEventListenerReceivesExistingCode() {
+        v8Context.executeVoidScript(SCRIPT);
+        RecordingListener listener = new RecordingListener();
+
+        v8Isolate.setCodeEventListener(listener);
+
+        assertTrue(listener.hasName("codeEventFunction"));
+    }
+
+    @Test
+    public void testRemoveCodeEventListener() {
+        RecordingListener listener = new RecordingListener();
+        v8Isolate.setCodeEventListener(listener);
+
+        v8Isolate.setCodeEventListener(null);
+        v8Context.executeVoidScript(SCRIPT);
+
+        assertNull(v8Isolate.getCodeEventListener());
+        assertFalse(listener.hasName("codeEventFunction"));
+    }
+
+    @Test
+    public void testReplaceCodeEventListener() {
+        v8Context.executeVoidScript(SCRIPT);
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+        v8Isolate.setCodeEventListener(first);
+
+        v8Isolate.setCodeEventListener(second);
+
+        assertSame(second, v8Isolate.getCodeEventListener());
+        assertTrue(second.hasName("codeEventFunction"));
+    }
+
+    @Test
+    public void testCodeEventListenerExceptionIgnored() {
+        v8Isolate.setCodeEventListener(new V8CodeEventListener() {
+
+            @Override
+            public void codeAdded(final long address, final long size, final String name) {
+                throw new RuntimeException("Ignored");
+            }
+
+            @Override
+            public void codeMoved(final long address, final long newAddress) {
+                throw new RuntimeException("Ignored");
+            }
+
+            @Override
+            public void codeRemoved(final long address) {
+                throw new RuntimeException("Ignored");
+            }
+        });
+
+        assertEquals(2, v8Context.executeIntegerScript("1 + 1"));
+    }
+
+    @Test
+    public void testCodeEventListenerRemovedOnRelease() {
+        v8Isolate.setCodeEventListener(new RecordingListener());
+
+        v8Isolate.close();
+
+        assertNull(v8Isolate.getCodeEventListener());
+    }
+
+    @Test
+    public void testPerfMapContainsCompiledFunctions() throws Exception {
+        assumeTrue(System.getProperty("os.name").toLowerCase().contains("linux"));
+        v8Isolate.setPerfMapEnabled(true);
+
+        v8Context.executeVoidScript(SCRIPT);
+        v8Isolate.setPerfMapEnabled(false);
+
+        assertFalse(v8Isolate.isPerfMapEnabled());
+        String perfMap = new String(Files.readAllBytes(getPerfMap().toPath()), StandardCharsets.UTF_8);
+        assertTrue(perfMap.contains("codeEventFunction"));
+    }
+
+    @Test
+    public void testPerfMapWithCodeEventListener() {
+        assumeTrue(System.getProperty("os.name").toLowerCase().contains("linux"));
+        RecordingListener listener = new RecordingListener();
+        v8Isolate.setCodeEventListener(listener);
+
+        v8Isolate.setPerfMapEnabled(true);
+        v8Context.executeVoidScript(SCRIPT);
+
+        assertTrue(v8Isolate.isPerfMapEnabled());
+        assertTrue(listener.hasName("codeEventFunction"));
+    }
+
+    @Test(expected = Error.class)
+    public void testSetPerfMapEnabledWrongThread() throws InterruptedException {
+        final Error[] error = new Error[1];
+        Thread thread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    v8Isolate.setPerfMapEnabled(true);
+                } catch (Error e) {
+                    error[0] = e;
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+
+        throw error[0];
+    }
+
+}
@@ -98,4 +98,22 @@ public class V8ContextTest {
 		total.getAndAdd(v);
 		return v;
 	}
+
+	@Test
+	public void releaseIsolateAfterCallbackOfClosedContextIsCollected() {
+		V8Isolate isolate = V8Isolate.create();
+		V8Context context = isolate.createContext();
+		context.registerJavaMethod(new JavaVoidCallback() {
+
+			@Override
+			public void invoke(final V8Object receiver, final V8Array parameters) {
+			}
+		}, "callback");
+
+		context.close();
+		isolate.lowMemoryNotification();
+
+		assertEquals(0, isolate.getMethodDescriptorCount());
+		isolate.close();
+	}
 }
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class V8CpuProfileTest {
+
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    // (root) -> main -> [work, idle], with 1 + 2 + 3 samples on main, work and idle
+    private V8CpuProfile createProfile() {
+        int[] values = new int[] {
+                1, 1, 0, 0, 0, 0,
+                2, 2, 1, 1, 10, 7,
+                3, 0, 2, 3, 5, 7,
+                4, 0, 3, 0, 0, 0 };
+        String[] strings = new String[] {
+                "(root)", "", "",
+                "main", "app.js", "",
+                "work", "app.js", "optimized too many times",
+                "(idle)", "", "" };
+        int[] lineTicks = new int[] { 0, 0, 2, 4, 1, 5, 1, 0 };
+        int[] samples = new int[] { 2, 3, 3, 4, 4, 4 };
+        long[] times = new long[] { 1000, 2000, 1100, 1200, 1300, 1400, 1500, 1600 };
+        return new V8CpuProfile("test", values, strings, lineTicks, samples, times);
+    }
+
+    private String toJson(final V8CpuProfile profile) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        profile.writeTo(Channels.newChannel(out));
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testCallTree() {
+        V8CpuProfile profile = createProfile();
+
+        V8CpuProfileNode root = profile.getRoot();
+        assertEquals("(root)", root.getFunctionName());
+        assertNull(root.getParent());
+        assertEquals(1, root.getChildren().size());
+        V8CpuProfileNode main = root.getChildren().get(0);
+        assertEquals("main", main.getFunctionName());
+        assertSame(root, main.getParent());
+        assertEquals(2, main.getChildren().size());
+        assertEquals("work", main.getChildren().get(0).getFunctionName());
+        assertEquals("(idle)", main.getChildren().get(1).getFunctionName());
+    }
+
+    @Test
+    public void testNodeInfo() {
+        V8CpuProfileNode work = createProfile().getNodes().get(2);
+
+        assertEquals(3, work.getId());
+        assertEquals("app.js", work.getUrl());
+        assertEquals(7, work.getScriptId());
+        assertEquals(3, work.getLineNumber());
+        assertEquals(5, work.getColumnNumber());
+        assertEquals("optimized too many times", work.getBailoutReason());
+        assertArrayEquals(new int[] { 4, 5 }, work.getHitLines());
+        assertArrayEquals(new int[] { 1, 1 }, work.getHitLineTicks());
+    }
+
+    @Test
+    public void testTicks() {
+        V8CpuProfile profile = createProfile();
+        V8CpuProfileNode main = profile.getRoot().getChildren().get(0);
+
+        assertEquals(1, main.getSelfTicks());
+        assertEquals(6, main.getTotalTicks());
+        assertEquals(2, main.getChildren().get(0).getTotalTicks());
+        assertEquals(6, profile.getRoot().getTotalTicks());
+        assertEquals(0, profile.getRoot().getSelfTicks());
+    }
+
+    @Test
+    public void testSamples() {
+        V8CpuProfile profile = createProfile();
+
+        assertEquals("test", profile.getTitle());
+        assertEquals(1000, profile.getStartTime());
+        assertEquals(2000, profile.getEndTime());
+        assertEquals(6, profile.getSampleCount());
+        assertArrayEquals(new int[] { 2, 3, 3, 4, 4, 4 }, profile.getSamples());
+        assertArrayEquals(new long[] { 1100, 1200, 1300, 1400, 1500, 1600 }, profile.getTimestamps());
+    }
+
+    @Test
+    public void testWriteCpuProfile() throws IOException {
+        String json = toJson(createProfile());
+
+        assertTrue(json.startsWith("{\"nodes\":[{\"id\":1,\"callFrame\":{\"functionName\":\"(root)\",\"scriptId\":\"0\",\"url\":\"\",\"lineNumber\":-1,\"columnNumber\":-1},\"hitCount\":0,\"children\":[2]}"));
+        assertTrue(json.contains("\"positionTicks\":[{\"line\":4,\"ticks\":1},{\"line\":5,\"ticks\":1}]"));
+        assertTrue(json.contains("\"deoptReason\":\"optimized too many times\""));
+        assertTrue(json.endsWith("\"startTime\":1000,\"endTime\":2000,\"samples\":[2,3,3,4,4,4],\"timeDeltas\":[100,100,100,100,100,100]}"));
+    }
+
+    @Test
+    public void testWriteEscapesStrings() throws IOException {
+        V8CpuProfile profile = new V8CpuProfile("test", new int[] { 1, 0, 0, 0, 0, 0 }, new String[] { "a\"b\\c\n\u00e9", "", "" },
+                new int[] { 0 }, new int[0], new long[] { 0, 0 });
+
+        String json = toJson(profile);
+
+        assertTrue(json.contains("\"functionName\":\"a\\\"b\\\\c\\n\u00e9\""));
+    }
+
+    @Test
+    public void testProfileScript() {
+        v8Isolate.startCpuProfiling("test", 100);
+        assertTrue(v8Isolate.isCpuProfiling());
+        v8Context.executeVoidScript("function busy() { var x = 0; for (var i = 0; i < 1000000; i++) { x += i; } return x; }\n"
+                + "for (var j = 0; j < 20; j++) { busy(); }", "busy.js", 0);
+
+        V8CpuProfile profile = v8Isolate.stopCpuProfiling();
+
+        assertFalse(v8Isolate.isCpuProfiling());
+        assertEquals("test", profile.getTitle());
+        assertEquals("(root)", profile.getRoot().getFunctionName());
+        assertEquals(profile.getSampleCount(), profile.getRoot().getTotalTicks());
+        assertTrue(profile.getEndTime() >= profile.getStartTime());
+        boolean found = false;
+        for (V8CpuProfileNode node : profile.getNodes()) {
+            if ("busy".equals(node.getFunctionName())) {
+                assertEquals("busy.js", node.getUrl());
+                assertEquals(1, node.getLineNumber());
+                found = true;
+            }
+        }
+        assertTrue(found || (profile.getSampleCount() == 0));
+    }
+
+    @Test
+    public void testWriteRecordedProfile() throws IOException {
+        v8Isolate.startCpuProfiling("test", 100);
+        v8Context.executeVoidScript("var x = 0; for (var i = 0; i < 100000; i++) { x += i; }");
+        V8CpuProfile profile = v8Isolate.stopCpuProfiling();
+
+        String json = toJson(profile);
+
+        assertTrue(json.startsWith("{\"nodes\":[{\"id\":"));
+        assertTrue(json.endsWith("]}"));
+    }
+
+    @Test
+    public void testProfilingStoppedOnRelease() {
+        v8Isolate.startCpuProfiling("test", 100);
+
+        v8Isolate.close();
+        v8Isolate = null;
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStartTwice() {
+        v8Isolate.startCpuProfiling("test", 100);
+        try {
+            v8Isolate.startCpuProfiling("other", 100);
+        } finally {
+            v8Isolate.stopCpuProfiling();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStopWithoutStart() {
+        v8Isolate.stopCpuProfiling();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSamplingInterval() {
+        v8Isolate.startCpuProfiling("test", 0);
+    }
+
+}
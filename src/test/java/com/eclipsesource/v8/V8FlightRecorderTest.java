@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+// The tests run against the classes of src/main/java, which record nothing, so the
+// events are recorded by a forked JVM which loads the classes of src/main/java11 first
+public class V8FlightRecorderTest {
+
+    private static final String SCRIPT_NAME = "recorded.js";
+    private static final String UNAVAILABLE = "unavailable";
+
+    @Test
+    public void testNothingRecordedOnJava8() {
+        assertFalse(V8FlightRecorder.isExecutionEnabled());
+        assertFalse(V8FlightRecorder.isGarbageCollectionEnabled());
+        assertNull(V8FlightRecorder.beginExecution());
+    }
+
+    @Test
+    public void testRecordedEvents() throws Exception {
+        assumeFalse("Skipped test (cannot fork a JVM on Android)", PlatformDetector.OS.isAndroid());
+        assumeFalse("Skipped test (Java Flight Recorder requires Java 11)", System.getProperty("java.specification.version").startsWith("1."));
+        File classes = new File(V8Isolate.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        File versionedClasses = new File(classes, "META-INF" + File.separator + "versions" + File.separator + "11");
+        assumeTrue("Skipped test (Java 11 classes not compiled)", versionedClasses.isDirectory());
+        File recording = File.createTempFile("j2v8", ".jfr");
+        try {
+            String bin = System.getProperty("java.home") + File.separator + "bin" + File.separator;
+            run(bin + "java", "-XX:StartFlightRecording=filename=" + recording.getAbsolutePath() + ",dumponexit=true",
+                    "-Djava.library.path=" + System.getProperty("java.library.path"),
+                    "-cp", versionedClasses.getAbsolutePath() + File.pathSeparator + System.getProperty("java.class.path"),
+                    V8FlightRecorderTest.class.getName());
+
+            String events = run(bin + "jfr", "print", "--events", "com.eclipsesource.v8.Execution,com.eclipsesource.v8.GarbageCollection",
+                    recording.getAbsolutePath());
+
+            assertTrue(events, events.contains("com.eclipsesource.v8.Execution"));
+            assertTrue(events, events.contains(SCRIPT_NAME));
+            assertTrue(events, events.contains("com.eclipsesource.v8.GarbageCollection"));
+        } finally {
+            recording.delete();
+        }
+    }
+
+    @Test
+    public void testNothingRecordedWithoutFlightRecorderModule() throws Exception {
+        assumeFalse("Skipped test (cannot fork a JVM on Android)", PlatformDetector.OS.isAndroid());
+        assumeFalse("Skipped test (Java Flight Recorder requires Java 11)", System.getProperty("java.specification.version").startsWith("1."));
+        File classes = new File(V8Isolate.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        File versionedClasses = new File(classes, "META-INF" + File.separator + "versions" + File.separator + "11");
+        assumeTrue("Skipped test (Java 11 classes not compiled)", versionedClasses.isDirectory());
+        String bin = System.getProperty("java.home") + File.separator + "bin" + File.separator;
+
+        run(bin + "java", "--limit-modules", "java.base",
+                "-cp", versionedClasses.getAbsolutePath() + File.pathSeparator + System.getProperty("java.class.path"),
+                V8FlightRecorderTest.class.getName(), UNAVAILABLE);
+    }
+
+    // Run by testRecordedEvents, while a recording is started, and by
+    // testNothingRecordedWithoutFlightRecorderModule, without the jdk.jfr module
+    public static void main(final String[] args) {
+        if ((args.length > 0) && UNAVAILABLE.equals(args[0])) {
+            assertFalse(V8FlightRecorder.isExecutionEnabled());
+            assertFalse(V8FlightRecorder.isGarbageCollectionEnabled());
+            assertNull(V8FlightRecorder.beginExecution());
+            assertEquals(0, V8FlightRecorder.getRecordingChanges());
+            return;
+        }
+        V8Isolate isolate = V8Isolate.create();
+        try {
+            isolate.createContext().executeVoidScript("var a = []; for (var i = 0; i < 1000; i++) { a.push({}); }", SCRIPT_NAME, 0);
+            isolate.lowMemoryNotification();
+        } finally {
+            isolate.close();
+        }
+    }
+
+    private static String run(final String... command) throws Exception {
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectErrorStream(true);
+        Process process = builder.start();
+        StringBuilder output = new StringBuilder();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.append(line).append('\n');
+            }
+        } finally {
+            reader.close();
+        }
+        assertEquals(output.toString(), 0, process.waitFor());
+        return output.toString();
+    }
+
+}
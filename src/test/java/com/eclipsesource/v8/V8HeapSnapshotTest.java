@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class V8HeapSnapshotTest {
+
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    private static class FailingChannel implements WritableByteChannel {
+
+        int writes;
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int write(final ByteBuffer src) throws IOException {
+            writes++;
+            throw new IOException("disk full");
+        }
+
+    }
+
+    @Test
+    public void testTakeHeapSnapshot() throws IOException {
+        v8Context.executeVoidScript("var retained = { marker: 'heap-snapshot-marker' };");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        v8Isolate.takeHeapSnapshot(Channels.newChannel(out));
+
+        String json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("{\"snapshot\":"));
+        assertTrue(json.endsWith("}"));
+        assertTrue(json.contains("heap-snapshot-marker"));
+    }
+
+    @Test
+    public void testTakeHeapSnapshotTwice() throws IOException {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+
+        v8Isolate.takeHeapSnapshot(Channels.newChannel(first));
+        v8Isolate.takeHeapSnapshot(Channels.newChannel(second));
+
+        assertTrue(first.size() > 0);
+        assertTrue(second.size() > 0);
+    }
+
+    @Test
+    public void testWriteFailureAbortsSnapshot() {
+        FailingChannel channel = new FailingChannel();
+
+        try {
+            v8Isolate.takeHeapSnapshot(channel);
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals("disk full", e.getMessage());
+        }
+        assertEquals(1, channel.writes);
+    }
+
+    @Test
+    public void testHeapSummary() {
+        v8Context.executeVoidScript("function Retained() { this.value = 1; }\n"
+                + "var retained = []; for (var i = 0; i < 10000; i++) { retained.push(new Retained()); }");
+
+        V8HeapSummary summary = v8Isolate.takeHeapSummary(20);
+
+        V8HeapSummary.Entry retained = null;
+        for (V8HeapSummary.Entry entry : summary.getEntries()) {
+            if ("Retained".equals(entry.getName())) {
+                retained = entry;
+            }
+        }
+        assertNotNull(retained);
+        assertTrue(retained.getCount() >= 10000);
+        assertTrue(retained.getSize() > 0);
+        assertTrue(summary.getTotalSize() >= retained.getSize());
+    }
+
+    @Test
+    public void testHeapSummaryLimit() {
+        V8HeapSummary summary = v8Isolate.takeHeapSummary(3);
+
+        assertEquals(3, summary.getEntries().size());
+        assertTrue(summary.getTotalCount() > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeHeapSummaryLimit() {
+        v8Isolate.takeHeapSummary(-1);
+    }
+
+    @Test
+    public void testSummaryEntriesSortedBySize() {
+        V8HeapSummary summary = new V8HeapSummary(new String[] { "A", "B", "C" }, new long[] { 1, 10, 5, 30, 2, 20 }, 2);
+
+        assertEquals(2, summary.getEntries().size());
+        assertEquals("B", summary.getEntries().get(0).getName());
+        assertEquals(30, summary.getEntries().get(0).getSize());
+        assertEquals("C", summary.getEntries().get(1).getName());
+        assertEquals(8, summary.getTotalCount());
+        assertEquals(60, summary.getTotalSize());
+    }
+
+    @Test
+    public void testWriterWritesChunk() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.put("abcdef".getBytes(StandardCharsets.US_ASCII));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        V8HeapSnapshotWriter writer = new V8HeapSnapshotWriter(Channels.newChannel(out), buffer);
+
+        assertTrue(writer.writeChunk(3));
+        writer.checkException();
+
+        assertEquals("abc", new String(out.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test(expected = IOException.class)
+    public void testWriterKeepsException() throws IOException {
+        V8HeapSnapshotWriter writer = new V8HeapSnapshotWriter(new FailingChannel(), ByteBuffer.allocateDirect(16));
+
+        assertFalse(writer.writeChunk(3));
+        writer.checkException();
+    }
+
+}
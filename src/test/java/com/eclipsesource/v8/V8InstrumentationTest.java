@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
+
+public class V8InstrumentationTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(V8Instrumentation.ENABLED);
+    }
+
+    @Test
+    public void testSizeOfAsciiString() {
+        assertEquals(3, V8Instrumentation.sizeOf("abc"));
+    }
+
+    @Test
+    public void testSizeOfNonAsciiString() {
+        assertEquals(6, V8Instrumentation.sizeOf("abé"));
+        assertEquals(4, V8Instrumentation.sizeOf("a€"));
+    }
+
+    @Test
+    public void testSizeOfStringWithNullCharacter() {
+        assertEquals(4, V8Instrumentation.sizeOf("a\u0000"));
+    }
+
+    @Test
+    public void testSizeOfNullString() {
+        assertEquals(0, V8Instrumentation.sizeOf((String) null));
+    }
+
+    @Test
+    public void testSizeOfStrings() {
+        assertEquals(5, V8Instrumentation.sizeOf(new String[] { "abc", "é", null }, 2));
+    }
+
+    @Test
+    public void testRecord() {
+        V8Instrumentation instrumentation = V8Instrumentation.create();
+        try {
+            instrumentation.record(V8NativeMethod.CONTAINS, 10, 3);
+            instrumentation.record(V8NativeMethod.CONTAINS, 20, 4);
+
+            V8Instrumentation.Snapshot snapshot = instrumentation.snapshot();
+
+            assertEquals(2, snapshot.getInvocationCount(V8NativeMethod.CONTAINS));
+            assertEquals(7, snapshot.getBytesTransferred(V8NativeMethod.CONTAINS));
+            assertEquals(30, snapshot.getTotalNanos());
+        } finally {
+            instrumentation.release();
+        }
+    }
+
+    @Test
+    public void testReleasedInstrumentationIsInProcessSnapshot() {
+        long before = V8Instrumentation.getProcessSnapshot().getInvocationCount(V8NativeMethod.GET_KEYS);
+        V8Instrumentation instrumentation = V8Instrumentation.create();
+        instrumentation.record(V8NativeMethod.GET_KEYS, 10, 0);
+
+        instrumentation.release();
+
+        assertEquals(before + 1, V8Instrumentation.getProcessSnapshot().getInvocationCount(V8NativeMethod.GET_KEYS));
+    }
+
+    @Test
+    public void testSnapshotOfDisabledIsolateIsEmpty() {
+        V8Isolate isolate = V8Isolate.create();
+        try {
+            isolate.createContext().executeIntegerScript("1");
+
+            assertEquals(0, isolate.getInstrumentationSnapshot().getTotalInvocationCount());
+        } finally {
+            isolate.close();
+        }
+    }
+
+    // The flag is read once per process, so the enabled path runs in a forked JVM
+    @Test
+    public void testEnabledInstrumentation() throws Exception {
+        assumeFalse("Skipped test (cannot fork a JVM on Android)", PlatformDetector.OS.isAndroid());
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(java, "-Dj2v8.instrumentation=true",
+                "-Djava.library.path=" + System.getProperty("java.library.path"),
+                "-cp", System.getProperty("java.class.path"), V8InstrumentationTest.class.getName());
+        builder.redirectErrorStream(true);
+        Process process = builder.start();
+        StringBuilder output = new StringBuilder();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.append(line).append('\n');
+            }
+        } finally {
+            reader.close();
+        }
+
+        assertEquals(output.toString(), 0, process.waitFor());
+        assertEquals("1 12 1\n", output.toString());
+    }
+
+    // Run by testEnabledInstrumentation, prints the calls and bytes recorded for executeIntegerScript
+    public static void main(final String[] args) {
+        V8Isolate isolate = V8Isolate.create();
+        try {
+            isolate.createContext().executeIntegerScript("var x = 1; x");
+            V8Instrumentation.Snapshot snapshot = isolate.getInstrumentationSnapshot();
+            System.out.println(snapshot.getInvocationCount(V8NativeMethod.EXECUTE_INTEGER_SCRIPT) + " "
+                    + snapshot.getBytesTransferred(V8NativeMethod.EXECUTE_INTEGER_SCRIPT) + " "
+                    + snapshot.getLatency(V8NativeMethod.EXECUTE_INTEGER_SCRIPT).getCount());
+        } finally {
+            isolate.close();
+        }
+        if (!V8Instrumentation.ENABLED) {
+            System.exit(1);
+        }
+    }
+
+}
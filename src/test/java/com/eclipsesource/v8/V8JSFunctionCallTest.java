@@ -1001,6 +1001,41 @@ public class V8JSFunctionCallTest {
         v8Function.close();
     }
 
+    @Test
+    public void testV8FunctionCreatesMethodDescriptor() {
+        long before = v8Isolate.getMethodDescriptorCount();
+        V8Function function = new V8Function(v8Context, new JavaCallback() {
+
+            @Override
+            public Object invoke(final V8Object receiver, final V8Array parameters) {
+                return null;
+            }
+        });
+
+        assertEquals(before + 1, v8Isolate.getMethodDescriptorCount());
+        function.close();
+    }
+
+    @Test
+    public void testCollectedV8FunctionsReleaseMethodDescriptors() {
+        long before = v8Isolate.getMethodDescriptorCount();
+        for (int i = 0; i < 1000; i++) {
+            new V8Function(v8Context, new JavaCallback() {
+
+                @Override
+                public Object invoke(final V8Object receiver, final V8Array parameters) {
+                    return null;
+                }
+            }).close();
+        }
+
+        for (int i = 0; (i < 10) && (v8Isolate.getMethodDescriptorCount() > before); i++) {
+            v8Isolate.lowMemoryNotification();
+        }
+
+        assertEquals(before, v8Isolate.getMethodDescriptorCount());
+    }
+
     @Test
     public void testCreateV8Function() {
         V8Function function = new V8Function(v8Context, new JavaCallback() {
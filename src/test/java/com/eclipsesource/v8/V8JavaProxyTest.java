@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class V8JavaProxyTest {
+
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    public static class Person {
+        public String name;
+        public int    age;
+        private boolean active;
+        public Person friend;
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(final boolean active) {
+            this.active = active;
+        }
+
+        public String getDisplayName() {
+            return "Dr. " + name;
+        }
+    }
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    private Person createPerson() {
+        Person person = new Person();
+        person.name = "Joe";
+        person.age = 42;
+        person.active = true;
+        return person;
+    }
+
+    @Test
+    public void testReadFields() {
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, createPerson());
+        v8Context.add("person", proxy);
+
+        assertEquals("Joe", v8Context.executeStringScript("person.name"));
+        assertEquals(42, v8Context.executeIntegerScript("person.age"));
+        proxy.close();
+    }
+
+    @Test
+    public void testReadBeanProperties() {
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, createPerson());
+        v8Context.add("person", proxy);
+
+        assertTrue(v8Context.executeBooleanScript("person.active"));
+        assertEquals("Dr. Joe", v8Context.executeStringScript("person.displayName"));
+        proxy.close();
+    }
+
+    @Test
+    public void testReadFromJava() {
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, createPerson());
+
+        assertEquals("Joe", proxy.getString("name"));
+        assertEquals(42, proxy.getInteger("age"));
+        proxy.close();
+    }
+
+    @Test
+    public void testReadsAreLazy() {
+        Person person = createPerson();
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, person);
+        v8Context.add("person", proxy);
+
+        person.age = 43;
+
+        assertEquals(43, v8Context.executeIntegerScript("person.age"));
+        proxy.close();
+    }
+
+    @Test
+    public void testUnknownPropertyIsUndefined() {
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, createPerson());
+        v8Context.add("person", proxy);
+
+        assertTrue(v8Context.executeBooleanScript("person.foo === undefined"));
+        assertFalse(v8Context.executeBooleanScript("'foo' in person"));
+        assertTrue(v8Context.executeBooleanScript("'name' in person"));
+        proxy.close();
+    }
+
+    @Test
+    public void testWriteFields() {
+        Person person = createPerson();
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, person);
+        v8Context.add("person", proxy);
+
+        v8Context.executeVoidScript("person.name = 'Jane'; person.age = 7.0; person.active = false;");
+
+        assertEquals("Jane", person.name);
+        assertEquals(7, person.age);
+        assertFalse(person.active);
+        proxy.close();
+    }
+
+    @Test(expected = V8ScriptExecutionException.class)
+    public void testWriteReadOnlyProxy() {
+        Person person = createPerson();
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, person, true);
+        v8Context.add("person", proxy);
+        proxy.close();
+
+        v8Context.executeVoidScript("person.name = 'Jane';");
+    }
+
+    @Test
+    public void testReadOnlyProxyKeepsValue() {
+        Person person = createPerson();
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, person, true);
+        v8Context.add("person", proxy);
+
+        try {
+            v8Context.executeVoidScript("person.name = 'Jane';");
+        } catch (V8ScriptExecutionException e) {
+            // expected
+        }
+
+        assertEquals("Joe", person.name);
+        assertTrue(proxy.isReadOnly());
+        proxy.close();
+    }
+
+    @Test
+    public void testNestedObjectIsProxied() {
+        Person person = createPerson();
+        person.friend = createPerson();
+        person.friend.name = "Jane";
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, person);
+        v8Context.add("person", proxy);
+
+        assertEquals("Jane", v8Context.executeStringScript("person.friend.name"));
+        assertTrue(v8Context.executeBooleanScript("person.friend.friend === null"));
+        proxy.close();
+    }
+
+    @Test
+    public void testMapTarget() {
+        Map<String, Object> map = new HashMap<String, Object>();
+        map.put("a", 1);
+        map.put("b", "foo");
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, map);
+        v8Context.add("map", proxy);
+
+        assertEquals(1, v8Context.executeIntegerScript("map.a"));
+        assertEquals("foo", v8Context.executeStringScript("map.b"));
+        assertEquals("a,b", v8Context.executeStringScript("Object.keys(map).sort().join()"));
+        v8Context.executeVoidScript("map.c = true;");
+        assertEquals(true, map.get("c"));
+        proxy.close();
+    }
+
+    @Test
+    public void testListTarget() {
+        List<Object> list = new ArrayList<Object>(Arrays.asList(1, "two", 3.5));
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, list);
+        v8Context.add("list", proxy);
+
+        assertEquals(3, v8Context.executeIntegerScript("list.length"));
+        assertEquals("two", v8Context.executeStringScript("list[1]"));
+        assertTrue(v8Context.executeBooleanScript("list[3] === undefined"));
+        v8Context.executeVoidScript("list[0] = 'one'; list[3] = 4;");
+        assertEquals(Arrays.<Object> asList("one", "two", 3.5, 4), list);
+        proxy.close();
+    }
+
+    @Test
+    public void testArrayTarget() {
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, new String[] { "a", "b" });
+        v8Context.add("array", proxy);
+
+        assertEquals(2, v8Context.executeIntegerScript("array.length"));
+        assertEquals("b", v8Context.executeStringScript("array[1]"));
+        proxy.close();
+    }
+
+    @Test
+    public void testProxyGetTarget() {
+        Person person = createPerson();
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, person);
+        V8JavaProxy twin = proxy.twin();
+
+        assertSame(person, proxy.getTarget());
+        assertSame(person, twin.getTarget());
+        proxy.close();
+        twin.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullTarget() {
+        new V8JavaProxy(v8Context, null);
+    }
+
+    @Test
+    public void testAccessorsAreCached() {
+        assertSame(V8JavaProxy.getAccessors(Person.class), V8JavaProxy.getAccessors(Person.class));
+    }
+
+    @Test
+    public void testDisposedProxyHasNoProperties() {
+        long proxyID = 1;
+
+        v8Context.disposeProxy(proxyID);
+
+        assertSame(V8JavaProxy.NOT_FOUND, v8Context.getProxyProperty(proxyID, "name"));
+        assertSame(V8JavaProxy.NOT_FOUND, v8Context.getProxyElement(proxyID, 0));
+        assertFalse(v8Context.setProxyProperty(proxyID, "name", "x"));
+        assertEquals(-1, v8Context.queryProxyProperty(proxyID, "name"));
+        assertEquals(0, v8Context.getProxyKeys(proxyID).length);
+        assertEquals(0, v8Context.getProxySize(proxyID));
+    }
+
+    @Test
+    public void testReleaseIsolateAfterProxyOfClosedContextIsCollected() {
+        V8JavaProxy proxy = new V8JavaProxy(v8Context, createPerson());
+        v8Context.add("person", proxy);
+        proxy.close();
+
+        v8Context.close();
+        v8Isolate.lowMemoryNotification();
+
+        assertEquals(0, v8Context.proxyDescriptorCount());
+    }
+
+}
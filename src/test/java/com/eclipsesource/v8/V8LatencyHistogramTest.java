@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class V8LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        V8LatencyHistogram histogram = new V8LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMinNanos());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(0, histogram.getMeanNanos(), 0);
+    }
+
+    @Test
+    public void testRecord() {
+        V8LatencyHistogram histogram = new V8LatencyHistogram();
+
+        histogram.record(10);
+        histogram.record(20);
+        histogram.record(30);
+
+        assertEquals(3, histogram.getCount());
+        assertEquals(60, histogram.getTotalNanos());
+        assertEquals(10, histogram.getMinNanos());
+        assertEquals(30, histogram.getMaxNanos());
+        assertEquals(20, histogram.getMeanNanos(), 0);
+    }
+
+    @Test
+    public void testNegativeValuesAreRecordedAsZero() {
+        V8LatencyHistogram histogram = new V8LatencyHistogram();
+
+        histogram.record(-5);
+
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        V8LatencyHistogram histogram = new V8LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(5, histogram.getValueAtPercentile(50));
+        assertEquals(10, histogram.getValueAtPercentile(100));
+        assertEquals(1, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        V8LatencyHistogram histogram = new V8LatencyHistogram();
+        for (int i = 1; i <= 100000; i++) {
+            histogram.record(i * 100L);
+        }
+
+        assertEquals(5000000, histogram.getValueAtPercentile(50), 5000000 / 16);
+        assertEquals(9900000, histogram.getValueAtPercentile(99), 9900000 / 16);
+        assertEquals(10000000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testLargeValues() {
+        V8LatencyHistogram histogram = new V8LatencyHistogram();
+
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void testBucketsCoverAllValues() {
+        for (int shift = 0; shift < 63; shift++) {
+            long value = 1L << shift;
+            for (long v : new long[] { value, value + (value / 3), (value * 2) - 1 }) {
+                int index = V8LatencyHistogram.indexOf(v);
+                assertTrue(V8LatencyHistogram.highestValueOf(index) >= v);
+                assertTrue((index == 0) || (V8LatencyHistogram.highestValueOf(index - 1) < v));
+            }
+        }
+    }
+
+    @Test
+    public void testAdd() {
+        V8LatencyHistogram first = new V8LatencyHistogram();
+        V8LatencyHistogram second = new V8LatencyHistogram();
+        first.record(10);
+        second.record(1000);
+
+        first.add(second);
+
+        assertEquals(2, first.getCount());
+        assertEquals(10, first.getMinNanos());
+        assertEquals(1000, first.getMaxNanos());
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        V8LatencyHistogram histogram = new V8LatencyHistogram();
+        histogram.record(10);
+
+        V8LatencyHistogram copy = histogram.copy();
+        histogram.record(20);
+
+        assertEquals(1, copy.getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        new V8LatencyHistogram().getValueAtPercentile(101);
+    }
+
+}
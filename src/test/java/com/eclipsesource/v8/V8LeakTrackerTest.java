@@ -0,0 +1,318 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class V8LeakTrackerTest {
+
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    private void createHandle(final V8LeakTracker tracker, final long handle) {
+        tracker.handleCreated(handle);
+    }
+
+    private V8Object leakObject() {
+        return new V8Object(v8Context);
+    }
+
+    @Test
+    public void testTrackerRecordsCreatedHandles() {
+        V8LeakTracker tracker = new V8LeakTracker(1, 100);
+
+        for (int i = 0; i < 2; i++) {
+            createHandle(tracker, i);
+        }
+        V8LeakReport report = tracker.report(10);
+
+        assertEquals(2, report.getSampledHandles());
+        assertEquals(1, report.getSites().size());
+        assertEquals(2, report.getSites().get(0).getCount());
+    }
+
+    @Test
+    public void testTrackerForgetsReleasedHandles() {
+        V8LeakTracker tracker = new V8LeakTracker(1, 100);
+        tracker.handleCreated(1);
+        tracker.handleCreated(2);
+
+        tracker.handleReleased(1);
+
+        assertEquals(1, tracker.report(10).getSampledHandles());
+    }
+
+    @Test
+    public void testTrackerReportOmitsExcludedHandles() {
+        V8LeakTracker tracker = new V8LeakTracker(1, 100);
+        tracker.handleCreated(1);
+        tracker.handleCreated(2);
+
+        V8LeakReport report = tracker.report(10, handle -> handle == 1);
+
+        assertEquals(1, report.getSampledHandles());
+        assertEquals(1, report.getSites().get(0).getCount());
+    }
+
+    @Test
+    public void testTrackerGroupsHandlesByStack() {
+        V8LeakTracker tracker = new V8LeakTracker(1, 100);
+
+        tracker.handleCreated(1);
+        for (int i = 2; i < 4; i++) {
+            createHandle(tracker, i);
+        }
+        V8LeakReport report = tracker.report(10);
+
+        assertEquals(2, report.getSites().size());
+        assertEquals(2, report.getSites().get(0).getCount());
+        assertEquals(1, report.getSites().get(1).getCount());
+    }
+
+    @Test
+    public void testTrackerStackStartsAtCaller() {
+        V8LeakTracker tracker = new V8LeakTracker(1, 100);
+
+        createHandle(tracker, 1);
+        StackTraceElement frame = tracker.report(10).getSites().get(0).getStackTrace()[0];
+
+        assertEquals(V8LeakTrackerTest.class.getName(), frame.getClassName());
+        assertEquals("createHandle", frame.getMethodName());
+    }
+
+    @Test
+    public void testTrackerDropsSamplesWhenFull() {
+        V8LeakTracker tracker = new V8LeakTracker(1, 2);
+
+        tracker.handleCreated(1);
+        tracker.handleCreated(2);
+        tracker.handleCreated(3);
+        V8LeakReport report = tracker.report(10);
+
+        assertEquals(2, report.getSampledHandles());
+        assertEquals(1, report.getDroppedSamples());
+    }
+
+    @Test
+    public void testTrackerWithoutSampling() {
+        V8LeakTracker tracker = new V8LeakTracker(0, 100);
+
+        tracker.handleCreated(1);
+
+        assertEquals(0, tracker.report(10).getSampledHandles());
+        assertTrue(tracker.report(10).getSites().isEmpty());
+    }
+
+    @Test
+    public void testReportLimitsSites() {
+        V8LeakTracker tracker = new V8LeakTracker(1, 100);
+        tracker.handleCreated(1);
+        createHandle(tracker, 2);
+
+        V8LeakReport report = tracker.report(1);
+
+        assertEquals(1, report.getSites().size());
+        assertEquals(2, report.getSampledHandles());
+    }
+
+    @Test
+    public void testEstimatedCount() {
+        V8LeakReport.Site site = new V8LeakReport.Site(new StackTraceElement[0], 3, 0.25);
+
+        assertEquals(3, site.getCount());
+        assertEquals(12, site.getEstimatedCount());
+    }
+
+    @Test
+    public void testSiteStackTraceIsCopied() {
+        StackTraceElement[] stack = new StackTraceElement[] { new StackTraceElement("Foo", "bar", "Foo.java", 1) };
+        V8LeakReport.Site site = new V8LeakReport.Site(stack, 1, 1);
+
+        site.getStackTrace()[0] = null;
+
+        assertNotNull(site.getStackTrace()[0]);
+    }
+
+    @Test
+    public void testReportToString() {
+        V8LeakTracker tracker = new V8LeakTracker(1, 100);
+        createHandle(tracker, 1);
+
+        String result = tracker.report(10).toString();
+
+        assertTrue(result.startsWith("1 sampled live handle(s), sampling rate 1.0"));
+        assertTrue(result.contains("createHandle"));
+    }
+
+    @Test
+    public void testLeakTrackingDisabledByDefault() {
+        assertFalse(v8Isolate.isLeakTrackingEnabled());
+    }
+
+    @Test
+    public void testEnableLeakTracking() {
+        v8Isolate.enableLeakTracking(0.5, 100);
+
+        assertTrue(v8Isolate.isLeakTrackingEnabled());
+        assertEquals(0.5, v8Isolate.getLeakReport(10).getSamplingRate(), 0);
+    }
+
+    @Test
+    public void testDisableLeakTracking() {
+        v8Isolate.enableLeakTracking(1, 100);
+
+        v8Isolate.disableLeakTracking();
+
+        assertFalse(v8Isolate.isLeakTrackingEnabled());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSamplingRate() {
+        v8Isolate.enableLeakTracking(1.5, 100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        v8Isolate.enableLeakTracking(1, 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLeakReportNotEnabled() {
+        v8Isolate.getLeakReport(10);
+    }
+
+    @Test
+    public void testLeakReportContainsLiveValues() {
+        v8Isolate.enableLeakTracking(1, 100);
+        V8Object object = leakObject();
+
+        V8LeakReport report = v8Isolate.getLeakReport(10);
+
+        assertEquals(1, report.getSampledHandles());
+        assertEquals("leakObject", report.getSites().get(0).getStackTrace()[0].getMethodName());
+        object.close();
+    }
+
+    @Test
+    public void testLeakReportOmitsReleasedValues() {
+        v8Isolate.enableLeakTracking(1, 100);
+        V8Object object = leakObject();
+
+        object.close();
+
+        assertEquals(0, v8Isolate.getLeakReport(10).getSampledHandles());
+    }
+
+    @Test
+    public void testLeakReportOmitsArenaValues() {
+        v8Isolate.enableLeakTracking(1, 100);
+        V8Arena arena = new V8Arena(v8Context);
+        leakObject();
+
+        arena.close();
+
+        assertEquals(0, v8Isolate.getLeakReport(10).getSampledHandles());
+    }
+
+    @Test
+    public void testLeakReportContainsWeakValues() {
+        v8Isolate.enableLeakTracking(1, 100);
+        V8Object object = leakObject();
+
+        object.setWeak();
+
+        assertEquals(1, v8Isolate.getLeakReport(10).getSampledHandles());
+        object.close();
+    }
+
+    @Test
+    public void testLeakReportKeepsSiteOfClearedWeakValues() {
+        v8Isolate.enableLeakTracking(1, 100);
+        V8Object object = leakObject();
+        object.setWeak();
+
+        object.clearWeak();
+        V8LeakReport report = v8Isolate.getLeakReport(10);
+
+        assertEquals(1, report.getSampledHandles());
+        assertEquals("leakObject", report.getSites().get(0).getStackTrace()[0].getMethodName());
+        object.close();
+    }
+
+    @Test
+    public void testLeakReportOmitsReleasedWeakValues() {
+        v8Isolate.enableLeakTracking(1, 100);
+        V8Object object = leakObject();
+        object.setWeak();
+
+        object.close();
+
+        assertEquals(0, v8Isolate.getLeakReport(10).getSampledHandles());
+    }
+
+    @Test
+    public void testReleaseReportsAllocationSites() {
+        v8Isolate.enableLeakTracking(1, 100);
+        leakObject();
+
+        try {
+            v8Isolate.release(true);
+            fail("Leak not reported");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("1 Object(s) still exist in runtime\n"));
+            assertTrue(e.getMessage().contains("leakObject"));
+        }
+        v8Isolate = null;
+    }
+
+    @Test
+    public void testReleaseDoesNotReportWeakValues() {
+        v8Isolate.enableLeakTracking(1, 100);
+        leakObject();
+        V8Object weak = new V8Object(v8Context);
+        weak.setWeak();
+
+        try {
+            v8Isolate.release(true);
+            fail("Leak not reported");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("1 Object(s) still exist in runtime\n"));
+            assertTrue(e.getMessage(), e.getMessage().contains("\n1 sampled live handle(s)"));
+        }
+        v8Isolate = null;
+    }
+
+}
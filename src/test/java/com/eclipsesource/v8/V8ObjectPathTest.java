@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class V8ObjectPathTest {
+
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test
+    public void testGetPath() {
+        v8Context.executeVoidScript("var decision = {result: {score: {value: 42}}};");
+
+        Object result = v8Context.getPath("decision.result.score.value");
+
+        assertEquals(42, result);
+    }
+
+    @Test
+    public void testGetPathSingleSegment() {
+        v8Context.add("foo", "bar");
+
+        assertEquals("bar", v8Context.getPath("foo"));
+    }
+
+    @Test
+    public void testGetPathReturnsObject() {
+        v8Context.executeVoidScript("var a = {b: {c: {name: 'j2v8'}}};");
+
+        V8Object result = (V8Object) v8Context.getPath("a.b.c");
+
+        assertEquals("j2v8", result.getString("name"));
+        result.close();
+    }
+
+    @Test
+    public void testGetPathMissingSegment() {
+        v8Context.executeVoidScript("var a = {b: {}};");
+
+        assertEquals(V8Isolate.getUndefined(), v8Context.getPath("a.x.y"));
+    }
+
+    @Test
+    public void testGetPathThroughPrimitive() {
+        v8Context.executeVoidScript("var a = {b: 7};");
+
+        assertEquals(V8Isolate.getUndefined(), v8Context.getPath("a.b.c"));
+    }
+
+    @Test
+    public void testGetPathByKeys() {
+        v8Context.executeVoidScript("var a = {b: {c: 3.5}};");
+        V8PropertyKey a = new V8PropertyKey(v8Context, "a");
+        V8PropertyKey b = new V8PropertyKey(v8Context, "b");
+        V8PropertyKey c = new V8PropertyKey(v8Context, "c");
+
+        Object result = v8Context.getPathByKeys(a, b, c);
+
+        assertEquals(3.5, result);
+        a.close();
+        b.close();
+        c.close();
+    }
+
+    @Test
+    public void testTypedPathGetters() {
+        v8Context.executeVoidScript("var a = {b: {i: 1, d: 2.5, t: true, s: 'str'}};");
+
+        assertEquals(1, v8Context.getIntegerAtPath("a.b.i"));
+        assertEquals(2.5, v8Context.getDoubleAtPath("a.b.d"), 0.000001);
+        assertTrue(v8Context.getBooleanAtPath("a.b.t"));
+        assertEquals("str", v8Context.getStringAtPath("a.b.s"));
+        assertEquals(V8API.INTEGER, v8Context.getTypeAtPath("a.b.i"));
+        assertEquals(V8API.V8_OBJECT, v8Context.getTypeAtPath("a.b"));
+        assertEquals(V8API.UNDEFINED, v8Context.getTypeAtPath("a.x.y"));
+    }
+
+    @Test(expected = V8ResultUndefined.class)
+    public void testGetIntegerAtMissingPath() {
+        v8Context.executeVoidScript("var a = {};");
+
+        v8Context.getIntegerAtPath("a.b.c");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetPathNull() {
+        v8Context.getPath((String) null);
+    }
+
+    @Test
+    public void testExtract() {
+        v8Context.executeVoidScript("var d = {r: {i: 1, d: 2.5, t: false, s: 'str', n: null, o: {}}};");
+        V8Extraction extraction = new V8Extraction("d.r.i", "d.r.d", "d.r.t", "d.r.s", "d.r.n", "d.r.o", "d.x.y");
+
+        v8Context.extract(extraction);
+
+        assertEquals(7, extraction.size());
+        assertEquals(1, extraction.getInteger(0));
+        assertEquals(2.5, extraction.getDouble(1), 0.000001);
+        assertFalse(extraction.getBoolean(2));
+        assertEquals("str", extraction.getString(3));
+        assertNull(extraction.getString(4));
+        assertEquals(V8API.V8_OBJECT, extraction.getType(5));
+        assertEquals(V8API.UNDEFINED, extraction.getType(6));
+    }
+
+    @Test
+    public void testExtractionCanBeReused() {
+        V8Array objects = v8Context.executeArrayScript("[{a: {b: 0}}, {a: {b: 1}}, {a: {b: 2}}]");
+        V8Extraction extraction = new V8Extraction("a.b");
+
+        for (int i = 0; i < objects.length(); i++) {
+            V8Object object = objects.getObject(i);
+            assertEquals(i, object.extract(extraction).getInteger(0));
+            object.close();
+        }
+        objects.close();
+    }
+
+    @Test(expected = V8ResultUndefined.class)
+    public void testExtractionWrongType() {
+        v8Context.executeVoidScript("var a = {b: 'str'};");
+        V8Extraction extraction = new V8Extraction("a.b");
+
+        v8Context.extract(extraction).getInteger(0);
+    }
+
+    @Test
+    public void testAddAll() {
+        V8Object object = new V8Object(v8Context);
+        V8Extraction values = new V8Extraction("i", "a.d", "a.b.t", "s", "n", "u");
+        values.setInteger(0, 1).setDouble(1, 2.5).setBoolean(2, true).setString(3, "str").setString(4, null).setUndefined(5);
+
+        object.addAll(values);
+
+        assertEquals(1, object.getInteger("i"));
+        assertEquals(2.5, object.getDoubleAtPath("a.d"), 0.000001);
+        assertTrue(object.getBooleanAtPath("a.b.t"));
+        assertEquals("str", object.getString("s"));
+        assertEquals(V8API.NULL, object.getType("n"));
+        assertTrue(object.contains("u"));
+        object.close();
+    }
+
+    @Test
+    public void testAddAllReplacesPrimitiveSegment() {
+        V8Object object = v8Context.executeObjectScript("({a: 1})");
+        V8Extraction values = new V8Extraction("a.b").setInteger(0, 2);
+
+        object.addAll(values);
+
+        assertEquals(2, object.getIntegerAtPath("a.b"));
+        object.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExtractionNullPath() {
+        new V8Extraction("a", null);
+    }
+
+}
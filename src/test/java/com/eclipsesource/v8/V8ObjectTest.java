@@ -11,6 +11,9 @@
 package com.eclipsesource.v8;
 
 import com.eclipsesource.v8.V8Object.Undefined;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -504,6 +507,68 @@ public class V8ObjectTest {
         v8Object.close();
     }
 
+    @Test
+    public void testAddLatin1String() {
+        V8Object v8Object = new V8Object(v8Context);
+        v8Object.add("caf\u00e9", "na\u00efve\u0000");
+
+        assertEquals("na\u00efve\u0000", v8Object.getString("caf\u00e9"));
+        v8Object.close();
+    }
+
+    @Test
+    public void testAddUTF8() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        buffer.put("w\u00f6rld 🌞".getBytes(StandardCharsets.UTF_8));
+        buffer.flip();
+        V8Object v8Object = new V8Object(v8Context);
+
+        v8Object.addUTF8("hello", buffer);
+
+        assertEquals("w\u00f6rld 🌞", v8Object.getString("hello"));
+        assertEquals(buffer.limit(), buffer.position());
+        v8Object.close();
+    }
+
+    @Test
+    public void testGetUTF8() {
+        V8Object v8Object = new V8Object(v8Context).add("hello", "w\u00f6rld");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        buffer.position(2);
+
+        int length = v8Object.getUTF8("hello", buffer);
+
+        assertEquals(6, length);
+        assertEquals(8, buffer.position());
+        byte[] bytes = new byte[length];
+        buffer.position(2);
+        buffer.get(bytes);
+        assertEquals("w\u00f6rld", new String(bytes, StandardCharsets.UTF_8));
+        v8Object.close();
+    }
+
+    @Test
+    public void testGetUTF8BufferTooSmall() {
+        V8Object v8Object = new V8Object(v8Context).add("hello", "world");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+
+        assertEquals(5, v8Object.getUTF8("hello", buffer));
+
+        assertEquals(0, buffer.position());
+        v8Object.close();
+    }
+
+    @Test(expected = V8ResultUndefined.class)
+    public void testGetUTF8NotString() {
+        V8Object v8Object = new V8Object(v8Context).add("hello", 7);
+
+        try {
+            v8Object.getUTF8("hello", ByteBuffer.allocateDirect(16));
+        } finally {
+            v8Object.close();
+        }
+    }
+
     @Test(expected = V8ResultUndefined.class)
     public void testGetStringNotFound() {
         V8Object v8Object = new V8Object(v8Context);
@@ -1818,6 +1883,30 @@ public class V8ObjectTest {
         assertEquals(0, v8Context.objectReferenceCount());
     }
 
+    @SuppressWarnings("resource")
+    @Test
+    public void testCollectedWeakReferenceIsReleased() {
+        V8Value object = new V8Object(v8Context).setWeak();
+
+        v8Isolate.lowMemoryNotification();
+
+        assertTrue(object.isReleased());
+        assertEquals(0, v8Context.objectReferenceCount());
+    }
+
+    @SuppressWarnings("resource")
+    @Test
+    public void testReferencedWeakReferenceIsNotReleased() {
+        V8Object object = new V8Object(v8Context);
+        v8Context.add("foo", object);
+        object.setWeak();
+
+        v8Isolate.lowMemoryNotification();
+
+        assertFalse(object.isReleased());
+        object.close();
+    }
+
     @SuppressWarnings("resource")
     @Test
     public void testSetWeakMakesObjectWeak() {
@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class V8PropertyKeyTest {
+
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test
+    public void testCreateKey() {
+        V8PropertyKey key = new V8PropertyKey(v8Context, "foo");
+
+        assertEquals("foo", key.getName());
+        assertEquals("foo", key.toString());
+        key.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateNullKey() {
+        new V8PropertyKey(v8Context, null);
+    }
+
+    @Test
+    public void testGetPrimitivesByKey() {
+        V8Object object = v8Context.executeObjectScript("({i: 7, d: 3.5, b: true, s: 'bar'})");
+        V8PropertyKey i = new V8PropertyKey(v8Context, "i");
+        V8PropertyKey d = new V8PropertyKey(v8Context, "d");
+        V8PropertyKey b = new V8PropertyKey(v8Context, "b");
+        V8PropertyKey s = new V8PropertyKey(v8Context, "s");
+
+        assertEquals(7, object.getIntegerByKey(i));
+        assertEquals(3.5, object.getDoubleByKey(d), 0.000001);
+        assertTrue(object.getBooleanByKey(b));
+        assertEquals("bar", object.getStringByKey(s));
+        object.close();
+        i.close();
+        d.close();
+        b.close();
+        s.close();
+    }
+
+    @Test
+    public void testGetObjectByKey() {
+        V8Object object = v8Context.executeObjectScript("({child: {name: 'j2v8'}, list: [1, 2]})");
+        V8PropertyKey child = new V8PropertyKey(v8Context, "child");
+        V8PropertyKey list = new V8PropertyKey(v8Context, "list");
+
+        V8Object childObject = object.getObjectByKey(child);
+        V8Array listArray = object.getArrayByKey(list);
+
+        assertEquals("j2v8", childObject.getString("name"));
+        assertEquals(2, listArray.length());
+        childObject.close();
+        listArray.close();
+        object.close();
+        child.close();
+        list.close();
+    }
+
+    @Test
+    public void testGetByKey() {
+        V8Object object = v8Context.executeObjectScript("({value: 'x'})");
+        V8PropertyKey key = new V8PropertyKey(v8Context, "value");
+
+        assertEquals("x", object.getByKey(key));
+        object.close();
+        key.close();
+    }
+
+    @Test
+    public void testContainsAndGetTypeByKey() {
+        V8Object object = v8Context.executeObjectScript("({present: 1})");
+        V8PropertyKey present = new V8PropertyKey(v8Context, "present");
+        V8PropertyKey missing = new V8PropertyKey(v8Context, "missing");
+
+        assertTrue(object.containsByKey(present));
+        assertFalse(object.containsByKey(missing));
+        assertEquals(V8API.INTEGER, object.getTypeByKey(present));
+        assertEquals(V8API.UNDEFINED, object.getTypeByKey(missing));
+        object.close();
+        present.close();
+        missing.close();
+    }
+
+    @Test
+    public void testAddByKey() {
+        V8Object object = new V8Object(v8Context);
+        V8Object child = new V8Object(v8Context);
+        V8PropertyKey i = new V8PropertyKey(v8Context, "i");
+        V8PropertyKey d = new V8PropertyKey(v8Context, "d");
+        V8PropertyKey b = new V8PropertyKey(v8Context, "b");
+        V8PropertyKey s = new V8PropertyKey(v8Context, "s");
+        V8PropertyKey o = new V8PropertyKey(v8Context, "o");
+
+        object.addByKey(i, 1).addByKey(d, 2.5).addByKey(b, false).addByKey(s, "str").addByKey(o, child);
+
+        assertEquals(1, object.getInteger("i"));
+        assertEquals(2.5, object.getDouble("d"), 0.000001);
+        assertFalse(object.getBoolean("b"));
+        assertEquals("str", object.getString("s"));
+        assertEquals(V8API.V8_OBJECT, object.getType("o"));
+        object.close();
+        child.close();
+        i.close();
+        d.close();
+        b.close();
+        s.close();
+        o.close();
+    }
+
+    @Test
+    public void testAddNullAndUndefinedByKey() {
+        V8Object object = new V8Object(v8Context);
+        V8PropertyKey n = new V8PropertyKey(v8Context, "n");
+        V8PropertyKey u = new V8PropertyKey(v8Context, "u");
+        V8PropertyKey s = new V8PropertyKey(v8Context, "s");
+
+        object.addNullByKey(n).addUndefinedByKey(u).addByKey(s, (String) null);
+
+        assertEquals(V8API.NULL, object.getType("n"));
+        assertTrue(object.contains("u"));
+        assertEquals(V8API.UNDEFINED, object.getType("u"));
+        assertEquals(V8API.NULL, object.getType("s"));
+        object.close();
+        n.close();
+        u.close();
+        s.close();
+    }
+
+    @Test
+    public void testKeyCanBeUsedOnManyObjects() {
+        V8PropertyKey key = new V8PropertyKey(v8Context, "id");
+        V8Array objects = v8Context.executeArrayScript("[{id: 0}, {id: 1}, {id: 2}, {id: 3}]");
+
+        for (int i = 0; i < objects.length(); i++) {
+            V8Object object = objects.getObject(i);
+            assertEquals(i, object.getIntegerByKey(key));
+            object.close();
+        }
+        objects.close();
+        key.close();
+    }
+
+    @Test
+    public void testKeyOnGlobalObject() {
+        V8PropertyKey key = new V8PropertyKey(v8Context, "global");
+
+        v8Context.addByKey(key, 42);
+
+        assertEquals(42, v8Context.executeIntegerScript("global"));
+        key.close();
+    }
+
+    @Test(expected = V8ResultUndefined.class)
+    public void testGetIntegerByKeyWrongType() {
+        V8Object object = v8Context.executeObjectScript("({value: 'x'})");
+        V8PropertyKey key = new V8PropertyKey(v8Context, "value");
+
+        try {
+            object.getIntegerByKey(key);
+        } finally {
+            object.close();
+            key.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullKey() {
+        V8Object object = new V8Object(v8Context);
+
+        try {
+            object.getIntegerByKey(null);
+        } finally {
+            object.close();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReleasedKey() {
+        V8Object object = new V8Object(v8Context);
+        V8PropertyKey key = new V8PropertyKey(v8Context, "foo");
+        key.close();
+
+        try {
+            object.addByKey(key, 1);
+        } finally {
+            object.close();
+        }
+    }
+
+    @Test(expected = Error.class)
+    public void testKeyFromOtherRuntime() {
+        V8Isolate otherIsolate = V8Isolate.create();
+        V8PropertyKey key = new V8PropertyKey(otherIsolate.createContext(), "foo");
+        V8Object object = new V8Object(v8Context);
+
+        try {
+            object.containsByKey(key);
+        } finally {
+            object.close();
+            key.close();
+            otherIsolate.close();
+        }
+    }
+
+    @Test
+    public void testKeyIsCountedAsReference() {
+        V8PropertyKey key = new V8PropertyKey(v8Context, "foo");
+
+        assertEquals(1, v8Isolate.getObjectReferenceCount());
+        key.close();
+        assertEquals(0, v8Isolate.getObjectReferenceCount());
+    }
+
+    @Test
+    public void testCloseTwice() {
+        V8PropertyKey key = new V8PropertyKey(v8Context, "foo");
+
+        key.close();
+        key.close();
+
+        assertTrue(key.isReleased());
+    }
+
+    @Test
+    public void testTwin() {
+        V8PropertyKey key = new V8PropertyKey(v8Context, "foo");
+
+        V8PropertyKey twin = key.twin();
+
+        assertEquals(key, twin);
+        assertEquals(key.hashCode(), twin.hashCode());
+        key.close();
+        twin.close();
+    }
+
+}
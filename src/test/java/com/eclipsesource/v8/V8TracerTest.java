@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class V8TracerTest {
+
+    private V8Isolate       v8Isolate;
+    private V8Context       v8Context;
+    private RecordingTracer tracer;
+
+    static class RecordingTracer implements V8Tracer {
+
+        final List<V8TraceSpan> started = new ArrayList<V8TraceSpan>();
+        final List<V8TraceSpan> ended   = new ArrayList<V8TraceSpan>();
+
+        @Override
+        public void spanStarted(final V8TraceSpan span) {
+            started.add(span);
+        }
+
+        @Override
+        public void spanEnded(final V8TraceSpan span) {
+            ended.add(span);
+        }
+
+    }
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+        tracer = new RecordingTracer();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test
+    public void testNoTracerByDefault() {
+        assertNull(v8Isolate.getTracer());
+    }
+
+    @Test
+    public void testScriptSpan() {
+        v8Isolate.setTracer(tracer);
+
+        v8Context.executeIntegerScript("1 + 1", "rule.js", 3);
+
+        assertEquals(1, tracer.started.size());
+        assertEquals(1, tracer.ended.size());
+        V8TraceSpan span = tracer.ended.get(0);
+        assertSame(tracer.started.get(0), span);
+        assertEquals(V8TraceSpan.Kind.SCRIPT, span.getKind());
+        assertEquals("rule.js", span.getName());
+        assertEquals(3, span.getLineNumber());
+        assertSame(v8Context, span.getContext());
+        assertEquals(V8API.INTEGER, span.getResultType());
+        assertFalse(span.hasException());
+        assertTrue(span.hasEnded());
+        assertTrue(span.getWallTime() >= 0);
+    }
+
+    @Test
+    public void testSpanNotEndedWhenStarted() {
+        v8Isolate.setTracer(new V8Tracer() {
+
+            @Override
+            public void spanStarted(final V8TraceSpan span) {
+                assertFalse(span.hasEnded());
+                assertEquals(0, span.getWallTime());
+                assertEquals(-1, span.getCpuTime());
+            }
+
+            @Override
+            public void spanEnded(final V8TraceSpan span) {
+                assertTrue(span.hasEnded());
+            }
+        });
+
+        v8Context.executeVoidScript("");
+    }
+
+    @Test
+    public void testObjectScriptResultType() {
+        v8Isolate.setTracer(tracer);
+
+        v8Context.executeObjectScript("[1, 2]").close();
+
+        assertEquals(V8API.V8_ARRAY, tracer.ended.get(0).getResultType());
+    }
+
+    @Test
+    public void testFailedScriptSpan() {
+        v8Isolate.setTracer(tracer);
+
+        try {
+            v8Context.executeVoidScript("throw 'fail';", "failing.js", 0);
+            fail("Exception expected");
+        } catch (V8ScriptExecutionException e) {
+            V8TraceSpan span = tracer.ended.get(0);
+            assertTrue(span.hasException());
+            assertSame(e, span.getException());
+            assertEquals(V8API.UNDEFINED, span.getResultType());
+        }
+    }
+
+    @Test
+    public void testFunctionSpan() {
+        v8Context.executeVoidScript("function add(a, b) { return a + b; }");
+        v8Isolate.setTracer(tracer);
+        V8Array parameters = new V8Array(v8Context).push(1).push(2);
+
+        int result = v8Context.executeIntegerFunction("add", parameters);
+
+        assertEquals(3, result);
+        V8TraceSpan span = tracer.ended.get(0);
+        assertEquals(V8TraceSpan.Kind.FUNCTION, span.getKind());
+        assertEquals("add", span.getName());
+        assertEquals(V8API.INTEGER, span.getResultType());
+        parameters.close();
+    }
+
+    @Test
+    public void testFunctionCallSpanUsesFunctionName() {
+        V8Function function = (V8Function) v8Context.executeObjectScript("(function compute() { return 'x'; })");
+        v8Isolate.setTracer(tracer);
+
+        function.call(null, null);
+
+        V8TraceSpan span = tracer.ended.get(0);
+        assertEquals(V8TraceSpan.Kind.FUNCTION, span.getKind());
+        assertEquals("compute", span.getName());
+        assertEquals(V8API.STRING, span.getResultType());
+        function.close();
+    }
+
+    @Test
+    public void testNestedSpans() {
+        v8Context.registerJavaMethod(new JavaVoidCallback() {
+
+            @Override
+            public void invoke(final V8Object receiver, final V8Array parameters) {
+                v8Context.executeVoidScript("", "inner.js", 0);
+            }
+        }, "callback");
+        v8Isolate.setTracer(tracer);
+
+        v8Context.executeVoidScript("callback();", "outer.js", 0);
+
+        assertEquals(2, tracer.ended.size());
+        V8TraceSpan inner = tracer.ended.get(0);
+        V8TraceSpan outer = tracer.ended.get(1);
+        assertEquals("inner.js", inner.getName());
+        assertEquals("outer.js", outer.getName());
+        assertSame(outer, inner.getParent());
+        assertNull(outer.getParent());
+    }
+
+    @Test
+    public void testZeroSamplingRate() {
+        v8Isolate.setTracer(tracer, 0);
+
+        for (int i = 0; i < 10; i++) {
+            v8Context.executeVoidScript("");
+        }
+
+        assertTrue(tracer.started.isEmpty());
+    }
+
+    @Test
+    public void testSamplingRate() {
+        v8Isolate.setTracer(tracer, 0.5);
+
+        for (int i = 0; i < 1000; i++) {
+            v8Context.executeVoidScript("");
+        }
+
+        assertTrue(tracer.ended.size() > 0);
+        assertTrue(tracer.ended.size() < 1000);
+    }
+
+    @Test
+    public void testRemoveTracer() {
+        v8Isolate.setTracer(tracer);
+        v8Isolate.setTracer(null);
+
+        v8Context.executeVoidScript("");
+
+        assertTrue(tracer.started.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSamplingRate() {
+        v8Isolate.setTracer(tracer, 1.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNaNSamplingRate() {
+        v8Isolate.setTracer(tracer, Double.NaN);
+    }
+
+}
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.utils;
+
+import com.eclipsesource.v8.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class V8DecoderTest {
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    public static class Point {
+        public int     x;
+        public double  y;
+        public boolean visible;
+        public String  label;
+        public Map<?, ?> tags;
+    }
+
+    static class Decision {
+        int      score;
+        String   reason;
+        Decision parent;
+    }
+
+    public static class Line {
+        public Point start;
+        public Point end;
+    }
+
+    public static class Chain {
+        public Chain next;
+    }
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test
+    public void testDecodeForClass() {
+        V8Object object = v8Context.executeObjectScript("({x: 1, y: 2.5, visible: true, label: 'p', tags: {a: 1}})");
+
+        Point point = V8Decoder.forClass(Point.class).decode(object);
+
+        assertEquals(1, point.x);
+        assertEquals(2.5, point.y, 0.000001);
+        assertTrue(point.visible);
+        assertEquals("p", point.label);
+        assertEquals(1, point.tags.get("a"));
+        object.close();
+    }
+
+    @Test
+    public void testDecodeForClassMissingFields() {
+        V8Object object = v8Context.executeObjectScript("({x: 3})");
+
+        Point point = V8Decoder.forClass(Point.class).decode(object);
+
+        assertEquals(3, point.x);
+        assertEquals(0, point.y, 0.000001);
+        assertFalse(point.visible);
+        assertNull(point.label);
+        assertNull(point.tags);
+        object.close();
+    }
+
+    @Test
+    public void testDecodeWithBuilderAndPaths() {
+        V8Object object = v8Context.executeObjectScript("({result: {score: 42, reason: 'ok'}})");
+        V8Decoder<Decision> decoder = V8Decoder.builder(Decision::new)
+                .intField("result.score", (d, v) -> d.score = v)
+                .stringField("result.reason", (d, v) -> d.reason = v)
+                .build();
+
+        Decision decision = decoder.decode(object);
+
+        assertEquals(42, decision.score);
+        assertEquals("ok", decision.reason);
+        object.close();
+    }
+
+    @Test
+    public void testDecodeNestedDecoder() {
+        V8Object object = v8Context.executeObjectScript("({score: 1, parent: {score: 2}})");
+        V8Decoder<Decision> parentDecoder = V8Decoder.builder(Decision::new)
+                .intField("score", (d, v) -> d.score = v)
+                .build();
+        V8Decoder<Decision> decoder = V8Decoder.builder(Decision::new)
+                .intField("score", (d, v) -> d.score = v)
+                .field("parent", parentDecoder, (d, v) -> d.parent = v)
+                .build();
+
+        Decision decision = decoder.decode(object);
+
+        assertEquals(1, decision.score);
+        assertEquals(2, decision.parent.score);
+        object.close();
+    }
+
+    @Test
+    public void testDecodeWithTypeAdapter() {
+        V8Object object = v8Context.executeObjectScript("({reason: {code: 7}})");
+        V8Decoder<Decision> decoder = V8Decoder.builder(Decision::new)
+                .field("reason", new TypeAdapter() {
+
+                    @Override
+                    public Object adapt(final int type, final Object value) {
+                        if (type == V8API.V8_OBJECT) {
+                            return "code " + ((V8Object) value).getInteger("code");
+                        }
+                        return TypeAdapter.DEFAULT;
+                    }
+                }, (d, v) -> d.reason = (String) v)
+                .build();
+
+        Decision decision = decoder.decode(object);
+
+        assertEquals("code 7", decision.reason);
+        object.close();
+    }
+
+    @Test
+    public void testDecodeAll() {
+        V8Array array = v8Context.executeArrayScript("[{x: 1}, {x: 2}, 3]");
+
+        List<Point> points = V8Decoder.forClass(Point.class).decodeAll(array);
+
+        assertEquals(3, points.size());
+        assertEquals(1, points.get(0).x);
+        assertEquals(2, points.get(1).x);
+        assertNull(points.get(2));
+        array.close();
+    }
+
+    @Test(expected = V8ResultUndefined.class)
+    public void testDecodeWrongType() {
+        V8Object object = v8Context.executeObjectScript("({x: 'one'})");
+
+        try {
+            V8Decoder.forClass(Point.class).decode(object);
+        } finally {
+            object.close();
+        }
+    }
+
+    @Test
+    public void testDecodeUndefined() {
+        assertNull(V8Decoder.forClass(Point.class).decode((V8Object) V8Isolate.getUndefined()));
+    }
+
+    @Test
+    public void testDecoderDoesNotLeak() {
+        V8Object object = v8Context.executeObjectScript("({x: 1, tags: {a: [1, 2]}})");
+
+        V8Decoder.forClass(Point.class).decode(object);
+        object.close();
+
+        assertEquals(0, v8Isolate.getObjectReferenceCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForClassWithoutDefaultConstructor() {
+        V8Decoder.forClass(Integer.class);
+    }
+
+    @Test
+    public void testDecodeForClassNested() {
+        V8Object object = v8Context.executeObjectScript("({start: {x: 1, label: 's'}, end: {x: 2}})");
+
+        Line line = V8Decoder.forClass(Line.class).decode(object);
+
+        assertEquals(1, line.start.x);
+        assertEquals("s", line.start.label);
+        assertEquals(2, line.end.x);
+        object.close();
+        assertEquals(0, v8Isolate.getObjectReferenceCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForClassRecursiveType() {
+        V8Decoder.forClass(Chain.class);
+    }
+
+    @Test
+    public void testDecoderReusedForManyObjects() {
+        V8Decoder<Point> decoder = V8Decoder.forClass(Point.class);
+        V8Object first = v8Context.executeObjectScript("({x: 1, label: 'first'})");
+        V8Object second = v8Context.executeObjectScript("({x: 2})");
+
+        Point firstPoint = decoder.decode(first);
+        Point secondPoint = decoder.decode(second);
+
+        assertEquals(1, firstPoint.x);
+        assertEquals("first", firstPoint.label);
+        assertEquals(2, secondPoint.x);
+        assertNull(secondPoint.label);
+        first.close();
+        second.close();
+    }
+
+}
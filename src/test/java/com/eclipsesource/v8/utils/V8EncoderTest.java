@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.utils;
+
+import com.eclipsesource.v8.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class V8EncoderTest {
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    public static class Point {
+        public int       x;
+        public double    y;
+        public boolean   visible;
+        public String    label;
+        public List<?>   tags;
+    }
+
+    static class Decision {
+        int      score;
+        Decision parent;
+    }
+
+    public static class Line {
+        public Point start;
+        public Point end;
+    }
+
+    public static class Chain {
+        public Chain next;
+    }
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test
+    public void testEncodeForClass() {
+        Point point = new Point();
+        point.x = 1;
+        point.y = 2.5;
+        point.visible = true;
+        point.label = "p";
+        point.tags = Arrays.asList("a", "b");
+
+        V8Object object = V8Encoder.forClass(Point.class).encode(v8Context, point);
+
+        assertEquals(1, object.getInteger("x"));
+        assertEquals(2.5, object.getDouble("y"), 0.000001);
+        assertTrue(object.getBoolean("visible"));
+        assertEquals("p", object.getString("label"));
+        assertEquals("b", object.getStringAtPath("tags.1"));
+        object.close();
+    }
+
+    @Test
+    public void testEncodeNulls() {
+        V8Object object = V8Encoder.forClass(Point.class).encode(v8Context, new Point());
+
+        assertEquals(V8API.NULL, object.getType("label"));
+        assertEquals(V8API.NULL, object.getType("tags"));
+        object.close();
+    }
+
+    @Test
+    public void testEncodePaths() {
+        V8Encoder<Decision> encoder = V8Encoder.<Decision> builder()
+                .intField("result.score", (d) -> d.score)
+                .build();
+        Decision decision = new Decision();
+        decision.score = 42;
+
+        V8Object object = encoder.encode(v8Context, decision);
+
+        assertEquals(42, object.getIntegerAtPath("result.score"));
+        object.close();
+    }
+
+    @Test
+    public void testEncodeNested() {
+        V8Encoder<Decision> parentEncoder = V8Encoder.<Decision> builder()
+                .intField("score", (d) -> d.score)
+                .build();
+        V8Encoder<Decision> encoder = V8Encoder.<Decision> builder()
+                .intField("score", (d) -> d.score)
+                .field("parent", parentEncoder, (d) -> d.parent)
+                .build();
+        Decision decision = new Decision();
+        decision.score = 1;
+        decision.parent = new Decision();
+        decision.parent.score = 2;
+
+        V8Object object = encoder.encode(v8Context, decision);
+
+        assertEquals(2, object.getIntegerAtPath("parent.score"));
+        object.close();
+        assertEquals(0, v8Isolate.getObjectReferenceCount());
+    }
+
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        Point point = new Point();
+        point.x = 7;
+        point.label = "round";
+
+        V8Object object = V8Encoder.forClass(Point.class).encode(v8Context, point);
+        Point result = V8Decoder.forClass(Point.class).decode(object);
+
+        assertEquals(7, result.x);
+        assertEquals("round", result.label);
+        object.close();
+    }
+
+    @Test
+    public void testEncodeInto() {
+        V8Encoder<Decision> encoder = V8Encoder.<Decision> builder()
+                .intField("score", (d) -> d.score)
+                .build();
+        Decision decision = new Decision();
+        decision.score = 3;
+
+        encoder.encodeInto(v8Context, decision);
+
+        assertEquals(3, v8Context.executeIntegerScript("score"));
+    }
+
+    @Test
+    public void testEncodeForClassNested() {
+        Line line = new Line();
+        line.start = new Point();
+        line.start.x = 1;
+
+        V8Object object = V8Encoder.forClass(Line.class).encode(v8Context, line);
+
+        assertEquals(1, object.getIntegerAtPath("start.x"));
+        assertEquals(V8API.NULL, object.getType("end"));
+        object.close();
+        assertEquals(0, v8Isolate.getObjectReferenceCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForClassRecursiveType() {
+        V8Encoder.forClass(Chain.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFieldWithDottedKey() {
+        V8Encoder.<Decision> builder().field("parent.score", (d) -> d.score);
+    }
+
+    @Test
+    public void testEncoderReusedForManyInstances() {
+        V8Encoder<Point> encoder = V8Encoder.forClass(Point.class);
+        Point first = new Point();
+        first.label = "first";
+        Point second = new Point();
+
+        V8Object firstObject = encoder.encode(v8Context, first);
+        V8Object secondObject = encoder.encode(v8Context, second);
+
+        assertEquals("first", firstObject.getString("label"));
+        assertEquals(V8API.NULL, secondObject.getType("label"));
+        firstObject.close();
+        secondObject.close();
+    }
+
+}
@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.v8.utils;
+
+import com.eclipsesource.v8.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class V8ObjectViewTest {
+    private V8Isolate v8Isolate;
+    private V8Context v8Context;
+
+    @Before
+    public void setup() {
+        v8Isolate = V8Isolate.create();
+        v8Context = v8Isolate.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            if (v8Isolate != null) {
+                v8Isolate.close();
+            }
+            if (V8Isolate.getActiveRuntimes() != 0) {
+                throw new IllegalStateException("V8Runtimes not properly released");
+            }
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test
+    public void testMapViewPrimitives() {
+        V8Object object = v8Context.executeObjectScript("x = {a:1, b:2.5, c:true, d:'foo', e:null}; x");
+
+        V8ObjectMapView map = V8ObjectUtils.asMap(object);
+
+        assertEquals(1, map.get("a"));
+        assertEquals(2.5, map.get("b"));
+        assertEquals(true, map.get("c"));
+        assertEquals("foo", map.get("d"));
+        assertNull(map.get("e"));
+        assertTrue(map.containsKey("e"));
+        assertFalse(map.containsKey("f"));
+        assertEquals(5, map.size());
+        map.close();
+        object.close();
+    }
+
+    @Test
+    public void testMapViewContainsKeyDoesNotLoadValue() {
+        V8Object object = v8Context.executeObjectScript("x = {a: {b: 1}}; x;");
+
+        V8ObjectMapView map = V8ObjectUtils.asMap(object);
+
+        assertTrue(map.containsKey("a"));
+        assertEquals(2, v8Isolate.getObjectReferenceCount());
+        map.close();
+        object.close();
+    }
+
+    @Test
+    public void testMapViewSizeDoesNotLoadValues() {
+        V8Object object = v8Context.executeObjectScript("x = {a: {b: 1}, c: [1], f: function() {}}; x;");
+
+        V8ObjectMapView map = V8ObjectUtils.asMap(object);
+
+        assertEquals(2, map.size());
+        assertEquals(2, v8Isolate.getObjectReferenceCount());
+        map.close();
+        object.close();
+    }
+
+    @Test
+    public void testMapViewContainsKeyIgnoresInheritedProperties() {
+        V8Object object = v8Context.executeObjectScript("x = Object.create({a: 1}); x;");
+
+        V8ObjectMapView map = V8ObjectUtils.asMap(object);
+
+        assertFalse(map.containsKey("a"));
+        assertFalse(map.containsKey(1));
+        map.close();
+        object.close();
+    }
+
+    @Test
+    public void testMapViewIgnoresFunctions() {
+        V8Object object = v8Context.executeObjectScript("x = {a : function() {return 1;}, b : 'foo'}; x;");
+
+        V8ObjectMapView map = V8ObjectUtils.asMap(object);
+
+        assertEquals(1, map.size());
+        assertFalse(map.containsKey("a"));
+        assertNull(map.get("a"));
+        assertEquals(Collections.singleton("b"), map.keySet());
+        map.close();
+        object.close();
+    }
+
+    @Test
+    public void testMapViewNestedViews() {
+        V8Object object = v8Context.executeObjectScript("x = {a: {b: {c: 'deep'}}, l: [1, 2, 3]}; x");
+
+        V8ObjectMapView map = V8ObjectUtils.asMap(object);
+        object.close();
+
+        Map<?, ?> a = (Map<?, ?>) map.get("a");
+        Map<?, ?> b = (Map<?, ?>) a.get("b");
+        List<?> l = (List<?>) map.get("l");
+
+        assertEquals("deep", b.get("c"));
+        assertEquals(Arrays.asList(1, 2, 3), l);
+        map.close();
+        assertTrue(((V8ObjectMapView) a).isReleased());
+        assertTrue(((V8ArrayListView) l).isReleased());
+    }
+
+    @Test
+    public void testMapViewReturnsSameNestedView() {
+        V8Object object = v8Context.executeObjectScript("x = {a: {}}; x");
+
+        V8ObjectMapView map = V8ObjectUtils.asMap(object);
+
+        assertSame(map.get("a"), map.get("a"));
+        map.close();
+        object.close();
+    }
+
+    @Test
+    public void testMapViewFetchesOnAccess() {
+        V8Object object = v8Context.executeObjectScript("x = {a: 1}; x");
+        V8ObjectMapView map = V8ObjectUtils.asMap(object);
+
+        v8Context.executeVoidScript("x.a = 2;");
+
+        assertEquals(2, map.get("a"));
+        map.close();
+        object.close();
+    }
+
+    @Test
+    public void testMapViewEquals() {
+        V8Object object = v8Context.executeObjectScript("x = {a: 1, b: 'foo'}; x");
+        Map<String, Object> expected = new HashMap<String, Object>();
+        expected.put("a", 1);
+        expected.put("b", "foo");
+
+        V8ObjectMapView map = V8ObjectUtils.asMap(object);
+
+        assertEquals(expected, map);
+        map.close();
+        object.close();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMapViewIsReadOnly() {
+        V8Object object = v8Context.executeObjectScript("x = {a: 1}; x");
+        V8ObjectMapView map = V8ObjectUtils.asMap(object);
+
+        try {
+            map.put("b", 2);
+        } finally {
+            map.close();
+            object.close();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReleasedMapView() {
+        V8Object object = v8Context.executeObjectScript("x = {a: 1}; x");
+        V8ObjectMapView map = V8ObjectUtils.asMap(object);
+        object.close();
+        map.close();
+
+        map.get("a");
+    }
+
+    @Test
+    public void testMapViewWithTypeAdapter() {
+        V8Object object = v8Context.executeObjectScript("x = {a: 1, b: {}}; x");
+
+        V8ObjectMapView map = V8ObjectUtils.asMap(object, new TypeAdapter() {
+
+            @Override
+            public Object adapt(final int type, final Object value) {
+                if (type == V8API.V8_OBJECT) {
+                    return "object";
+                }
+                return TypeAdapter.DEFAULT;
+            }
+        });
+
+        assertEquals(1, map.get("a"));
+        assertEquals("object", map.get("b"));
+        map.close();
+        object.close();
+    }
+
+    @Test
+    public void testListView() {
+        V8Array array = v8Context.executeArrayScript("[1, 'two', 3.5, false, null, undefined]");
+
+        V8ArrayListView list = V8ObjectUtils.asList(array);
+
+        assertEquals(6, list.size());
+        assertEquals(1, list.get(0));
+        assertEquals("two", list.get(1));
+        assertEquals(3.5, list.get(2));
+        assertEquals(false, list.get(3));
+        assertNull(list.get(4));
+        assertEquals(V8Isolate.getUndefined(), list.get(5));
+        list.close();
+        array.close();
+    }
+
+    @Test
+    public void testListViewFunctionsAreNull() {
+        V8Array array = v8Context.executeArrayScript("[function() {}, 'foo']");
+
+        V8ArrayListView list = V8ObjectUtils.asList(array);
+
+        assertEquals(2, list.size());
+        assertNull(list.get(0));
+        assertEquals("foo", list.get(1));
+        list.close();
+        array.close();
+    }
+
+    @Test
+    public void testListViewNestedMap() {
+        V8Array array = v8Context.executeArrayScript("[{name: 'a'}, {name: 'b'}]");
+
+        V8ArrayListView list = V8ObjectUtils.asList(array);
+        array.close();
+
+        assertEquals("b", ((Map<?, ?>) list.get(1)).get("name"));
+        list.close();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testListViewOutOfBounds() {
+        V8Array array = v8Context.executeArrayScript("[1]");
+        V8ArrayListView list = V8ObjectUtils.asList(array);
+
+        try {
+            list.get(1);
+        } finally {
+            list.close();
+            array.close();
+        }
+    }
+
+    @Test
+    public void testViewsReleasedByMemoryManager() {
+        MemoryManager memoryManager = new MemoryManager(v8Context);
+        V8Object object = v8Context.executeObjectScript("x = {a: {b: [1, 2]}}; x");
+        V8ObjectMapView map = V8ObjectUtils.asMap(object);
+        ((Map<?, ?>) map.get("a")).get("b");
+
+        memoryManager.close();
+
+        assertEquals(0, v8Isolate.getObjectReferenceCount());
+        map.close();
+    }
+
+}